@@ -0,0 +1,59 @@
+package com.eliteportal.email.template;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Confronta il rendering dell'email di attivazione: lettura dal classpath + quattro {@code replace}
+ * (implementazione precedente) contro il template compilato una volta e renderizzato in una passata.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ActivationTemplateBenchmark {
+
+    private static final String TEMPLATE_PATH = "templates/email/activation_it.html";
+
+    private CompiledTemplate compiledTemplate;
+
+    @Setup
+    public void setUp() throws IOException {
+        String source = StreamUtils.copyToString(new ClassPathResource(TEMPLATE_PATH).getInputStream(),
+                StandardCharsets.UTF_8);
+        compiledTemplate = CompiledTemplate.compile(source, "fullName", "role", "activationLink", "validityHours");
+    }
+
+    @Benchmark
+    public String legacyReadAndReplace() throws IOException {
+        String template = StreamUtils.copyToString(new ClassPathResource(TEMPLATE_PATH).getInputStream(),
+                StandardCharsets.UTF_8);
+        template = template.replace("{{fullName}}", "Mario Rossi".replace("<", "&lt;").replace(">", "&gt;"));
+        template = template.replace("{{role}}", "EXTERNAL_OWNER".replace("<", "&lt;").replace(">", "&gt;"));
+        template = template.replace("{{activationLink}}", "https://portal.elite.test/activate?token=abc123");
+        template = template.replace("{{validityHours}}", String.valueOf(24));
+        return template;
+    }
+
+    @Benchmark
+    public String compiledRender() {
+        return compiledTemplate.render("Mario Rossi", "EXTERNAL_OWNER",
+                "https://portal.elite.test/activate?token=abc123", String.valueOf(24));
+    }
+}
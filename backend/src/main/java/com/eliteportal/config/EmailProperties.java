@@ -12,6 +12,8 @@ public class EmailProperties {
     private String activationSubjectEn;
     private String portalBaseUrl;
     private int activationValidityHours = 24;
+    private boolean templatesHotReload = false;
+    private long retryDelayMillis = 2000L;
 
     public String getFrom() {
         return from;
@@ -52,4 +54,20 @@ public class EmailProperties {
     public void setActivationValidityHours(int activationValidityHours) {
         this.activationValidityHours = activationValidityHours;
     }
+
+    public boolean isTemplatesHotReload() {
+        return templatesHotReload;
+    }
+
+    public void setTemplatesHotReload(boolean templatesHotReload) {
+        this.templatesHotReload = templatesHotReload;
+    }
+
+    public long getRetryDelayMillis() {
+        return retryDelayMillis;
+    }
+
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+    }
 }
@@ -2,55 +2,137 @@ package com.eliteportal.email.impl;
 
 import com.eliteportal.config.EmailProperties;
 import com.eliteportal.email.EmailService;
+import com.eliteportal.email.template.CompiledTemplate;
+import com.eliteportal.email.template.EmailTemplateRegistry;
 import com.eliteportal.user.User;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ClassPathResource;
 import org.springframework.lang.Nullable;
+import org.springframework.mail.MailException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.springframework.util.StreamUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class EmailServiceImpl implements EmailService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmailServiceImpl.class);
 
+    private static final String ACTIVATION_TEMPLATE = "activation";
+    private static final String[] ACTIVATION_VARIABLES = {"fullName", "role", "activationLink", "validityHours"};
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30L;
+
     private final JavaMailSender mailSender;
     private final EmailProperties emailProperties;
+    private final EmailTemplateRegistry templateRegistry;
+    private final ThreadPoolExecutor mailExecutor;
 
     @Autowired
-    public EmailServiceImpl(JavaMailSender mailSender, EmailProperties emailProperties) {
+    public EmailServiceImpl(JavaMailSender mailSender,
+                            EmailProperties emailProperties,
+                            EmailTemplateRegistry templateRegistry) {
         this.mailSender = mailSender;
         this.emailProperties = emailProperties;
+        this.templateRegistry = templateRegistry;
+        // L'invio SMTP avviene fuori dal thread HTTP; a coda piena torna sul chiamante invece di perdere email
+        this.mailExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(500),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "activation-mail-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Lascia finire gli invii gia' accodati (retry compresi) prima di chiudere il contesto.
+     */
+    @PreDestroy
+    public void shutdown() {
+        mailExecutor.shutdown();
+        try {
+            if (!mailExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Activation mail executor did not terminate within {} s, {} emails dropped",
+                        SHUTDOWN_TIMEOUT_SECONDS, mailExecutor.shutdownNow().size());
+            }
+        } catch (InterruptedException ex) {
+            mailExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
     }
 
+    /**
+     * Invia l'email di attivazione fuori dal thread della richiesta. Dentro una transazione l'invio
+     * parte solo dopo il commit: nessuna email per un utente mai salvato e nessuna connessione al DB
+     * occupata durante l'SMTP. Gli errori SMTP vengono ritentati fino a {@value #MAX_ATTEMPTS} volte, con
+     * attesa crescente a partire da {@code app.email.retry-delay-millis}.
+     */
     @Override
     public void sendActivationEmail(User user, String activationLink, @Nullable String locale) {
         String effectiveLocale = (locale == null || locale.isBlank()) ? "it" : locale.toLowerCase();
         String subject = resolveSubject(effectiveLocale);
         String body = buildBody(user, activationLink, effectiveLocale);
 
+        Runnable delivery = () -> send(user.getEmail(), subject, body);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailExecutor.execute(delivery);
+                }
+            });
+        } else {
+            mailExecutor.execute(delivery);
+        }
+    }
+
+    void send(String recipient, String subject, String body) {
+        MimeMessage mimeMessage;
         try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            mimeMessage = mailSender.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
             helper.setFrom(emailProperties.getFrom());
-            helper.setTo(user.getEmail());
+            helper.setTo(recipient);
             helper.setSubject(subject);
             helper.setText(body, true);
-
-            mailSender.send(mimeMessage);
-            LOGGER.info("Activation email successfully sent to {}", user.getEmail());
         } catch (MessagingException | RuntimeException ex) {
-            LOGGER.error("Error while sending activation email to {}", user.getEmail(), ex);
-            // Qui si potrebbe integrare un meccanismo di retry asincrono o una coda di messaggi
+            LOGGER.error("Could not build activation email for {}", recipient, ex);
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                mailSender.send(mimeMessage);
+                LOGGER.info("Activation email successfully sent to {}", recipient);
+                return;
+            } catch (MailException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    LOGGER.error("Error while sending activation email to {} after {} attempts", recipient, MAX_ATTEMPTS, ex);
+                    return;
+                }
+                LOGGER.warn("Activation email to {} failed (attempt {}/{}), retrying", recipient, attempt, MAX_ATTEMPTS);
+                try {
+                    Thread.sleep(emailProperties.getRetryDelayMillis() * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
         }
     }
 
@@ -62,27 +144,16 @@ public class EmailServiceImpl implements EmailService {
     }
 
     private String buildBody(User user, String activationLink, String locale) {
-        String templatePath;
-        if ("en".equals(locale)) {
-            templatePath = "templates/email/activation_en.html";
-        } else {
-            templatePath = "templates/email/activation_it.html";
-        }
-
+        String templateLocale = "en".equals(locale) ? "en" : "it";
         try {
-            ClassPathResource resource = new ClassPathResource(templatePath);
-            String template = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+            CompiledTemplate template = templateRegistry.get(ACTIVATION_TEMPLATE, templateLocale, ACTIVATION_VARIABLES);
             String fullName = user.getFirstName() + " " + user.getLastName();
             String role = user.getRequestedRole() != null ? user.getRequestedRole() : "";
-
-            template = template.replace("{{fullName}}", escape(fullName));
-            template = template.replace("{{role}}", escape(role));
-            template = template.replace("{{activationLink}}", activationLink);
-            template = template.replace("{{validityHours}}", String.valueOf(emailProperties.getActivationValidityHours()));
-
-            return template;
-        } catch (IOException ex) {
-            LOGGER.error("Could not load activation email template, falling back to plain text", ex);
+            return template.render(fullName, role, activationLink,
+                    String.valueOf(emailProperties.getActivationValidityHours()));
+        } catch (UncheckedIOException | IllegalArgumentException ex) {
+            // Template mancante o non coerente con le variabili: meglio il testo semplice che nessuna email
+            LOGGER.error("Could not load or render activation email template, falling back to plain text", ex);
             return buildFallbackBody(user, activationLink, locale);
         }
     }
@@ -104,11 +175,4 @@ public class EmailServiceImpl implements EmailService {
                "Se non ha richiesto questa registrazione, può ignorare questa email.\n\n" +
                "Cordiali saluti,\nSupporto Elite Portal";
     }
-
-    private String escape(String value) {
-        if (value == null) {
-            return "";
-        }
-        return value.replace("<", "&lt;").replace(">", "&gt;");
-    }
 }
@@ -0,0 +1,115 @@
+package com.eliteportal.email.template;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Template email gia' analizzato: segmenti letterali alternati a slot {@code {{nome}}}.
+ * <p>
+ * Il parsing avviene una sola volta; il rendering e' un'unica passata che scrive letterali e valori
+ * (con escaping HTML) in uno {@link StringBuilder} dimensionato in anticipo. Istanze immutabili e thread-safe.
+ */
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int literalLength;
+    private final int variableCount;
+
+    private CompiledTemplate(String[] literals, int[] slots, int variableCount) {
+        this.literals = literals;
+        this.slots = slots;
+        this.variableCount = variableCount;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Compila il sorgente; i valori passati a {@link #render(String...)} seguono l'ordine di {@code variableNames}.
+     *
+     * @throws IllegalArgumentException se il template usa un placeholder non dichiarato o non chiuso
+     */
+    public static CompiledTemplate compile(String source, String... variableNames) {
+        List<String> names = Arrays.asList(variableNames);
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Placeholder non chiuso alla posizione " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            int slot = names.indexOf(name);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Placeholder non dichiarato: " + name);
+            }
+            literals.add(source.substring(position, open));
+            slots.add(slot);
+            position = close + CLOSE.length();
+        }
+        int[] slotArray = new int[slots.size()];
+        for (int i = 0; i < slotArray.length; i++) {
+            slotArray[i] = slots.get(i);
+        }
+        return new CompiledTemplate(literals.toArray(new String[0]), slotArray, variableNames.length);
+    }
+
+    public String render(String... values) {
+        if (values.length != variableCount) {
+            throw new IllegalArgumentException("Attesi " + variableCount + " valori, ricevuti " + values.length);
+        }
+        int capacity = literalLength;
+        for (int slot : slots) {
+            String value = values[slot];
+            capacity += value == null ? 0 : value.length() + 16;
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(literals[i]);
+            appendEscaped(out, values[slots[i]]);
+        }
+        out.append(literals[literals.length - 1]);
+        return out.toString();
+    }
+
+    private static void appendEscaped(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    out.append("&lt;");
+                    break;
+                case '>':
+                    out.append("&gt;");
+                    break;
+                case '&':
+                    out.append("&amp;");
+                    break;
+                case '"':
+                    out.append("&quot;");
+                    break;
+                case '\'':
+                    out.append("&#39;");
+                    break;
+                default:
+                    out.append(c);
+            }
+        }
+    }
+}
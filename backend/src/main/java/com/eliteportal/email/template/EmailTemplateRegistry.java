@@ -0,0 +1,77 @@
+package com.eliteportal.email.template;
+
+import com.eliteportal.config.EmailProperties;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro dei template email compilati, indicizzati per nome e locale ({@code templates/email/<nome>_<locale>.html}).
+ * <p>
+ * Ogni template viene letto e compilato una sola volta per elenco di variabili (lo stesso file compilato con
+ * variabili diverse produce slot diversi); con {@code app.email.templates-hot-reload=true}
+ * (sviluppo) viene ricompilato quando il file sul classpath cambia.
+ */
+@Component
+public class EmailTemplateRegistry {
+
+    private static final String TEMPLATE_PATH = "templates/email/%s_%s.html";
+
+    private final EmailProperties emailProperties;
+    private final Map<String, Entry> templates = new ConcurrentHashMap<>();
+
+    public EmailTemplateRegistry(EmailProperties emailProperties) {
+        this.emailProperties = emailProperties;
+    }
+
+    /**
+     * @throws UncheckedIOException se il template non esiste o non e' leggibile
+     * @throws IllegalArgumentException se il template usa un placeholder non presente in {@code variableNames}
+     */
+    public CompiledTemplate get(String name, String locale, String... variableNames) {
+        String path = String.format(TEMPLATE_PATH, name, locale);
+        String key = path + '\u0000' + String.join(",", variableNames);
+        Entry entry = templates.get(key);
+        if (entry != null && (!emailProperties.isTemplatesHotReload() || entry.lastModified == lastModified(path))) {
+            return entry.template;
+        }
+        Entry loaded = load(path, variableNames);
+        templates.put(key, loaded);
+        return loaded.template;
+    }
+
+    private Entry load(String path, String... variableNames) {
+        ClassPathResource resource = new ClassPathResource(path);
+        try {
+            String source = StreamUtils.copyToString(resource.getInputStream(), StandardCharsets.UTF_8);
+            return new Entry(CompiledTemplate.compile(source, variableNames), lastModified(path));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Template email non disponibile: " + path, ex);
+        }
+    }
+
+    private static long lastModified(String path) {
+        try {
+            return new ClassPathResource(path).lastModified();
+        } catch (IOException ex) {
+            return -1L;
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompiledTemplate template;
+        private final long lastModified;
+
+        private Entry(CompiledTemplate template, long lastModified) {
+            this.template = template;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -5,12 +5,18 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import com.eliteportal.auth.TokenDigest;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_activation_token_hash", columnList = "activation_token_hash", unique = true)
+})
 public class User {
 
     @Id
@@ -29,7 +35,11 @@ public class User {
     @Column(name = "requested_role")
     private String requestedRole;
 
-    @Column(name = "activation_token")
+    @Column(name = "activation_token_hash", length = TokenDigest.LENGTH)
+    private byte[] activationTokenHash;
+
+    // in chiaro solo per il link inviato alla registrazione
+    @Transient
     private String activationToken;
 
     @Column(name = "activation_token_expiry")
@@ -82,8 +92,20 @@ public class User {
         return activationToken;
     }
 
+    /**
+     * Imposta il token di attivazione e ne memorizza solo il digest SHA-256.
+     */
     public void setActivationToken(String activationToken) {
         this.activationToken = activationToken;
+        this.activationTokenHash = activationToken != null ? TokenDigest.sha256(activationToken) : null;
+    }
+
+    public byte[] getActivationTokenHash() {
+        return activationTokenHash;
+    }
+
+    public void setActivationTokenHash(byte[] activationTokenHash) {
+        this.activationTokenHash = activationTokenHash;
     }
 
     public LocalDateTime getActivationTokenExpiry() {
@@ -1,5 +1,6 @@
 package com.eliteportal.user;
 
+import com.eliteportal.auth.TokenDigest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -8,5 +9,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByActivationToken(String activationToken);
+    Optional<User> findByActivationTokenHash(byte[] activationTokenHash);
+
+    /**
+     * Il link di attivazione porta il token in chiaro; la colonna contiene il suo SHA-256.
+     */
+    default Optional<User> findByActivationToken(String activationToken) {
+        if (activationToken == null) {
+            return Optional.empty();
+        }
+        return findByActivationTokenHash(TokenDigest.sha256(activationToken));
+    }
 }
@@ -0,0 +1,9 @@
+-- Token di attivazione salvato come digest SHA-256 (32 byte) invece che in chiaro.
+-- I link gia' inviati restano validi: il digest viene calcolato dalla colonna esistente, poi eliminata.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS activation_token_hash BYTEA;
+UPDATE users SET activation_token_hash = sha256(convert_to(activation_token, 'UTF8'))
+    WHERE activation_token IS NOT NULL AND activation_token_hash IS NULL;
+ALTER TABLE users ADD CONSTRAINT ck_users_activation_token_hash
+    CHECK (activation_token_hash IS NULL OR octet_length(activation_token_hash) = 32);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_activation_token_hash ON users (activation_token_hash);
+ALTER TABLE users DROP COLUMN IF EXISTS activation_token;
@@ -0,0 +1,4 @@
+-- Supporto alla pulizia degli account mai attivati (TokenPurgeType.DISABLED_UNACTIVATED_USER del janitor):
+-- solo le righe disabilitate con un token di attivazione ancora pendente.
+CREATE INDEX IF NOT EXISTS idx_users_unactivated_expiry ON users (activation_token_expiry)
+    WHERE enabled = false AND activation_token_hash IS NOT NULL;
@@ -0,0 +1,119 @@
+package com.eliteportal.email.impl;
+
+import com.eliteportal.config.EmailProperties;
+import com.eliteportal.email.template.CompiledTemplate;
+import com.eliteportal.email.template.EmailTemplateRegistry;
+import com.eliteportal.user.User;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailServiceImplTest {
+
+    private JavaMailSender mailSender;
+    private EmailProperties properties;
+    private EmailServiceImpl emailService;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = mock(JavaMailSender.class);
+        when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        properties = new EmailProperties();
+        properties.setFrom("noreply@eliteportal.test");
+        properties.setActivationSubjectIt("Attivazione account");
+        properties.setRetryDelayMillis(0L);
+        EmailTemplateRegistry templateRegistry = mock(EmailTemplateRegistry.class);
+        when(templateRegistry.get(anyString(), anyString(), any(String[].class)))
+                .thenReturn(CompiledTemplate.compile("{{activationLink}}", "fullName", "role", "activationLink", "validityHours"));
+        emailService = new EmailServiceImpl(mailSender, properties, templateRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        emailService.shutdown();
+    }
+
+    @Test
+    void sendIsDeferredUntilTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        emailService.sendActivationEmail(user(), "https://portal/activate/abc", "it");
+
+        verify(mailSender, after(200).never()).send(any(MimeMessage.class));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        verify(mailSender, timeout(2000)).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void nothingIsSentWhenTheTransactionRollsBack() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        emailService.sendActivationEmail(user(), "https://portal/activate/abc", "it");
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+        emailService.shutdown();
+
+        verify(mailSender, never()).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void transientSmtpFailureIsRetried() {
+        doThrow(new MailSendException("421 try again later"))
+                .doNothing()
+                .when(mailSender).send(any(MimeMessage.class));
+
+        emailService.send("mario.rossi@example.com", "Attivazione account", "<p>link</p>");
+
+        verify(mailSender, times(2)).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void templateNotMatchingTheVariablesFallsBackToPlainText() throws Exception {
+        EmailTemplateRegistry brokenRegistry = mock(EmailTemplateRegistry.class);
+        when(brokenRegistry.get(anyString(), anyString(), any(String[].class)))
+                .thenReturn(CompiledTemplate.compile("{{activationLink}}", "activationLink"));
+        emailService.shutdown();
+        emailService = new EmailServiceImpl(mailSender, properties, brokenRegistry);
+
+        emailService.sendActivationEmail(user(), "https://portal/activate/abc", "it");
+
+        ArgumentCaptor<MimeMessage> message = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailSender, timeout(2000)).send(message.capture());
+        assertTrue(message.getValue().getContent().toString().startsWith("Gentile Mario Rossi"));
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setEmail("mario.rossi@example.com");
+        user.setFirstName("Mario");
+        user.setLastName("Rossi");
+        return user;
+    }
+}
@@ -0,0 +1,49 @@
+package com.eliteportal.email.template;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompiledTemplateTest {
+
+    @Test
+    void renderSubstitutesAllPlaceholdersInOnePass() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "<p>Gentile {{fullName}}, ruolo {{ role }}</p><a href=\"{{activationLink}}\">{{fullName}}</a>",
+                "fullName", "role", "activationLink");
+
+        String html = template.render("Mario Rossi", "OWNER", "https://portal/activate?token=abc");
+
+        assertEquals("<p>Gentile Mario Rossi, ruolo OWNER</p><a href=\"https://portal/activate?token=abc\">Mario Rossi</a>", html);
+    }
+
+    @Test
+    void renderEscapesHtmlInValues() {
+        CompiledTemplate template = CompiledTemplate.compile("<a href=\"{{link}}\">{{name}}</a>", "name", "link");
+
+        String html = template.render("<script>\"x\"</script>", "https://portal/a?x=1&y='2'");
+
+        assertEquals("<a href=\"https://portal/a?x=1&amp;y=&#39;2&#39;\">&lt;script&gt;&quot;x&quot;&lt;/script&gt;</a>", html);
+    }
+
+    @Test
+    void renderTreatsNullAsEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("[{{role}}]", "role");
+
+        assertEquals("[]", template.render((String) null));
+    }
+
+    @Test
+    void compileRejectsUndeclaredOrUnclosedPlaceholders() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{{unknown}}", "fullName"));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{{fullName", "fullName"));
+    }
+
+    @Test
+    void renderRejectsWrongNumberOfValues() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}{{b}}", "a", "b");
+
+        assertThrows(IllegalArgumentException.class, () -> template.render("only-one"));
+    }
+}
@@ -0,0 +1,23 @@
+package com.eliteportal.email.template;
+
+import com.eliteportal.config.EmailProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EmailTemplateRegistryTest {
+
+    private final EmailTemplateRegistry registry = new EmailTemplateRegistry(new EmailProperties());
+
+    @Test
+    void sameTemplateIsCompiledOncePerVariableList() {
+        CompiledTemplate first = registry.get("activation", "it", "fullName", "role", "activationLink", "validityHours");
+        CompiledTemplate again = registry.get("activation", "it", "fullName", "role", "activationLink", "validityHours");
+        CompiledTemplate reordered = registry.get("activation", "it", "validityHours", "activationLink", "role", "fullName");
+
+        assertSame(first, again);
+        assertNotEquals(first.render("Mario Rossi", "OWNER", "https://portal/activate/abc", "48"),
+                reordered.render("Mario Rossi", "OWNER", "https://portal/activate/abc", "48"));
+    }
+}
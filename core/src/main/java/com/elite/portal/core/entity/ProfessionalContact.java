@@ -6,12 +6,15 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 
 @Entity
-@Table(name = "professional_contact")
+@Table(name = "professional_contact", indexes = {
+        @Index(name = "idx_professional_contact_profile", columnList = "professional_profile_id")
+})
 public class ProfessionalContact {
 
     @Id
@@ -11,13 +11,19 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.elite.portal.core.security.TokenDigest;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_activation_token_hash", columnList = "activation_token_hash", unique = true)
+})
 public class User {
 
     @Id
@@ -40,7 +46,11 @@ public class User {
     @Column(name = "status", nullable = false, length = 32)
     private UserStatus status = UserStatus.PENDING_ACTIVATION;
 
-    @Column(name = "activation_token", length = 128, unique = true)
+    @Column(name = "activation_token_hash", length = TokenDigest.LENGTH)
+    private byte[] activationTokenHash;
+
+    // disponibile solo sull'istanza che lo ha generato
+    @Transient
     private String activationToken;
 
     @Column(name = "activation_token_expiration")
@@ -118,8 +128,20 @@ public class User {
         return activationToken;
     }
 
+    /**
+     * Imposta il token di attivazione e ne memorizza solo il digest SHA-256.
+     */
     public void setActivationToken(String activationToken) {
         this.activationToken = activationToken;
+        this.activationTokenHash = activationToken != null ? TokenDigest.sha256(activationToken) : null;
+    }
+
+    public byte[] getActivationTokenHash() {
+        return activationTokenHash;
+    }
+
+    public void setActivationTokenHash(byte[] activationTokenHash) {
+        this.activationTokenHash = activationTokenHash;
     }
 
     public Instant getActivationTokenExpiration() {
@@ -0,0 +1,35 @@
+package com.elite.portal.core.repository;
+
+import com.elite.portal.core.entity.ProfessionalContact;
+import com.elite.portal.core.entity.ProfessionalProfile;
+import com.elite.portal.core.entity.ProfessionalTaxData;
+
+/**
+ * Profilo professionale caricato insieme ai dati di contatto e fiscali in un'unica query.
+ * Contatti e dati fiscali possono essere null se non ancora compilati.
+ */
+public class ProfessionalProfileAggregate {
+
+    private final ProfessionalProfile profile;
+    private final ProfessionalContact contact;
+    private final ProfessionalTaxData taxData;
+
+    public ProfessionalProfileAggregate(ProfessionalProfile profile, ProfessionalContact contact,
+            ProfessionalTaxData taxData) {
+        this.profile = profile;
+        this.contact = contact;
+        this.taxData = taxData;
+    }
+
+    public ProfessionalProfile getProfile() {
+        return profile;
+    }
+
+    public ProfessionalContact getContact() {
+        return contact;
+    }
+
+    public ProfessionalTaxData getTaxData() {
+        return taxData;
+    }
+}
@@ -1,8 +1,11 @@
 package com.elite.portal.core.repository;
 
 import com.elite.portal.core.entity.ProfessionalProfile;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -15,4 +18,14 @@ public interface ProfessionalProfileRepository extends JpaRepository<Professiona
     Optional<ProfessionalProfile> findByVatNumber(String vatNumber);
 
     Optional<ProfessionalProfile> findByPrimaryEmailIgnoreCase(String primaryEmail);
+
+    // Profilo, contatti e dati fiscali in un solo round trip; ordinato per id per restituire
+    // per primi i figli piu' vecchi, coerentemente con le lookup per profilo.
+    @Query("select new com.elite.portal.core.repository.ProfessionalProfileAggregate(p, c, t) "
+            + "from ProfessionalProfile p "
+            + "left join ProfessionalContact c on c.professionalProfile = p "
+            + "left join ProfessionalTaxData t on t.professionalProfile = p "
+            + "where p.user.id = :userId "
+            + "order by c.id asc, t.id asc")
+    List<ProfessionalProfileAggregate> findAggregateByUserId(@Param("userId") Long userId);
 }
@@ -1,9 +1,12 @@
 package com.elite.portal.core.repository;
 
 import com.elite.portal.core.entity.ProfessionalTaxData;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ProfessionalTaxDataRepository extends JpaRepository<ProfessionalTaxData, Long> {
+
+    Optional<ProfessionalTaxData> findFirstByProfessionalProfileIdOrderByIdAsc(Long professionalProfileId);
 }
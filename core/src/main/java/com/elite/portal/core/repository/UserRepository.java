@@ -4,13 +4,24 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.elite.portal.core.entity.User;
+import com.elite.portal.core.security.TokenDigest;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByActivationToken(String activationToken);
+    Optional<User> findByActivationTokenHash(byte[] activationTokenHash);
+
+    /**
+     * Ricerca per token di attivazione in chiaro, confrontato tramite digest SHA-256.
+     */
+    default Optional<User> findByActivationToken(String activationToken) {
+        if (activationToken == null) {
+            return Optional.empty();
+        }
+        return findByActivationTokenHash(TokenDigest.sha256(activationToken));
+    }
 
     boolean existsByEmail(String email);
 
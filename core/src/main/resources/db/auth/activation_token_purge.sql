@@ -0,0 +1,4 @@
+-- Supporto alla pulizia degli account mai attivati (TokenPurgeType.PENDING_ACTIVATION_USER e
+-- PENDING_ACTIVATION_USER_ROLE del janitor): solo le righe con un token di attivazione ancora pendente.
+CREATE INDEX IF NOT EXISTS idx_users_pending_activation_expiration ON users (activation_token_expiration)
+    WHERE status = 'PENDING_ACTIVATION' AND activation_token_hash IS NOT NULL;
@@ -1,20 +1,49 @@
 package com.elite.portal.modules.user.service;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Service
 public class EmailSenderService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailSenderService.class);
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 2000L;
+
     private final JavaMailSender mailSender;
+    private final ThreadPoolExecutor mailExecutor;
 
     @Autowired
     public EmailSenderService(JavaMailSender mailSender) {
         this.mailSender = mailSender;
+        // Pool piccolo e coda limitata: a saturazione l'invio torna sul chiamante invece di perdere email
+        this.mailExecutor = new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(500),
+            runnable -> {
+                Thread thread = new Thread(runnable, "activation-mail-sender");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
+    /**
+     * Invia l'email di attivazione fuori dal thread della richiesta. Se chiamato dentro una transazione,
+     * l'invio parte solo dopo il commit, cosi' la connessione al DB non resta occupata durante l'SMTP.
+     */
     public void sendActivationEmail(String toEmail, String activationLink) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setTo(toEmail);
@@ -23,6 +52,49 @@ public class EmailSenderService {
             "Per attivare il tuo account clicca sul seguente link:\n" +
             activationLink +
             "\n\nSe non hai richiesto la registrazione, ignora questa email.");
-        mailSender.send(message);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mailExecutor.execute(() -> sendWithRetry(message));
+                }
+            });
+        } else {
+            mailExecutor.execute(() -> sendWithRetry(message));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        mailExecutor.shutdown();
+        try {
+            if (!mailExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+                mailExecutor.shutdownNow();
+            }
+        } catch (InterruptedException ex) {
+            mailExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendWithRetry(SimpleMailMessage message) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                mailSender.send(message);
+                return;
+            } catch (MailException ex) {
+                if (attempt == MAX_ATTEMPTS) {
+                    LOGGER.error("Invio email di attivazione fallito dopo {} tentativi", MAX_ATTEMPTS, ex);
+                    return;
+                }
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
     }
 }
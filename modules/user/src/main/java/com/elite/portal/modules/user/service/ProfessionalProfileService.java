@@ -5,11 +5,12 @@ import com.elite.portal.core.entity.ProfessionalProfile;
 import com.elite.portal.core.entity.ProfessionalTaxData;
 import com.elite.portal.core.entity.User;
 import com.elite.portal.core.repository.ProfessionalContactRepository;
+import com.elite.portal.core.repository.ProfessionalProfileAggregate;
 import com.elite.portal.core.repository.ProfessionalProfileRepository;
 import com.elite.portal.core.repository.ProfessionalTaxDataRepository;
 import com.elite.portal.core.repository.UserRepository;
 import com.elite.portal.modules.user.dto.ProfessionalProfileDto;
-import java.util.Optional;
+import java.util.List;
 import javax.persistence.EntityNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -35,18 +36,12 @@ public class ProfessionalProfileService {
 
     @Transactional(readOnly = true)
     public ProfessionalProfileDto getByUserId(Long userId) {
-        Optional<ProfessionalProfile> profileOpt = professionalProfileRepository.findByUserId(userId);
-        if (!profileOpt.isPresent()) {
+        List<ProfessionalProfileAggregate> aggregates = professionalProfileRepository.findAggregateByUserId(userId);
+        if (aggregates.isEmpty()) {
             throw new EntityNotFoundException("Professional profile not found for user " + userId);
         }
-        ProfessionalProfile profile = profileOpt.get();
-        Optional<ProfessionalContact> contactOpt = professionalContactRepository.findAll().stream()
-                .filter(c -> c.getProfessionalProfile().getId().equals(profile.getId()))
-                .findFirst();
-        Optional<ProfessionalTaxData> taxOpt = professionalTaxDataRepository.findAll().stream()
-                .filter(t -> t.getProfessionalProfile().getId().equals(profile.getId()))
-                .findFirst();
-        return toDto(profile, contactOpt.orElse(null), taxOpt.orElse(null));
+        ProfessionalProfileAggregate aggregate = aggregates.get(0);
+        return toDto(aggregate.getProfile(), aggregate.getContact(), aggregate.getTaxData());
     }
 
     @Transactional
@@ -81,9 +76,8 @@ public class ProfessionalProfileService {
 
         ProfessionalProfile savedProfile = professionalProfileRepository.save(profile);
 
-        ProfessionalContact contact = professionalContactRepository.findAll().stream()
-                .filter(c -> c.getProfessionalProfile().getId().equals(savedProfile.getId()))
-                .findFirst()
+        ProfessionalContact contact = professionalContactRepository
+                .findFirstByProfessionalProfileIdOrderByIdAsc(savedProfile.getId())
                 .orElseGet(() -> {
                     ProfessionalContact c = new ProfessionalContact();
                     c.setProfessionalProfile(savedProfile);
@@ -107,9 +101,8 @@ public class ProfessionalProfileService {
 
         ProfessionalContact savedContact = professionalContactRepository.save(contact);
 
-        ProfessionalTaxData taxData = professionalTaxDataRepository.findAll().stream()
-                .filter(t -> t.getProfessionalProfile().getId().equals(savedProfile.getId()))
-                .findFirst()
+        ProfessionalTaxData taxData = professionalTaxDataRepository
+                .findFirstByProfessionalProfileIdOrderByIdAsc(savedProfile.getId())
                 .orElseGet(() -> {
                     ProfessionalTaxData t = new ProfessionalTaxData();
                     t.setProfessionalProfile(savedProfile);
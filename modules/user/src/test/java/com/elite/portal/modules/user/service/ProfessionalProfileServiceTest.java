@@ -2,7 +2,10 @@ package com.elite.portal.modules.user.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.elite.portal.core.entity.ProfessionalContact;
@@ -10,12 +13,14 @@ import com.elite.portal.core.entity.ProfessionalProfile;
 import com.elite.portal.core.entity.ProfessionalTaxData;
 import com.elite.portal.core.entity.User;
 import com.elite.portal.core.repository.ProfessionalContactRepository;
+import com.elite.portal.core.repository.ProfessionalProfileAggregate;
 import com.elite.portal.core.repository.ProfessionalProfileRepository;
 import com.elite.portal.core.repository.ProfessionalTaxDataRepository;
 import com.elite.portal.core.repository.UserRepository;
 import com.elite.portal.modules.user.dto.ProfessionalProfileDto;
 import java.util.Collections;
 import java.util.Optional;
+import javax.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -60,8 +65,10 @@ public class ProfessionalProfileServiceTest {
             return p;
         });
 
-        when(professionalContactRepository.findAll()).thenReturn(Collections.emptyList());
-        when(professionalTaxDataRepository.findAll()).thenReturn(Collections.emptyList());
+        when(professionalContactRepository.findFirstByProfessionalProfileIdOrderByIdAsc(10L))
+                .thenReturn(Optional.empty());
+        when(professionalTaxDataRepository.findFirstByProfessionalProfileIdOrderByIdAsc(10L))
+                .thenReturn(Optional.empty());
 
         when(professionalContactRepository.save(any(ProfessionalContact.class))).thenAnswer(invocation -> invocation.getArgument(0));
         when(professionalTaxDataRepository.save(any(ProfessionalTaxData.class))).thenAnswer(invocation -> invocation.getArgument(0));
@@ -90,5 +97,93 @@ public class ProfessionalProfileServiceTest {
         assertEquals("3331234567", result.getMobilePhone());
         assertEquals("Forfettario", result.getTaxRegime());
         assertEquals("mario.rossi@pec.it", result.getPecEmail());
+        assertNoFullScan();
+    }
+
+    @Test
+    public void upsertForUser_updatesExistingChildrenByProfileKey() {
+        Long userId = 1L;
+        User user = new User();
+        user.setId(userId);
+
+        ProfessionalProfile profile = new ProfessionalProfile();
+        profile.setId(10L);
+        profile.setUser(user);
+
+        ProfessionalContact contact = new ProfessionalContact();
+        contact.setId(20L);
+        contact.setProfessionalProfile(profile);
+
+        ProfessionalTaxData taxData = new ProfessionalTaxData();
+        taxData.setId(30L);
+        taxData.setProfessionalProfile(profile);
+
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+        when(professionalProfileRepository.findByUserId(userId)).thenReturn(Optional.of(profile));
+        when(professionalProfileRepository.save(any(ProfessionalProfile.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(professionalContactRepository.findFirstByProfessionalProfileIdOrderByIdAsc(10L))
+                .thenReturn(Optional.of(contact));
+        when(professionalTaxDataRepository.findFirstByProfessionalProfileIdOrderByIdAsc(10L))
+                .thenReturn(Optional.of(taxData));
+        when(professionalContactRepository.save(any(ProfessionalContact.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(professionalTaxDataRepository.save(any(ProfessionalTaxData.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ProfessionalProfileDto dto = new ProfessionalProfileDto();
+        dto.setFirstName("Mario");
+        dto.setResidenceCity("Torino");
+        dto.setTaxCity("Roma");
+
+        ProfessionalProfileDto result = professionalProfileService.upsertForUser(userId, dto);
+
+        assertEquals("Torino", result.getResidenceCity());
+        assertEquals("Roma", result.getTaxCity());
+        assertEquals("Torino", contact.getResidenceCity());
+        assertEquals("Roma", taxData.getTaxCity());
+        assertNoFullScan();
+    }
+
+    @Test
+    public void getByUserId_loadsProfileAndChildrenInSingleQuery() {
+        Long userId = 1L;
+        User user = new User();
+        user.setId(userId);
+
+        ProfessionalProfile profile = new ProfessionalProfile();
+        profile.setId(10L);
+        profile.setUser(user);
+        profile.setFirstName("Mario");
+
+        ProfessionalContact contact = new ProfessionalContact();
+        contact.setResidenceCity("Milano");
+
+        ProfessionalTaxData taxData = new ProfessionalTaxData();
+        taxData.setTaxCity("Roma");
+
+        when(professionalProfileRepository.findAggregateByUserId(userId))
+                .thenReturn(Collections.singletonList(new ProfessionalProfileAggregate(profile, contact, taxData)));
+
+        ProfessionalProfileDto result = professionalProfileService.getByUserId(userId);
+
+        assertEquals(10L, result.getId());
+        assertEquals("Mario", result.getFirstName());
+        assertEquals("Milano", result.getResidenceCity());
+        assertEquals("Roma", result.getTaxCity());
+        verify(professionalContactRepository, never()).findFirstByProfessionalProfileIdOrderByIdAsc(any());
+        verify(professionalTaxDataRepository, never()).findFirstByProfessionalProfileIdOrderByIdAsc(any());
+        assertNoFullScan();
+    }
+
+    @Test
+    public void getByUserId_throwsWhenProfileMissing() {
+        when(professionalProfileRepository.findAggregateByUserId(1L)).thenReturn(Collections.emptyList());
+
+        assertThrows(EntityNotFoundException.class, () -> professionalProfileService.getByUserId(1L));
+        assertNoFullScan();
+    }
+
+    private void assertNoFullScan() {
+        verify(professionalProfileRepository, never()).findAll();
+        verify(professionalContactRepository, never()).findAll();
+        verify(professionalTaxDataRepository, never()).findAll();
     }
 }
@@ -0,0 +1,106 @@
+package com.elite.portal.shared.logging;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+/**
+ * Costo per chiamata di {@link JsonLinesAppLogger} con livello disabilitato (variante a due argomenti,
+ * attesa senza allocazioni con {@code -prof gc}) e abilitato (formattazione JSON nel buffer per thread),
+ * confrontato con la chiamata varargs che alloca l'array anche a livello disabilitato.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+@State(Scope.Thread)
+public class AppLoggerBenchmark {
+
+    private static final String EMAIL = "mario.rossi@acme.it";
+
+    private CapturingLogger delegate;
+    private JsonLinesAppLogger logger;
+
+    @Setup
+    public void setUp() {
+        // INFO e WARN abilitati, DEBUG disabilitato
+        delegate = new CapturingLogger();
+        logger = new JsonLinesAppLogger(delegate, Clock.systemUTC(), List.of("email", "token"));
+    }
+
+    @Benchmark
+    public void disabledFixedArity() {
+        logger.debug("Nessun utente esterno trovato per email fornita", "email", EMAIL);
+    }
+
+    @Benchmark
+    public void disabledVarargs() {
+        logger.debug("Nessun utente esterno trovato per email fornita", "email", EMAIL, "attempt", "1", "source", "api");
+    }
+
+    @Benchmark
+    public String enabledKeyValue() {
+        logger.warn("Rate limit raggiunto per richiesta reset password", "email", EMAIL);
+        return delegate.last;
+    }
+
+    @Benchmark
+    public String enabledPlaceholders() {
+        logger.info("Registrazione utente esterno completata, userId={}, email={}", 42L, EMAIL);
+        return delegate.last;
+    }
+
+    /**
+     * Delegato SLF4J minimo che trattiene l'ultima riga: evita di misurare appender e I/O.
+     */
+    private static final class CapturingLogger extends MarkerIgnoringBase {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient String last;
+
+        @Override public boolean isTraceEnabled() { return false; }
+        @Override public void trace(String msg) { }
+        @Override public void trace(String format, Object arg) { }
+        @Override public void trace(String format, Object arg1, Object arg2) { }
+        @Override public void trace(String format, Object... arguments) { }
+        @Override public void trace(String msg, Throwable t) { }
+        @Override public boolean isDebugEnabled() { return false; }
+        @Override public void debug(String msg) { last = msg; }
+        @Override public void debug(String format, Object arg) { }
+        @Override public void debug(String format, Object arg1, Object arg2) { }
+        @Override public void debug(String format, Object... arguments) { }
+        @Override public void debug(String msg, Throwable t) { }
+        @Override public boolean isInfoEnabled() { return true; }
+        @Override public void info(String msg) { last = msg; }
+        @Override public void info(String format, Object arg) { }
+        @Override public void info(String format, Object arg1, Object arg2) { }
+        @Override public void info(String format, Object... arguments) { }
+        @Override public void info(String msg, Throwable t) { }
+        @Override public boolean isWarnEnabled() { return true; }
+        @Override public void warn(String msg) { last = msg; }
+        @Override public void warn(String format, Object arg) { }
+        @Override public void warn(String format, Object... arguments) { }
+        @Override public void warn(String format, Object arg1, Object arg2) { }
+        @Override public void warn(String msg, Throwable t) { }
+        @Override public boolean isErrorEnabled() { return true; }
+        @Override public void error(String msg) { last = msg; }
+        @Override public void error(String format, Object arg) { }
+        @Override public void error(String format, Object arg1, Object arg2) { }
+        @Override public void error(String format, Object... arguments) { }
+        @Override public void error(String msg, Throwable t) { }
+    }
+}
@@ -0,0 +1,34 @@
+-- Confronto di lookup puntuali su 10M token: varchar(128) in chiaro contro digest bytea(32).
+-- Da eseguire su un database di prova con psql (\timing on); misura dimensione degli indici e piani.
+-- Atteso: indice bytea circa meta' del varchar, stessa profondita' del B-tree o inferiore, Index Scan in entrambi i casi.
+CREATE EXTENSION IF NOT EXISTS pgcrypto;
+
+DROP TABLE IF EXISTS bench_token_plain;
+DROP TABLE IF EXISTS bench_token_hash;
+
+CREATE TABLE bench_token_plain (id BIGINT PRIMARY KEY, token VARCHAR(128) NOT NULL);
+CREATE TABLE bench_token_hash (id BIGINT PRIMARY KEY, token_hash BYTEA NOT NULL);
+
+-- Token base64url da 32 byte casuali (43 caratteri), come quelli generati dai servizi
+INSERT INTO bench_token_plain (id, token)
+SELECT g, rtrim(translate(encode(gen_random_bytes(32), 'base64'), '+/', '-_'), '=')
+FROM generate_series(1, 10000000) AS g;
+
+INSERT INTO bench_token_hash (id, token_hash)
+SELECT id, sha256(convert_to(token, 'UTF8')) FROM bench_token_plain;
+
+CREATE UNIQUE INDEX ux_bench_token_plain ON bench_token_plain (token);
+CREATE UNIQUE INDEX ux_bench_token_hash ON bench_token_hash (token_hash);
+ANALYZE bench_token_plain;
+ANALYZE bench_token_hash;
+
+SELECT 'plain' AS variant, pg_size_pretty(pg_relation_size('ux_bench_token_plain')) AS index_size
+UNION ALL
+SELECT 'hash', pg_size_pretty(pg_relation_size('ux_bench_token_hash'));
+
+-- Lookup di un token presente e di uno assente
+SELECT token AS probe FROM bench_token_plain WHERE id = 5000000 \gset
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM bench_token_plain WHERE token = :'probe';
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM bench_token_hash WHERE token_hash = sha256(convert_to(:'probe', 'UTF8'));
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM bench_token_plain WHERE token = 'missing-token';
+EXPLAIN (ANALYZE, BUFFERS) SELECT id FROM bench_token_hash WHERE token_hash = sha256(convert_to('missing-token', 'UTF8'));
@@ -1,8 +1,13 @@
 package com.elite.portal.modules.accreditamento.api;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,32 +18,74 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.elite.portal.modules.accreditamento.api.dto.ApproveRequestDto;
 import com.elite.portal.modules.accreditamento.api.dto.RejectRequestDto;
 import com.elite.portal.modules.accreditamento.api.dto.RequestAccrDto;
 import com.elite.portal.modules.accreditamento.model.AccreditationStatus;
 import com.elite.portal.modules.accreditamento.model.RequestAccr;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueQuery;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueSort;
+import com.elite.portal.modules.accreditamento.service.AccreditationQueuePage;
 import com.elite.portal.modules.accreditamento.service.AccreditationService;
 
 @RestController
 @RequestMapping("/api/accreditamento/requests")
 public class AccreditationController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final AccreditationService accreditationService;
 
     public AccreditationController(AccreditationService accreditationService) {
         this.accreditationService = accreditationService;
     }
 
+    /**
+     * Coda paginata con cursore keyset. Il corpo resta la lista della pagina corrente; il cursore
+     * della pagina successiva e' esposto negli header {@code X-Next-Cursor} e {@code Link}.
+     */
     @GetMapping
     @PreAuthorize("hasAnyRole('SYS_ADMIN','IT_OPERATOR')")
-    public ResponseEntity<List<RequestAccrDto>> list(@RequestParam(name = "status", required = false) AccreditationStatus status) {
-        List<RequestAccr> entities = accreditationService.findByStatus(status);
-        List<RequestAccrDto> dtos = entities.stream()
+    public ResponseEntity<List<RequestAccrDto>> list(
+            @RequestParam(name = "status", required = false) Set<AccreditationStatus> statuses,
+            @RequestParam(name = "createdFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(name = "createdTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(name = "sort", defaultValue = "CREATION_DATE") RequestAccrQueueSort sort,
+            @RequestParam(name = "direction", defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(name = "limit", defaultValue = "50") int limit,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        RequestAccrQueueQuery query = new RequestAccrQueueQuery();
+        query.setStatuses(statuses);
+        query.setCreatedFrom(createdFrom);
+        query.setCreatedTo(createdTo);
+        query.setSort(sort);
+        query.setAscending(direction.isAscending());
+        query.setLimit(limit);
+
+        AccreditationQueuePage page;
+        try {
+            page = accreditationService.findQueuePage(query, cursor);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        List<RequestAccrDto> dtos = page.getItems().stream()
             .map(this::toDto)
             .collect(Collectors.toList());
-        return ResponseEntity.ok(dtos);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            String nextUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", page.getNextCursor())
+                .build()
+                .toUriString();
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            response.header(HttpHeaders.LINK, "<" + nextUri + ">; rel=\"next\"");
+        }
+        return response.body(dtos);
     }
 
     @GetMapping("/{id}")
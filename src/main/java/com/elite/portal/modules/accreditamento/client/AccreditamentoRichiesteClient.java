@@ -1,80 +1,198 @@
 package com.elite.portal.modules.accreditamento.client;
 
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaDettaglioDto;
 import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaFilterDto;
 import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaListItemDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestDetailDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestListItemDto;
+import com.elite.portal.shared.cache.CoalescingCache;
 import com.elite.portal.shared.config.BackendApiProperties;
+import com.elite.portal.shared.http.BackendHttpClient;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 /**
  * Client di integrazione verso le API backend per la gestione delle richieste di accreditamento.
+ * Ricerca, dettaglio e decisioni usano tutte la risorsa {@code /accreditation-requests}, cosi' l'id
+ * restituito dalla ricerca identifica la stessa richiesta su cui si decide. Le letture sono asincrone e le future completano con le eccezioni di {@code RestTemplate}
+ * ({@link org.springframework.web.client.HttpClientErrorException} e simili).
  */
 @Component
 public class AccreditamentoRichiesteClient {
 
-    private final RestTemplate restTemplate;
+    private final BackendHttpClient httpClient;
     private final BackendApiProperties backendApiProperties;
+    private final CoalescingCache<String, List<AccreditamentoRichiestaListItemDto>> searchCache;
+    private final CoalescingCache<Long, AccreditamentoRichiestaDettaglioDto> dettaglioCache;
+
+    private static final TypeReference<Envelope<Page>> PAGE_TYPE = new TypeReference<Envelope<Page>>() { };
+    private static final TypeReference<Envelope<AccreditationRequestDetailDto>> DETAIL_TYPE =
+        new TypeReference<Envelope<AccreditationRequestDetailDto>>() { };
 
     @Autowired
-    public AccreditamentoRichiesteClient(RestTemplate restTemplate, BackendApiProperties backendApiProperties) {
-        this.restTemplate = restTemplate;
+    public AccreditamentoRichiesteClient(BackendHttpClient httpClient,
+                                         BackendApiProperties backendApiProperties,
+                                         @Value("${elite.portal.accreditamento.ui-cache.ttl-millis:3000}") long cacheTtlMillis,
+                                         @Value("${elite.portal.accreditamento.ui-cache.max-entries:1000}") int cacheMaxEntries) {
+        this.httpClient = httpClient;
         this.backendApiProperties = backendApiProperties;
+        this.searchCache = new CoalescingCache<>(cacheTtlMillis, cacheMaxEntries);
+        this.dettaglioCache = new CoalescingCache<>(cacheTtlMillis, cacheMaxEntries);
+    }
+
+    /**
+     * Ricerca in coda; risposte identiche (stesso stato, testo e pagina) vengono riusate per pochi secondi
+     * e richieste concorrenti uguali condividono la stessa chiamata al backend.
+     */
+    public CompletableFuture<List<AccreditamentoRichiestaListItemDto>> search(AccreditamentoRichiestaFilterDto filter) {
+        String stato = filter.getStato() != null ? filter.getStato() : "";
+        String query = filter.getQuery() != null ? filter.getQuery() : "";
+        String key = stato + '\u0000' + query + '\u0000' + filter.getPage() + '\u0000' + filter.getSize();
+        return searchCache.get(key, k -> fetchSearch(filter));
+    }
+
+    public CompletableFuture<AccreditamentoRichiestaDettaglioDto> getDettaglio(Long id) {
+        return dettaglioCache.get(id,
+            key -> httpClient.get(richiestaUri(key, ""), DETAIL_TYPE)
+                .thenApply(AccreditamentoRichiesteClient::toDettaglio));
+    }
+
+    public void approva(Long id) throws RestClientException {
+        try {
+            BackendHttpClient.await(httpClient.post(richiestaUri(id, "/approve"), null));
+        } finally {
+            invalidate(id);
+        }
     }
 
-    public List<AccreditamentoRichiestaListItemDto> search(AccreditamentoRichiestaFilterDto filter) throws RestClientException {
+    public void rifiuta(Long id, String noteRifiuto) throws RestClientException {
+        try {
+            BackendHttpClient.await(httpClient.post(richiestaUri(id, "/reject"), Map.of("noteRifiuto", noteRifiuto)));
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    /**
+     * Una decisione cambia lo stato della richiesta e quindi il contenuto di qualsiasi pagina della coda.
+     */
+    private void invalidate(Long id) {
+        dettaglioCache.invalidate(id);
+        searchCache.invalidateAll();
+    }
+
+    /**
+     * Usa {@code GET /accreditation-requests}: con "q" risponde l'indice full-text, e stato e paginazione
+     * vengono applicati dal backend invece di scaricare e filtrare la coda qui.
+     */
+    private CompletableFuture<List<AccreditamentoRichiestaListItemDto>> fetchSearch(AccreditamentoRichiestaFilterDto filter) {
         UriComponentsBuilder builder = UriComponentsBuilder
-            .fromHttpUrl(backendApiProperties.getBaseUrl() + "/accreditamento/richieste");
+            .fromHttpUrl(backendApiProperties.getBaseUrl() + "/accreditation-requests")
+            .queryParam("page", Math.max(0, filter.getPage()))
+            .queryParam("size", Math.max(1, filter.getSize()));
 
         if (filter.getStato() != null && !filter.getStato().isEmpty()) {
-            builder.queryParam("stato", filter.getStato());
+            builder.queryParam("status", filter.getStato());
         }
-        if (filter.getQuery() != null && !filter.getQuery().isEmpty()) {
+        if (filter.getQuery() != null && !filter.getQuery().isBlank()) {
             builder.queryParam("q", filter.getQuery());
         }
 
-        ResponseEntity<List<AccreditamentoRichiestaListItemDto>> response = restTemplate.exchange(
-            builder.build().toUri(),
-            HttpMethod.GET,
-            null,
-            new ParameterizedTypeReference<List<AccreditamentoRichiestaListItemDto>>() {}
-        );
+        return httpClient.get(builder.encode().build().toUri(), PAGE_TYPE)
+            .thenApply(AccreditamentoRichiesteClient::toListItems);
+    }
+
+    private static List<AccreditamentoRichiestaListItemDto> toListItems(Envelope<Page> envelope) {
+        if (envelope == null || envelope.getData() == null || envelope.getData().getContent() == null) {
+            return List.of();
+        }
+        List<AccreditamentoRichiestaListItemDto> items = new ArrayList<>(envelope.getData().getContent().size());
+        for (AccreditationRequestListItemDto request : envelope.getData().getContent()) {
+            AccreditamentoRichiestaListItemDto item = new AccreditamentoRichiestaListItemDto();
+            item.setId(request.getId());
+            item.setRichiedente(request.getRequesterFullName() != null
+                ? request.getRequesterFullName()
+                : request.getRequesterEmail());
+            item.setTipoRichiesta(request.getRequestedRoleCode());
+            item.setStato(request.getStatus());
+            if (request.getCreatedAt() != null) {
+                item.setDataCreazione(request.getCreatedAt().toLocalDateTime());
+            }
+            items.add(item);
+        }
+        return items;
+    }
 
-        return response.getBody();
+    private static AccreditamentoRichiestaDettaglioDto toDettaglio(Envelope<AccreditationRequestDetailDto> envelope) {
+        if (envelope == null || envelope.getData() == null) {
+            return null;
+        }
+        AccreditationRequestDetailDto request = envelope.getData();
+        AccreditamentoRichiestaDettaglioDto dettaglio = new AccreditamentoRichiestaDettaglioDto();
+        dettaglio.setId(request.getId());
+        dettaglio.setRichiedente(request.getRequesterFullName() != null
+            ? request.getRequesterFullName()
+            : request.getRequesterEmail());
+        dettaglio.setEmailRichiedente(request.getRequesterEmail());
+        dettaglio.setTipoRichiesta(request.getRequestedRoleCode());
+        dettaglio.setStato(request.getStatus());
+        if (request.getCreatedAt() != null) {
+            dettaglio.setDataCreazione(request.getCreatedAt().toLocalDateTime());
+        }
+        if (request.getDecisionDate() != null) {
+            dettaglio.setDataDecisione(request.getDecisionDate().toLocalDateTime());
+        }
+        if (request.getApproverId() != null) {
+            dettaglio.setGestitaDa(String.valueOf(request.getApproverId()));
+        }
+        dettaglio.setMotivazioneRifiuto(request.getRejectionNotes());
+        return dettaglio;
     }
 
-    public AccreditamentoRichiestaDettaglioDto getDettaglio(Long id) throws RestClientException {
-        String url = backendApiProperties.getBaseUrl() + "/accreditamento/richieste/" + id;
-        ResponseEntity<AccreditamentoRichiestaDettaglioDto> response = restTemplate.getForEntity(url, AccreditamentoRichiestaDettaglioDto.class);
-        return response.getBody();
+    private URI richiestaUri(Long id, String suffix) {
+        return URI.create(backendApiProperties.getBaseUrl() + "/accreditation-requests/" + id + suffix);
     }
 
-    public void approva(Long id) throws RestClientException {
-        String url = backendApiProperties.getBaseUrl() + "/accreditamento/richieste/" + id + "/approve";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(null, headers);
-        restTemplate.postForEntity(url, entity, Void.class);
+    /**
+     * Involucro {@code ResponseEnvelope<...>} restituito dal backend; interessa solo il campo {@code data}.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Envelope<T> {
+
+        private T data;
+
+        public T getData() {
+            return data;
+        }
+
+        public void setData(T data) {
+            this.data = data;
+        }
     }
 
-    public void rifiuta(Long id, String noteRifiuto) throws RestClientException {
-        String url = backendApiProperties.getBaseUrl() + "/accreditamento/richieste/" + id + "/reject";
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(Map.of("note_rifiuto", noteRifiuto), headers);
-        restTemplate.postForEntity(url, entity, Void.class);
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Page {
+
+        private List<AccreditationRequestListItemDto> content;
+
+        public List<AccreditationRequestListItemDto> getContent() {
+            return content;
+        }
+
+        public void setContent(List<AccreditationRequestListItemDto> content) {
+            this.content = content;
+        }
     }
 }
@@ -2,6 +2,7 @@ package com.elite.portal.modules.accreditamento.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
@@ -10,7 +11,10 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 
+import com.elite.portal.modules.accreditamento.search.AccreditamentoSearchEntityListener;
+
 @Entity
+@EntityListeners(AccreditamentoSearchEntityListener.class)
 @Table(name = "accreditamento_richiesta")
 public class AccreditamentoRichiesta {
 
@@ -7,6 +7,8 @@ public class AccreditamentoRichiestaFilterDto {
 
     private String stato;
     private String query;
+    private int page;
+    private int size = 50;
 
     public String getStato() {
         return stato;
@@ -23,4 +25,20 @@ public class AccreditamentoRichiestaFilterDto {
     public void setQuery(String query) {
         this.query = query;
     }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
 }
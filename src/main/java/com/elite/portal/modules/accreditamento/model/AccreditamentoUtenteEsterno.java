@@ -2,6 +2,7 @@ package com.elite.portal.modules.accreditamento.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -13,6 +14,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
+import com.elite.portal.modules.accreditamento.search.AccreditamentoSearchEntityListener;
 import com.elite.portal.modules.anagrafica.azienda.model.Azienda;
 import com.elite.portal.modules.utente.model.Utente;
 
@@ -25,6 +27,7 @@ import com.elite.portal.modules.utente.model.Utente;
  * durante il processo di revisione.
  */
 @Entity
+@EntityListeners(AccreditamentoSearchEntityListener.class)
 @Table(name = "accreditamento_utente_esterno")
 public class AccreditamentoUtenteEsterno {
 
@@ -8,10 +8,15 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Entity
-@Table(name = "REQUEST_ACCR")
+@Table(name = "REQUEST_ACCR", indexes = {
+    @Index(name = "idx_request_accr_status_creation", columnList = "status, creation_date, id"),
+    @Index(name = "idx_request_accr_creation", columnList = "creation_date, id")
+})
 public class RequestAccr {
 
     @Id
@@ -40,6 +45,14 @@ public class RequestAccr {
     @Column(name = "external_user_id")
     private Long externalUserId;
 
+    /**
+     * Versione per il lock ottimistico: due decisioni concorrenti sulla stessa richiesta
+     * non possono entrambe andare a buon fine.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public RequestAccr() {
     }
 
@@ -106,4 +119,12 @@ public class RequestAccr {
     public void setExternalUserId(Long externalUserId) {
         this.externalUserId = externalUserId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,96 @@
+package com.elite.portal.modules.accreditamento.repository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.elite.portal.modules.accreditamento.model.AccreditationStatus;
+
+/**
+ * Filtri, ordinamento e posizione keyset per la lettura paginata della coda accreditamenti.
+ * I campi nulli non filtrano; {@code afterId} (con {@code afterCreationDate} se l'ordinamento e'
+ * per data) indica l'ultima riga della pagina precedente.
+ */
+public class RequestAccrQueueQuery {
+
+    private Set<AccreditationStatus> statuses = EnumSet.noneOf(AccreditationStatus.class);
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private RequestAccrQueueSort sort = RequestAccrQueueSort.CREATION_DATE;
+    private boolean ascending;
+    private LocalDateTime afterCreationDate;
+    private Long afterId;
+    private int limit = 50;
+
+    public Set<AccreditationStatus> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Set<AccreditationStatus> statuses) {
+        this.statuses = statuses == null || statuses.isEmpty()
+            ? EnumSet.noneOf(AccreditationStatus.class)
+            : EnumSet.copyOf(statuses);
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    /**
+     * Limite inferiore incluso sulla data di creazione.
+     */
+    public void setCreatedFrom(LocalDateTime createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    /**
+     * Limite superiore escluso sulla data di creazione.
+     */
+    public void setCreatedTo(LocalDateTime createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public RequestAccrQueueSort getSort() {
+        return sort;
+    }
+
+    public void setSort(RequestAccrQueueSort sort) {
+        this.sort = sort != null ? sort : RequestAccrQueueSort.CREATION_DATE;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setAscending(boolean ascending) {
+        this.ascending = ascending;
+    }
+
+    public LocalDateTime getAfterCreationDate() {
+        return afterCreationDate;
+    }
+
+    public void setAfterCreationDate(LocalDateTime afterCreationDate) {
+        this.afterCreationDate = afterCreationDate;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,19 @@
+package com.elite.portal.modules.accreditamento.repository;
+
+import java.util.List;
+
+import com.elite.portal.modules.accreditamento.model.RequestAccr;
+
+/**
+ * Frammento custom di {@link RequestAccrRepository} per la coda paginata: filtri e seek
+ * vengono tradotti in predicati SQL, senza OFFSET e senza query di conteggio.
+ */
+public interface RequestAccrQueueRepository {
+
+    /**
+     * Restituisce al massimo {@code query.getLimit()} richieste successive alla posizione keyset
+     * indicata, nell'ordine richiesto.
+     */
+    List<RequestAccr> findQueueSlice(RequestAccrQueueQuery query);
+
+}
@@ -0,0 +1,75 @@
+package com.elite.portal.modules.accreditamento.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import com.elite.portal.modules.accreditamento.model.RequestAccr;
+
+/**
+ * Implementazione Criteria di {@link RequestAccrQueueRepository}; il nome segue la convenzione
+ * Spring Data per i frammenti, cosi' viene agganciata automaticamente al repository.
+ */
+public class RequestAccrQueueRepositoryImpl implements RequestAccrQueueRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<RequestAccr> findQueueSlice(RequestAccrQueueQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<RequestAccr> cq = cb.createQuery(RequestAccr.class);
+        Root<RequestAccr> root = cq.from(RequestAccr.class);
+        Path<LocalDateTime> creationDate = root.get("creationDate");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (!query.getStatuses().isEmpty()) {
+            predicates.add(root.get("status").in(query.getStatuses()));
+        }
+        if (query.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(creationDate, query.getCreatedFrom()));
+        }
+        if (query.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(creationDate, query.getCreatedTo()));
+        }
+        if (query.getAfterId() != null) {
+            predicates.add(seekPredicate(cb, creationDate, id, query));
+        }
+        cq.select(root).where(predicates.toArray(new Predicate[0]));
+
+        List<Order> orders = new ArrayList<>(2);
+        if (query.getSort() == RequestAccrQueueSort.CREATION_DATE) {
+            orders.add(query.isAscending() ? cb.asc(creationDate) : cb.desc(creationDate));
+        }
+        orders.add(query.isAscending() ? cb.asc(id) : cb.desc(id));
+        cq.orderBy(orders);
+
+        return entityManager.createQuery(cq)
+            .setMaxResults(query.getLimit())
+            .getResultList();
+    }
+
+    private Predicate seekPredicate(CriteriaBuilder cb,
+                                    Path<LocalDateTime> creationDate,
+                                    Path<Long> id,
+                                    RequestAccrQueueQuery query) {
+        boolean asc = query.isAscending();
+        Predicate afterId = asc ? cb.greaterThan(id, query.getAfterId()) : cb.lessThan(id, query.getAfterId());
+        if (query.getSort() == RequestAccrQueueSort.ID) {
+            return afterId;
+        }
+        LocalDateTime lastDate = query.getAfterCreationDate();
+        Predicate afterDate = asc ? cb.greaterThan(creationDate, lastDate) : cb.lessThan(creationDate, lastDate);
+        return cb.or(afterDate, cb.and(cb.equal(creationDate, lastDate), afterId));
+    }
+}
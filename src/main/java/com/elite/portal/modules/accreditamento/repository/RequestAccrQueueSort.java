@@ -0,0 +1,12 @@
+package com.elite.portal.modules.accreditamento.repository;
+
+/**
+ * Chiavi di ordinamento supportate dalla paginazione keyset della coda; l'id fa sempre da
+ * spareggio, quindi l'ordine e' totale e i cursori restano stabili.
+ */
+public enum RequestAccrQueueSort {
+
+    CREATION_DATE,
+    ID
+
+}
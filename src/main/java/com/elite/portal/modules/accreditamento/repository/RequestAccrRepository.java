@@ -9,7 +9,7 @@ import com.elite.portal.modules.accreditamento.model.AccreditationStatus;
 import com.elite.portal.modules.accreditamento.model.RequestAccr;
 
 @Repository
-public interface RequestAccrRepository extends JpaRepository<RequestAccr, Long> {
+public interface RequestAccrRepository extends JpaRepository<RequestAccr, Long>, RequestAccrQueueRepository {
 
     List<RequestAccr> findByStatus(AccreditationStatus status);
 
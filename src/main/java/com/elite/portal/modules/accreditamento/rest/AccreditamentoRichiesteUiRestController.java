@@ -1,8 +1,8 @@
 package com.elite.portal.modules.accreditamento.rest;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,9 +22,8 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 
 import com.elite.portal.modules.accreditamento.client.AccreditamentoRichiesteClient;
-import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaDettaglioDto;
 import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaFilterDto;
-import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaListItemDto;
+import com.elite.portal.shared.http.BackendHttpClient;
 
 /**
  * Controller REST usato dalla UI (AJAX) per gestire la coda richieste di accreditamento.
@@ -45,56 +44,68 @@ public class AccreditamentoRichiesteUiRestController {
     }
 
     @GetMapping
-    public ResponseEntity<?> search(
+    public CompletableFuture<ResponseEntity<?>> search(
         @RequestParam(name = "stato", required = false) String stato,
-        @RequestParam(name = "q", required = false) String query) {
+        @RequestParam(name = "q", required = false) String query,
+        @RequestParam(name = "page", defaultValue = "0") int page,
+        @RequestParam(name = "size", defaultValue = "50") int size) {
 
         AccreditamentoRichiestaFilterDto filter = new AccreditamentoRichiestaFilterDto();
         filter.setStato(stato);
         filter.setQuery(query);
+        filter.setPage(page);
+        filter.setSize(size);
 
-        try {
-            List<AccreditamentoRichiestaListItemDto> result = richiesteClient.search(filter);
-            return ResponseEntity.ok(result);
-        } catch (HttpClientErrorException.Forbidden ex) {
-            LOGGER.warn("Accesso non autorizzato alla coda richieste", ex);
+        return richiesteClient.search(filter)
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(error -> searchError(BackendHttpClient.unwrap(error)));
+    }
+
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<?>> dettaglio(@PathVariable("id") Long id) {
+        return richiesteClient.getDettaglio(id)
+            .<ResponseEntity<?>>thenApply(dettaglio -> dettaglio == null
+                ? buildError(HttpStatus.NOT_FOUND, "Richiesta non trovata.")
+                : ResponseEntity.ok(dettaglio))
+            .exceptionally(error -> dettaglioError(id, BackendHttpClient.unwrap(error)));
+    }
+
+    private ResponseEntity<?> searchError(Throwable error) {
+        if (error instanceof HttpClientErrorException.Forbidden) {
+            LOGGER.warn("Accesso non autorizzato alla coda richieste", error);
             return buildError(HttpStatus.FORBIDDEN, "Non sei autorizzato a visualizzare le richieste di accreditamento.");
-        } catch (HttpClientErrorException ex) {
-            LOGGER.warn("Errore client durante la ricerca richieste", ex);
-            return buildError(ex.getStatusCode(), "Errore nella ricerca delle richieste di accreditamento.");
-        } catch (HttpServerErrorException ex) {
-            LOGGER.error("Errore server backend durante la ricerca richieste", ex);
+        }
+        if (error instanceof HttpClientErrorException) {
+            LOGGER.warn("Errore client durante la ricerca richieste", error);
+            return buildError(((HttpClientErrorException) error).getStatusCode(), "Errore nella ricerca delle richieste di accreditamento.");
+        }
+        if (error instanceof HttpServerErrorException) {
+            LOGGER.error("Errore server backend durante la ricerca richieste", error);
             return buildError(HttpStatus.BAD_GATEWAY, "Si è verificato un errore nel server backend. Riprova più tardi.");
-        } catch (RestClientException ex) {
-            LOGGER.error("Errore generico durante la ricerca richieste", ex);
-            return buildError(HttpStatus.BAD_GATEWAY, "Impossibile recuperare le richieste al momento. Riprova più tardi.");
         }
+        LOGGER.error("Errore generico durante la ricerca richieste", error);
+        return buildError(HttpStatus.BAD_GATEWAY, "Impossibile recuperare le richieste al momento. Riprova più tardi.");
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<?> dettaglio(@PathVariable("id") Long id) {
-        try {
-            AccreditamentoRichiestaDettaglioDto dettaglio = richiesteClient.getDettaglio(id);
-            if (dettaglio == null) {
-                return buildError(HttpStatus.NOT_FOUND, "Richiesta non trovata.");
-            }
-            return ResponseEntity.ok(dettaglio);
-        } catch (HttpClientErrorException.Forbidden ex) {
-            LOGGER.warn("Accesso non autorizzato al dettaglio richiesta {}", id, ex);
+    private ResponseEntity<?> dettaglioError(Long id, Throwable error) {
+        if (error instanceof HttpClientErrorException.Forbidden) {
+            LOGGER.warn("Accesso non autorizzato al dettaglio richiesta {}", id, error);
             return buildError(HttpStatus.FORBIDDEN, "Non sei autorizzato a visualizzare questa richiesta.");
-        } catch (HttpClientErrorException.NotFound ex) {
-            LOGGER.warn("Richiesta {} non trovata", id, ex);
+        }
+        if (error instanceof HttpClientErrorException.NotFound) {
+            LOGGER.warn("Richiesta {} non trovata", id, error);
             return buildError(HttpStatus.NOT_FOUND, "Richiesta non trovata.");
-        } catch (HttpClientErrorException ex) {
-            LOGGER.warn("Errore client durante il recupero dettaglio richiesta {}", id, ex);
-            return buildError(ex.getStatusCode(), "Errore nel recupero del dettaglio richiesta.");
-        } catch (HttpServerErrorException ex) {
-            LOGGER.error("Errore server backend durante il recupero dettaglio richiesta {}", id, ex);
+        }
+        if (error instanceof HttpClientErrorException) {
+            LOGGER.warn("Errore client durante il recupero dettaglio richiesta {}", id, error);
+            return buildError(((HttpClientErrorException) error).getStatusCode(), "Errore nel recupero del dettaglio richiesta.");
+        }
+        if (error instanceof HttpServerErrorException) {
+            LOGGER.error("Errore server backend durante il recupero dettaglio richiesta {}", id, error);
             return buildError(HttpStatus.BAD_GATEWAY, "Si è verificato un errore nel server backend. Riprova più tardi.");
-        } catch (RestClientException ex) {
-            LOGGER.error("Errore generico durante il recupero dettaglio richiesta {}", id, ex);
-            return buildError(HttpStatus.BAD_GATEWAY, "Impossibile recuperare i dettagli al momento. Riprova più tardi.");
         }
+        LOGGER.error("Errore generico durante il recupero dettaglio richiesta {}", id, error);
+        return buildError(HttpStatus.BAD_GATEWAY, "Impossibile recuperare i dettagli al momento. Riprova più tardi.");
     }
 
     @PostMapping("/{id}/approve")
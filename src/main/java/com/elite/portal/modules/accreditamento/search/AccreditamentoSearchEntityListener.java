@@ -0,0 +1,47 @@
+package com.elite.portal.modules.accreditamento.search;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+import org.springframework.stereotype.Component;
+
+import com.elite.portal.modules.accreditamento.domain.AccreditamentoRichiesta;
+import com.elite.portal.modules.accreditamento.model.AccreditamentoUtenteEsterno;
+
+/**
+ * Mantiene allineato l'indice di ricerca con {@link AccreditamentoUtenteEsterno} e
+ * {@link AccreditamentoRichiesta}. Istanziato da Hibernate tramite il bean container di Spring.
+ */
+@Component
+public class AccreditamentoSearchEntityListener {
+
+    private final AccreditationSearchService searchService;
+
+    public AccreditamentoSearchEntityListener(AccreditationSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (entity instanceof AccreditamentoUtenteEsterno) {
+            AccreditamentoUtenteEsterno utente = (AccreditamentoUtenteEsterno) entity;
+            searchService.afterCommit(() -> searchService.index(utente));
+        } else if (entity instanceof AccreditamentoRichiesta) {
+            AccreditamentoRichiesta richiesta = (AccreditamentoRichiesta) entity;
+            searchService.afterCommit(() -> searchService.index(richiesta));
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        if (entity instanceof AccreditamentoUtenteEsterno) {
+            Long id = ((AccreditamentoUtenteEsterno) entity).getId();
+            searchService.afterCommit(() -> searchService.remove(AccreditationSearchSource.UTENTE_ESTERNO, id));
+        } else if (entity instanceof AccreditamentoRichiesta) {
+            Long id = ((AccreditamentoRichiesta) entity).getId();
+            searchService.afterCommit(() -> searchService.remove(AccreditationSearchSource.RICHIESTA, id));
+        }
+    }
+}
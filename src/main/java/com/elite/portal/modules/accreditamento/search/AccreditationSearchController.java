@@ -0,0 +1,38 @@
+package com.elite.portal.modules.accreditamento.search;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Ricerca full-text trasversale su richieste di accreditamento e utenti esterni, usata dal
+ * filtro "q" della coda richieste.
+ */
+@RestController
+@RequestMapping("/api/accreditamento/search")
+public class AccreditationSearchController {
+
+    private final AccreditationSearchService searchService;
+
+    public AccreditationSearchController(AccreditationSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('SYS_ADMIN','IT_OPERATOR')")
+    public ResponseEntity<List<AccreditationSearchHit>> search(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "source", required = false) Set<AccreditationSearchSource> sources,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        if (query.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(searchService.search(query, sources, limit));
+    }
+}
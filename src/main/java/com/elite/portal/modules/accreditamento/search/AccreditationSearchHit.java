@@ -0,0 +1,29 @@
+package com.elite.portal.modules.accreditamento.search;
+
+/**
+ * Risultato della ricerca full-text: tabella di provenienza, id del record e punteggio.
+ */
+public class AccreditationSearchHit {
+
+    private final AccreditationSearchSource source;
+    private final Long id;
+    private final double score;
+
+    public AccreditationSearchHit(AccreditationSearchSource source, Long id, double score) {
+        this.source = source;
+        this.id = id;
+        this.score = score;
+    }
+
+    public AccreditationSearchSource getSource() {
+        return source;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,224 @@
+package com.elite.portal.modules.accreditamento.search;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.elite.portal.modules.accreditamento.domain.AccreditamentoRichiesta;
+import com.elite.portal.modules.accreditamento.model.AccreditamentoUtenteEsterno;
+import com.elite.portal.modules.accreditamento.repository.AccreditamentoRichiestaRepository;
+import com.elite.portal.modules.accreditamento.repository.AccreditamentoUtenteEsternoRepository;
+import com.elite.portal.modules.accreditation.model.AccreditationRequest;
+import com.elite.portal.modules.accreditation.model.AccreditationRequestStatus;
+import com.elite.portal.modules.accreditation.repository.AccreditationRequestRepository;
+import com.elite.portal.shared.search.InvertedIndex;
+import com.elite.portal.shared.search.SearchDocument;
+import com.elite.portal.shared.search.SearchField;
+import com.elite.portal.shared.search.SearchHit;
+
+/**
+ * Ricerca full-text ("q") su richieste di accreditamento e utenti esterni: nomi, email,
+ * azienda e note. L'indice vive in memoria, viene ricostruito all'avvio e aggiornato
+ * in modo incrementale dagli entity listener dopo il commit di ogni creazione o decisione.
+ */
+@Service
+public class AccreditationSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AccreditationSearchService.class);
+
+    public static final int MAX_RESULTS = 500;
+
+    private final InvertedIndex index = new InvertedIndex();
+    // Stato delle AccreditationRequest indicizzate: il filtro per stato va applicato prima del limite
+    // MAX_RESULTS, altrimenti i documenti meglio classificati di altri stati esauriscono il limite.
+    private final Map<Long, AccreditationRequestStatus> requestStatuses = new ConcurrentHashMap<>();
+    private final AccreditamentoUtenteEsternoRepository utenteEsternoRepository;
+    private final AccreditamentoRichiestaRepository richiestaRepository;
+    private final AccreditationRequestRepository accreditationRequestRepository;
+    private final boolean rebuildOnStartup;
+    private final int rebuildBatchSize;
+
+    public AccreditationSearchService(AccreditamentoUtenteEsternoRepository utenteEsternoRepository,
+                                      AccreditamentoRichiestaRepository richiestaRepository,
+                                      AccreditationRequestRepository accreditationRequestRepository,
+                                      @Value("${elite.portal.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                                      @Value("${elite.portal.search.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.utenteEsternoRepository = utenteEsternoRepository;
+        this.richiestaRepository = richiestaRepository;
+        this.accreditationRequestRepository = accreditationRequestRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Ricerca ordinata per rilevanza.
+     *
+     * @param sources tabelle su cui cercare, tutte se null o vuoto
+     */
+    public List<AccreditationSearchHit> search(String query, Set<AccreditationSearchSource> sources, int limit) {
+        Set<AccreditationSearchSource> allowed = sources == null || sources.isEmpty()
+            ? EnumSet.allOf(AccreditationSearchSource.class)
+            : EnumSet.copyOf(sources);
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<SearchHit> hits = index.search(query, boundedLimit,
+            key -> allowed.contains(AccreditationSearchSource.sourceOf(key)));
+        List<AccreditationSearchHit> result = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            result.add(new AccreditationSearchHit(AccreditationSearchSource.sourceOf(hit.getKey()),
+                AccreditationSearchSource.idOf(hit.getKey()), hit.getScore()));
+        }
+        return result;
+    }
+
+    /**
+     * Id dei record di una sola tabella, in ordine di rilevanza.
+     */
+    public List<Long> searchIds(String query, AccreditationSearchSource source, int limit) {
+        List<Long> ids = new ArrayList<>();
+        for (AccreditationSearchHit hit : search(query, EnumSet.of(source), limit)) {
+            ids.add(hit.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Id delle AccreditationRequest in ordine di rilevanza, limitati allo stato richiesto (tutti se null).
+     */
+    public List<Long> searchAccreditationRequestIds(String query, AccreditationRequestStatus status, int limit) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<SearchHit> hits = index.search(query, boundedLimit,
+            key -> AccreditationSearchSource.sourceOf(key) == AccreditationSearchSource.ACCREDITATION_REQUEST
+                && (status == null || status == requestStatuses.get(AccreditationSearchSource.idOf(key))));
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (SearchHit hit : hits) {
+            ids.add(AccreditationSearchSource.idOf(hit.getKey()));
+        }
+        return ids;
+    }
+
+    public void index(AccreditamentoUtenteEsterno entity) {
+        if (entity.getId() == null) {
+            return;
+        }
+        index.index(new SearchDocument(AccreditationSearchSource.UTENTE_ESTERNO.keyOf(entity.getId()))
+            .add(SearchField.NAME, entity.getNome())
+            .add(SearchField.NAME, entity.getCognome())
+            .add(SearchField.EMAIL, entity.getEmail())
+            .add(SearchField.COMPANY, entity.getAziendaNome())
+            .add(SearchField.COMPANY, entity.getRuolo())
+            .add(SearchField.NOTES, entity.getNote()));
+    }
+
+    public void index(AccreditamentoRichiesta entity) {
+        if (entity.getId() == null) {
+            return;
+        }
+        index.index(new SearchDocument(AccreditationSearchSource.RICHIESTA.keyOf(entity.getId()))
+            .add(SearchField.NAME, entity.getNome())
+            .add(SearchField.NAME, entity.getCognome())
+            .add(SearchField.EMAIL, entity.getEmail())
+            .add(SearchField.COMPANY, entity.getAzienda())
+            .add(SearchField.NOTES, entity.getNote()));
+    }
+
+    public void index(AccreditationRequest entity) {
+        if (entity.getId() == null) {
+            return;
+        }
+        index.index(new SearchDocument(AccreditationSearchSource.ACCREDITATION_REQUEST.keyOf(entity.getId()))
+            .add(SearchField.NAME, entity.getRequesterFullName())
+            .add(SearchField.EMAIL, entity.getRequesterEmail())
+            .add(SearchField.COMPANY, entity.getRequestedRoleCode())
+            .add(SearchField.NOTES, entity.getRejectionNotes()));
+        if (entity.getStatus() != null) {
+            requestStatuses.put(entity.getId(), entity.getStatus());
+        } else {
+            requestStatuses.remove(entity.getId());
+        }
+    }
+
+    public void remove(AccreditationSearchSource source, Long id) {
+        if (id != null) {
+            index.remove(source.keyOf(id));
+            if (source == AccreditationSearchSource.ACCREDITATION_REQUEST) {
+                requestStatuses.remove(id);
+            }
+        }
+    }
+
+    /**
+     * Esegue l'aggiornamento dopo il commit della transazione corrente, cosi' un rollback
+     * non lascia nell'indice dati mai salvati; senza transazione attiva lo esegue subito.
+     */
+    public void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "accreditation-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Rilegge tutte le tabelle a blocchi e reindicizza. Gli aggiornamenti incrementali
+     * concorrenti restano validi perche' l'indicizzazione sostituisce per chiave.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            reindexAll(utenteEsternoRepository, this::index);
+            reindexAll(richiestaRepository, this::index);
+            reindexAll(accreditationRequestRepository, this::index);
+            LOGGER.info("Indice di ricerca accreditamenti ricostruito: {} documenti in {} ms",
+                index.size(), (System.nanoTime() - start) / 1_000_000L);
+        } catch (RuntimeException ex) {
+            LOGGER.error("Ricostruzione dell'indice di ricerca accreditamenti fallita", ex);
+        }
+    }
+
+    private <T> void reindexAll(JpaRepository<T, Long> repository, Consumer<T> indexer) {
+        Pageable pageable = PageRequest.of(0, rebuildBatchSize, Sort.by("id"));
+        Page<T> page;
+        do {
+            page = repository.findAll(pageable);
+            page.getContent().forEach(indexer);
+            pageable = page.nextPageable();
+        } while (page.hasNext());
+    }
+}
@@ -0,0 +1,26 @@
+package com.elite.portal.modules.accreditamento.search;
+
+/**
+ * Tabelle indicizzate dalla ricerca full-text delle richieste di accreditamento.
+ */
+public enum AccreditationSearchSource {
+
+    UTENTE_ESTERNO,
+    RICHIESTA,
+    ACCREDITATION_REQUEST;
+
+    private static final int ID_BITS = 56;
+    private static final long ID_MASK = (1L << ID_BITS) - 1;
+
+    long keyOf(Long id) {
+        return ((long) ordinal() << ID_BITS) | (id & ID_MASK);
+    }
+
+    static AccreditationSearchSource sourceOf(long key) {
+        return values()[(int) (key >>> ID_BITS)];
+    }
+
+    static long idOf(long key) {
+        return key & ID_MASK;
+    }
+}
@@ -0,0 +1,60 @@
+package com.elite.portal.modules.accreditamento.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.elite.portal.modules.accreditamento.model.RequestAccr;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueQuery;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueSort;
+
+/**
+ * Cursore opaco della coda accreditamenti: codifica in base64url ordinamento e chiave keyset
+ * dell'ultima riga restituita. Un cursore emesso con un ordinamento diverso da quello richiesto
+ * viene rifiutato, per non saltare o ripetere righe.
+ */
+final class AccreditationQueueCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private AccreditationQueueCursor() {
+    }
+
+    static String encode(RequestAccr last, RequestAccrQueueSort sort, boolean ascending) {
+        String creationDate = last.getCreationDate() != null ? last.getCreationDate().toString() : "";
+        String raw = sort.name() + SEPARATOR + (ascending ? "A" : "D") + SEPARATOR + creationDate + SEPARATOR + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Applica il cursore alla query; la query deve gia' avere ordinamento e direzione impostati.
+     *
+     * @throws IllegalArgumentException se il cursore e' malformato o non compatibile con l'ordinamento
+     */
+    static void apply(String cursor, RequestAccrQueueQuery query) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!query.getSort().name().equals(parts[0]) || !(query.isAscending() ? "A" : "D").equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        try {
+            query.setAfterId(Long.valueOf(parts[3]));
+            if (query.getSort() == RequestAccrQueueSort.CREATION_DATE) {
+                if (parts[2].isEmpty()) {
+                    throw new IllegalArgumentException("Invalid cursor");
+                }
+                query.setAfterCreationDate(LocalDateTime.parse(parts[2]));
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.elite.portal.modules.accreditamento.service;
+
+import java.util.List;
+
+import com.elite.portal.modules.accreditamento.model.RequestAccr;
+
+/**
+ * Pagina della coda accreditamenti; {@code nextCursor} e' null sull'ultima pagina.
+ */
+public class AccreditationQueuePage {
+
+    private final List<RequestAccr> items;
+    private final String nextCursor;
+
+    public AccreditationQueuePage(List<RequestAccr> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<RequestAccr> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
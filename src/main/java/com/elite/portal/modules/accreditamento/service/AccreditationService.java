@@ -2,14 +2,17 @@ package com.elite.portal.modules.accreditamento.service;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.elite.portal.modules.accreditamento.model.AccreditationStatus;
 import com.elite.portal.modules.accreditamento.model.RequestAccr;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueQuery;
 import com.elite.portal.modules.accreditamento.repository.RequestAccrRepository;
 import com.elite.portal.modules.security.model.RoleType;
 import com.elite.portal.modules.security.model.UserAccount;
@@ -18,6 +21,8 @@ import com.elite.portal.modules.security.repository.UserAccountRepository;
 @Service
 public class AccreditationService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final RequestAccrRepository requestAccrRepository;
     private final UserAccountRepository userAccountRepository;
     private final Clock clock;
@@ -44,14 +49,39 @@ public class AccreditationService {
         return requestAccrRepository.findById(id);
     }
 
+    /**
+     * Legge una pagina della coda con paginazione keyset: filtri e ordinamento sono eseguiti dal
+     * database e viene letta una riga in piu' per sapere se esiste una pagina successiva.
+     *
+     * @param query filtri e ordinamento; limit viene ricondotto all'intervallo [1, MAX_PAGE_SIZE]
+     * @param cursor cursore restituito dalla pagina precedente, null per la prima pagina
+     * @throws IllegalArgumentException se il cursore non e' valido
+     */
     @Transactional(readOnly = true)
-    public List<RequestAccr> findByStatus(AccreditationStatus status) {
-        if (status == null) {
-            return requestAccrRepository.findAll();
+    public AccreditationQueuePage findQueuePage(RequestAccrQueueQuery query, String cursor) {
+        int pageSize = Math.max(1, Math.min(query.getLimit(), MAX_PAGE_SIZE));
+        if (cursor != null && !cursor.isEmpty()) {
+            AccreditationQueueCursor.apply(cursor, query);
+        }
+        query.setLimit(pageSize + 1);
+
+        List<RequestAccr> rows = requestAccrRepository.findQueueSlice(query);
+        if (rows.size() <= pageSize) {
+            return new AccreditationQueuePage(rows, null);
         }
-        return requestAccrRepository.findByStatus(status);
+        List<RequestAccr> items = new ArrayList<>(rows.subList(0, pageSize));
+        String nextCursor = AccreditationQueueCursor.encode(items.get(pageSize - 1), query.getSort(), query.isAscending());
+        return new AccreditationQueuePage(items, nextCursor);
     }
 
+    /**
+     * Approva la richiesta con lock ottimistico: la riga non viene bloccata durante il
+     * provisioning dell'utente, l'UPDATE versionato parte solo alla fine e, se un'altra
+     * decisione e' stata salvata nel frattempo, l'intera transazione (utente compreso)
+     * viene annullata.
+     *
+     * @throws IllegalStateException se la richiesta non e' PENDING o e' stata decisa in concorrenza
+     */
     @Transactional
     public RequestAccr approveRequest(Long requestId, Long approverId) {
         RequestAccr requestAccr = requestAccrRepository.findById(requestId)
@@ -61,11 +91,6 @@ public class AccreditationService {
             throw new IllegalStateException("RequestAccr not in PENDING status");
         }
 
-        requestAccr.setStatus(AccreditationStatus.APPROVED);
-        requestAccr.setDecisionDate(LocalDateTime.now(clock));
-        requestAccr.setApproverId(approverId);
-        requestAccr.setRejectNote(null);
-
         UserAccount externalUser = userAccountRepository.findByUsername(requestAccr.getExternalEmail())
             .orElseGet(() -> {
                 UserAccount account = new UserAccount();
@@ -81,11 +106,18 @@ public class AccreditationService {
         externalUser.addRole(RoleType.EXTERNAL_USER);
         userAccountRepository.save(externalUser);
 
+        requestAccr.setStatus(AccreditationStatus.APPROVED);
+        requestAccr.setDecisionDate(LocalDateTime.now(clock));
+        requestAccr.setApproverId(approverId);
+        requestAccr.setRejectNote(null);
         requestAccr.setExternalUserId(externalUser.getId());
 
-        return requestAccrRepository.save(requestAccr);
+        return saveDecision(requestAccr);
     }
 
+    /**
+     * @throws IllegalStateException se la richiesta non e' PENDING o e' stata decisa in concorrenza
+     */
     @Transactional
     public RequestAccr rejectRequest(Long requestId, Long approverId, String note) {
         if (note == null || note.trim().isEmpty()) {
@@ -104,6 +136,18 @@ public class AccreditationService {
         requestAccr.setApproverId(approverId);
         requestAccr.setRejectNote(note);
 
-        return requestAccrRepository.save(requestAccr);
+        return saveDecision(requestAccr);
+    }
+
+    /**
+     * Forza subito l'UPDATE versionato, cosi' il conflitto emerge qui (e diventa 409) invece
+     * che al commit.
+     */
+    private RequestAccr saveDecision(RequestAccr requestAccr) {
+        try {
+            return requestAccrRepository.saveAndFlush(requestAccr);
+        } catch (OptimisticLockingFailureException e) {
+            throw new IllegalStateException("RequestAccr " + requestAccr.getId() + " was decided concurrently", e);
+        }
     }
 }
@@ -0,0 +1,24 @@
+package com.elite.portal.modules.accreditation.config;
+
+import com.elite.portal.modules.accreditation.exception.AccreditationRequestConflictException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@RestControllerAdvice(basePackages = "com.elite.portal.modules.accreditation")
+public class AccreditationExceptionHandler {
+
+    @ExceptionHandler(AccreditationRequestConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(AccreditationRequestConflictException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", Instant.now().toString());
+        body.put("errorCode", "CONCURRENT_DECISION");
+        body.put("message", ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+}
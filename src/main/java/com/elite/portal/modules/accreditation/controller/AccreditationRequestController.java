@@ -1,6 +1,8 @@
 package com.elite.portal.modules.accreditation.controller;
 
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestApproveRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionResultDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestDetailDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestListItemDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestRejectRequestDto;
@@ -40,9 +42,12 @@ public class AccreditationRequestController {
     @PreAuthorize("hasAnyRole('" + RoleConstant.SYS_ADMIN + "','" + RoleConstant.IT_OPERATOR + "')")
     public ResponseEntity<ResponseEnvelope<PageResponseDto<AccreditationRequestListItemDto>>> list(
             @RequestParam(name = "status", required = false) String status,
+            @RequestParam(name = "q", required = false) String query,
             Pageable pageable,
             @CurrentUser Long currentUserId) {
-        Page<AccreditationRequestListItemDto> page = accreditationRequestService.findByStatus(status, pageable, currentUserId);
+        Page<AccreditationRequestListItemDto> page = query == null || query.isBlank()
+                ? accreditationRequestService.findByStatus(status, pageable, currentUserId)
+                : accreditationRequestService.search(query, status, pageable, currentUserId);
         PageResponseDto<AccreditationRequestListItemDto> pageResponseDto = PageResponseDto.from(page);
         return ResponseEntity.ok(ResponseEnvelope.ok(pageResponseDto));
     }
@@ -66,6 +71,15 @@ public class AccreditationRequestController {
         return ResponseEntity.status(HttpStatus.OK).body(ResponseEnvelope.ok(dto));
     }
 
+    @PostMapping("/bulk-decision")
+    @PreAuthorize("hasAnyRole('" + RoleConstant.SYS_ADMIN + "','" + RoleConstant.IT_OPERATOR + "')")
+    public ResponseEntity<ResponseEnvelope<AccreditationRequestBulkDecisionResultDto>> bulkDecision(
+            @Valid @RequestBody AccreditationRequestBulkDecisionRequestDto bulkRequestDto,
+            @CurrentUser Long currentUserId) {
+        AccreditationRequestBulkDecisionResultDto dto = accreditationRequestService.decideBulk(bulkRequestDto, currentUserId);
+        return ResponseEntity.status(HttpStatus.OK).body(ResponseEnvelope.ok(dto));
+    }
+
     @PostMapping("/{id}/reject")
     @PreAuthorize("hasAnyRole('" + RoleConstant.SYS_ADMIN + "','" + RoleConstant.IT_OPERATOR + "')")
     public ResponseEntity<ResponseEnvelope<AccreditationRequestDetailDto>> reject(
@@ -0,0 +1,60 @@
+package com.elite.portal.modules.accreditation.dto;
+
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+
+public class AccreditationRequestBulkDecisionRequestDto {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "ids is mandatory")
+    @Size(max = MAX_IDS, message = "at most " + MAX_IDS + " ids per bulk decision")
+    private List<Long> ids;
+
+    @NotBlank(message = "decision is mandatory")
+    @Pattern(regexp = "(?i)APPROVE|REJECT", message = "decision must be APPROVE or REJECT")
+    private String decision;
+
+    private String noteRifiuto;
+
+    private String overrideRoleCode;
+
+    public AccreditationRequestBulkDecisionRequestDto() {
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public String getDecision() {
+        return decision;
+    }
+
+    public void setDecision(String decision) {
+        this.decision = decision;
+    }
+
+    public String getNoteRifiuto() {
+        return noteRifiuto;
+    }
+
+    public void setNoteRifiuto(String noteRifiuto) {
+        this.noteRifiuto = noteRifiuto;
+    }
+
+    public String getOverrideRoleCode() {
+        return overrideRoleCode;
+    }
+
+    public void setOverrideRoleCode(String overrideRoleCode) {
+        this.overrideRoleCode = overrideRoleCode;
+    }
+}
@@ -0,0 +1,67 @@
+package com.elite.portal.modules.accreditation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccreditationRequestBulkDecisionResultDto {
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        INVALID_STATE
+    }
+
+    private final List<Item> results = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+
+    public AccreditationRequestBulkDecisionResultDto() {
+    }
+
+    public void add(Long id, Outcome outcome, String message) {
+        results.add(new Item(id, outcome, message));
+        if (outcome == Outcome.APPROVED || outcome == Outcome.REJECTED) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public static class Item {
+
+        private final Long id;
+        private final Outcome outcome;
+        private final String message;
+
+        public Item(Long id, Outcome outcome, String message) {
+            this.id = id;
+            this.outcome = outcome;
+            this.message = message;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
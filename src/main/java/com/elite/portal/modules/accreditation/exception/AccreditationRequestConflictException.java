@@ -0,0 +1,12 @@
+package com.elite.portal.modules.accreditation.exception;
+
+/**
+ * La richiesta e' stata decisa da un altro operatore tra la lettura e il salvataggio
+ * (controllo di versione fallito); esposta come 409 Conflict.
+ */
+public class AccreditationRequestConflictException extends RuntimeException {
+
+    public AccreditationRequestConflictException(String message) {
+        super(message);
+    }
+}
@@ -2,15 +2,20 @@ package com.elite.portal.modules.accreditation.model;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.OffsetDateTime;
 
+import com.elite.portal.modules.accreditation.search.AccreditationRequestSearchEntityListener;
+
 @Entity
+@EntityListeners(AccreditationRequestSearchEntityListener.class)
 @Table(name = "accreditation_request")
 public class AccreditationRequest {
 
@@ -49,6 +54,13 @@ public class AccreditationRequest {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
+    /**
+     * Versione per il lock ottimistico sulle decisioni (approvazione/rifiuto).
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public AccreditationRequest() {
     }
 
@@ -139,4 +151,12 @@ public class AccreditationRequest {
     public void setUpdatedAt(OffsetDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,36 @@
+package com.elite.portal.modules.accreditation.search;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+import org.springframework.stereotype.Component;
+
+import com.elite.portal.modules.accreditamento.search.AccreditationSearchService;
+import com.elite.portal.modules.accreditamento.search.AccreditationSearchSource;
+import com.elite.portal.modules.accreditation.model.AccreditationRequest;
+
+/**
+ * Aggiorna l'indice di ricerca alla creazione e alla decisione di una {@link AccreditationRequest}.
+ */
+@Component
+public class AccreditationRequestSearchEntityListener {
+
+    private final AccreditationSearchService searchService;
+
+    public AccreditationRequestSearchEntityListener(AccreditationSearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(AccreditationRequest request) {
+        searchService.afterCommit(() -> searchService.index(request));
+    }
+
+    @PostRemove
+    public void onRemove(AccreditationRequest request) {
+        Long id = request.getId();
+        searchService.afterCommit(() -> searchService.remove(AccreditationSearchSource.ACCREDITATION_REQUEST, id));
+    }
+}
@@ -1,6 +1,8 @@
 package com.elite.portal.modules.accreditation.service;
 
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestApproveRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionResultDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestDetailDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestListItemDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestRejectRequestDto;
@@ -11,9 +13,22 @@ public interface AccreditationRequestService {
 
     Page<AccreditationRequestListItemDto> findByStatus(String status, Pageable pageable, Long currentUserId);
 
+    /**
+     * Ricerca full-text su nome, email, ruolo e note; i risultati sono ordinati per rilevanza
+     * e l'ordinamento del {@link Pageable} viene ignorato.
+     */
+    Page<AccreditationRequestListItemDto> search(String query, String status, Pageable pageable, Long currentUserId);
+
     AccreditationRequestDetailDto getDetail(Long id, Long currentUserId);
 
     AccreditationRequestDetailDto approve(Long id, AccreditationRequestApproveRequestDto approveRequestDto, Long currentUserId);
 
+    /**
+     * Approva o rifiuta piu' richieste in una sola transazione; gli id non trovati o non piu'
+     * in PENDING vengono riportati nel risultato senza bloccare gli altri. Nel registro di audit
+     * viene scritto un evento per ogni richiesta decisa.
+     */
+    AccreditationRequestBulkDecisionResultDto decideBulk(AccreditationRequestBulkDecisionRequestDto bulkRequestDto, Long currentUserId);
+
     AccreditationRequestDetailDto reject(Long id, AccreditationRequestRejectRequestDto rejectRequestDto, Long currentUserId);
 }
@@ -1,28 +1,42 @@
 package com.elite.portal.modules.accreditation.service.impl;
 
+import com.elite.portal.modules.accreditamento.search.AccreditationSearchService;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestApproveRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionResultDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestDetailDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestListItemDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestRejectRequestDto;
+import com.elite.portal.modules.accreditation.exception.AccreditationRequestConflictException;
 import com.elite.portal.modules.accreditation.model.AccreditationRequest;
 import com.elite.portal.modules.accreditation.model.AccreditationRequestStatus;
 import com.elite.portal.modules.accreditation.repository.AccreditationRequestRepository;
 import com.elite.portal.modules.accreditation.service.AccreditationRequestService;
-import com.elite.portal.modules.user.model.User;
 import com.elite.portal.modules.user.service.UserService;
 import com.elite.portal.shared.audit.AuditLogger;
 import com.elite.portal.shared.error.BusinessException;
 import com.elite.portal.shared.error.ErrorCode;
+import org.hibernate.Session;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,31 +44,40 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AccreditationRequestServiceImpl.class);
 
+    /**
+     * Dimensione dei blocchi della decisione massiva: numero di statement per batch JDBC,
+     * e di utenti abilitati tra due flush.
+     */
+    static final int BULK_CHUNK_SIZE = 50;
+
+    private static final String AUDIT_SUBJECT = "ACCREDITATION_REQUEST";
+
     private final AccreditationRequestRepository accreditationRequestRepository;
     private final UserService userService;
     private final AuditLogger auditLogger;
+    private final AccreditationSearchService searchService;
+    private final EntityManager entityManager;
 
     public AccreditationRequestServiceImpl(AccreditationRequestRepository accreditationRequestRepository,
                                            UserService userService,
-                                           AuditLogger auditLogger) {
+                                           AuditLogger auditLogger,
+                                           AccreditationSearchService searchService,
+                                           EntityManager entityManager) {
         this.accreditationRequestRepository = accreditationRequestRepository;
         this.userService = userService;
         this.auditLogger = auditLogger;
+        this.searchService = searchService;
+        this.entityManager = entityManager;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<AccreditationRequestListItemDto> findByStatus(String status, Pageable pageable, Long currentUserId) {
         Page<AccreditationRequest> page;
-        if (status == null || status.isEmpty()) {
+        AccreditationRequestStatus parsedStatus = parseStatus(status);
+        if (parsedStatus == null) {
             page = accreditationRequestRepository.findAll(pageable);
         } else {
-            AccreditationRequestStatus parsedStatus;
-            try {
-                parsedStatus = AccreditationRequestStatus.valueOf(status.toUpperCase());
-            } catch (IllegalArgumentException ex) {
-                throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid status value: " + status);
-            }
             page = accreditationRequestRepository.findByStatus(parsedStatus, pageable);
         }
         return new PageImpl<>(
@@ -66,6 +89,33 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
                 page.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AccreditationRequestListItemDto> search(String query, String status, Pageable pageable, Long currentUserId) {
+        AccreditationRequestStatus parsedStatus = parseStatus(status);
+        List<Long> rankedIds = searchService.searchAccreditationRequestIds(query, parsedStatus,
+                AccreditationSearchService.MAX_RESULTS);
+        if (rankedIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+
+        Map<Long, AccreditationRequest> byId = new HashMap<>();
+        for (AccreditationRequest request : accreditationRequestRepository.findAllById(rankedIds)) {
+            byId.put(request.getId(), request);
+        }
+        List<AccreditationRequestListItemDto> matches = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            AccreditationRequest request = byId.get(id);
+            if (request != null && (parsedStatus == null || parsedStatus == request.getStatus())) {
+                matches.add(toListItemDto(request));
+            }
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public AccreditationRequestDetailDto getDetail(Long id, Long currentUserId) {
@@ -81,9 +131,10 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
             throw new BusinessException(ErrorCode.INVALID_STATE, "Request has already been processed");
         }
 
-        String roleToAssign = resolveRoleToAssign(request, approveRequestDto);
+        String roleToAssign = resolveRoleToAssign(request,
+                approveRequestDto != null ? approveRequestDto.getOverrideRoleCode() : null);
 
-        User requester = userService.enableOrCreateExternalUser(request.getRequesterUserId(),
+        userService.enableOrCreateExternalUser(request.getRequesterUserId(),
                 request.getRequesterEmail(),
                 request.getRequesterFullName(),
                 roleToAssign);
@@ -94,10 +145,9 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
         request.setUpdatedAt(OffsetDateTime.now());
         request.setRejectionNotes(null);
 
-        accreditationRequestRepository.save(request);
+        saveDecision(request);
 
-        auditLogger.log("ACCREDITATION_REQUEST_APPROVED", currentUserId,
-                "Accreditation request %d approved for user %d with role %s".formatted(request.getId(), requester.getId(), roleToAssign));
+        auditLogger.log("ACCREDITATION_REQUEST_APPROVED", currentUserId, AUDIT_SUBJECT, request.getId(), roleToAssign);
 
         LOGGER.info("Accreditation request {} approved by user {} with role {}", request.getId(), currentUserId, roleToAssign);
 
@@ -118,16 +168,135 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
         request.setUpdatedAt(OffsetDateTime.now());
         request.setRejectionNotes(rejectRequestDto.getNoteRifiuto());
 
-        accreditationRequestRepository.save(request);
+        saveDecision(request);
 
-        auditLogger.log("ACCREDITATION_REQUEST_REJECTED", currentUserId,
-                "Accreditation request %d rejected with notes: %s".formatted(request.getId(), rejectRequestDto.getNoteRifiuto()));
+        auditLogger.log("ACCREDITATION_REQUEST_REJECTED", currentUserId, AUDIT_SUBJECT, request.getId(),
+                rejectRequestDto.getNoteRifiuto());
 
         LOGGER.info("Accreditation request {} rejected by user {}", request.getId(), currentUserId);
 
         return toDetailDto(request);
     }
 
+    @Override
+    @Transactional
+    public AccreditationRequestBulkDecisionResultDto decideBulk(AccreditationRequestBulkDecisionRequestDto bulkRequestDto, Long currentUserId) {
+        boolean approve = "APPROVE".equalsIgnoreCase(bulkRequestDto.getDecision());
+        if (!approve && !"REJECT".equalsIgnoreCase(bulkRequestDto.getDecision())) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid decision value: " + bulkRequestDto.getDecision());
+        }
+        if (!approve && (bulkRequestDto.getNoteRifiuto() == null || bulkRequestDto.getNoteRifiuto().isBlank())) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "noteRifiuto is mandatory");
+        }
+        Set<Long> ids = new LinkedHashSet<>(bulkRequestDto.getIds());
+        if (ids.size() > AccreditationRequestBulkDecisionRequestDto.MAX_IDS) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR,
+                    "At most " + AccreditationRequestBulkDecisionRequestDto.MAX_IDS + " ids per bulk decision");
+        }
+
+        // Una sola query per tutti gli id, validazione dello stato in memoria
+        Map<Long, AccreditationRequest> byId = new HashMap<>();
+        for (AccreditationRequest request : accreditationRequestRepository.findAllById(ids)) {
+            byId.put(request.getId(), request);
+        }
+        List<AccreditationRequest> pending = new ArrayList<>();
+        for (Long id : ids) {
+            AccreditationRequest request = byId.get(id);
+            if (request != null && AccreditationRequestStatus.PENDING.equals(request.getStatus())) {
+                pending.add(request);
+            }
+        }
+        if (!pending.isEmpty()) {
+            applyBulkDecision(pending, approve, bulkRequestDto, currentUserId);
+        }
+
+        AccreditationRequestBulkDecisionResultDto result = new AccreditationRequestBulkDecisionResultDto();
+        AccreditationRequestBulkDecisionResultDto.Outcome decided = approve
+                ? AccreditationRequestBulkDecisionResultDto.Outcome.APPROVED
+                : AccreditationRequestBulkDecisionResultDto.Outcome.REJECTED;
+        Set<Long> decidedIds = new HashSet<>();
+        pending.forEach(request -> decidedIds.add(request.getId()));
+        for (Long id : ids) {
+            if (decidedIds.contains(id)) {
+                result.add(id, decided, null);
+            } else if (byId.containsKey(id)) {
+                result.add(id, AccreditationRequestBulkDecisionResultDto.Outcome.INVALID_STATE, "Request has already been processed");
+            } else {
+                result.add(id, AccreditationRequestBulkDecisionResultDto.Outcome.NOT_FOUND, "Accreditation request not found");
+            }
+        }
+        LOGGER.info("Bulk decision {} by user {}: {} processed, {} skipped",
+                decided, currentUserId, result.getSucceeded(), result.getFailed());
+        return result;
+    }
+
+    private void applyBulkDecision(List<AccreditationRequest> pending,
+                                   boolean approve,
+                                   AccreditationRequestBulkDecisionRequestDto bulkRequestDto,
+                                   Long currentUserId) {
+
+        entityManager.unwrap(Session.class).setJdbcBatchSize(BULK_CHUNK_SIZE);
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int from = 0; from < pending.size(); from += BULK_CHUNK_SIZE) {
+            List<AccreditationRequest> chunk = pending.subList(from, Math.min(from + BULK_CHUNK_SIZE, pending.size()));
+            // Un evento per richiesta, non uno per blocco: la cronologia di una richiesta (subject_type, subject_id)
+            // resta completa. Gli eventi della transazione vengono comunque scritti con un solo batch al commit
+            for (AccreditationRequest request : chunk) {
+                if (approve) {
+                    String roleToAssign = resolveRoleToAssign(request, bulkRequestDto.getOverrideRoleCode());
+                    userService.enableOrCreateExternalUser(request.getRequesterUserId(),
+                            request.getRequesterEmail(),
+                            request.getRequesterFullName(),
+                            roleToAssign);
+                    request.setStatus(AccreditationRequestStatus.APPROVED);
+                    request.setRejectionNotes(null);
+                    auditLogger.log("ACCREDITATION_REQUEST_BULK_APPROVED", currentUserId, AUDIT_SUBJECT, request.getId(),
+                            roleToAssign);
+                } else {
+                    request.setStatus(AccreditationRequestStatus.REJECTED);
+                    request.setRejectionNotes(bulkRequestDto.getNoteRifiuto());
+                    auditLogger.log("ACCREDITATION_REQUEST_BULK_REJECTED", currentUserId, AUDIT_SUBJECT, request.getId(),
+                            bulkRequestDto.getNoteRifiuto());
+                }
+                request.setApproverId(currentUserId);
+                request.setDecisionDate(now);
+                request.setUpdatedAt(now);
+            }
+            // Gli UPDATE del blocco (e gli INSERT degli utenti creati) partono come batch JDBC
+            accreditationRequestRepository.saveAll(chunk);
+            try {
+                entityManager.flush();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                throw new AccreditationRequestConflictException(
+                        "Accreditation requests were decided concurrently, bulk decision rolled back");
+            }
+        }
+    }
+
+    /**
+     * Scrive la decisione dopo il provisioning dell'utente, nella stessa transazione: il controllo di
+     * versione fa fallire chi arriva secondo (409) e il rollback annulla anche il suo provisioning.
+     * Durante il provisioning non viene tenuto alcun lock sulla riga.
+     */
+    private void saveDecision(AccreditationRequest request) {
+        try {
+            accreditationRequestRepository.saveAndFlush(request);
+        } catch (OptimisticLockingFailureException e) {
+            throw new AccreditationRequestConflictException("Request has already been processed");
+        }
+    }
+
+    private AccreditationRequestStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return AccreditationRequestStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ErrorCode.VALIDATION_ERROR, "Invalid status value: " + status);
+        }
+    }
+
     private AccreditationRequest getExistingRequest(Long id) {
         Optional<AccreditationRequest> optional = accreditationRequestRepository.findById(id);
         if (optional.isEmpty()) {
@@ -161,9 +330,9 @@ public class AccreditationRequestServiceImpl implements AccreditationRequestServ
         return dto;
     }
 
-    private String resolveRoleToAssign(AccreditationRequest request, AccreditationRequestApproveRequestDto approveRequestDto) {
-        if (approveRequestDto != null && approveRequestDto.getOverrideRoleCode() != null && !approveRequestDto.getOverrideRoleCode().isBlank()) {
-            return approveRequestDto.getOverrideRoleCode();
+    private String resolveRoleToAssign(AccreditationRequest request, String overrideRoleCode) {
+        if (overrideRoleCode != null && !overrideRoleCode.isBlank()) {
+            return overrideRoleCode;
         }
         return request.getRequestedRoleCode();
     }
@@ -10,17 +10,19 @@ import com.elite.portal.modules.auth.domain.event.ExternalUserRegisteredEvent;
 import com.elite.portal.modules.auth.domain.exception.EmailAlreadyInUseException;
 import com.elite.portal.modules.auth.domain.exception.InvalidPasswordPolicyException;
 import com.elite.portal.modules.auth.domain.mapper.ExternalUserAccountMapper;
-import com.elite.portal.modules.auth.domain.policy.PasswordPolicyValidator;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicyViolation;
+import com.elite.portal.modules.auth.service.PasswordHashingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -29,19 +31,19 @@ public class ExternalRegistrationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExternalRegistrationService.class);
 
     private final ExternalUserAccountRepository externalUserAccountRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final PasswordPolicyValidator passwordPolicyValidator;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordPolicy passwordPolicy;
     private final ExternalUserAccountMapper externalUserAccountMapper;
     private final ApplicationEventPublisher eventPublisher;
 
     public ExternalRegistrationService(ExternalUserAccountRepository externalUserAccountRepository,
-                                       PasswordEncoder passwordEncoder,
-                                       PasswordPolicyValidator passwordPolicyValidator,
+                                       PasswordHashingService passwordHashingService,
+                                       PasswordPolicy passwordPolicy,
                                        ExternalUserAccountMapper externalUserAccountMapper,
                                        ApplicationEventPublisher eventPublisher) {
         this.externalUserAccountRepository = externalUserAccountRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.passwordPolicyValidator = passwordPolicyValidator;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordPolicy = passwordPolicy;
         this.externalUserAccountMapper = externalUserAccountMapper;
         this.eventPublisher = eventPublisher;
     }
@@ -53,7 +55,7 @@ public class ExternalRegistrationService {
 
         ExternalUserType type = ExternalUserType.fromCode(requestDto.getType());
 
-        String encodedPassword = passwordEncoder.encode(requestDto.getPassword());
+        String encodedPassword = passwordHashingService.encode(requestDto.getPassword());
 
         ExternalUserAccount account = buildAccountEntity(requestDto, type, encodedPassword);
 
@@ -72,8 +74,9 @@ public class ExternalRegistrationService {
     }
 
     private void validatePassword(String rawPassword, Locale locale) {
-        if (!passwordPolicyValidator.isValid(rawPassword)) {
-            throw new InvalidPasswordPolicyException(locale);
+        Set<PasswordPolicyViolation> violations = passwordPolicy.evaluate(rawPassword);
+        if (!violations.isEmpty()) {
+            throw new InvalidPasswordPolicyException(locale, violations);
         }
     }
 
@@ -0,0 +1,204 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pulizia periodica dei token scaduti o usati e delle registrazioni mai confermate.
+ * <p>
+ * Un solo nodo per volta esegue il giro, tramite un lease su database rinnovato dopo ogni chunk. Le righe
+ * vengono cancellate a chunk di {@code chunkSize} con una pausa tra l'uno e l'altro, cosi' da non tenere
+ * lock lunghi ne' generare picchi di WAL; al termine vengono loggate e contate le righe recuperate per tipo.
+ * Se un chunk fallisce, il tipo prosegue riga per riga e le righe non cancellabili vengono saltate, cosi'
+ * poche righe bloccate da un vincolo non fermano la pulizia di tutte le altre.
+ */
+@Component
+public class TokenPurgeJanitor implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenPurgeJanitor.class);
+
+    static final String JOB_NAME = "auth-token-purge";
+
+    private final TokenPurgeStore tokenPurgeStore;
+    private final TokenPurgeProperties properties;
+    private final TokenPurgeMetrics metrics;
+    private final Clock clock;
+    private final String owner;
+
+    private volatile boolean running;
+    private ScheduledExecutorService scheduler;
+
+    public TokenPurgeJanitor(TokenPurgeStore tokenPurgeStore,
+                             TokenPurgeProperties properties,
+                             TokenPurgeMetrics metrics,
+                             Clock clock) {
+        this.tokenPurgeStore = tokenPurgeStore;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.clock = clock;
+        this.owner = hostName() + "-" + UUID.randomUUID();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auth-token-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, properties.getIntervalMillis(),
+                properties.getIntervalMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // Il giro in corso si ferma al termine del chunk attuale
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runSafely() {
+        try {
+            runOnce();
+        } catch (RuntimeException ex) {
+            // Un errore non deve fermare lo scheduling delle esecuzioni successive
+            LOGGER.error("Errore durante la pulizia dei token scaduti", ex);
+        }
+    }
+
+    /**
+     * Esegue un giro completo se il lease e' disponibile; altrimenti restituisce un report vuoto.
+     */
+    public TokenPurgeReport runOnce() {
+        Instant startedAt = clock.instant();
+        if (!renewLease()) {
+            LOGGER.debug("Pulizia token saltata: lease {} detenuto da un altro nodo", JOB_NAME);
+            TokenPurgeReport skipped = TokenPurgeReport.skipped(startedAt);
+            metrics.recordRun(skipped);
+            return skipped;
+        }
+
+        Map<TokenPurgeType, Long> deleted = new EnumMap<>(TokenPurgeType.class);
+        try {
+            for (TokenPurgeType type : TokenPurgeType.values()) {
+                TokenPurgeProperties.Type config = properties.getType(type);
+                if (!config.isEnabled() || Thread.currentThread().isInterrupted()) {
+                    continue;
+                }
+                deleted.put(type, purge(type, config, startedAt.minus(config.getRetention())));
+            }
+        } finally {
+            tokenPurgeStore.releaseLease(JOB_NAME, owner, clock.instant());
+        }
+
+        TokenPurgeReport report = new TokenPurgeReport(startedAt,
+                Duration.between(startedAt, clock.instant()), true, deleted);
+        metrics.recordRun(report);
+        LOGGER.info("Pulizia token completata: {} righe recuperate in {} ms, dettaglio {}",
+                report.getTotalDeleted(), report.getDuration().toMillis(), report.getDeleted());
+        return report;
+    }
+
+    private long purge(TokenPurgeType type, TokenPurgeProperties.Type config, Instant cutoff) {
+        int chunkSize = Math.max(1, config.getChunkSize() != null ? config.getChunkSize() : properties.getChunkSize());
+        long total = 0L;
+        try {
+            for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+                int count = tokenPurgeStore.deleteChunk(type, cutoff, chunkSize);
+                total += count;
+                if (count < chunkSize || !renewLease() || !pause()) {
+                    break;
+                }
+            }
+        } catch (DataAccessException ex) {
+            // Una riga non cancellabile (es. vincolo violato) farebbe fallire lo stesso chunk a ogni giro:
+            // si prosegue riga per riga, saltando solo le righe in errore
+            LOGGER.warn("Chunk di {} fallito dopo {} righe, si prosegue riga per riga: {}", type, total, ex.getMessage());
+            total += purgeRowByRow(type, cutoff, chunkSize);
+        }
+        return total;
+    }
+
+    private long purgeRowByRow(TokenPurgeType type, Instant cutoff, int chunkSize) {
+        long deleted = 0L;
+        long skipped = 0L;
+        String afterCtid = null;
+        try {
+            for (int chunk = 0; chunk < properties.getMaxChunksPerRun(); chunk++) {
+                List<String> candidates = tokenPurgeStore.findCandidates(type, cutoff, afterCtid, chunkSize);
+                for (String ctid : candidates) {
+                    try {
+                        deleted += tokenPurgeStore.deleteRow(type, cutoff, ctid);
+                    } catch (DataAccessException ex) {
+                        skipped++;
+                        LOGGER.debug("Pulizia {}: riga {} saltata: {}", type, ctid, ex.getMessage());
+                    }
+                }
+                if (candidates.size() < chunkSize || !renewLease() || !pause()) {
+                    break;
+                }
+                afterCtid = candidates.get(candidates.size() - 1);
+            }
+        } catch (DataAccessException ex) {
+            LOGGER.warn("Pulizia {} interrotta dopo {} righe: {}", type, deleted, ex.getMessage());
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Pulizia {}: {} righe non cancellabili saltate, verranno ritentate al prossimo giro", type, skipped);
+        }
+        return deleted;
+    }
+
+    private boolean renewLease() {
+        Instant now = clock.instant();
+        return tokenPurgeStore.tryAcquireLease(JOB_NAME, owner, now, now.plusMillis(properties.getLeaseMillis()));
+    }
+
+    private boolean pause() {
+        if (properties.getPauseMillis() <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(properties.getPauseMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Righe recuperate dal janitor, esposte come metriche {@code auth.purge.*} (contatore per tipo).
+ */
+@Component
+public class TokenPurgeMetrics implements MeterBinder {
+
+    private final Map<TokenPurgeType, AtomicLong> deleted = new EnumMap<>(TokenPurgeType.class);
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong skippedRuns = new AtomicLong();
+    private final AtomicLong lastRunDeleted = new AtomicLong();
+    private final AtomicLong lastRunDurationMillis = new AtomicLong();
+
+    public TokenPurgeMetrics() {
+        for (TokenPurgeType type : TokenPurgeType.values()) {
+            deleted.put(type, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<TokenPurgeType, AtomicLong> entry : deleted.entrySet()) {
+            FunctionCounter.builder("auth.purge.deleted", entry.getValue(), AtomicLong::get)
+                    .tag("type", entry.getKey().name().toLowerCase())
+                    .register(registry);
+        }
+        FunctionCounter.builder("auth.purge.runs", runs, AtomicLong::get).register(registry);
+        FunctionCounter.builder("auth.purge.skipped", skippedRuns, AtomicLong::get).register(registry);
+        Gauge.builder("auth.purge.last.run.deleted", lastRunDeleted, AtomicLong::get).register(registry);
+        Gauge.builder("auth.purge.last.run.duration", lastRunDurationMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(registry);
+    }
+
+    void recordRun(TokenPurgeReport report) {
+        if (!report.isLeaseAcquired()) {
+            skippedRuns.incrementAndGet();
+            return;
+        }
+        for (Map.Entry<TokenPurgeType, Long> entry : report.getDeleted().entrySet()) {
+            deleted.get(entry.getKey()).addAndGet(entry.getValue());
+        }
+        runs.incrementAndGet();
+        lastRunDeleted.set(report.getTotalDeleted());
+        lastRunDurationMillis.set(report.getDuration().toMillis());
+    }
+
+    public long getDeleted(TokenPurgeType type) {
+        return deleted.get(type).get();
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getSkippedRuns() {
+        return skippedRuns.get();
+    }
+}
@@ -0,0 +1,187 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "elite.portal.auth.purge")
+public class TokenPurgeProperties {
+
+    /**
+     * Abilita il janitor su questo nodo; l'esecuzione resta comunque esclusiva grazie al lease.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Intervallo tra due esecuzioni in millisecondi.
+     */
+    private long intervalMillis = 3_600_000L;
+
+    /**
+     * Righe cancellate per singola DELETE (una transazione per chunk).
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pausa tra due chunk, per lasciare spazio al traffico applicativo e al vacuum.
+     */
+    private long pauseMillis = 200L;
+
+    /**
+     * Limite di chunk per tipo in una singola esecuzione; il resto viene ripreso al giro successivo.
+     */
+    private int maxChunksPerRun = 2000;
+
+    /**
+     * Durata del lease: se il nodo che lo detiene cade, un altro nodo subentra dopo questo tempo.
+     */
+    private long leaseMillis = 900_000L;
+
+    /**
+     * Configurazione per tipo (es. {@code types.password-reset-token.retention=1d}); i valori non
+     * indicati restano quelli predefiniti del tipo.
+     */
+    private Map<TokenPurgeType, Type> types = defaultTypes();
+
+    /**
+     * Configurazione effettiva del tipo: l'override viene sovrapposto ai default del tipo, cosi'
+     * impostare solo {@code enabled} o {@code chunk-size} non sostituisce la retention predefinita.
+     */
+    public Type getType(TokenPurgeType type) {
+        Type defaults = defaultTypes().get(type);
+        Type configured = types.get(type);
+        if (configured == null) {
+            return defaults;
+        }
+        Type merged = new Type(configured.getRetention() != null ? configured.getRetention() : defaults.getRetention());
+        merged.setEnabled(configured.isEnabled());
+        merged.setChunkSize(configured.getChunkSize() != null ? configured.getChunkSize() : defaults.getChunkSize());
+        return merged;
+    }
+
+    private static Map<TokenPurgeType, Type> defaultTypes() {
+        Map<TokenPurgeType, Type> defaults = new EnumMap<>(TokenPurgeType.class);
+        defaults.put(TokenPurgeType.PASSWORD_RESET_TOKEN, new Type(Duration.ofDays(1)));
+        defaults.put(TokenPurgeType.PASSWORD_RESET_REQUEST, new Type(Duration.ofDays(1)));
+        defaults.put(TokenPurgeType.EMAIL_VERIFICATION_TOKEN, new Type(Duration.ofDays(7)));
+        defaults.put(TokenPurgeType.REFRESH_TOKEN_FAMILY, new Type(Duration.ofDays(1)));
+        // Un watermark serve per la durata di un access token: la retention deve restare superiore
+        defaults.put(TokenPurgeType.TOKEN_REVOCATION, new Type(Duration.ofDays(1)));
+        defaults.put(TokenPurgeType.UNVERIFIED_EXTERNAL_USER, new Type(Duration.ofDays(30)));
+        defaults.put(TokenPurgeType.UNCONFIRMED_EXTERNAL_ACCOUNT, new Type(Duration.ofDays(30)));
+        defaults.put(TokenPurgeType.PENDING_ACTIVATION_USER_ROLE, new Type(Duration.ofDays(30)));
+        defaults.put(TokenPurgeType.PENDING_ACTIVATION_USER, new Type(Duration.ofDays(30)));
+        defaults.put(TokenPurgeType.DISABLED_UNACTIVATED_USER, new Type(Duration.ofDays(30)));
+        return defaults;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    public void setIntervalMillis(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getPauseMillis() {
+        return pauseMillis;
+    }
+
+    public void setPauseMillis(long pauseMillis) {
+        this.pauseMillis = pauseMillis;
+    }
+
+    public int getMaxChunksPerRun() {
+        return maxChunksPerRun;
+    }
+
+    public void setMaxChunksPerRun(int maxChunksPerRun) {
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+
+    public long getLeaseMillis() {
+        return leaseMillis;
+    }
+
+    public void setLeaseMillis(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    public Map<TokenPurgeType, Type> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<TokenPurgeType, Type> types) {
+        this.types = types;
+    }
+
+    public static class Type {
+
+        /**
+         * Abilita la pulizia di questo tipo.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Eta' oltre la quale una riga scaduta, usata o abbandonata viene eliminata; se assente vale
+         * il default del tipo.
+         */
+        private Duration retention;
+
+        /**
+         * Dimensione del chunk per questo tipo; se assente vale quella globale.
+         */
+        private Integer chunkSize;
+
+        public Type() {
+        }
+
+        public Type(Duration retention) {
+            this.retention = retention;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public Integer getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(Integer chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Esito di un'esecuzione del janitor: righe recuperate per tipo.
+ */
+public final class TokenPurgeReport {
+
+    private final Instant startedAt;
+    private final Duration duration;
+    private final boolean leaseAcquired;
+    private final Map<TokenPurgeType, Long> deleted;
+
+    public TokenPurgeReport(Instant startedAt, Duration duration, boolean leaseAcquired, Map<TokenPurgeType, Long> deleted) {
+        this.startedAt = startedAt;
+        this.duration = duration;
+        this.leaseAcquired = leaseAcquired;
+        this.deleted = deleted.isEmpty()
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new EnumMap<>(deleted));
+    }
+
+    public static TokenPurgeReport skipped(Instant startedAt) {
+        return new TokenPurgeReport(startedAt, Duration.ZERO, false, Collections.emptyMap());
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public boolean isLeaseAcquired() {
+        return leaseAcquired;
+    }
+
+    public Map<TokenPurgeType, Long> getDeleted() {
+        return deleted;
+    }
+
+    public long getDeleted(TokenPurgeType type) {
+        return deleted.getOrDefault(type, 0L);
+    }
+
+    public long getTotalDeleted() {
+        long total = 0L;
+        for (Long count : deleted.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenPurgeReport{startedAt=" + startedAt + ", duration=" + duration
+                + ", leaseAcquired=" + leaseAcquired + ", deleted=" + deleted + '}';
+    }
+}
@@ -0,0 +1,94 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accesso JDBC del janitor: cancellazioni a chunk e lease di esecuzione (tabella {@code db/auth/token_purge.sql}).
+ * <p>
+ * Ogni DELETE e' una transazione a se' (auto-commit) limitata a {@code chunkSize} righe selezionate per
+ * {@code ctid} con {@code FOR UPDATE SKIP LOCKED}: i lock durano quanto il singolo chunk e le righe gia'
+ * bloccate da una richiesta in corso vengono saltate invece di attenderla.
+ */
+@Component
+public class TokenPurgeStore {
+
+    private static final String ACQUIRE_LEASE_SQL =
+            "INSERT INTO job_lease (job_name, owner, lease_until) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (job_name) DO UPDATE SET owner = EXCLUDED.owner, lease_until = EXCLUDED.lease_until "
+                    + "WHERE job_lease.lease_until < ? OR job_lease.owner = EXCLUDED.owner";
+
+    private static final String RELEASE_LEASE_SQL =
+            "UPDATE job_lease SET lease_until = ? WHERE job_name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TokenPurgeStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Acquisisce o rinnova il lease; restituisce {@code false} se un altro nodo lo detiene ancora.
+     */
+    public boolean tryAcquireLease(String jobName, String owner, Instant now, Instant leaseUntil) {
+        return jdbcTemplate.update(ACQUIRE_LEASE_SQL, jobName, owner, Timestamp.from(leaseUntil), Timestamp.from(now)) > 0;
+    }
+
+    public void releaseLease(String jobName, String owner, Instant now) {
+        jdbcTemplate.update(RELEASE_LEASE_SQL, Timestamp.from(now), jobName, owner);
+    }
+
+    /**
+     * Cancella al piu' {@code limit} righe del tipo indicato piu' vecchie di {@code cutoff}.
+     */
+    public int deleteChunk(TokenPurgeType type, Instant cutoff, int limit) {
+        String sql = "DELETE FROM " + type.getTable() + " WHERE ctid = ANY(ARRAY("
+                + "SELECT ctid FROM " + type.getTable() + " WHERE (" + type.getCondition() + ")"
+                + " LIMIT ? FOR UPDATE SKIP LOCKED))";
+        List<Object> args = new ArrayList<>(cutoffArgs(type, cutoff));
+        args.add(limit);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    /**
+     * {@code ctid} delle prime {@code limit} righe del tipo successive ad {@code afterCtid} (tutte se
+     * {@code null}), in ordine fisico: serve a scorrere le righe una per volta quando un chunk fallisce.
+     */
+    public List<String> findCandidates(TokenPurgeType type, Instant cutoff, String afterCtid, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ctid::text FROM ").append(type.getTable())
+                .append(" WHERE (").append(type.getCondition()).append(')');
+        List<Object> args = new ArrayList<>(cutoffArgs(type, cutoff));
+        if (afterCtid != null) {
+            sql.append(" AND ctid > ?::tid");
+            args.add(afterCtid);
+        }
+        sql.append(" ORDER BY ctid LIMIT ?");
+        args.add(limit);
+        return jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray());
+    }
+
+    /**
+     * Cancella una singola riga; la condizione viene ricontrollata perche' il {@code ctid} puo' essere stato
+     * riusato da un'altra riga dopo la lettura.
+     */
+    public int deleteRow(TokenPurgeType type, Instant cutoff, String ctid) {
+        String sql = "DELETE FROM " + type.getTable() + " WHERE ctid = ?::tid AND (" + type.getCondition() + ")";
+        List<Object> args = new ArrayList<>();
+        args.add(ctid);
+        args.addAll(cutoffArgs(type, cutoff));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    private static List<Object> cutoffArgs(TokenPurgeType type, Instant cutoff) {
+        int placeholders = (int) type.getCondition().chars().filter(c -> c == '?').count();
+        Object[] args = new Object[placeholders];
+        Arrays.fill(args, Timestamp.from(cutoff));
+        return Arrays.asList(args);
+    }
+}
@@ -0,0 +1,63 @@
+package com.elite.portal.modules.auth.cleanup;
+
+/**
+ * Categorie di righe ripulite dal {@link TokenPurgeJanitor}. Ogni condizione riceve come unico valore il
+ * limite di retention (tutti i {@code ?} sono legati allo stesso istante).
+ * <p>
+ * L'ordine conta: i token vengono eliminati prima degli utenti a cui fanno riferimento.
+ * <p>
+ * La tabella {@code users} e' condivisa con i deployable core e backend, che vi salvano il token di
+ * attivazione con colonne diverse: {@code status}/{@code activation_token_expiration} il primo,
+ * {@code enabled}/{@code activation_token_expiry} il secondo. Gli account mai attivati vengono
+ * eliminati dopo la retention, insieme ai ruoli assegnati in registrazione.
+ */
+public enum TokenPurgeType {
+
+    PASSWORD_RESET_TOKEN("password_reset_token",
+            "expires_at < ? OR used_at < ?"),
+
+    PASSWORD_RESET_REQUEST("password_reset_tokens",
+            "expires_at < ? OR (used AND created_at < ?)"),
+
+    EMAIL_VERIFICATION_TOKEN("email_verification_token",
+            "expires_at < ?"),
+
+    REFRESH_TOKEN_FAMILY("refresh_token_family",
+            "expires_at < ?"),
+
+    TOKEN_REVOCATION("token_revocation",
+            "not_before < ?"),
+
+    UNVERIFIED_EXTERNAL_USER("external_user",
+            "is_email_verified = false AND email_verification_token_expiry < ? "
+                    + "AND NOT EXISTS (SELECT 1 FROM password_reset_token t WHERE t.external_user_id = external_user.id)"),
+
+    UNCONFIRMED_EXTERNAL_ACCOUNT("external_user_account",
+            "email_confirmation_token IS NOT NULL AND email_confirmation_token_created_at < ?"),
+
+    PENDING_ACTIVATION_USER_ROLE("user_roles",
+            "user_id IN (SELECT u.id FROM users u WHERE u.status = 'PENDING_ACTIVATION' "
+                    + "AND u.activation_token_hash IS NOT NULL AND u.activation_token_expiration < ?)"),
+
+    PENDING_ACTIVATION_USER("users",
+            "status = 'PENDING_ACTIVATION' AND activation_token_hash IS NOT NULL AND activation_token_expiration < ?"),
+
+    DISABLED_UNACTIVATED_USER("users",
+            "enabled = false AND activation_token_hash IS NOT NULL AND activation_token_expiry < ?");
+
+    private final String table;
+    private final String condition;
+
+    TokenPurgeType(String table, String condition) {
+        this.table = table;
+        this.condition = condition;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getCondition() {
+        return condition;
+    }
+}
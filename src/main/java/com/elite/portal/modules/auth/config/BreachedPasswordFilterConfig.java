@@ -0,0 +1,46 @@
+package com.elite.portal.modules.auth.config;
+
+import com.elite.portal.modules.auth.domain.policy.BreachedPasswordFilter;
+import com.elite.portal.shared.config.SecurityPasswordPolicyProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Mappa all'avvio il Bloom filter delle password violate da {@code security.password-policy.breached-filter-path},
+ * un file esterno al jar costruito con il generatore in {@code tools/breached-password-filter}.
+ * Se il controllo e' disattivato o il file manca si usa un filtro vuoto; un file presente ma illeggibile
+ * blocca invece l'avvio, per non disattivare il controllo senza accorgersene.
+ */
+@Configuration
+public class BreachedPasswordFilterConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BreachedPasswordFilterConfig.class);
+
+    @Bean
+    public BreachedPasswordFilter breachedPasswordFilter(SecurityPasswordPolicyProperties properties) {
+        if (!properties.isBreachedCheck()) {
+            return BreachedPasswordFilter.empty();
+        }
+        String location = properties.getBreachedFilterPath();
+        Path path = location == null || location.isBlank() ? null : Paths.get(location);
+        if (path == null || !Files.isRegularFile(path)) {
+            LOGGER.warn("Filtro delle password violate non trovato in '{}': controllo disattivato", location);
+            return BreachedPasswordFilter.empty();
+        }
+        try {
+            BreachedPasswordFilter filter = BreachedPasswordFilter.map(path);
+            LOGGER.info("Filtro delle password violate mappato da {} ({} byte)", path, Files.size(path));
+            return filter;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Impossibile leggere il filtro delle password violate", ex);
+        }
+    }
+}
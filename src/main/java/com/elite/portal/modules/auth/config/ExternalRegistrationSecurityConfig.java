@@ -3,6 +3,8 @@ package com.elite.portal.modules.auth.config;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.SecurityFilterChain;
@@ -11,6 +13,7 @@ import org.springframework.security.web.SecurityFilterChain;
 public class ExternalRegistrationSecurityConfig {
 
     @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     @ConditionalOnMissingBean(name = "externalRegistrationSecurityFilterChain")
     public SecurityFilterChain externalRegistrationSecurityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -0,0 +1,37 @@
+package com.elite.portal.modules.auth.config;
+
+import com.elite.portal.modules.auth.security.JwtAuthenticationFilter;
+import com.elite.portal.modules.auth.security.JwtTokenProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+/**
+ * Catena di sicurezza per le API autenticate con access token JWT. Le regole di accesso non cambiano
+ * (nessun endpoint diventa protetto qui): la catena popola il contesto di sicurezza dal token e rifiuta
+ * con 401 i token non validi o revocati, esclusi gli endpoint pubblici di autenticazione. La catena della
+ * registrazione pubblica ha la precedenza.
+ */
+@Configuration
+public class JwtSecurityConfig {
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @ConditionalOnMissingBean(name = "jwtSecurityFilterChain")
+    public SecurityFilterChain jwtSecurityFilterChain(HttpSecurity http, JwtTokenProvider jwtTokenProvider) throws Exception {
+        http
+                .securityMatcher("/api/**")
+                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class);
+
+        return http.build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.elite.portal.modules.auth.config;
+
+import com.elite.portal.modules.auth.security.InMemoryLoginAttemptStore;
+import com.elite.portal.modules.auth.security.JdbcLoginAttemptStore;
+import com.elite.portal.modules.auth.security.LoginAttemptStore;
+import com.elite.portal.modules.auth.security.RedisLoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Selezione del backend dei contatori di login tramite {@code security.login.store}:
+ * {@code memory} (default, singolo nodo), {@code jdbc} o {@code redis} (condivisi tra i nodi).
+ */
+@Configuration
+public class LoginAttemptStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "security.login.store", havingValue = "memory", matchIfMissing = true)
+    public LoginAttemptStore inMemoryLoginAttemptStore(
+            @Value("${security.login.max-tracked-keys:100000}") int maxTrackedKeys,
+            @Value("${security.login.max-attempts:5}") int maxAttempts) {
+        return new InMemoryLoginAttemptStore(maxTrackedKeys, maxAttempts);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "security.login.store", havingValue = "jdbc")
+    public LoginAttemptStore jdbcLoginAttemptStore(JdbcTemplate jdbcTemplate,
+                                                   PlatformTransactionManager transactionManager) {
+        return new JdbcLoginAttemptStore(jdbcTemplate, transactionManager);
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+    @ConditionalOnProperty(name = "security.login.store", havingValue = "redis")
+    static class RedisLoginAttemptStoreConfig {
+
+        @Bean
+        public LoginAttemptStore redisLoginAttemptStore(StringRedisTemplate redisTemplate) {
+            return new RedisLoginAttemptStore(redisTemplate);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.elite.portal.modules.auth.config;
+
+import com.elite.portal.modules.auth.security.BcryptCostCalibrator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encoder delle password: ogni hash e' salvato come {@code {bcrypt}$2a$<costo>$...}, quindi algoritmo e
+ * costo sono noti per ogni riga. Gli hash legacy senza prefisso vengono verificati con bcrypt e segnalati
+ * da {@link PasswordEncoder#upgradeEncoding(String)}, come quelli con costo inferiore a quello corrente.
+ * <p>
+ * Il costo e' fissato con {@code security.password-hashing.bcrypt-cost}, altrimenti calibrato all'avvio
+ * sul tempo {@code target-millis}.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    static final String BCRYPT_ID = "bcrypt";
+
+    @Bean
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password-hashing.bcrypt-cost:0}") int fixedCost,
+            @Value("${security.password-hashing.min-cost:10}") int minCost,
+            @Value("${security.password-hashing.max-cost:14}") int maxCost,
+            @Value("${security.password-hashing.target-millis:100}") long targetMillis) {
+        int cost = fixedCost > 0 ? fixedCost : new BcryptCostCalibrator(minCost, maxCost, targetMillis).calibrate();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, bcrypt);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
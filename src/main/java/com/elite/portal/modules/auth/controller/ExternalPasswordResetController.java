@@ -3,6 +3,7 @@ package com.elite.portal.modules.auth.controller;
 import com.elite.portal.modules.auth.dto.ForgotPasswordRequestDto;
 import com.elite.portal.modules.auth.service.ExternalPasswordResetService;
 import com.elite.portal.shared.logging.AppLogger;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -28,9 +29,11 @@ public class ExternalPasswordResetController {
     }
 
     @PostMapping("/forgot")
-    public ResponseEntity<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequestDto requestDto) {
+    public ResponseEntity<Void> forgotPassword(@Valid @RequestBody ForgotPasswordRequestDto requestDto,
+                                               HttpServletRequest httpRequest) {
         logger.info("Richiesta reset password ricevuta", "email", requestDto.getEmail());
-        externalPasswordResetService.handleForgotPassword(requestDto.getEmail());
+        // Stesso indirizzo usato dal throttling del login: gia' risolto da ForwardedHeaderFilter dietro il proxy
+        externalPasswordResetService.handleForgotPassword(requestDto.getEmail(), httpRequest.getRemoteAddr());
         // Risposta generica per evitare user enumeration
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
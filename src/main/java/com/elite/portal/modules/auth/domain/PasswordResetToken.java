@@ -8,20 +8,30 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.elite.portal.shared.security.TokenDigest;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "password_reset_token")
+@Table(name = "password_reset_token", indexes = {
+        @Index(name = "ux_password_reset_token_token_hash", columnList = "token_hash", unique = true)
+})
 public class PasswordResetToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 255)
+    @Column(name = "token_hash", nullable = false, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
+
+    // in chiaro solo in memoria, per comporre il link di reset
+    @Transient
     private String token;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,8 +62,20 @@ public class PasswordResetToken {
         return token;
     }
 
+    /**
+     * Imposta il token e ne memorizza solo il digest SHA-256.
+     */
     public void setToken(String token) {
         this.token = token;
+        this.tokenHash = token != null ? TokenDigest.sha256(token) : null;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public ExternalUser getExternalUser() {
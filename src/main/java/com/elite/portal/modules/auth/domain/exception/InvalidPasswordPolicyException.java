@@ -1,17 +1,31 @@
 package com.elite.portal.modules.auth.domain.exception;
 
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicyViolation;
+
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Set;
 
 public class InvalidPasswordPolicyException extends RuntimeException {
 
     private final Locale locale;
+    private final Set<PasswordPolicyViolation> violations;
 
     public InvalidPasswordPolicyException(Locale locale) {
+        this(locale, Collections.emptySet());
+    }
+
+    public InvalidPasswordPolicyException(Locale locale, Set<PasswordPolicyViolation> violations) {
         super("external.registration.password.policy_not_met");
         this.locale = locale;
+        this.violations = violations;
     }
 
     public Locale getLocale() {
         return locale;
     }
+
+    public Set<PasswordPolicyViolation> getViolations() {
+        return violations;
+    }
 }
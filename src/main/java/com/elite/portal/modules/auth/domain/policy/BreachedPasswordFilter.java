@@ -0,0 +1,234 @@
+package com.elite.portal.modules.auth.domain.policy;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Bloom filter delle password violate, costruito offline e mappato in memoria all'avvio.
+ * <p>
+ * Gli elementi sono i digest SHA-1 delle password, lo stesso formato degli elenchi pubblici di password
+ * violate: il filtro si costruisce da quegli elenchi con {@link #putSha1(byte[])} senza mai vedere le
+ * password in chiaro. Le posizioni dei bit derivano dai primi 16 byte del digest (double hashing), quindi
+ * una verifica costa un SHA-1 e {@code k} letture. Un falso positivo rifiuta una password sicura con
+ * probabilita' pari al tasso scelto alla costruzione; i falsi negativi non sono possibili.
+ * <p>
+ * Il file non e' compresso (un array di bit casuale non si comprime) e viene letto con {@link #map(Path)}:
+ * i bit restano nella page cache del sistema operativo, fuori dallo heap, e sono condivisi tra i processi
+ * del nodo. La dimensione e' limitata a {@link #MAX_BYTES}; oltre va ridotto l'elenco (solo le password
+ * piu' diffuse) o alzato il tasso di falsi positivi.
+ * <p>
+ * Formato su file: {@code MAGIC}, numero di funzioni hash, numero di long, bit (big-endian).
+ */
+public final class BreachedPasswordFilter {
+
+    /**
+     * Dimensione massima dei bit del filtro: 1 GiB, entro l'indirizzamento di un singolo buffer mappato.
+     */
+    public static final long MAX_BYTES = 1L << 30;
+
+    private static final int MAGIC = 0x42504632;
+    private static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final int SHA1_BYTES = 20;
+
+    private static final ThreadLocal<Sha1Scratch> SCRATCH = ThreadLocal.withInitial(Sha1Scratch::new);
+
+    private final ByteBuffer bits;
+    private final long bitCount;
+    private final int hashFunctions;
+
+    private BreachedPasswordFilter(ByteBuffer bits, int hashFunctions) {
+        this.bits = bits;
+        this.bitCount = (long) bits.capacity() * Byte.SIZE;
+        this.hashFunctions = hashFunctions;
+    }
+
+    /**
+     * Filtro vuoto, usato quando non e' configurato un elenco: nessuna password risulta violata.
+     */
+    public static BreachedPasswordFilter empty() {
+        return new BreachedPasswordFilter(ByteBuffer.allocate(0), 0);
+    }
+
+    /**
+     * Byte necessari per {@code expectedInsertions} elementi con il tasso di falsi positivi dato.
+     */
+    public static long requiredBytes(long expectedInsertions, double falsePositiveRate) {
+        if (!(falsePositiveRate > 0.0d && falsePositiveRate < 1.0d)) {
+            throw new IllegalArgumentException("Il tasso di falsi positivi deve essere compreso tra 0 e 1");
+        }
+        long n = Math.max(1L, expectedInsertions);
+        double m = Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        return ((long) Math.ceil(m / Long.SIZE)) * Long.BYTES;
+    }
+
+    /**
+     * Filtro vuoto in memoria dimensionato per {@code expectedInsertions} elementi, usato per costruire il file.
+     *
+     * @throws IllegalArgumentException se il filtro supera {@code maxBytes} (al piu' {@link #MAX_BYTES})
+     */
+    public static BreachedPasswordFilter create(long expectedInsertions, double falsePositiveRate, long maxBytes) {
+        long bytes = requiredBytes(expectedInsertions, falsePositiveRate);
+        long limit = Math.min(maxBytes, MAX_BYTES);
+        if (bytes > limit) {
+            throw new IllegalArgumentException("Filtro di " + bytes + " byte oltre il limite di " + limit
+                    + ": ridurre l'elenco alle password piu' diffuse o alzare il tasso di falsi positivi");
+        }
+        long n = Math.max(1L, expectedInsertions);
+        int k = Math.max(1, (int) Math.round((double) bytes * Byte.SIZE / n * Math.log(2)));
+        return new BreachedPasswordFilter(ByteBuffer.allocate((int) bytes), k);
+    }
+
+    /**
+     * Mappa in sola lettura un file scritto da {@link #writeTo(OutputStream)}.
+     */
+    public static BreachedPasswordFilter map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > HEADER_BYTES + MAX_BYTES) {
+                throw new IOException("Dimensione del filtro password violate non valida: " + file);
+            }
+            // La mappatura resta valida anche dopo la chiusura del canale
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Formato del filtro password violate non riconosciuto: " + file);
+            }
+            int hashFunctions = mapped.getInt(Integer.BYTES);
+            long bytes = mapped.getLong(Integer.BYTES * 2) * Long.BYTES;
+            if (bytes <= 0 || size != HEADER_BYTES + bytes) {
+                throw new IOException("Dimensione del filtro password violate non valida: " + file);
+            }
+            return new BreachedPasswordFilter(mapped.slice(HEADER_BYTES, (int) bytes), hashFunctions);
+        }
+    }
+
+    public void writeTo(OutputStream output) throws IOException {
+        DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(hashFunctions);
+        data.writeLong(bits.capacity() / Long.BYTES);
+        ByteBuffer content = bits.duplicate();
+        content.clear();
+        byte[] chunk = new byte[64 * 1024];
+        while (content.hasRemaining()) {
+            int length = Math.min(chunk.length, content.remaining());
+            content.get(chunk, 0, length);
+            data.write(chunk, 0, length);
+        }
+        data.flush();
+    }
+
+    public void put(String password) {
+        putSha1(SCRATCH.get().digest(password));
+    }
+
+    public void putSha1(byte[] sha1) {
+        long h1 = readLong(sha1, 0);
+        long h2 = readLong(sha1, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = bitIndex(h1, h2, i);
+            int offset = (int) (index >>> 6) * Long.BYTES;
+            bits.putLong(offset, bits.getLong(offset) | (1L << index));
+        }
+    }
+
+    /**
+     * Non alloca: digest e codifica UTF-8 usano buffer riutilizzati per thread.
+     */
+    public boolean mightContain(String password) {
+        if (bitCount == 0 || password == null) {
+            return false;
+        }
+        byte[] sha1 = SCRATCH.get().digest(password);
+        long h1 = readLong(sha1, 0);
+        long h2 = readLong(sha1, 8);
+        for (int i = 0; i < hashFunctions; i++) {
+            long index = bitIndex(h1, h2, i);
+            if ((bits.getLong((int) (index >>> 6) * Long.BYTES) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long bitIndex(long h1, long h2, int i) {
+        return ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    /**
+     * SHA-1 della password codificata in UTF-8 (come {@code String.getBytes}, surrogati isolati resi con
+     * {@code '?'}) senza allocare: il buffer di input cresce solo per password piu' lunghe delle precedenti.
+     */
+    private static final class Sha1Scratch {
+
+        private final MessageDigest digest;
+        private final byte[] output = new byte[SHA1_BYTES];
+        private byte[] input = new byte[256];
+
+        Sha1Scratch() {
+            try {
+                digest = MessageDigest.getInstance("SHA-1");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-1 non disponibile", e);
+            }
+        }
+
+        byte[] digest(String password) {
+            int length = encode(password);
+            digest.update(input, 0, length);
+            try {
+                digest.digest(output, 0, SHA1_BYTES);
+            } catch (DigestException e) {
+                throw new IllegalStateException("SHA-1 non disponibile", e);
+            }
+            return output;
+        }
+
+        private int encode(String value) {
+            int maxLength = value.length() * 3;
+            if (input.length < maxLength) {
+                input = new byte[maxLength];
+            }
+            int position = 0;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    input[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    input[position++] = (byte) (0xC0 | (c >> 6));
+                    input[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    input[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    input[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    input[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    input[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    input[position++] = '?';
+                } else {
+                    input[position++] = (byte) (0xE0 | (c >> 12));
+                    input[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    input[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            return position;
+        }
+    }
+}
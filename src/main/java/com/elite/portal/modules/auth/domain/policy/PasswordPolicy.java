@@ -0,0 +1,125 @@
+package com.elite.portal.modules.auth.domain.policy;
+
+import com.elite.portal.shared.config.SecurityPasswordPolicyProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Password policy unica per registrazione e reset password, configurata da
+ * {@link SecurityPasswordPolicyProperties} ({@code security.password-policy}).
+ * <p>
+ * Le classi di caratteri richieste sono ridotte a una maschera di bit alla costruzione; la verifica scorre
+ * la password una sola volta, senza regex ne' allocazioni, e si ferma appena tutte le classi richieste
+ * sono state trovate. Una password oltre {@code max-length} viene rifiutata senza esaminarla.
+ */
+@Component
+public class PasswordPolicy {
+
+    private static final int UPPERCASE = 1;
+    private static final int LOWERCASE = 1 << 1;
+    private static final int DIGIT = 1 << 2;
+    private static final int SPECIAL = 1 << 3;
+
+    private final int minLength;
+    private final int maxLength;
+    private final int requiredClasses;
+    private final boolean breachedCheck;
+    private final BreachedPasswordFilter breachedPasswordFilter;
+
+    public PasswordPolicy(SecurityPasswordPolicyProperties properties, BreachedPasswordFilter breachedPasswordFilter) {
+        this.minLength = properties.getMinLength();
+        this.maxLength = properties.getMaxLength();
+        this.requiredClasses = (properties.isRequireUppercase() ? UPPERCASE : 0)
+                | (properties.isRequireLowercase() ? LOWERCASE : 0)
+                | (properties.isRequireDigit() ? DIGIT : 0)
+                | (properties.isRequireSpecial() ? SPECIAL : 0);
+        this.breachedCheck = properties.isBreachedCheck();
+        this.breachedPasswordFilter = breachedPasswordFilter;
+    }
+
+    /**
+     * Tutti i requisiti non rispettati dalla password; insieme vuoto se la password e' conforme.
+     */
+    public Set<PasswordPolicyViolation> evaluate(String password) {
+        if (password == null) {
+            return EnumSet.of(PasswordPolicyViolation.TOO_SHORT);
+        }
+        int length = password.length();
+        if (length > maxLength) {
+            return EnumSet.of(PasswordPolicyViolation.TOO_LONG);
+        }
+
+        int found = 0;
+        for (int i = 0; i < length && (found & requiredClasses) != requiredClasses; i++) {
+            found |= characterClass(password.charAt(i));
+        }
+        int missing = requiredClasses & ~found;
+        boolean tooShort = length < minLength;
+        boolean breached = breachedCheck && breachedPasswordFilter.mightContain(password);
+        if (missing == 0 && !tooShort && !breached) {
+            return Collections.emptySet();
+        }
+
+        Set<PasswordPolicyViolation> violations = EnumSet.noneOf(PasswordPolicyViolation.class);
+        if (tooShort) {
+            violations.add(PasswordPolicyViolation.TOO_SHORT);
+        }
+        if ((missing & UPPERCASE) != 0) {
+            violations.add(PasswordPolicyViolation.MISSING_UPPERCASE);
+        }
+        if ((missing & LOWERCASE) != 0) {
+            violations.add(PasswordPolicyViolation.MISSING_LOWERCASE);
+        }
+        if ((missing & DIGIT) != 0) {
+            violations.add(PasswordPolicyViolation.MISSING_DIGIT);
+        }
+        if ((missing & SPECIAL) != 0) {
+            violations.add(PasswordPolicyViolation.MISSING_SPECIAL);
+        }
+        if (breached) {
+            violations.add(PasswordPolicyViolation.BREACHED);
+        }
+        return violations;
+    }
+
+    public boolean isValid(String password) {
+        return evaluate(password).isEmpty();
+    }
+
+    /**
+     * Messaggio per l'utente con tutti i requisiti mancanti.
+     */
+    public static String describe(Set<PasswordPolicyViolation> violations) {
+        return violations.stream().map(PasswordPolicyViolation::getMessage).collect(Collectors.joining(" "));
+    }
+
+    private static int characterClass(char c) {
+        if (c < 128) {
+            if (c >= 'A' && c <= 'Z') {
+                return UPPERCASE;
+            }
+            if (c >= 'a' && c <= 'z') {
+                return LOWERCASE;
+            }
+            if (c >= '0' && c <= '9') {
+                return DIGIT;
+            }
+            return SPECIAL;
+        }
+        if (Character.isUpperCase(c)) {
+            return UPPERCASE;
+        }
+        if (Character.isLowerCase(c)) {
+            return LOWERCASE;
+        }
+        if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        // Le lettere senza maiuscolo/minuscolo (es. ideogrammi) non contano come carattere speciale
+        return Character.isLetter(c) ? 0 : SPECIAL;
+    }
+}
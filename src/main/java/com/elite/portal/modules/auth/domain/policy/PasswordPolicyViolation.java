@@ -0,0 +1,32 @@
+package com.elite.portal.modules.auth.domain.policy;
+
+/**
+ * Requisiti della password policy non rispettati. I codici sono quelli gia' restituiti dalla
+ * registrazione, cosi' i client esistenti continuano a riconoscerli.
+ */
+public enum PasswordPolicyViolation {
+
+    TOO_SHORT("PASSWORD_TOO_SHORT", "La password e' troppo corta."),
+    TOO_LONG("PASSWORD_TOO_LONG", "La password e' troppo lunga."),
+    MISSING_UPPERCASE("PASSWORD_POLICY_UPPERCASE", "La password deve contenere almeno una lettera maiuscola."),
+    MISSING_LOWERCASE("PASSWORD_POLICY_LOWERCASE", "La password deve contenere almeno una lettera minuscola."),
+    MISSING_DIGIT("PASSWORD_POLICY_DIGIT", "La password deve contenere almeno un numero."),
+    MISSING_SPECIAL("PASSWORD_POLICY_SPECIAL", "La password deve contenere almeno un carattere speciale."),
+    BREACHED("PASSWORD_BREACHED", "La password compare in elenchi di password violate, sceglierne un'altra.");
+
+    private final String code;
+    private final String message;
+
+    PasswordPolicyViolation(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
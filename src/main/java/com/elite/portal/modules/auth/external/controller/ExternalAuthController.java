@@ -2,6 +2,7 @@ package com.elite.portal.modules.auth.external.controller;
 
 import com.elite.portal.modules.auth.external.dto.ExternalLoginRequestDto;
 import com.elite.portal.modules.auth.external.dto.ExternalLoginResponseDto;
+import com.elite.portal.modules.auth.external.dto.ExternalRefreshRequestDto;
 import com.elite.portal.modules.auth.external.service.ExternalAuthService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -38,4 +39,12 @@ public class ExternalAuthController {
 
         return new ResponseEntity<>(responseDto, HttpStatus.OK);
     }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<ExternalLoginResponseDto> refresh(@Valid @RequestBody ExternalRefreshRequestDto requestDto,
+                                                            HttpServletRequest httpRequest) {
+        ExternalLoginResponseDto responseDto = externalAuthService.refresh(requestDto, httpRequest.getRemoteAddr());
+
+        return new ResponseEntity<>(responseDto, HttpStatus.OK);
+    }
 }
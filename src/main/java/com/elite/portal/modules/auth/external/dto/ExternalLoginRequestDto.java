@@ -1,10 +1,12 @@
 package com.elite.portal.modules.auth.external.dto;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class ExternalLoginRequestDto {
 
     @NotBlank
+    @Size(max = 254)
     private String usernameOrEmail;
 
     @NotBlank
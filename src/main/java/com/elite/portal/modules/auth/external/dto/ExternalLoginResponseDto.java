@@ -8,6 +8,7 @@ public class ExternalLoginResponseDto {
     private String ruolo;
     private String accessToken;
     private long expiresIn;
+    private String refreshToken;
 
     public ExternalLoginResponseDto() {
     }
@@ -21,6 +22,12 @@ public class ExternalLoginResponseDto {
         this.expiresIn = expiresIn;
     }
 
+    public ExternalLoginResponseDto(Long userId, String nome, String cognome, String ruolo, String accessToken, long expiresIn,
+                                    String refreshToken) {
+        this(userId, nome, cognome, ruolo, accessToken, expiresIn);
+        this.refreshToken = refreshToken;
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -68,4 +75,12 @@ public class ExternalLoginResponseDto {
     public void setExpiresIn(long expiresIn) {
         this.expiresIn = expiresIn;
     }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
 }
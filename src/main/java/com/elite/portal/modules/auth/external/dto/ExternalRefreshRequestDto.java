@@ -0,0 +1,24 @@
+package com.elite.portal.modules.auth.external.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public class ExternalRefreshRequestDto {
+
+    @NotBlank
+    private String refreshToken;
+
+    public ExternalRefreshRequestDto() {
+    }
+
+    public ExternalRefreshRequestDto(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
@@ -2,11 +2,13 @@ package com.elite.portal.modules.auth.external.service;
 
 import com.elite.portal.modules.auth.external.dto.ExternalLoginRequestDto;
 import com.elite.portal.modules.auth.external.dto.ExternalLoginResponseDto;
-import com.elite.portal.modules.user.domain.User;
+import com.elite.portal.modules.auth.external.dto.ExternalRefreshRequestDto;
 import com.elite.portal.modules.user.enums.UserRole;
+import com.elite.portal.modules.user.repository.UserLoginView;
 import com.elite.portal.modules.user.repository.UserRepository;
 import com.elite.portal.modules.auth.security.JwtTokenProvider;
 import com.elite.portal.modules.auth.security.LoginAttemptService;
+import com.elite.portal.modules.auth.security.RefreshTokenService;
 import com.elite.portal.modules.auth.service.PasswordHashingService;
 import com.elite.portal.modules.common.exception.BusinessException;
 import com.elite.portal.modules.common.exception.ErrorCode;
@@ -26,18 +28,25 @@ public class ExternalAuthService {
     private final PasswordHashingService passwordHashingService;
     private final JwtTokenProvider jwtTokenProvider;
     private final LoginAttemptService loginAttemptService;
+    private final RefreshTokenService refreshTokenService;
 
     public ExternalAuthService(UserRepository userRepository,
                                PasswordHashingService passwordHashingService,
                                JwtTokenProvider jwtTokenProvider,
-                               LoginAttemptService loginAttemptService) {
+                               LoginAttemptService loginAttemptService,
+                               RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
         this.passwordHashingService = passwordHashingService;
         this.jwtTokenProvider = jwtTokenProvider;
         this.loginAttemptService = loginAttemptService;
+        this.refreshTokenService = refreshTokenService;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Login con username o email. Un chiamante bloccato dal throttling viene respinto prima di qualunque
+     * hashing; per tutti gli altri c'e' sempre esattamente una verifica bcrypt, anche se l'utente non esiste.
+     */
+    @Transactional
     public ExternalLoginResponseDto login(ExternalLoginRequestDto requestDto, String clientIp) {
         String identifier = requestDto.getUsernameOrEmail();
 
@@ -46,15 +55,25 @@ public class ExternalAuthService {
             throw new BusinessException(ErrorCode.LOGIN_ATTEMPTS_EXCEEDED);
         }
 
-        Optional<User> userOpt = userRepository.findByUsernameOrEmail(identifier, identifier);
+        Optional<UserLoginView> userOpt = userRepository.findLoginView(identifier);
 
         if (userOpt.isEmpty()) {
+            // Stesso lavoro del ramo con utente esistente: i tempi di risposta non rivelano quali account esistono
+            passwordHashingService.verifyAgainstDummyHash(requestDto.getPassword());
             loginAttemptService.onLoginFailure(identifier, clientIp);
             LOGGER.info("Login esterno fallito: utente non trovato identifier={} ip={}", identifier, clientIp);
             throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
         }
 
-        User user = userOpt.get();
+        UserLoginView user = userOpt.get();
+
+        // La password si verifica prima di ruolo e stato dell'account, che vengono rivelati solo a chi la conosce
+        boolean validPassword = passwordHashingService.matches(requestDto.getPassword(), user.getPasswordHash());
+        if (!validPassword) {
+            loginAttemptService.onLoginFailure(identifier, clientIp);
+            LOGGER.info("Login esterno fallito: password errata userId={} ip={}", user.getId(), clientIp);
+            throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
+        }
 
         if (!UserRole.EXTERNAL.equals(user.getRole())) {
             loginAttemptService.onLoginFailure(identifier, clientIp);
@@ -68,27 +87,60 @@ public class ExternalAuthService {
             throw new BusinessException(ErrorCode.USER_DISABLED);
         }
 
-        boolean validPassword = passwordHashingService.matches(requestDto.getPassword(), user.getPasswordHash());
-        if (!validPassword) {
-            loginAttemptService.onLoginFailure(identifier, clientIp);
-            LOGGER.info("Login esterno fallito: password errata userId={} ip={}", user.getId(), clientIp);
-            throw new BusinessException(ErrorCode.INVALID_CREDENTIALS);
+        loginAttemptService.onLoginSuccess(identifier, clientIp);
+
+        Long userId = user.getId();
+        passwordHashingService.upgradeInBackground(requestDto.getPassword(), user.getPasswordHash(),
+                (currentHash, newHash) -> userRepository.replacePasswordHash(userId, currentHash, newHash) > 0);
+
+        String refreshToken = refreshTokenService.issue(user.getId());
+
+        LOGGER.info("Login esterno riuscito userId={} ip={}", user.getId(), clientIp);
+
+        return toResponse(user, refreshToken);
+    }
+
+    /**
+     * Rinnova l'access token a partire da un refresh token, senza verificare la password: il refresh token
+     * viene ruotato e l'utente ricontrollato (ruolo, abilitazione, ban) con una lookup per chiave primaria.
+     * <p>
+     * Volutamente non transazionale: la rotazione e' un compare-and-set atomico e le revoche vanno
+     * committate anche quando la richiesta termina con un errore. Dentro una transazione esterna la riga
+     * appena ruotata resterebbe bloccata e la revoca (in transazione propria) la attenderebbe per sempre.
+     */
+    public ExternalLoginResponseDto refresh(ExternalRefreshRequestDto requestDto, String clientIp) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(requestDto.getRefreshToken())
+                .orElseThrow(() -> {
+                    LOGGER.info("Refresh esterno fallito: token non valido ip={}", clientIp);
+                    return new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN);
+                });
+
+        UserLoginView user = userRepository.findLoginViewById(rotation.getUserId())
+                .orElseThrow(() -> new BusinessException(ErrorCode.INVALID_REFRESH_TOKEN));
+
+        if (!UserRole.EXTERNAL.equals(user.getRole()) || !user.isEnabled() || user.isBanned()) {
+            refreshTokenService.revokeAll(user.getId());
+            LOGGER.info("Refresh esterno rifiutato: utente non piu' abilitato userId={} ip={}", user.getId(), clientIp);
+            throw new BusinessException(ErrorCode.USER_DISABLED);
         }
 
-        loginAttemptService.onLoginSuccess(identifier, clientIp);
+        LOGGER.debug("Refresh esterno riuscito userId={} ip={}", user.getId(), clientIp);
+
+        return toResponse(user, rotation.getRefreshToken());
+    }
 
+    private ExternalLoginResponseDto toResponse(UserLoginView user, String refreshToken) {
         String token = jwtTokenProvider.generateToken(user.getId(), user.getUsername(), user.getRole().name());
         long expiresIn = jwtTokenProvider.getAccessTokenValiditySeconds();
 
-        LOGGER.info("Login esterno riuscito userId={} ip={}", user.getId(), clientIp);
-
         return new ExternalLoginResponseDto(
                 user.getId(),
                 user.getFirstName(),
                 user.getLastName(),
                 user.getRole().name(),
                 token,
-                expiresIn
+                expiresIn,
+                refreshToken
         );
     }
 }
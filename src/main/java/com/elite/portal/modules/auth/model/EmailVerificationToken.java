@@ -5,21 +5,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+import com.elite.portal.shared.security.TokenDigest;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "email_verification_token")
+@Table(name = "email_verification_token", indexes = {
+        @Index(name = "ux_email_verification_token_token_hash", columnList = "token_hash", unique = true)
+})
 public class EmailVerificationToken {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "token", nullable = false, unique = true, length = 128)
+    @Column(name = "token_hash", nullable = false, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
+
+    // non persistito, serve solo per l'email di verifica
+    @Transient
     private String token;
 
     @ManyToOne(optional = false)
@@ -44,8 +54,20 @@ public class EmailVerificationToken {
         return token;
     }
 
+    /**
+     * Imposta il token e ne memorizza solo il digest SHA-256.
+     */
     public void setToken(String token) {
         this.token = token;
+        this.tokenHash = token != null ? TokenDigest.sha256(token) : null;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public User getUser() {
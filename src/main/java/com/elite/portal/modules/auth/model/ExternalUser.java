@@ -5,11 +5,18 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.elite.portal.shared.security.TokenDigest;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "external_user")
+@Table(name = "external_user", indexes = {
+        @Index(name = "ux_external_user_email_verification_token_hash", columnList = "email_verification_token_hash", unique = true)
+})
 public class ExternalUser {
 
     @Id
@@ -25,7 +32,11 @@ public class ExternalUser {
     @Column(name = "is_email_verified", nullable = false)
     private boolean isEmailVerified;
 
-    @Column(name = "email_verification_token", length = 255)
+    @Column(name = "email_verification_token_hash", length = TokenDigest.LENGTH)
+    private byte[] emailVerificationTokenHash;
+
+    // in chiaro solo dopo la generazione, per l'email di verifica
+    @Transient
     private String emailVerificationToken;
 
     @Column(name = "email_verification_token_expiry")
@@ -70,8 +81,20 @@ public class ExternalUser {
         return emailVerificationToken;
     }
 
+    /**
+     * Imposta il token di verifica email e ne memorizza solo il digest SHA-256.
+     */
     public void setEmailVerificationToken(String emailVerificationToken) {
         this.emailVerificationToken = emailVerificationToken;
+        this.emailVerificationTokenHash = emailVerificationToken != null ? TokenDigest.sha256(emailVerificationToken) : null;
+    }
+
+    public byte[] getEmailVerificationTokenHash() {
+        return emailVerificationTokenHash;
+    }
+
+    public void setEmailVerificationTokenHash(byte[] emailVerificationTokenHash) {
+        this.emailVerificationTokenHash = emailVerificationTokenHash;
     }
 
     public LocalDateTime getEmailVerificationTokenExpiry() {
@@ -7,11 +7,15 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.elite.portal.shared.security.TokenDigest;
+
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "password_reset_tokens", indexes = {
-        @Index(name = "idx_password_reset_token_token", columnList = "token"),
+        @Index(name = "ux_password_reset_tokens_token_hash", columnList = "token_hash", unique = true),
         @Index(name = "idx_password_reset_token_email", columnList = "email")
 })
 public class PasswordResetToken {
@@ -23,7 +27,11 @@ public class PasswordResetToken {
     @Column(name = "email", nullable = false, length = 255)
     private String email;
 
-    @Column(name = "token", nullable = false, length = 128, unique = true)
+    @Column(name = "token_hash", nullable = false, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
+
+    // valorizzato solo alla creazione: sul database resta il digest
+    @Transient
     private String token;
 
     @Column(name = "expires_at", nullable = false)
@@ -43,7 +51,7 @@ public class PasswordResetToken {
 
     public PasswordResetToken(String email, String token, LocalDateTime expiresAt, boolean used, LocalDateTime createdAt, String createdIp) {
         this.email = email;
-        this.token = token;
+        setToken(token);
         this.expiresAt = expiresAt;
         this.used = used;
         this.createdAt = createdAt;
@@ -70,8 +78,20 @@ public class PasswordResetToken {
         return token;
     }
 
+    /**
+     * Imposta il token e ne memorizza solo il digest SHA-256.
+     */
     public void setToken(String token) {
         this.token = token;
+        this.tokenHash = token != null ? TokenDigest.sha256(token) : null;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public LocalDateTime getExpiresAt() {
@@ -1,11 +1,22 @@
 package com.elite.portal.modules.auth.repository;
 
 import com.elite.portal.modules.auth.model.EmailVerificationToken;
+import com.elite.portal.shared.security.TokenDigest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
 public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
 
-    Optional<EmailVerificationToken> findByToken(String token);
+    Optional<EmailVerificationToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Cerca per token in chiaro: sul database e' salvato solo il digest SHA-256, quindi si confronta quello.
+     */
+    default Optional<EmailVerificationToken> findByToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return findByTokenHash(TokenDigest.sha256(token));
+    }
 }
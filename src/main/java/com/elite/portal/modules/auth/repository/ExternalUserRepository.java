@@ -1,6 +1,7 @@
 package com.elite.portal.modules.auth.repository;
 
 import com.elite.portal.modules.auth.model.ExternalUser;
+import com.elite.portal.shared.security.TokenDigest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
@@ -9,5 +10,15 @@ public interface ExternalUserRepository extends JpaRepository<ExternalUser, Long
 
     Optional<ExternalUser> findByEmail(String email);
 
-    Optional<ExternalUser> findByEmailVerificationToken(String token);
+    Optional<ExternalUser> findByEmailVerificationTokenHash(byte[] tokenHash);
+
+    /**
+     * Lookup del token di verifica ricevuto via link, tramite il suo digest.
+     */
+    default Optional<ExternalUser> findByEmailVerificationToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return findByEmailVerificationTokenHash(TokenDigest.sha256(token));
+    }
 }
@@ -1,6 +1,7 @@
 package com.elite.portal.modules.auth.repository;
 
 import com.elite.portal.modules.auth.domain.PasswordResetToken;
+import com.elite.portal.shared.security.TokenDigest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,15 @@ import java.util.Optional;
 @Repository
 public interface PasswordResetTokenRepository extends JpaRepository<PasswordResetToken, Long> {
 
-    Optional<PasswordResetToken> findByToken(String token);
+    Optional<PasswordResetToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Il token di reset non e' salvato in chiaro: la ricerca avviene sul digest SHA-256.
+     */
+    default Optional<PasswordResetToken> findByToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return findByTokenHash(TokenDigest.sha256(token));
+    }
 }
@@ -0,0 +1,70 @@
+package com.elite.portal.modules.auth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.function.IntToLongFunction;
+
+/**
+ * Sceglie all'avvio il costo bcrypt in base all'hardware: il piu' alto tra {@code minCost} e {@code maxCost}
+ * il cui hash resta entro {@code targetMillis}. Ogni passo di costo raddoppia il tempo, quindi la misura si
+ * ferma al primo costo che supera il target; il costo non scende mai sotto {@code minCost}.
+ */
+public class BcryptCostCalibrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1!";
+    private static final int SAMPLES = 3;
+
+    private final int minCost;
+    private final int maxCost;
+    private final long targetMillis;
+    private final IntToLongFunction hashMillis;
+
+    public BcryptCostCalibrator(int minCost, int maxCost, long targetMillis) {
+        this(minCost, maxCost, targetMillis, BcryptCostCalibrator::measure);
+    }
+
+    BcryptCostCalibrator(int minCost, int maxCost, long targetMillis, IntToLongFunction hashMillis) {
+        if (minCost < 4 || maxCost > 31 || minCost > maxCost) {
+            throw new IllegalArgumentException("Intervallo di costo bcrypt non valido: " + minCost + "-" + maxCost);
+        }
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.targetMillis = targetMillis;
+        this.hashMillis = hashMillis;
+    }
+
+    public int calibrate() {
+        int chosen = minCost;
+        long chosenMillis = -1L;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long millis = hashMillis.applyAsLong(cost);
+            if (millis > targetMillis && cost > minCost) {
+                break;
+            }
+            chosen = cost;
+            chosenMillis = millis;
+            if (millis > targetMillis) {
+                break;
+            }
+        }
+        LOGGER.info("Costo bcrypt calibrato a {} ({} ms per hash, target {} ms)", chosen, chosenMillis, targetMillis);
+        return chosen;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        // Il primo hash scalda JIT e SecureRandom; conta il migliore dei campioni successivi
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - startedAt) / 1_000_000L);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,96 @@
+package com.elite.portal.modules.auth.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store in memoria dei tentativi di login, limitato in dimensione e con scadenza temporale.
+ * Adatto a un singolo nodo: i contatori non sono condivisi e si perdono al riavvio.
+ * <p>
+ * Le chiavi inattive da piu' di due finestre vengono rimosse periodicamente; se lo store raggiunge
+ * {@code maxEntries} vengono sacrificate solo le chiavi sotto la soglia di blocco, cosi' un attacco
+ * con identificativi casuali non puo' ne' esaurire l'heap ne' cancellare i blocchi in corso. Le chiavi
+ * bloccate restano fino alla scadenza della finestra, anche oltre {@code maxEntries}: ognuna costa
+ * all'attaccante {@code retainThreshold} tentativi falliti.
+ */
+public class InMemoryLoginAttemptStore implements LoginAttemptStore {
+
+    private final Map<String, SlidingWindowCounter> counters = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final double retainThreshold;
+    private final AtomicLong lastSweepMillis = new AtomicLong();
+    private final AtomicBoolean evictionInProgress = new AtomicBoolean();
+
+    public InMemoryLoginAttemptStore(int maxEntries, double retainThreshold) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries deve essere positivo");
+        }
+        this.maxEntries = maxEntries;
+        this.retainThreshold = retainThreshold;
+    }
+
+    @Override
+    public double recordFailure(String key, long nowMillis, long windowMillis) {
+        sweepIfDue(nowMillis, windowMillis);
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            if (counters.size() >= maxEntries) {
+                evict(nowMillis, windowMillis);
+            }
+            counter = counters.computeIfAbsent(key, k -> new SlidingWindowCounter(nowMillis, windowMillis));
+        }
+        return counter.incrementAndEstimate(nowMillis, windowMillis);
+    }
+
+    @Override
+    public double estimate(String key, long nowMillis, long windowMillis) {
+        SlidingWindowCounter counter = counters.get(key);
+        if (counter == null) {
+            return 0.0d;
+        }
+        if (counter.isIdle(nowMillis, windowMillis)) {
+            counters.remove(key, counter);
+            return 0.0d;
+        }
+        return counter.estimate(nowMillis, windowMillis);
+    }
+
+    @Override
+    public void reset(String key) {
+        counters.remove(key);
+    }
+
+    int size() {
+        return counters.size();
+    }
+
+    private void sweepIfDue(long nowMillis, long windowMillis) {
+        long lastSweep = lastSweepMillis.get();
+        if (nowMillis - lastSweep < windowMillis || !lastSweepMillis.compareAndSet(lastSweep, nowMillis)) {
+            return;
+        }
+        counters.entrySet().removeIf(entry -> entry.getValue().isIdle(nowMillis, windowMillis));
+    }
+
+    private void evict(long nowMillis, long windowMillis) {
+        // Un solo thread alla volta scansiona la mappa; gli altri inseriscono comunque (limite "soft").
+        if (!evictionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            counters.entrySet().removeIf(entry -> entry.getValue().isIdle(nowMillis, windowMillis));
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            Iterator<Map.Entry<String, SlidingWindowCounter>> iterator = counters.entrySet().iterator();
+            while (counters.size() > target && iterator.hasNext()) {
+                if (iterator.next().getValue().estimate(nowMillis, windowMillis) < retainThreshold) {
+                    iterator.remove();
+                }
+            }
+        } finally {
+            evictionInProgress.set(false);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.elite.portal.modules.auth.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Store condiviso su database: ogni fallimento e' un singolo upsert atomico ({@code INSERT ... ON CONFLICT})
+ * che ruota la finestra lato SQL, quindi i nodi del cluster non si sovrascrivono i contatori.
+ * <p>
+ * Tabella: {@code db/security/login_attempt_counter.sql}. Le righe scadute vengono cancellate da ogni nodo
+ * al piu' una volta per finestra.
+ * <p>
+ * Le scritture girano in una transazione propria ({@code REQUIRES_NEW}): il login che registra il fallimento
+ * e' spesso in una transazione di sola lettura e termina comunque con un'eccezione, che annullerebbe
+ * l'incremento.
+ */
+public class JdbcLoginAttemptStore implements LoginAttemptStore {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO login_attempt_counter (counter_key, window_index, previous_count, current_count) "
+                    + "VALUES (?, ?, 0, 1) "
+                    + "ON CONFLICT (counter_key) DO UPDATE SET "
+                    + "previous_count = CASE "
+                    + "WHEN login_attempt_counter.window_index >= EXCLUDED.window_index THEN login_attempt_counter.previous_count "
+                    + "WHEN login_attempt_counter.window_index = EXCLUDED.window_index - 1 THEN login_attempt_counter.current_count "
+                    + "ELSE 0 END, "
+                    + "current_count = CASE "
+                    + "WHEN login_attempt_counter.window_index >= EXCLUDED.window_index THEN login_attempt_counter.current_count + 1 "
+                    + "ELSE 1 END, "
+                    + "window_index = GREATEST(login_attempt_counter.window_index, EXCLUDED.window_index) "
+                    + "RETURNING window_index, previous_count, current_count";
+
+    private static final String SELECT_SQL =
+            "SELECT window_index, previous_count, current_count FROM login_attempt_counter WHERE counter_key = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM login_attempt_counter WHERE counter_key = ?";
+
+    private static final String PURGE_SQL = "DELETE FROM login_attempt_counter WHERE window_index < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate writeTransaction;
+    private final AtomicLong lastPurgeMillis = new AtomicLong();
+
+    public JdbcLoginAttemptStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public double recordFailure(String key, long nowMillis, long windowMillis) {
+        purgeIfDue(nowMillis, windowMillis);
+        Double estimate = writeTransaction.execute(status -> jdbcTemplate.queryForObject(UPSERT_SQL,
+                (rs, rowNum) -> SlidingWindowCounter.estimate(
+                        rs.getLong("window_index"),
+                        rs.getLong("previous_count"),
+                        rs.getLong("current_count"),
+                        nowMillis,
+                        windowMillis),
+                key, nowMillis / windowMillis));
+        return estimate != null ? estimate : 0.0d;
+    }
+
+    @Override
+    public double estimate(String key, long nowMillis, long windowMillis) {
+        List<Double> estimates = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> SlidingWindowCounter.estimate(
+                        rs.getLong("window_index"),
+                        rs.getLong("previous_count"),
+                        rs.getLong("current_count"),
+                        nowMillis,
+                        windowMillis),
+                key);
+        return estimates.isEmpty() ? 0.0d : estimates.get(0);
+    }
+
+    @Override
+    public void reset(String key) {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(DELETE_SQL, key));
+    }
+
+    private void purgeIfDue(long nowMillis, long windowMillis) {
+        long lastPurge = lastPurgeMillis.get();
+        if (nowMillis - lastPurge < windowMillis || !lastPurgeMillis.compareAndSet(lastPurge, nowMillis)) {
+            return;
+        }
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update(PURGE_SQL, nowMillis / windowMillis - 1));
+    }
+}
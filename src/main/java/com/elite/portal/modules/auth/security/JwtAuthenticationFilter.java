@@ -0,0 +1,76 @@
+package com.elite.portal.modules.auth.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Autentica le richieste con {@code Authorization: Bearer <access token>} tramite
+ * {@link JwtTokenProvider#verify(String)}, che include il controllo del watermark di revoca.
+ * <p>
+ * Un token presente ma non valido, scaduto o revocato riceve subito 401; le richieste senza token
+ * proseguono non autenticate e restano soggette alle regole di autorizzazione della catena.
+ * Gli endpoint pubblici di autenticazione (login, refresh, reset password, registrazione) non vengono
+ * filtrati: un client che invia ancora un access token scaduto o revocato deve poterli raggiungere.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final List<String> PUBLIC_PATH_PREFIXES = List.of("/api/auth/", "/api/public/");
+
+    private final JwtTokenProvider jwtTokenProvider;
+
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+        this.jwtTokenProvider = jwtTokenProvider;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String prefix : PUBLIC_PATH_PREFIXES) {
+            if (path.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<VerifiedToken> verified = jwtTokenProvider.verify(header.substring(BEARER_PREFIX.length()).trim());
+        if (verified.isEmpty()) {
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        VerifiedToken token = verified.get();
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                token.getUserId(), null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + token.getRole())));
+        authentication.setDetails(token);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        filterChain.doFilter(request, response);
+    }
+}
@@ -1,41 +1,245 @@
 package com.elite.portal.modules.auth.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Emissione e verifica degli access token HS256.
+ * <p>
+ * I token sono firmati con la chiave corrente ({@code security.jwt.key-id}) e portano il {@code kid}
+ * nell'header; in verifica sono accettate anche le chiavi elencate in {@code security.jwt.previous-keys}
+ * ({@code kid:secret,...}), cosi' la rotazione non invalida i token gia' emessi. I token senza {@code kid}
+ * (emessi prima della rotazione) sono verificati con la chiave corrente.
+ * <p>
+ * I token verificati restano in una cache limitata fino alla loro scadenza: una richiesta autenticata con
+ * un token gia' visto costa una lookup invece di decodifica Base64, parsing JSON e HMAC. Il watermark di
+ * revoca dell'utente ({@link TokenRevocationRegistry}) e' controllato a ogni verifica, anche sui token in cache.
+ */
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(JwtTokenProvider.class);
+
+    private static final String USERNAME_CLAIM = "username";
+    private static final String ROLE_CLAIM = "role";
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private final String keyId;
     private final Key key;
+    private final Map<String, Key> verificationKeys;
     private final long accessTokenValiditySeconds;
+    private final Clock clock;
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+    private final TokenRevocationRegistry revocationRegistry;
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicBoolean evictionInProgress = new AtomicBoolean();
 
     public JwtTokenProvider(@Value("${security.jwt.secret}") String secret,
-                            @Value("${security.jwt.access-token-validity-seconds:3600}") long accessTokenValiditySeconds) {
-        this.key = Keys.hmacShaKeyFor(secret.getBytes());
+                            @Value("${security.jwt.access-token-validity-seconds:900}") long accessTokenValiditySeconds,
+                            @Value("${security.jwt.key-id:default}") String keyId,
+                            @Value("${security.jwt.previous-keys:}") String previousKeys,
+                            @Value("${security.jwt.verified-cache-size:10000}") int maxCachedTokens,
+                            TokenRevocationRegistry revocationRegistry,
+                            Clock clock) {
+        this.keyId = keyId;
+        this.key = hmacKey(secret);
         this.accessTokenValiditySeconds = accessTokenValiditySeconds;
+        this.clock = clock;
+        this.maxCachedTokens = Math.max(0, maxCachedTokens);
+        this.revocationRegistry = revocationRegistry;
+
+        Map<String, Key> keys = new HashMap<>(parsePreviousKeys(previousKeys));
+        keys.put(keyId, key);
+        this.verificationKeys = Collections.unmodifiableMap(keys);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KeyIdResolver())
+                .setClock(() -> Date.from(clock.instant()))
+                .build();
     }
 
     public String generateToken(Long userId, String username, String role) {
-        Date now = new Date();
+        Date now = Date.from(clock.instant());
         Date expiryDate = new Date(now.getTime() + accessTokenValiditySeconds * 1000);
 
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, keyId)
                 .setSubject(String.valueOf(userId))
-                .claim("username", username)
-                .claim("role", role)
+                .claim(USERNAME_CLAIM, username)
+                .claim(ROLE_CLAIM, role)
                 .setIssuedAt(now)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now.getTime())
                 .setExpiration(expiryDate)
                 .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifica firma, algoritmo, scadenza e revoca del token.
+     *
+     * @return i dati del token, vuoto se il token non e' valido, e' scaduto o e' stato revocato
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        Instant now = clock.instant();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (now.isBefore(cached.getExpiresAt())) {
+                return notRevoked(cached);
+            }
+            verifiedTokens.remove(token, cached);
+            return Optional.empty();
+        }
+
+        VerifiedToken verified;
+        try {
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            verified = toVerifiedToken(jws);
+        } catch (JwtException | IllegalArgumentException ex) {
+            LOGGER.debug("Access token rifiutato: {}", ex.getMessage());
+            return Optional.empty();
+        }
+        cache(token, verified, now);
+        return notRevoked(verified);
+    }
+
+    private Optional<VerifiedToken> notRevoked(VerifiedToken verified) {
+        if (revocationRegistry.isRevoked(verified.getUserId(), verified.getIssuedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(verified);
+    }
+
     public long getAccessTokenValiditySeconds() {
         return accessTokenValiditySeconds;
     }
+
+    int cachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private VerifiedToken toVerifiedToken(Jws<Claims> jws) {
+        Claims claims = jws.getBody();
+        if (claims.getExpiration() == null || claims.getSubject() == null) {
+            throw new UnsupportedJwtException("Token senza scadenza o subject");
+        }
+        Long userId;
+        try {
+            userId = Long.valueOf(claims.getSubject());
+        } catch (NumberFormatException ex) {
+            throw new UnsupportedJwtException("Subject non numerico");
+        }
+        return new VerifiedToken(
+                userId,
+                claims.get(USERNAME_CLAIM, String.class),
+                claims.get(ROLE_CLAIM, String.class),
+                jws.getHeader().getKeyId(),
+                issuedAt(claims),
+                claims.getExpiration().toInstant());
+    }
+
+    /**
+     * Istante di emissione al millisecondo ({@code iat} standard ha precisione al secondo); i token emessi
+     * prima dell'introduzione del claim ricadono su {@code iat}.
+     */
+    private static Instant issuedAt(Claims claims) {
+        Object millis = claims.get(ISSUED_AT_MILLIS_CLAIM);
+        if (millis instanceof Number) {
+            return Instant.ofEpochMilli(((Number) millis).longValue());
+        }
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+    }
+
+    private void cache(String token, VerifiedToken verified, Instant now) {
+        if (maxCachedTokens == 0) {
+            return;
+        }
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            evict(now);
+        }
+        verifiedTokens.put(token, verified);
+    }
+
+    private void evict(Instant now) {
+        // Un solo thread alla volta scansiona la mappa; gli altri inseriscono comunque (limite "soft").
+        if (!evictionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verifiedTokens.values().removeIf(verified -> !now.isBefore(verified.getExpiresAt()));
+            int target = maxCachedTokens - Math.max(1, maxCachedTokens / 10);
+            Iterator<VerifiedToken> iterator = verifiedTokens.values().iterator();
+            while (verifiedTokens.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictionInProgress.set(false);
+        }
+    }
+
+    private static Map<String, Key> parsePreviousKeys(String previousKeys) {
+        Map<String, Key> keys = new HashMap<>();
+        if (previousKeys == null || previousKeys.trim().isEmpty()) {
+            return keys;
+        }
+        for (String entry : previousKeys.split(",")) {
+            int separator = entry.indexOf(':');
+            if (separator <= 0 || separator == entry.length() - 1) {
+                throw new IllegalArgumentException("security.jwt.previous-keys: atteso kid:secret");
+            }
+            keys.put(entry.substring(0, separator).trim(), hmacKey(entry.substring(separator + 1).trim()));
+        }
+        return keys;
+    }
+
+    private static Key hmacKey(String secret) {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Ammette solo HS256 (niente {@code none} ne' algoritmi scelti dal token) e risolve la chiave dal {@code kid}.
+     */
+    private final class KeyIdResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            if (!SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                throw new UnsupportedJwtException("Algoritmo non ammesso: " + header.getAlgorithm());
+            }
+            String kid = header.getKeyId();
+            Key resolved = kid == null ? key : verificationKeys.get(kid);
+            if (resolved == null) {
+                throw new UnsupportedJwtException("Chiave sconosciuta: " + kid);
+            }
+            return resolved;
+        }
+    }
 }
@@ -1,61 +1,72 @@
 package com.elite.portal.modules.auth.security;
 
+import com.elite.portal.shared.security.TokenDigest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.Locale;
 
+/**
+ * Throttling dei tentativi di login falliti.
+ * <p>
+ * I fallimenti sono contati separatamente per identificativo (username/email) e per IP su una finestra
+ * scorrevole di {@code security.login.window-seconds}: il chiamante resta bloccato finche' la stima dei
+ * fallimenti recenti supera la soglia, senza un periodo di blocco fisso. Dove vivono i contatori dipende
+ * dal {@link LoginAttemptStore} configurato ({@code security.login.store}).
+ * <p>
+ * L'identificativo entra nella chiave come digest SHA-256 esadecimale: lunghezza fissa qualunque cosa
+ * invii il client, e nessun username o email in chiaro negli store condivisi.
+ */
 @Service
 public class LoginAttemptService {
 
-    private final int maxAttempts;
-    private final long blockSeconds;
-
-    private static class AttemptInfo {
-        private int attempts;
-        private Instant lastAttempt;
-        private Instant blockedUntil;
-    }
+    private static final String IDENTIFIER_KEY_PREFIX = "id:";
+    private static final String IP_KEY_PREFIX = "ip:";
 
-    private final Map<String, AttemptInfo> attemptsByKey = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final int maxAttemptsPerIp;
+    private final long windowMillis;
+    private final LoginAttemptStore loginAttemptStore;
+    private final Clock clock;
 
     public LoginAttemptService(@Value("${security.login.max-attempts:5}") int maxAttempts,
-                               @Value("${security.login.block-seconds:900}") long blockSeconds) {
+                               @Value("${security.login.max-attempts-per-ip:50}") int maxAttemptsPerIp,
+                               @Value("${security.login.window-seconds:${security.login.block-seconds:900}}") long windowSeconds,
+                               LoginAttemptStore loginAttemptStore,
+                               Clock clock) {
         this.maxAttempts = maxAttempts;
-        this.blockSeconds = blockSeconds;
+        this.maxAttemptsPerIp = maxAttemptsPerIp;
+        this.windowMillis = windowSeconds * 1000;
+        this.loginAttemptStore = loginAttemptStore;
+        this.clock = clock;
     }
 
     public boolean isBlocked(String identifier, String ip) {
-        String key = buildKey(identifier, ip);
-        AttemptInfo info = attemptsByKey.get(key);
-        if (info == null || info.blockedUntil == null) {
-            return false;
-        }
-        if (Instant.now().isAfter(info.blockedUntil)) {
-            attemptsByKey.remove(key);
-            return false;
-        }
-        return true;
+        long now = clock.millis();
+        return loginAttemptStore.estimate(identifierKey(identifier), now, windowMillis) >= maxAttempts
+                || loginAttemptStore.estimate(ipKey(ip), now, windowMillis) >= maxAttemptsPerIp;
     }
 
     public void onLoginFailure(String identifier, String ip) {
-        String key = buildKey(identifier, ip);
-        AttemptInfo info = attemptsByKey.computeIfAbsent(key, k -> new AttemptInfo());
-        info.attempts++;
-        info.lastAttempt = Instant.now();
-        if (info.attempts >= maxAttempts) {
-            info.blockedUntil = Instant.now().plusSeconds(blockSeconds);
-        }
+        long now = clock.millis();
+        loginAttemptStore.recordFailure(identifierKey(identifier), now, windowMillis);
+        loginAttemptStore.recordFailure(ipKey(ip), now, windowMillis);
     }
 
     public void onLoginSuccess(String identifier, String ip) {
-        String key = buildKey(identifier, ip);
-        attemptsByKey.remove(key);
+        // Il contatore per IP non viene azzerato: un login valido non deve ripulire i fallimenti
+        // accumulati dallo stesso IP su altri account.
+        loginAttemptStore.reset(identifierKey(identifier));
+    }
+
+    private String identifierKey(String identifier) {
+        String normalized = identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT);
+        return IDENTIFIER_KEY_PREFIX + HexFormat.of().formatHex(TokenDigest.sha256(normalized));
     }
 
-    private String buildKey(String identifier, String ip) {
-        return identifier + "|" + ip;
+    private String ipKey(String ip) {
+        return IP_KEY_PREFIX + (ip == null ? "" : ip);
     }
 }
@@ -0,0 +1,23 @@
+package com.elite.portal.modules.auth.security;
+
+/**
+ * SPI dei contatori di tentativi di login falliti usati da {@link LoginAttemptService}.
+ * <p>
+ * Le implementazioni mantengono per ogni chiave un contatore a finestra scorrevole e devono essere
+ * thread-safe; quelle condivise (JDBC, Redis) rendono i limiti validi sull'intero cluster e
+ * sopravvivono ai redeploy.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Registra un fallimento per la chiave e restituisce la stima aggiornata dei fallimenti recenti.
+     */
+    double recordFailure(String key, long nowMillis, long windowMillis);
+
+    /**
+     * Stima dei fallimenti registrati per la chiave nella finestra scorrevole che termina in {@code nowMillis}.
+     */
+    double estimate(String key, long nowMillis, long windowMillis);
+
+    void reset(String key);
+}
@@ -0,0 +1,82 @@
+package com.elite.portal.modules.auth.security;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Store condiviso su Redis: ogni chiave e' un hash {@code w/p/c} (indice finestra, conteggio precedente,
+ * conteggio corrente) aggiornato da uno script Lua, quindi l'incremento con rotazione della finestra e'
+ * atomico su tutti i nodi. Le chiavi scadono da sole dopo due finestre di inattivita'.
+ */
+public class RedisLoginAttemptStore implements LoginAttemptStore {
+
+    static final String KEY_PREFIX = "login-attempt:";
+
+    private static final List<Object> HASH_FIELDS = Arrays.asList("w", "p", "c");
+
+    private static final RedisScript<List> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local window = tonumber(ARGV[1]) "
+                    + "local state = redis.call('HMGET', KEYS[1], 'w', 'p', 'c') "
+                    + "local w = tonumber(state[1]) or window "
+                    + "local p = tonumber(state[2]) or 0 "
+                    + "local c = tonumber(state[3]) or 0 "
+                    + "if window > w then "
+                    + "  if window == w + 1 then p = c else p = 0 end "
+                    + "  c = 0 "
+                    + "  w = window "
+                    + "end "
+                    + "c = c + 1 "
+                    + "redis.call('HSET', KEYS[1], 'w', w, 'p', p, 'c', c) "
+                    + "redis.call('PEXPIRE', KEYS[1], ARGV[2]) "
+                    + "return {w, p, c}",
+            List.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisLoginAttemptStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public double recordFailure(String key, long nowMillis, long windowMillis) {
+        List<?> state = redisTemplate.execute(INCREMENT_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(nowMillis / windowMillis),
+                String.valueOf(2 * windowMillis));
+        if (state == null || state.size() < 3) {
+            return 0.0d;
+        }
+        return SlidingWindowCounter.estimate(toLong(state.get(0)), toLong(state.get(1)), toLong(state.get(2)),
+                nowMillis, windowMillis);
+    }
+
+    @Override
+    public double estimate(String key, long nowMillis, long windowMillis) {
+        List<Object> state = redisTemplate.opsForHash().multiGet(KEY_PREFIX + key, HASH_FIELDS);
+        if (state == null || state.size() < 3 || state.get(0) == null) {
+            return 0.0d;
+        }
+        return SlidingWindowCounter.estimate(toLong(state.get(0)), toLong(state.get(1)), toLong(state.get(2)),
+                nowMillis, windowMillis);
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+
+    private static long toLong(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+}
@@ -0,0 +1,156 @@
+package com.elite.portal.modules.auth.security;
+
+import com.elite.portal.shared.security.TokenDigest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh token opachi con rotazione e rilevamento del riuso.
+ * <p>
+ * Il token ha la forma {@code <familyId>.<segreto>}: l'id della famiglia permette la lookup per chiave
+ * primaria, il segreto (32 byte casuali) non viene mai salvato, solo il digest SHA-256 dell'intero token.
+ * Ogni rinnovo emette un nuovo token e invalida il precedente; se un token gia' ruotato viene
+ * ripresentato la famiglia viene revocata, cosi' un token rubato smette di funzionare sia per chi lo ha
+ * rubato sia per il client legittimo, che dovra' rifare il login.
+ * <p>
+ * La scadenza ({@code security.jwt.refresh-token-validity-seconds}) riparte a ogni rotazione.
+ */
+@Component
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int SECRET_BYTES = 32;
+
+    private final RefreshTokenStore store;
+    private final Clock clock;
+    private final long refreshTokenValiditySeconds;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenStore store,
+                               Clock clock,
+                               @Value("${security.jwt.refresh-token-validity-seconds:1209600}") long refreshTokenValiditySeconds) {
+        this.store = store;
+        this.clock = clock;
+        this.refreshTokenValiditySeconds = refreshTokenValiditySeconds;
+    }
+
+    /**
+     * Apre una nuova famiglia (sessione) per l'utente e ne restituisce il primo refresh token.
+     */
+    public String issue(Long userId) {
+        UUID familyId = UUID.randomUUID();
+        String token = newToken(familyId);
+        Instant now = clock.instant();
+        store.create(familyId, userId, TokenDigest.sha256(token), now.plusSeconds(refreshTokenValiditySeconds), now);
+        return token;
+    }
+
+    /**
+     * Consuma il refresh token e ne emette il successore.
+     *
+     * @return utente e nuovo token, vuoto se il token non e' valido, e' scaduto o e' stato riusato
+     */
+    public Optional<Rotation> rotate(String token) {
+        UUID familyId = familyId(token);
+        if (familyId == null) {
+            return Optional.empty();
+        }
+        Optional<RefreshTokenStore.Family> familyOpt = store.find(familyId);
+        if (familyOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        RefreshTokenStore.Family family = familyOpt.get();
+        Instant now = clock.instant();
+        if (!now.isBefore(family.getExpiresAt())) {
+            store.delete(familyId);
+            return Optional.empty();
+        }
+
+        byte[] presentedHash = TokenDigest.sha256(token);
+        if (!MessageDigest.isEqual(presentedHash, family.getTokenHash())) {
+            revokeReusedFamily(familyId, family.getUserId());
+            return Optional.empty();
+        }
+
+        String next = newToken(familyId);
+        boolean rotated = store.rotate(familyId, presentedHash, TokenDigest.sha256(next),
+                now.plusSeconds(refreshTokenValiditySeconds), now);
+        if (!rotated) {
+            // Un'altra richiesta ha ruotato lo stesso token nel frattempo: anche questo e' un riuso
+            revokeReusedFamily(familyId, family.getUserId());
+            return Optional.empty();
+        }
+        return Optional.of(new Rotation(family.getUserId(), next));
+    }
+
+    /**
+     * Revoca tutte le sessioni dell'utente (es. dopo un reset password).
+     */
+    public void revokeAll(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        int revoked = store.deleteByUser(userId);
+        LOGGER.debug("Revocate {} famiglie di refresh token per userId={}", revoked, userId);
+    }
+
+    public long getRefreshTokenValiditySeconds() {
+        return refreshTokenValiditySeconds;
+    }
+
+    private void revokeReusedFamily(UUID familyId, long userId) {
+        store.delete(familyId);
+        LOGGER.warn("Riuso di un refresh token gia' ruotato: revocata la famiglia {} di userId={}", familyId, userId);
+    }
+
+    private String newToken(UUID familyId) {
+        byte[] secret = new byte[SECRET_BYTES];
+        secureRandom.nextBytes(secret);
+        return familyId + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    private static UUID familyId(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return UUID.fromString(token.substring(0, separator));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    public static final class Rotation {
+
+        private final Long userId;
+        private final String refreshToken;
+
+        public Rotation(Long userId, String refreshToken) {
+            this.userId = userId;
+            this.refreshToken = refreshToken;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.elite.portal.modules.auth.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistenza delle famiglie di refresh token (tabella {@code db/auth/refresh_token.sql}).
+ * <p>
+ * Una famiglia e' una sessione: una sola riga con il digest del refresh token corrente, sovrascritto a
+ * ogni rotazione. I token gia' ruotati non vengono conservati: un token presentato che non corrisponde al
+ * digest corrente e' per definizione un riuso.
+ * <p>
+ * Le revoche ({@link #delete(UUID)}, {@link #deleteByUser(Long)}) sono committate in una transazione
+ * propria: il chiamante di norma lancia subito un'eccezione, e il rollback della sua transazione non deve
+ * annullare la revoca di una famiglia compromessa.
+ */
+@Component
+public class RefreshTokenStore {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO refresh_token_family (family_id, user_id, token_hash, expires_at, created_at, rotated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT user_id, token_hash, expires_at FROM refresh_token_family WHERE family_id = ?";
+
+    private static final String ROTATE_SQL =
+            "UPDATE refresh_token_family SET token_hash = ?, expires_at = ?, rotated_at = ? "
+                    + "WHERE family_id = ? AND token_hash = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM refresh_token_family WHERE family_id = ?";
+
+    private static final String DELETE_BY_USER_SQL = "DELETE FROM refresh_token_family WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate independentTransaction;
+
+    public RefreshTokenStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.independentTransaction = new TransactionTemplate(transactionManager);
+        this.independentTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void create(UUID familyId, Long userId, byte[] tokenHash, Instant expiresAt, Instant now) {
+        jdbcTemplate.update(INSERT_SQL, familyId, userId, tokenHash,
+                Timestamp.from(expiresAt), Timestamp.from(now), Timestamp.from(now));
+    }
+
+    public Optional<Family> find(UUID familyId) {
+        List<Family> families = jdbcTemplate.query(SELECT_SQL,
+                (rs, rowNum) -> new Family(
+                        rs.getLong("user_id"),
+                        rs.getBytes("token_hash"),
+                        rs.getTimestamp("expires_at").toInstant()),
+                familyId);
+        return families.stream().findFirst();
+    }
+
+    /**
+     * Sostituisce il token corrente solo se e' ancora {@code currentHash}: con due rotazioni concorrenti
+     * dello stesso token solo una aggiorna la riga.
+     *
+     * @return true se la rotazione e' avvenuta
+     */
+    public boolean rotate(UUID familyId, byte[] currentHash, byte[] newHash, Instant expiresAt, Instant now) {
+        return jdbcTemplate.update(ROTATE_SQL, newHash, Timestamp.from(expiresAt), Timestamp.from(now),
+                familyId, currentHash) == 1;
+    }
+
+    public void delete(UUID familyId) {
+        independentTransaction.executeWithoutResult(status -> jdbcTemplate.update(DELETE_SQL, familyId));
+    }
+
+    public int deleteByUser(Long userId) {
+        Integer deleted = independentTransaction.execute(status -> jdbcTemplate.update(DELETE_BY_USER_SQL, userId));
+        return deleted != null ? deleted : 0;
+    }
+
+    public static final class Family {
+
+        private final long userId;
+        private final byte[] tokenHash;
+        private final Instant expiresAt;
+
+        public Family(long userId, byte[] tokenHash, Instant expiresAt) {
+            this.userId = userId;
+            this.tokenHash = tokenHash;
+            this.expiresAt = expiresAt;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public byte[] getTokenHash() {
+            return tokenHash;
+        }
+
+        public Instant getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.elite.portal.modules.auth.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contatore a finestra scorrevole senza lock.
+ * <p>
+ * Lo stato (indice della finestra corrente, conteggio della finestra precedente e di quella corrente)
+ * e' impaccato in un unico {@code long} aggiornato via CAS; la stima pesa la finestra precedente in base
+ * a quanto della finestra corrente e' gia' trascorso.
+ */
+final class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final long WINDOW_MASK = 0xFFFFFFFFL;
+
+    private final AtomicLong state;
+
+    SlidingWindowCounter(long nowMillis, long windowMillis) {
+        this.state = new AtomicLong(pack(nowMillis / windowMillis, 0, 0));
+    }
+
+    double incrementAndEstimate(long nowMillis, long windowMillis) {
+        long windowIndex = nowMillis / windowMillis;
+        while (true) {
+            long current = state.get();
+            long rolled = roll(current, windowIndex);
+            long currentCount = Math.min(currentCount(rolled) + 1, COUNT_MASK);
+            long updated = pack(windowIndex, previousCount(rolled), currentCount);
+            if (state.compareAndSet(current, updated)) {
+                return estimate(updated, nowMillis, windowMillis);
+            }
+        }
+    }
+
+    double estimate(long nowMillis, long windowMillis) {
+        long windowIndex = nowMillis / windowMillis;
+        return estimate(roll(state.get(), windowIndex), nowMillis, windowMillis);
+    }
+
+    /**
+     * Vero quando entrambe le finestre tracciate sono scadute e il contatore non pesa piu' sulla stima.
+     */
+    boolean isIdle(long nowMillis, long windowMillis) {
+        long windowIndex = (nowMillis / windowMillis) & WINDOW_MASK;
+        return windowIndex - windowIndex(state.get()) > 1;
+    }
+
+    /**
+     * Stima per contatori mantenuti fuori processo (JDBC, Redis) a partire dai tre valori persistiti.
+     */
+    static double estimate(long storedWindowIndex, long previousCount, long currentCount,
+                           long nowMillis, long windowMillis) {
+        long windowIndex = nowMillis / windowMillis;
+        if (windowIndex <= storedWindowIndex) {
+            return weightedEstimate(previousCount, currentCount, nowMillis, windowMillis);
+        }
+        if (windowIndex == storedWindowIndex + 1) {
+            return weightedEstimate(currentCount, 0, nowMillis, windowMillis);
+        }
+        return 0.0d;
+    }
+
+    private static double estimate(long packed, long nowMillis, long windowMillis) {
+        return weightedEstimate(previousCount(packed), currentCount(packed), nowMillis, windowMillis);
+    }
+
+    private static double weightedEstimate(long previousCount, long currentCount, long nowMillis, long windowMillis) {
+        double elapsedFraction = (double) (nowMillis % windowMillis) / windowMillis;
+        return previousCount * (1.0d - elapsedFraction) + currentCount;
+    }
+
+    private static long roll(long packed, long windowIndex) {
+        long storedIndex = windowIndex(packed);
+        long targetIndex = windowIndex & WINDOW_MASK;
+        if (targetIndex <= storedIndex) {
+            return packed;
+        }
+        if (targetIndex == storedIndex + 1) {
+            return pack(targetIndex, currentCount(packed), 0);
+        }
+        return pack(targetIndex, 0, 0);
+    }
+
+    private static long pack(long windowIndex, long previousCount, long currentCount) {
+        return ((windowIndex & WINDOW_MASK) << (2 * COUNT_BITS))
+                | ((previousCount & COUNT_MASK) << COUNT_BITS)
+                | (currentCount & COUNT_MASK);
+    }
+
+    private static long windowIndex(long packed) {
+        return (packed >>> (2 * COUNT_BITS)) & WINDOW_MASK;
+    }
+
+    private static long previousCount(long packed) {
+        return (packed >>> COUNT_BITS) & COUNT_MASK;
+    }
+
+    private static long currentCount(long packed) {
+        return packed & COUNT_MASK;
+    }
+}
@@ -0,0 +1,60 @@
+package com.elite.portal.modules.auth.security;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watermark di revoca per utente: sono revocati tutti gli access token emessi prima dell'istante
+ * registrato, confrontato al millisecondo (claim {@code iat_ms} di {@link JwtTokenProvider}). Il confronto
+ * e' stretto: un token emesso dopo la revoca, anche nello stesso secondo o da un altro nodo, resta valido;
+ * l'unica finestra residua e' lo scarto di orologio tra i nodi, che si assume sincronizzato (NTP). Il controllo e' una lookup in memoria, senza accessi al database; persistenza e
+ * replica tra i nodi sono a carico di {@link TokenRevocationReplicator}.
+ * <p>
+ * Un watermark serve solo finche' possono esistere token emessi prima di esso, cioe' per la durata di un
+ * access token: dopo viene rimosso da {@link #prune(Instant, long)}, cosi' la mappa resta piccola.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private final Map<Long, Long> notBeforeByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Registra (o alza) il watermark dell'utente; un watermark piu' vecchio di quello noto viene ignorato.
+     */
+    public void revokeIssuedUpTo(Long userId, Instant watermark) {
+        if (userId == null || watermark == null) {
+            return;
+        }
+        notBeforeByUser.merge(userId, watermark.toEpochMilli(), Math::max);
+    }
+
+    /**
+     * Vero se il token dell'utente e' stato emesso prima del watermark; un token senza istante di emissione
+     * e' considerato revocato.
+     */
+    public boolean isRevoked(Long userId, Instant issuedAt) {
+        if (userId == null) {
+            return false;
+        }
+        Long watermark = notBeforeByUser.get(userId);
+        if (watermark == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.toEpochMilli() < watermark;
+    }
+
+    /**
+     * Rimuove i watermark oltre i quali tutti i token interessati sono comunque scaduti.
+     */
+    public void prune(Instant now, long accessTokenValiditySeconds) {
+        long threshold = now.minusSeconds(accessTokenValiditySeconds).toEpochMilli();
+        notBeforeByUser.values().removeIf(watermark -> watermark < threshold);
+    }
+
+    int size() {
+        return notBeforeByUser.size();
+    }
+}
@@ -0,0 +1,120 @@
+package com.elite.portal.modules.auth.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene allineato il {@link TokenRevocationRegistry} locale con la tabella dei watermark.
+ * <p>
+ * All'avvio carica tutti i watermark ancora rilevanti (sopravvivono quindi ai riavvii); poi, ogni
+ * {@code security.jwt.revocation.poll-interval-millis}, legge solo le righe modificate dall'ultimo giro,
+ * con un margine che copre la differenza di orologio tra i nodi. Applicare un watermark e' idempotente.
+ * Le revoche fatte su questo nodo sono applicate subito da {@link #revoke(Long, Instant)}.
+ */
+@Component
+public class TokenRevocationReplicator implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationReplicator.class);
+
+    private static final long CLOCK_SKEW_MILLIS = 30_000L;
+
+    private final TokenRevocationRegistry registry;
+    private final TokenRevocationStore store;
+    private final Clock clock;
+    private final long pollIntervalMillis;
+    private final long accessTokenValiditySeconds;
+
+    private volatile boolean running;
+    private volatile Instant lastSeenUpdate = Instant.EPOCH;
+    private ScheduledExecutorService poller;
+
+    public TokenRevocationReplicator(TokenRevocationRegistry registry,
+                                     TokenRevocationStore store,
+                                     Clock clock,
+                                     @Value("${security.jwt.revocation.poll-interval-millis:5000}") long pollIntervalMillis,
+                                     @Value("${security.jwt.access-token-validity-seconds:900}") long accessTokenValiditySeconds) {
+        this.registry = registry;
+        this.store = store;
+        this.clock = clock;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.accessTokenValiditySeconds = accessTokenValiditySeconds;
+    }
+
+    /**
+     * Revoca i token dell'utente emessi fino a {@code watermark}: effetto immediato su questo nodo,
+     * sugli altri entro un intervallo di polling.
+     */
+    public void revoke(Long userId, Instant watermark) {
+        registry.revokeIssuedUpTo(userId, watermark);
+        store.save(userId, watermark, clock.instant());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        refresh();
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::refreshSafely, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // Un errore non deve fermare lo scheduling: il giro successivo rilegge dallo stesso punto
+            LOGGER.error("Errore durante l'aggiornamento dei watermark di revoca", ex);
+        }
+    }
+
+    /**
+     * Applica al registry i watermark modificati dall'ultimo giro e rimuove dalla memoria quelli non piu'
+     * rilevanti. Le righe in tabella sono cancellate dal janitor ({@code TokenPurgeType.TOKEN_REVOCATION}),
+     * che gira su un solo nodo alla volta.
+     */
+    void refresh() {
+        Instant now = clock.instant();
+        Instant activeAfter = now.minusSeconds(accessTokenValiditySeconds);
+        List<TokenRevocationStore.Revocation> updated =
+                store.findUpdatedSince(lastSeenUpdate.minusMillis(CLOCK_SKEW_MILLIS), activeAfter);
+        Instant newest = lastSeenUpdate;
+        for (TokenRevocationStore.Revocation revocation : updated) {
+            registry.revokeIssuedUpTo(revocation.getUserId(), revocation.getNotBefore());
+            if (revocation.getUpdatedAt().isAfter(newest)) {
+                newest = revocation.getUpdatedAt();
+            }
+        }
+        lastSeenUpdate = newest;
+        registry.prune(now, accessTokenValiditySeconds);
+    }
+}
@@ -0,0 +1,72 @@
+package com.elite.portal.modules.auth.security;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Persistenza dei watermark di revoca (tabella {@code db/auth/token_revocation.sql}). L'upsert tiene il
+ * watermark piu' alto, quindi scritture concorrenti da nodi diversi non lo abbassano mai.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO token_revocation (user_id, not_before, updated_at) VALUES (?, ?, ?) "
+                    + "ON CONFLICT (user_id) DO UPDATE SET "
+                    + "not_before = GREATEST(token_revocation.not_before, EXCLUDED.not_before), "
+                    + "updated_at = EXCLUDED.updated_at";
+
+    private static final String SELECT_UPDATED_SQL =
+            "SELECT user_id, not_before, updated_at FROM token_revocation WHERE updated_at > ? AND not_before > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TokenRevocationStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(Long userId, Instant notBefore, Instant now) {
+        jdbcTemplate.update(UPSERT_SQL, userId, Timestamp.from(notBefore), Timestamp.from(now));
+    }
+
+    /**
+     * Watermark modificati dopo {@code updatedAfter} e ancora rilevanti (successivi a {@code activeAfter}).
+     */
+    public List<Revocation> findUpdatedSince(Instant updatedAfter, Instant activeAfter) {
+        return jdbcTemplate.query(SELECT_UPDATED_SQL,
+                (rs, rowNum) -> new Revocation(
+                        rs.getLong("user_id"),
+                        rs.getTimestamp("not_before").toInstant(),
+                        rs.getTimestamp("updated_at").toInstant()),
+                Timestamp.from(updatedAfter), Timestamp.from(activeAfter));
+    }
+
+    public static final class Revocation {
+
+        private final long userId;
+        private final Instant notBefore;
+        private final Instant updatedAt;
+
+        public Revocation(long userId, Instant notBefore, Instant updatedAt) {
+            this.userId = userId;
+            this.notBefore = notBefore;
+            this.updatedAt = updatedAt;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public Instant getNotBefore() {
+            return notBefore;
+        }
+
+        public Instant getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.elite.portal.modules.auth.security;
+
+import java.time.Instant;
+
+/**
+ * Dati di un access token gia' verificato (firma e scadenza) da {@link JwtTokenProvider#verify(String)}.
+ */
+public final class VerifiedToken {
+
+    private final Long userId;
+    private final String username;
+    private final String role;
+    private final String keyId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    public VerifiedToken(Long userId, String username, String role, String keyId, Instant issuedAt, Instant expiresAt) {
+        this.userId = userId;
+        this.username = username;
+        this.role = role;
+        this.keyId = keyId;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public String getKeyId() {
+        return keyId;
+    }
+
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+}
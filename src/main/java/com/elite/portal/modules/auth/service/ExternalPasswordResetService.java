@@ -6,6 +6,8 @@ import com.elite.portal.modules.user.model.ExternalUser;
 import com.elite.portal.modules.user.repository.ExternalUserRepository;
 import com.elite.portal.shared.email.EmailService;
 import com.elite.portal.shared.logging.AppLogger;
+import com.elite.portal.shared.ratelimit.RateLimitPolicy;
+import com.elite.portal.shared.ratelimit.RateLimiter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -14,18 +16,20 @@ import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
-import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ExternalPasswordResetService {
 
     private static final int TOKEN_BYTE_LENGTH = 32;
+    private static final String EMAIL_POLICY_NAME = "password-reset:email";
+    private static final String IP_POLICY_NAME = "password-reset:ip";
 
     private final ExternalUserRepository externalUserRepository;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final EmailService emailService;
     private final AppLogger logger;
+    private final RateLimiter rateLimiter;
     private final SecureRandom secureRandom;
 
     @Value("${auth.external.password-reset.token.expiration-minutes:60}")
@@ -34,6 +38,9 @@ public class ExternalPasswordResetService {
     @Value("${auth.external.password-reset.rate-limit.max-requests:5}")
     private int maxRequestsPerWindow;
 
+    @Value("${auth.external.password-reset.rate-limit.max-requests-per-ip:20}")
+    private int maxRequestsPerIp;
+
     @Value("${auth.external.password-reset.rate-limit.window-minutes:60}")
     private int rateLimitWindowMinutes;
 
@@ -43,27 +50,34 @@ public class ExternalPasswordResetService {
     public ExternalPasswordResetService(ExternalUserRepository externalUserRepository,
                                         PasswordResetTokenRepository passwordResetTokenRepository,
                                         EmailService emailService,
-                                        AppLogger logger) {
+                                        AppLogger logger,
+                                        RateLimiter rateLimiter) {
         this.externalUserRepository = externalUserRepository;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.emailService = emailService;
         this.logger = logger;
+        this.rateLimiter = rateLimiter;
         this.secureRandom = new SecureRandom();
     }
 
     @Transactional
     public void handleForgotPassword(String email) {
+        handleForgotPassword(email, null);
+    }
+
+    @Transactional
+    public void handleForgotPassword(String email, String clientIp) {
         String normalizedEmail = normalizeEmail(email);
-        Optional<ExternalUser> userOpt = findActiveExternalUserByEmail(normalizedEmail);
 
-        // Rate limiting per email anche se l'utente non esiste, per evitare enumeration
-        boolean rateLimited = isRateLimited(normalizedEmail);
-        if (rateLimited) {
-            logger.warn("Rate limit raggiunto per richiesta reset password", "email", normalizedEmail);
+        // Rate limiting per IP e per email prima di qualsiasi query, anche se l'utente non esiste (anti enumeration)
+        if (isRateLimited(normalizedEmail, clientIp)) {
+            logger.warn("Rate limit raggiunto per richiesta reset password", "email", normalizedEmail, "ip", clientIp);
             // Risposta verso il client rimane generica
             return;
         }
 
+        Optional<ExternalUser> userOpt = findActiveExternalUserByEmail(normalizedEmail);
+
         if (!userOpt.isPresent()) {
             logger.debug("Nessun utente esterno trovato per email fornita in richiesta reset password", "email", normalizedEmail);
             return;
@@ -81,7 +95,7 @@ public class ExternalPasswordResetService {
         resetToken.setCreatedAt(now);
         resetToken.setExpiresAt(expiresAt);
         resetToken.setUsed(false);
-        resetToken.setCreatedIp(null);
+        resetToken.setCreatedIp(clientIp);
 
         passwordResetTokenRepository.save(resetToken);
 
@@ -110,10 +124,12 @@ public class ExternalPasswordResetService {
         return email.trim().toLowerCase();
     }
 
-    private boolean isRateLimited(String email) {
-        LocalDateTime windowStart = LocalDateTime.now().minusMinutes(rateLimitWindowMinutes);
-        List<PasswordResetToken> tokens = passwordResetTokenRepository.findByEmailAndCreatedAtAfter(email, windowStart);
-        return tokens.size() >= maxRequestsPerWindow;
+    private boolean isRateLimited(String email, String clientIp) {
+        long windowMillis = rateLimitWindowMinutes * 60_000L;
+        if (!rateLimiter.tryAcquire(new RateLimitPolicy(IP_POLICY_NAME, maxRequestsPerIp, windowMillis), clientIp)) {
+            return true;
+        }
+        return !rateLimiter.tryAcquire(new RateLimitPolicy(EMAIL_POLICY_NAME, maxRequestsPerWindow, windowMillis), email);
     }
 
     private String generateSecureToken() {
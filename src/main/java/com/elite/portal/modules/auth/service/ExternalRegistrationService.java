@@ -1,5 +1,7 @@
 package com.elite.portal.modules.auth.service;
 
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicyViolation;
 import com.elite.portal.modules.auth.dto.ExternalCompanyPayload;
 import com.elite.portal.modules.auth.dto.ExternalUserRegistrationRequest;
 import com.elite.portal.modules.auth.dto.ExternalUserRegistrationResponse;
@@ -10,11 +12,9 @@ import com.elite.portal.modules.auth.repository.EmailVerificationTokenRepository
 import com.elite.portal.modules.auth.repository.UserRepository;
 import com.elite.portal.modules.company.model.Company;
 import com.elite.portal.modules.company.repository.CompanyRepository;
-import com.elite.portal.shared.config.SecurityPasswordPolicyProperties;
 import com.elite.portal.shared.exception.BusinessException;
 import com.elite.portal.shared.logging.AppLogger;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +22,7 @@ import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service per la registrazione di utenti esterni con:
@@ -36,8 +37,8 @@ public class ExternalRegistrationService {
     private final UserRepository userRepository;
     private final CompanyRepository companyRepository;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final SecurityPasswordPolicyProperties passwordPolicyProperties;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordPolicy passwordPolicy;
     private final AppLogger logger;
 
     private final long emailVerificationTokenValidityHours;
@@ -45,15 +46,15 @@ public class ExternalRegistrationService {
     public ExternalRegistrationService(UserRepository userRepository,
                                        CompanyRepository companyRepository,
                                        EmailVerificationTokenRepository emailVerificationTokenRepository,
-                                       PasswordEncoder passwordEncoder,
-                                       SecurityPasswordPolicyProperties passwordPolicyProperties,
+                                       PasswordHashingService passwordHashingService,
+                                       PasswordPolicy passwordPolicy,
                                        AppLogger logger,
                                        @Value("${auth.email-verification.token-validity-hours:24}") long emailVerificationTokenValidityHours) {
         this.userRepository = userRepository;
         this.companyRepository = companyRepository;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.passwordPolicyProperties = passwordPolicyProperties;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordPolicy = passwordPolicy;
         this.logger = logger;
         this.emailVerificationTokenValidityHours = emailVerificationTokenValidityHours;
     }
@@ -74,7 +75,7 @@ public class ExternalRegistrationService {
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setEmail(request.getEmail().toLowerCase());
-        user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+        user.setPasswordHash(passwordHashingService.encode(request.getPassword()));
         user.setActive(true);
         user.setEmailVerified(false);
         user.setExternal(true);
@@ -107,28 +108,10 @@ public class ExternalRegistrationService {
     }
 
     private void validatePasswordPolicy(String rawPassword) {
-        if (rawPassword == null) {
-            throw new BusinessException("PASSWORD_INVALID", "La password non può essere nulla.");
-        }
-
-        if (rawPassword.length() < passwordPolicyProperties.getMinLength()) {
-            throw new BusinessException("PASSWORD_TOO_SHORT", "La password non rispetta i requisiti minimi.");
-        }
-
-        if (passwordPolicyProperties.isRequireUppercase() && rawPassword.chars().noneMatch(Character::isUpperCase)) {
-            throw new BusinessException("PASSWORD_POLICY_UPPERCASE", "La password non rispetta i requisiti di complessità.");
-        }
-
-        if (passwordPolicyProperties.isRequireLowercase() && rawPassword.chars().noneMatch(Character::isLowerCase)) {
-            throw new BusinessException("PASSWORD_POLICY_LOWERCASE", "La password non rispetta i requisiti di complessità.");
-        }
-
-        if (passwordPolicyProperties.isRequireDigit() && rawPassword.chars().noneMatch(Character::isDigit)) {
-            throw new BusinessException("PASSWORD_POLICY_DIGIT", "La password non rispetta i requisiti di complessità.");
-        }
-
-        if (passwordPolicyProperties.isRequireSpecial() && rawPassword.chars().noneMatch(ch -> !Character.isLetterOrDigit(ch))) {
-            throw new BusinessException("PASSWORD_POLICY_SPECIAL", "La password non rispetta i requisiti di complessità.");
+        Set<PasswordPolicyViolation> violations = passwordPolicy.evaluate(rawPassword);
+        if (!violations.isEmpty()) {
+            // Il codice e' quello del primo requisito mancante, il messaggio li elenca tutti
+            throw new BusinessException(violations.iterator().next().getCode(), PasswordPolicy.describe(violations));
         }
     }
 
@@ -0,0 +1,14 @@
+package com.elite.portal.modules.auth.service;
+
+/**
+ * Persiste un hash ricalcolato solo se quello salvato e' ancora {@code currentHash}, cosi' un cambio
+ * password concorrente non viene sovrascritto.
+ */
+@FunctionalInterface
+public interface PasswordHashUpdater {
+
+    /**
+     * @return {@code true} se l'hash e' stato sostituito
+     */
+    boolean replace(String currentHash, String newHash);
+}
@@ -0,0 +1,90 @@
+package com.elite.portal.modules.auth.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metriche del pool di hashing, esposte come {@code auth.password.hash.*}: profondita' della coda, thread
+ * attivi, rifiuti, hash aggiornati e tempi di attesa in coda e di calcolo per operazione ({@code encode}/{@code matches}).
+ */
+@Component
+public class PasswordHashingMetrics implements MeterBinder {
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong upgraded = new AtomicLong();
+    private volatile ThreadPoolExecutor executor;
+    private volatile Timer encodeWait;
+    private volatile Timer encodeDuration;
+    private volatile Timer matchesWait;
+    private volatile Timer matchesDuration;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("auth.password.hash.queue.depth", this, metrics -> metrics.queueDepth()).register(registry);
+        Gauge.builder("auth.password.hash.active", this, metrics -> metrics.activeThreads()).register(registry);
+        FunctionCounter.builder("auth.password.hash.rejected", rejected, AtomicLong::get).register(registry);
+        FunctionCounter.builder("auth.password.hash.upgraded", upgraded, AtomicLong::get).register(registry);
+        encodeWait = timer(registry, "auth.password.hash.wait", PasswordHashingService.ENCODE);
+        encodeDuration = timer(registry, "auth.password.hash.duration", PasswordHashingService.ENCODE);
+        matchesWait = timer(registry, "auth.password.hash.wait", PasswordHashingService.MATCHES);
+        matchesDuration = timer(registry, "auth.password.hash.duration", PasswordHashingService.MATCHES);
+    }
+
+    void monitor(ThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    void recordExecution(String operation, long waitNanos, long durationNanos) {
+        boolean encode = PasswordHashingService.ENCODE.equals(operation);
+        record(encode ? encodeWait : matchesWait, waitNanos);
+        record(encode ? encodeDuration : matchesDuration, durationNanos);
+    }
+
+    void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    void recordUpgraded() {
+        upgraded.incrementAndGet();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getUpgraded() {
+        return upgraded.get();
+    }
+
+    double queueDepth() {
+        ThreadPoolExecutor current = executor;
+        return current != null ? current.getQueue().size() : 0;
+    }
+
+    double activeThreads() {
+        ThreadPoolExecutor current = executor;
+        return current != null ? current.getActiveCount() : 0;
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String operation) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    private static void record(Timer timer, long nanos) {
+        // Prima del bind al registry le misure vengono ignorate
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,18 +1,154 @@
 package com.elite.portal.modules.auth.service;
 
+import com.elite.portal.modules.common.exception.BusinessException;
+import com.elite.portal.modules.common.exception.ErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hash e verifica delle password su un pool dedicato, dimensionato sui core.
+ * <p>
+ * Il lavoro bcrypt e' volutamente costoso: eseguito sui thread delle richieste, un picco di login satura
+ * la CPU e blocca l'intero portale. Qui la coda e' limitata: quando e' piena, o l'attesa supera
+ * {@code security.password-hashing.max-wait-millis}, la richiesta viene rifiutata subito con
+ * {@link ErrorCode#SERVICE_BUSY} (503) invece di accodarsi senza fine.
+ */
 @Service
-public class PasswordHashingService {
+public class PasswordHashingService implements DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    static final String ENCODE = "encode";
+    static final String MATCHES = "matches";
 
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingMetrics metrics;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final String dummyHash;
 
-    public PasswordHashingService(PasswordEncoder passwordEncoder) {
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  PasswordHashingMetrics metrics,
+                                  @Value("${security.password-hashing.threads:0}") int threads,
+                                  @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password-hashing.max-wait-millis:5000}") long maxWaitMillis) {
         this.passwordEncoder = passwordEncoder;
+        this.metrics = metrics;
+        this.maxWaitMillis = maxWaitMillis;
+        // Calcolato all'avvio: se fosse pigro, il primo login con utente inesistente pagherebbe due bcrypt
+        this.dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        metrics.monitor(executor);
+    }
+
+    public String encode(String rawPassword) {
+        return execute(ENCODE, () -> passwordEncoder.encode(rawPassword));
     }
 
     public boolean matches(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+        return execute(MATCHES, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Verifica la password contro un hash fittizio generato con l'encoder corrente, quindi con lo stesso
+     * costo degli hash reali. Serve quando l'utente non esiste: la risposta impiega lo stesso tempo del
+     * caso con password errata e non rivela quali account esistono.
+     */
+    public void verifyAgainstDummyHash(String rawPassword) {
+        execute(MATCHES, () -> passwordEncoder.matches(rawPassword, dummyHash));
+    }
+
+    /**
+     * Se l'hash appena verificato e' obsoleto (costo inferiore all'attuale o formato senza prefisso) lo
+     * ricalcola sul pool di hashing senza bloccare il chiamante e lo passa a {@code updater}. Se il pool e'
+     * saturo l'aggiornamento viene saltato: si riprovera' al login successivo.
+     */
+    public void upgradeInBackground(String rawPassword, String encodedPassword, PasswordHashUpdater updater) {
+        if (encodedPassword == null || !passwordEncoder.upgradeEncoding(encodedPassword)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    if (updater.replace(encodedPassword, passwordEncoder.encode(rawPassword))) {
+                        metrics.recordUpgraded();
+                    }
+                } catch (RuntimeException ex) {
+                    LOGGER.warn("Aggiornamento hash password non riuscito: {}", ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOGGER.debug("Pool di hashing saturo, aggiornamento hash password rimandato");
+        }
+    }
+
+    private <T> T execute(String operation, Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    metrics.recordExecution(operation, startedAt - submittedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            metrics.recordRejected();
+            LOGGER.warn("Pool di hashing password saturo, richiesta {} rifiutata", operation);
+            throw new BusinessException(ErrorCode.SERVICE_BUSY);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            metrics.recordRejected();
+            LOGGER.warn("Hashing password {} non completato entro {} ms", operation, maxWaitMillis);
+            throw new BusinessException(ErrorCode.SERVICE_BUSY);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException(ErrorCode.SERVICE_BUSY);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
     }
 }
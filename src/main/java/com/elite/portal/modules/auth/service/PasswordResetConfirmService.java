@@ -1,6 +1,8 @@
 package com.elite.portal.modules.auth.service;
 
 import com.elite.portal.modules.auth.domain.PasswordResetToken;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicyViolation;
 import com.elite.portal.modules.auth.dto.PasswordResetConfirmRequestDto;
 import com.elite.portal.modules.auth.dto.PasswordResetConfirmResponseDto;
 import com.elite.portal.modules.auth.repository.PasswordResetTokenRepository;
@@ -8,12 +10,12 @@ import com.elite.portal.modules.user.domain.ExternalUser;
 import com.elite.portal.modules.user.repository.ExternalUserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PasswordResetConfirmService {
@@ -22,19 +24,19 @@ public class PasswordResetConfirmService {
 
     private final PasswordResetTokenRepository passwordResetTokenRepository;
     private final ExternalUserRepository externalUserRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final PasswordPolicyService passwordPolicyService;
+    private final PasswordHashingService passwordHashingService;
+    private final PasswordPolicy passwordPolicy;
     private final SessionInvalidationService sessionInvalidationService;
 
     public PasswordResetConfirmService(PasswordResetTokenRepository passwordResetTokenRepository,
                                        ExternalUserRepository externalUserRepository,
-                                       PasswordEncoder passwordEncoder,
-                                       PasswordPolicyService passwordPolicyService,
+                                       PasswordHashingService passwordHashingService,
+                                       PasswordPolicy passwordPolicy,
                                        SessionInvalidationService sessionInvalidationService) {
         this.passwordResetTokenRepository = passwordResetTokenRepository;
         this.externalUserRepository = externalUserRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.passwordPolicyService = passwordPolicyService;
+        this.passwordHashingService = passwordHashingService;
+        this.passwordPolicy = passwordPolicy;
         this.sessionInvalidationService = sessionInvalidationService;
     }
 
@@ -63,14 +65,15 @@ public class PasswordResetConfirmService {
             return new PasswordResetConfirmResponseDto(false, "Impossibile completare il reset della password.");
         }
 
-        if (!passwordPolicyService.isValid(newPassword)) {
-            LOGGER.info("Nuova password non conforme alla policy per utente esterno id={}", user.getId());
-            return new PasswordResetConfirmResponseDto(false, passwordPolicyService.getValidationMessage());
+        Set<PasswordPolicyViolation> violations = passwordPolicy.evaluate(newPassword);
+        if (!violations.isEmpty()) {
+            LOGGER.info("Nuova password non conforme alla policy per utente esterno id={} violazioni={}", user.getId(), violations);
+            return new PasswordResetConfirmResponseDto(false, PasswordPolicy.describe(violations));
         }
 
         // TODO: se previsto a sistema, verificare il riutilizzo di password recenti.
 
-        String encodedPassword = passwordEncoder.encode(newPassword);
+        String encodedPassword = passwordHashingService.encode(newPassword);
         user.setPassword(encodedPassword);
         externalUserRepository.save(user);
 
@@ -1,21 +1,57 @@
 package com.elite.portal.modules.auth.service;
 
+import com.elite.portal.modules.auth.security.RefreshTokenService;
+import com.elite.portal.modules.auth.security.TokenRevocationReplicator;
 import com.elite.portal.modules.user.domain.ExternalUser;
+import com.elite.portal.modules.user.domain.LoginKey;
+import com.elite.portal.modules.user.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
+import java.util.Optional;
+
+/**
+ * Invalida le sessioni di un utente: revoca le famiglie di refresh token e alza il watermark di revoca,
+ * cosi' gli access token emessi fino a questo momento vengono rifiutati in verifica su tutti i nodi.
+ * <p>
+ * Il reset password lavora su {@code external_user}, mentre i token sono emessi per le righe di
+ * {@code users} (il subject del JWT): le due tabelle hanno sequenze indipendenti, quindi l'utente dei token
+ * si ricava dall'email normalizzata e mai dall'id dell'utente esterno.
+ */
 @Service
 public class SessionInvalidationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SessionInvalidationService.class);
 
+    private final UserRepository userRepository;
+    private final TokenRevocationReplicator tokenRevocationReplicator;
+    private final RefreshTokenService refreshTokenService;
+    private final Clock clock;
+
+    public SessionInvalidationService(UserRepository userRepository,
+                                      TokenRevocationReplicator tokenRevocationReplicator,
+                                      RefreshTokenService refreshTokenService,
+                                      Clock clock) {
+        this.userRepository = userRepository;
+        this.tokenRevocationReplicator = tokenRevocationReplicator;
+        this.refreshTokenService = refreshTokenService;
+        this.clock = clock;
+    }
+
     public void invalidateSessionsForUser(ExternalUser user) {
-        if (user == null) {
+        if (user == null || user.getEmail() == null) {
+            return;
+        }
+        Optional<Long> tokenSubject = userRepository.findIdByEmailKey(LoginKey.normalize(user.getEmail()));
+        if (tokenSubject.isEmpty()) {
+            LOGGER.info("Nessun account di login per l'utente esterno con id {}: nessuna sessione da invalidare", user.getId());
             return;
         }
-        // Implementazione concreta dipendente dal meccanismo di sessione/token già presente sul portale.
-        // Qui viene effettuato solo un log di tracciamento.
-        LOGGER.info("Invalidazione delle sessioni attive per l'utente esterno con id {}", user.getId());
+        refreshTokenService.revokeAll(tokenSubject.get());
+        tokenRevocationReplicator.revoke(tokenSubject.get(), clock.instant());
+        LOGGER.info("Invalidazione delle sessioni attive per l'utente esterno con id {} (userId={})",
+                user.getId(), tokenSubject.get());
     }
 }
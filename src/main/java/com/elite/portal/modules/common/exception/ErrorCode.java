@@ -5,7 +5,9 @@ public enum ErrorCode {
     INVALID_CREDENTIALS("AUTH_001", "Credenziali non valide"),
     USER_DISABLED("AUTH_002", "Utente disabilitato o bannato"),
     USER_NOT_EXTERNAL("AUTH_003", "Utente non autorizzato per login esterno"),
-    LOGIN_ATTEMPTS_EXCEEDED("AUTH_004", "Numero massimo di tentativi di login superato");
+    LOGIN_ATTEMPTS_EXCEEDED("AUTH_004", "Numero massimo di tentativi di login superato"),
+    INVALID_REFRESH_TOKEN("AUTH_005", "Refresh token non valido o scaduto"),
+    SERVICE_BUSY("SYS_001", "Servizio momentaneamente sovraccarico, riprovare tra qualche secondo");
 
     private final String code;
     private final String message;
@@ -0,0 +1,29 @@
+package com.elite.portal.modules.common.web;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+/**
+ * Il portale gira dietro reverse proxy / load balancer: {@code getRemoteAddr()} restituirebbe l'indirizzo
+ * del proxy, e tutti i limiti per IP (login, reset password) finirebbero su un unico bucket.
+ * {@link ForwardedHeaderFilter} applica {@code Forwarded} / {@code X-Forwarded-For} prima di ogni altro
+ * filtro, cosi' ovunque {@code getRemoteAddr()} e' l'indirizzo del client.
+ * <p>
+ * Il proxy deve sovrascrivere questi header; senza proxy va disattivato con
+ * {@code elite.portal.web.forwarded-headers=false}, altrimenti un client potrebbe scegliersi l'IP.
+ */
+@Configuration
+@ConditionalOnProperty(name = "elite.portal.web.forwarded-headers", havingValue = "true", matchIfMissing = true)
+public class ForwardedHeaderWebConfig {
+
+    @Bean
+    public FilterRegistrationBean<ForwardedHeaderFilter> forwardedHeaderFilter() {
+        FilterRegistrationBean<ForwardedHeaderFilter> registration = new FilterRegistrationBean<>(new ForwardedHeaderFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -23,10 +23,12 @@ public class RestExceptionHandler {
     public ResponseEntity<Map<String, Object>> handleBusinessException(BusinessException ex) {
         ErrorCode errorCode = ex.getErrorCode();
         HttpStatus status = HttpStatus.BAD_REQUEST;
-        if (ErrorCode.INVALID_CREDENTIALS.equals(errorCode)) {
+        if (ErrorCode.INVALID_CREDENTIALS.equals(errorCode) || ErrorCode.INVALID_REFRESH_TOKEN.equals(errorCode)) {
             status = HttpStatus.UNAUTHORIZED;
         } else if (ErrorCode.LOGIN_ATTEMPTS_EXCEEDED.equals(errorCode)) {
             status = HttpStatus.TOO_MANY_REQUESTS;
+        } else if (ErrorCode.SERVICE_BUSY.equals(errorCode)) {
+            status = HttpStatus.SERVICE_UNAVAILABLE;
         }
 
         Map<String, Object> body = new HashMap<>();
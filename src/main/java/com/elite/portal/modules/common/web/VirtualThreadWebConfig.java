@@ -0,0 +1,44 @@
+package com.elite.portal.modules.common.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Richieste HTTP servite su virtual thread (Java 21+), attivo con {@code elite.portal.web.virtual-threads=true}.
+ * <p>
+ * Le richieste passano la maggior parte del tempo in attesa (database, SMTP, pool di hashing password):
+ * su virtual thread l'attesa non occupa un thread del pool Tomcat, mentre il lavoro CPU-bound resta
+ * confinato nei pool dedicati. Il sorgente compila anche con Java 17, per questo l'executor e' ottenuto
+ * per riflessione.
+ */
+@Configuration
+@ConditionalOnJava(JavaVersion.TWENTY_ONE)
+@ConditionalOnProperty(name = "elite.portal.web.virtual-threads", havingValue = "true")
+public class VirtualThreadWebConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadWebConfig.class);
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        LOGGER.info("Richieste HTTP servite su virtual thread");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException("Virtual thread non disponibili su questa JVM", ex);
+        }
+    }
+}
@@ -32,6 +32,12 @@ public class EmailVerificationProperties {
      */
     private boolean forceHttps = true;
 
+    /**
+     * Mantiene in cache per locale oggetto e corpo gia' compilati; disattivare in sviluppo per
+     * vedere subito le modifiche ai file di messaggi.
+     */
+    private boolean templateCacheEnabled = true;
+
     public String getFromAddress() {
         return fromAddress;
     }
@@ -71,4 +77,12 @@ public class EmailVerificationProperties {
     public void setForceHttps(boolean forceHttps) {
         this.forceHttps = forceHttps;
     }
+
+    public boolean isTemplateCacheEnabled() {
+        return templateCacheEnabled;
+    }
+
+    public void setTemplateCacheEnabled(boolean templateCacheEnabled) {
+        this.templateCacheEnabled = templateCacheEnabled;
+    }
 }
@@ -1,38 +1,44 @@
 package com.elite.portal.modules.notification.service;
 
 import com.elite.portal.modules.notification.config.EmailVerificationProperties;
+import com.elite.portal.shared.email.CompiledMessageTemplate;
+import com.elite.portal.shared.email.outbox.EmailOutboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class EmailVerificationService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EmailVerificationService.class);
 
-    private final JavaMailSender mailSender;
+    private static final String DEFAULT_SUBJECT = "Verifica il tuo indirizzo email";
+    private static final String DEFAULT_BODY = "Gentile utente,\n\nper completare la registrazione clicca sul seguente link:\n{1}\n\nIl link sara' valido per {2} minuti.\n\nSe non hai richiesto questa registrazione puoi ignorare questa email.";
+
+    private final EmailOutboxService emailOutboxService;
     private final EmailVerificationProperties properties;
     private final MessageSource messageSource;
+    private final Map<Locale, VerificationTemplate> templatesByLocale = new ConcurrentHashMap<>();
 
-    public EmailVerificationService(JavaMailSender mailSender,
+    public EmailVerificationService(EmailOutboxService emailOutboxService,
                                     EmailVerificationProperties properties,
                                     MessageSource messageSource) {
-        this.mailSender = mailSender;
+        this.emailOutboxService = emailOutboxService;
         this.properties = properties;
         this.messageSource = messageSource;
     }
 
     /**
-     * Invia l'email di verifica ad un nuovo utente.
+     * Accoda l'email di verifica per un nuovo utente nell'outbox, nella transazione del chiamante;
+     * la consegna SMTP avviene in background.
      *
      * @param email indirizzo email del destinatario
      * @param displayName nome visualizzato (opzionale, può essere null)
@@ -51,39 +57,28 @@ public class EmailVerificationService {
             return;
         }
 
-        String subject = messageSource.getMessage(
-                "email.verification.subject",
-                null,
-                "Verifica il tuo indirizzo email",
-                locale
-        );
-
-        Object[] bodyArgs = new Object[]{displayName != null ? displayName : "",
+        VerificationTemplate template = resolveTemplate(locale);
+        String body = template.body.render(displayName != null ? displayName : "",
                 verificationUrl,
-                properties.getTokenValidityMinutes()};
-
-        String body = messageSource.getMessage(
-                "email.verification.body",
-                bodyArgs,
-                "Gentile utente,\n\nper completare la registrazione clicca sul seguente link:\n{1}\n\nIl link sara' valido per {2} minuti.\n\nSe non hai richiesto questa registrazione puoi ignorare questa email.",
-                locale
-        );
-
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        if (properties.getFromAddress() != null && !properties.getFromAddress().isEmpty()) {
-            message.setFrom(properties.getFromAddress());
-        }
-        message.setSubject(subject);
-        message.setText(body);
+                String.valueOf(properties.getTokenValidityMinutes()));
 
-        try {
-            mailSender.send(message);
-            LOGGER.info("Email di verifica inviata a utente con email: [hidden]");
-        } catch (MailException e) {
-            // L'errore viene loggato ma non propagato: la registrazione non deve fallire per problemi di invio email
-            LOGGER.error("Errore durante l'invio dell'email di verifica a utente con email: [hidden]", e);
+        emailOutboxService.enqueue(email, properties.getFromAddress(), template.subject, body, false);
+        LOGGER.info("Email di verifica accodata per utente con email: [hidden]");
+    }
+
+    private VerificationTemplate resolveTemplate(Locale locale) {
+        Locale key = locale != null ? locale : Locale.ROOT;
+        if (!properties.isTemplateCacheEnabled()) {
+            return loadTemplate(key);
         }
+        return templatesByLocale.computeIfAbsent(key, this::loadTemplate);
+    }
+
+    private VerificationTemplate loadTemplate(Locale locale) {
+        // Senza argomenti MessageSource restituisce il pattern grezzo, che viene compilato una sola volta
+        String subject = messageSource.getMessage("email.verification.subject", null, DEFAULT_SUBJECT, locale);
+        String bodyPattern = messageSource.getMessage("email.verification.body", null, DEFAULT_BODY, locale);
+        return new VerificationTemplate(subject, CompiledMessageTemplate.compile(bodyPattern));
     }
 
     /**
@@ -120,4 +115,15 @@ public class EmailVerificationService {
             throw new IllegalStateException("URL di verifica non valido generato: " + rawUrl, e);
         }
     }
+
+    private static final class VerificationTemplate {
+
+        private final String subject;
+        private final CompiledMessageTemplate body;
+
+        private VerificationTemplate(String subject, CompiledMessageTemplate body) {
+            this.subject = subject;
+            this.body = body;
+        }
+    }
 }
@@ -2,10 +2,15 @@ package com.elite.portal.modules.security.rbac.repository;
 
 import com.elite.portal.modules.security.rbac.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     Optional<Role> findByCode(String code);
+
+    @Query("select distinct r from Role r left join fetch r.permissions")
+    List<Role> findAllWithPermissions();
 }
@@ -6,45 +6,64 @@ import com.elite.portal.modules.security.rbac.model.PermissionKey;
 import com.elite.portal.modules.security.rbac.model.RoleCode;
 import com.elite.portal.modules.security.rbac.repository.PermissionRepository;
 import com.elite.portal.modules.security.rbac.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.EnumSet;
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class RbacService {
 
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
+    private final long permissionMatrixTtlNanos;
 
-    public RbacService(RoleRepository roleRepository, PermissionRepository permissionRepository) {
+    // Snapshot ruolo -> permessi usato da hasPermission: sostituito per intero, mai modificato in place.
+    private final AtomicReference<RolePermissionMatrix> permissionMatrix = new AtomicReference<>();
+    private final AtomicBoolean refreshInProgress = new AtomicBoolean();
+
+    public RbacService(RoleRepository roleRepository,
+                       PermissionRepository permissionRepository,
+                       @Value("${security.rbac.permission-matrix-ttl-seconds:60}") long permissionMatrixTtlSeconds) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
+        this.permissionMatrixTtlNanos = TimeUnit.SECONDS.toNanos(permissionMatrixTtlSeconds);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Verifica il permesso sullo snapshot in memoria, senza accessi al database.
+     * Lo snapshot viene ricaricato alla scadenza del TTL, cosi' le modifiche ai ruoli
+     * fatte da altri nodi del portale vengono recepite entro
+     * {@code security.rbac.permission-matrix-ttl-seconds}.
+     */
     public boolean hasPermission(Set<String> userRoleCodes, PermissionKey permissionKey) {
         if (userRoleCodes == null || userRoleCodes.isEmpty()) {
             return false;
         }
+        RolePermissionMatrix matrix = currentPermissionMatrix();
         for (String roleCode : userRoleCodes) {
-            Optional<Role> roleOpt = roleRepository.findByCode(roleCode);
-            if (roleOpt.isEmpty()) {
-                continue;
-            }
-            Role role = roleOpt.get();
-            for (Permission permission : role.getPermissions()) {
-                if (permissionKey.getKey().equals(permission.getKey())) {
-                    return true;
-                }
+            if (matrix.grants(roleCode, permissionKey)) {
+                return true;
             }
         }
         return false;
     }
 
+    /**
+     * Ricostruisce lo snapshot ruolo -> permessi con una sola query e lo pubblica atomicamente.
+     */
+    public void refreshPermissionMatrix() {
+        permissionMatrix.set(RolePermissionMatrix.of(roleRepository.findAllWithPermissions()));
+    }
+
     @Transactional
     public void ensureBaseRolesAndPermissions() {
         Set<Permission> allPermissions = ensureBasePermissions();
@@ -75,7 +94,9 @@ public class RbacService {
         role.setCode(RoleCode.SYS_ADMIN.getCode());
         role.setName("System Administrator");
         role.setPermissions(new HashSet<>(allPermissions));
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        refreshPermissionMatrixAfterCommit();
+        return saved;
     }
 
     @Transactional
@@ -93,6 +114,49 @@ public class RbacService {
             }
         }
         role.setPermissions(subset);
-        return roleRepository.save(role);
+        Role saved = roleRepository.save(role);
+        refreshPermissionMatrixAfterCommit();
+        return saved;
+    }
+
+    private RolePermissionMatrix currentPermissionMatrix() {
+        RolePermissionMatrix matrix = permissionMatrix.get();
+        if (matrix == null) {
+            refreshPermissionMatrix();
+            return permissionMatrix.get();
+        }
+        // Un solo thread ricarica lo snapshot scaduto; gli altri continuano a usare quello corrente.
+        if (matrix.isOlderThan(permissionMatrixTtlNanos) && refreshInProgress.compareAndSet(false, true)) {
+            try {
+                refreshPermissionMatrix();
+                return permissionMatrix.get();
+            } finally {
+                refreshInProgress.set(false);
+            }
+        }
+        return matrix;
+    }
+
+    private void refreshPermissionMatrixAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            refreshPermissionMatrix();
+            return;
+        }
+        // Una sola ricostruzione per transazione, anche se piu' ruoli vengono modificati.
+        if (TransactionSynchronizationManager.hasResource(permissionMatrix)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(permissionMatrix, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                refreshPermissionMatrix();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(permissionMatrix);
+            }
+        });
     }
 }
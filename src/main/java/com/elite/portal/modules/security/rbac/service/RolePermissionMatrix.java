@@ -0,0 +1,58 @@
+package com.elite.portal.modules.security.rbac.service;
+
+import com.elite.portal.modules.security.rbac.entity.Permission;
+import com.elite.portal.modules.security.rbac.entity.Role;
+import com.elite.portal.modules.security.rbac.model.PermissionKey;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot immutabile ruolo -> permessi, costruito a partire dai ruoli persistiti.
+ */
+final class RolePermissionMatrix {
+
+    private static final Map<String, PermissionKey> PERMISSION_KEYS_BY_KEY = new HashMap<>();
+
+    static {
+        for (PermissionKey permissionKey : PermissionKey.values()) {
+            PERMISSION_KEYS_BY_KEY.put(permissionKey.getKey(), permissionKey);
+        }
+    }
+
+    private final Map<String, Set<PermissionKey>> permissionsByRoleCode;
+    private final long loadedAtNanos;
+
+    private RolePermissionMatrix(Map<String, Set<PermissionKey>> permissionsByRoleCode, long loadedAtNanos) {
+        this.permissionsByRoleCode = permissionsByRoleCode;
+        this.loadedAtNanos = loadedAtNanos;
+    }
+
+    static RolePermissionMatrix of(Collection<Role> roles) {
+        Map<String, Set<PermissionKey>> permissionsByRoleCode = new HashMap<>();
+        for (Role role : roles) {
+            EnumSet<PermissionKey> granted = EnumSet.noneOf(PermissionKey.class);
+            for (Permission permission : role.getPermissions()) {
+                PermissionKey permissionKey = PERMISSION_KEYS_BY_KEY.get(permission.getKey());
+                if (permissionKey != null) {
+                    granted.add(permissionKey);
+                }
+            }
+            permissionsByRoleCode.put(role.getCode(), Collections.unmodifiableSet(granted));
+        }
+        return new RolePermissionMatrix(Collections.unmodifiableMap(permissionsByRoleCode), System.nanoTime());
+    }
+
+    boolean grants(String roleCode, PermissionKey permissionKey) {
+        Set<PermissionKey> granted = permissionsByRoleCode.get(roleCode);
+        return granted != null && granted.contains(permissionKey);
+    }
+
+    boolean isOlderThan(long ttlNanos) {
+        return ttlNanos > 0 && System.nanoTime() - loadedAtNanos > ttlNanos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.elite.portal.modules.user.domain;
+
+import java.util.Locale;
+
+/**
+ * Forma normalizzata di username ed email usata per il login: senza spazi ai bordi e in minuscolo
+ * ({@link Locale#ROOT}, indipendente dalla lingua del server). Le colonne {@code username_key} ed
+ * {@code email_key} la contengono gia', cosi' la ricerca e' un confronto esatto su indice univoco.
+ */
+public final class LoginKey {
+
+    private LoginKey() {
+    }
+
+    public static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Un indirizzo email contiene sempre {@code @}: un identificativo senza non puo' essere un'email.
+     */
+    public static boolean looksLikeEmail(String key) {
+        return key.indexOf('@') >= 0;
+    }
+}
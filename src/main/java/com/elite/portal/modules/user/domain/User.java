@@ -8,10 +8,14 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "ux_users_username_key", columnList = "username_key", unique = true),
+        @Index(name = "ux_users_email_key", columnList = "email_key", unique = true)
+})
 public class User {
 
     @Id
@@ -24,6 +28,15 @@ public class User {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    /**
+     * Chiavi di login normalizzate ({@link LoginKey}), valorizzate dai setter di username ed email.
+     */
+    @Column(name = "username_key", nullable = false)
+    private String usernameKey;
+
+    @Column(name = "email_key", nullable = false)
+    private String emailKey;
+
     @Column(name = "password_hash", nullable = false)
     private String passwordHash;
 
@@ -57,6 +70,11 @@ public class User {
 
     public void setUsername(String username) {
         this.username = username;
+        this.usernameKey = LoginKey.normalize(username);
+    }
+
+    public String getUsernameKey() {
+        return usernameKey;
     }
 
     public String getEmail() {
@@ -65,6 +83,11 @@ public class User {
 
     public void setEmail(String email) {
         this.email = email;
+        this.emailKey = LoginKey.normalize(email);
+    }
+
+    public String getEmailKey() {
+        return emailKey;
     }
 
     public String getPasswordHash() {
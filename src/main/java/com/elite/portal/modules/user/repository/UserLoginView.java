@@ -0,0 +1,26 @@
+package com.elite.portal.modules.user.repository;
+
+import com.elite.portal.modules.user.enums.UserRole;
+
+/**
+ * Proiezione con i soli campi che servono al login e al rinnovo dei token, per non idratare l'entita'
+ * {@link com.elite.portal.modules.user.domain.User}.
+ */
+public interface UserLoginView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getPasswordHash();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UserRole getRole();
+
+    boolean isEnabled();
+
+    boolean isBanned();
+}
@@ -1,13 +1,59 @@
 package com.elite.portal.modules.user.repository;
 
+import com.elite.portal.modules.user.domain.LoginKey;
 import com.elite.portal.modules.user.domain.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByUsernameOrEmail(String username, String email);
+    String LOGIN_VIEW_SELECT = "select u.id as id, u.username as username, u.passwordHash as passwordHash, "
+            + "u.firstName as firstName, u.lastName as lastName, u.role as role, "
+            + "u.enabled as enabled, u.banned as banned from User u ";
+
+    @Query(LOGIN_VIEW_SELECT + "where u.usernameKey = :key")
+    Optional<UserLoginView> findLoginViewByUsernameKey(@Param("key") String key);
+
+    @Query(LOGIN_VIEW_SELECT + "where u.emailKey = :key")
+    Optional<UserLoginView> findLoginViewByEmailKey(@Param("key") String key);
+
+    @Query("select u.id from User u where u.emailKey = :key")
+    Optional<Long> findIdByEmailKey(@Param("key") String key);
+
+    @Query(LOGIN_VIEW_SELECT + "where u.id = :id")
+    Optional<UserLoginView> findLoginViewById(@Param("id") Long id);
+
+    /**
+     * Cerca l'utente per username o email senza predicato {@code OR}: un identificativo senza {@code @} e'
+     * uno username (una sola ricerca su {@code username_key}); con {@code @} si prova prima l'email e solo
+     * se non trovata lo username, per gli username che contengono {@code @}.
+     */
+    default Optional<UserLoginView> findLoginView(String identifier) {
+        String key = LoginKey.normalize(identifier);
+        if (key == null || key.isEmpty()) {
+            return Optional.empty();
+        }
+        if (!LoginKey.looksLikeEmail(key)) {
+            return findLoginViewByUsernameKey(key);
+        }
+        Optional<UserLoginView> byEmail = findLoginViewByEmailKey(key);
+        return byEmail.isPresent() ? byEmail : findLoginViewByUsernameKey(key);
+    }
+
+    /**
+     * Sostituisce l'hash della password solo se e' ancora quello verificato (upgrade trasparente al login).
+     */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.passwordHash = :newHash where u.id = :id and u.passwordHash = :currentHash")
+    int replacePasswordHash(@Param("id") Long id,
+                            @Param("currentHash") String currentHash,
+                            @Param("newHash") String newHash);
 }
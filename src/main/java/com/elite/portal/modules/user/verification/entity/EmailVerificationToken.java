@@ -5,11 +5,17 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import com.elite.portal.shared.security.TokenDigest;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "email_verification_token")
+@Table(name = "email_verification_token", indexes = {
+        @Index(name = "ux_email_verification_token_token_hash", columnList = "token_hash", unique = true)
+})
 public class EmailVerificationToken {
 
     @Id
@@ -19,7 +25,11 @@ public class EmailVerificationToken {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
-    @Column(name = "token", nullable = false, unique = true, length = 255)
+    @Column(name = "token_hash", nullable = false, length = TokenDigest.LENGTH)
+    private byte[] tokenHash;
+
+    // non persistito: restituito al chiamante solo alla creazione
+    @Transient
     private String token;
 
     @Column(name = "created_at", nullable = false)
@@ -51,8 +61,20 @@ public class EmailVerificationToken {
         return token;
     }
 
+    /**
+     * Imposta il token e ne memorizza solo il digest SHA-256.
+     */
     public void setToken(String token) {
         this.token = token;
+        this.tokenHash = token != null ? TokenDigest.sha256(token) : null;
+    }
+
+    public byte[] getTokenHash() {
+        return tokenHash;
+    }
+
+    public void setTokenHash(byte[] tokenHash) {
+        this.tokenHash = tokenHash;
     }
 
     public OffsetDateTime getCreatedAt() {
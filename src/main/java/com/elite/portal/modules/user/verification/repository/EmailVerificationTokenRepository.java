@@ -1,6 +1,7 @@
 package com.elite.portal.modules.user.verification.repository;
 
 import com.elite.portal.modules.user.verification.entity.EmailVerificationToken;
+import com.elite.portal.shared.security.TokenDigest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,5 +10,15 @@ import java.util.Optional;
 @Repository
 public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
 
-    Optional<EmailVerificationToken> findByToken(String token);
+    Optional<EmailVerificationToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * Ricerca tramite digest del token in chiaro.
+     */
+    default Optional<EmailVerificationToken> findByToken(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        return findByTokenHash(TokenDigest.sha256(token));
+    }
 }
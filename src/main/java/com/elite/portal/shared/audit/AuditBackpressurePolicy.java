@@ -0,0 +1,25 @@
+package com.elite.portal.shared.audit;
+
+/**
+ * Comportamento di {@link AuditLogger} quando il ring buffer e' pieno. Riguarda solo gli eventi registrati
+ * fuori da una transazione: quelli transazionali sono scritti nella transazione e non passano dal buffer.
+ */
+public enum AuditBackpressurePolicy {
+
+    /**
+     * Attende fino a {@code offer-timeout-millis} che il writer liberi spazio, poi scrive
+     * l'evento in modo sincrono: nessun evento perso, latenza limitata.
+     */
+    BLOCK,
+
+    /**
+     * Scrive subito l'evento in modo sincrono nel thread chiamante.
+     */
+    CALLER_RUNS,
+
+    /**
+     * Scarta l'evento e incrementa il contatore {@code audit.events.dropped}. Perde eventi: solo su richiesta
+     * esplicita, mai come default.
+     */
+    DROP
+}
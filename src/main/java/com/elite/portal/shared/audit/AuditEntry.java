@@ -0,0 +1,56 @@
+package com.elite.portal.shared.audit;
+
+import java.time.Instant;
+
+/**
+ * Riga del registro di audit restituita dalle ricerche.
+ */
+public class AuditEntry {
+
+    private final long id;
+    private final Instant occurredAt;
+    private final String action;
+    private final Long actorUserId;
+    private final String subjectType;
+    private final Long subjectId;
+    private final String detail;
+
+    public AuditEntry(long id, Instant occurredAt, String action, Long actorUserId,
+                      String subjectType, Long subjectId, String detail) {
+        this.id = id;
+        this.occurredAt = occurredAt;
+        this.action = action;
+        this.actorUserId = actorUserId;
+        this.subjectType = subjectType;
+        this.subjectId = subjectId;
+        this.detail = detail;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Long getActorUserId() {
+        return actorUserId;
+    }
+
+    public String getSubjectType() {
+        return subjectType;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
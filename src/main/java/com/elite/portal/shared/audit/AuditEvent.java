@@ -0,0 +1,51 @@
+package com.elite.portal.shared.audit;
+
+import java.time.Instant;
+
+/**
+ * Evento di audit strutturato: i campi vengono salvati cosi' come sono, senza comporre
+ * messaggi testuali nel thread chiamante.
+ */
+public final class AuditEvent {
+
+    private final Instant occurredAt;
+    private final String action;
+    private final Long actorUserId;
+    private final String subjectType;
+    private final Long subjectId;
+    private final String detail;
+
+    public AuditEvent(Instant occurredAt, String action, Long actorUserId,
+                      String subjectType, Long subjectId, String detail) {
+        this.occurredAt = occurredAt;
+        this.action = action;
+        this.actorUserId = actorUserId;
+        this.subjectType = subjectType;
+        this.subjectId = subjectId;
+        this.detail = detail;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public Long getActorUserId() {
+        return actorUserId;
+    }
+
+    public String getSubjectType() {
+        return subjectType;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
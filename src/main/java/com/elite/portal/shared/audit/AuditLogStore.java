@@ -0,0 +1,98 @@
+package com.elite.portal.shared.audit;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registro di audit append-only su database: solo INSERT a batch e SELECT, nessun UPDATE o DELETE.
+ * <p>
+ * Tabella: {@code db/audit/audit_log.sql}.
+ */
+@Component
+public class AuditLogStore {
+
+    public static final int MAX_QUERY_LIMIT = 500;
+
+    private static final int MAX_DETAIL_LENGTH = 4000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_log (occurred_at, action, actor_user_id, subject_type, subject_id, detail) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT id, occurred_at, action, actor_user_id, subject_type, subject_id, detail FROM audit_log";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Scrive gli eventi con un solo batch JDBC in auto-commit: al ritorno sono persistiti.
+     */
+    public void append(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setTimestamp(1, Timestamp.from(event.getOccurredAt()));
+            ps.setString(2, event.getAction());
+            setLong(ps, 3, event.getActorUserId());
+            ps.setString(4, event.getSubjectType());
+            setLong(ps, 5, event.getSubjectId());
+            ps.setString(6, truncate(event.getDetail()));
+        });
+    }
+
+    public List<AuditEntry> find(AuditTrailQuery query) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        appendFilter(sql, args, "action = ?", query.getAction());
+        appendFilter(sql, args, "actor_user_id = ?", query.getActorUserId());
+        appendFilter(sql, args, "subject_type = ?", query.getSubjectType());
+        appendFilter(sql, args, "subject_id = ?", query.getSubjectId());
+        appendFilter(sql, args, "occurred_at >= ?", query.getFrom() != null ? Timestamp.from(query.getFrom()) : null);
+        appendFilter(sql, args, "occurred_at < ?", query.getTo() != null ? Timestamp.from(query.getTo()) : null);
+        appendFilter(sql, args, "id < ?", query.getBeforeId());
+        sql.append(" ORDER BY id DESC LIMIT ?");
+        args.add(Math.max(1, Math.min(query.getLimit(), MAX_QUERY_LIMIT)));
+
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new AuditEntry(
+                rs.getLong("id"),
+                rs.getTimestamp("occurred_at").toInstant(),
+                rs.getString("action"),
+                rs.getObject("actor_user_id", Long.class),
+                rs.getString("subject_type"),
+                rs.getObject("subject_id", Long.class),
+                rs.getString("detail")),
+                args.toArray());
+    }
+
+    private static void appendFilter(StringBuilder sql, List<Object> args, String condition, Object value) {
+        if (value == null) {
+            return;
+        }
+        sql.append(args.isEmpty() ? " WHERE " : " AND ").append(condition);
+        args.add(value);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static String truncate(String detail) {
+        return detail != null && detail.length() > MAX_DETAIL_LENGTH ? detail.substring(0, MAX_DETAIL_LENGTH) : detail;
+    }
+}
@@ -0,0 +1,304 @@
+package com.elite.portal.shared.audit;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Registro di audit.
+ * <p>
+ * Dentro una transazione {@link #log} accumula gli {@link AuditEvent} e li scrive con un solo batch
+ * appena prima del commit, nella stessa transazione dell'operazione di business: l'evento c'e' se e
+ * solo se c'e' la modifica, e un errore di scrittura annulla anche quest'ultima. Nessun evento
+ * transazionale passa dalla memoria.
+ * <p>
+ * Senza transazione (o con una transazione di sola lettura) l'evento viene pubblicato in un ring
+ * buffer lock-free. Un unico thread writer svuota il buffer e scrive su {@link AuditLogStore} a batch,
+ * al piu' ogni {@code flush-interval-millis} o appena e' pronto un batch completo. Con buffer pieno si
+ * applica {@link AuditBackpressurePolicy}. Questi eventi sono persistiti quando il batch che li contiene
+ * e' stato scritto: in caso di arresto anomalo si perdono al massimo quelli dell'ultimo intervallo di
+ * flush. Allo shutdown il buffer viene svuotato, e gli errori del database vengono ritentati senza
+ * scartare il batch.
+ */
+@Component
+public class AuditLogger implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditLogger.class);
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long RETRY_BACKOFF_MILLIS = 1000L;
+
+    private final AuditLogStore store;
+    private final AuditProperties properties;
+    private final Clock clock;
+    private final AuditRingBuffer buffer;
+    private final int batchSize;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong writtenSynchronously = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile boolean writing;
+    private volatile Thread writer;
+
+    public AuditLogger(AuditLogStore store, AuditProperties properties, Clock clock) {
+        this.store = store;
+        this.properties = properties;
+        this.clock = clock;
+        this.buffer = new AuditRingBuffer(properties.getBufferCapacity());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+    }
+
+    /**
+     * Registra un evento. I parametri vengono salvati cosi' come sono: non comporre stringhe qui.
+     *
+     * @param subjectType tipo dell'oggetto coinvolto (es. {@code ACCREDITATION_REQUEST}), opzionale
+     * @param subjectId id dell'oggetto coinvolto, opzionale
+     * @param detail dato aggiuntivo non formattato (ruolo, nota...), opzionale
+     */
+    public void log(String action, Long actorUserId, String subjectType, Long subjectId, String detail) {
+        AuditEvent event = new AuditEvent(clock.instant(), action, actorUserId, subjectType, subjectId, detail);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionEvents pending = (TransactionEvents) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new TransactionEvents();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    public void log(String action, Long actorUserId, String detail) {
+        log(action, actorUserId, null, null, detail);
+    }
+
+    void publish(AuditEvent event) {
+        if (!running) {
+            writeSynchronously(event);
+            return;
+        }
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(writer);
+            }
+            return;
+        }
+        switch (properties.getBackpressure()) {
+            case DROP:
+                if (dropped.incrementAndGet() % 1000 == 1) {
+                    LOGGER.warn("Buffer di audit pieno: eventi scartati finora {}", dropped.get());
+                }
+                break;
+            case CALLER_RUNS:
+                writeSynchronously(event);
+                break;
+            case BLOCK:
+            default:
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getOfferTimeoutMillis());
+                LockSupport.unpark(writer);
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(BLOCK_PARK_NANOS);
+                    if (buffer.offer(event)) {
+                        return;
+                    }
+                }
+                writeSynchronously(event);
+                break;
+        }
+    }
+
+    /**
+     * Attende che gli eventi pubblicati finora siano scritti.
+     *
+     * @return false se allo scadere del timeout ci sono ancora eventi in memoria
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        LockSupport.unpark(writer);
+        while (buffer.size() > 0 || writing) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+        }
+        return true;
+    }
+
+    /**
+     * Ricerca nel registro; gli eventi ancora nel buffer non sono inclusi.
+     */
+    public List<AuditEntry> query(AuditTrailQuery query) {
+        return store.find(query);
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long parkNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, properties.getFlushIntervalMillis()));
+        while (running || buffer.size() > 0) {
+            writing = true;
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                writeBatch(batch);
+                batch.clear();
+            }
+            writing = false;
+            if (drained < batchSize && running) {
+                LockSupport.parkNanos(this, parkNanos);
+            }
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        while (true) {
+            try {
+                store.append(batch);
+                written.addAndGet(batch.size());
+                return;
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    failed.addAndGet(batch.size());
+                    LOGGER.error("Scrittura di {} eventi di audit fallita durante lo shutdown", batch.size(), ex);
+                    return;
+                }
+                // Il batch resta in mano al writer: intanto il buffer si riempie e scatta la backpressure
+                LOGGER.error("Scrittura di {} eventi di audit fallita, nuovo tentativo tra {} ms",
+                        batch.size(), RETRY_BACKOFF_MILLIS, ex);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+    private void writeSynchronously(AuditEvent event) {
+        try {
+            store.append(Collections.singletonList(event));
+            written.incrementAndGet();
+            writtenSynchronously.incrementAndGet();
+        } catch (RuntimeException ex) {
+            // La transazione di business e' gia' committata: l'errore non deve risalire al chiamante
+            failed.incrementAndGet();
+            LOGGER.error("Evento di audit non scritto: action={} actor={} subject={}:{}",
+                    event.getAction(), event.getActorUserId(), event.getSubjectType(), event.getSubjectId(), ex);
+        }
+    }
+
+    /**
+     * Eventi della transazione corrente; un rollback li scarta senza scriverli.
+     */
+    private final class TransactionEvents implements TransactionSynchronization {
+
+        private final List<AuditEvent> events = new ArrayList<>();
+
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(AuditLogger.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(AuditLogger.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (readOnly || events.isEmpty()) {
+                return;
+            }
+            // Un errore qui fa fallire il commit: nessuna modifica di business senza il suo evento
+            store.append(new ArrayList<>(events));
+            written.addAndGet(events.size());
+            events.clear();
+        }
+
+        @Override
+        public void afterCommit() {
+            // Solo eventi di transazioni di sola lettura o registrati dopo beforeCommit
+            for (AuditEvent event : events) {
+                publish(event);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AuditLogger.this);
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runWriter, "audit-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread thread = writer;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.getShutdownTimeoutMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (buffer.size() > 0) {
+            LOGGER.error("Shutdown con {} eventi di audit non scritti", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fermato dopo i componenti con fase di default, che possono ancora produrre eventi.
+     */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public int getPending() {
+        return buffer.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getWrittenSynchronously() {
+        return writtenSynchronously.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,31 @@
+package com.elite.portal.shared.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contatori del registro di audit, esposti come metriche {@code audit.events.*}.
+ */
+@Component
+public class AuditMetrics implements MeterBinder {
+
+    private final AuditLogger auditLogger;
+
+    public AuditMetrics(AuditLogger auditLogger) {
+        this.auditLogger = auditLogger;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("audit.events.written", auditLogger, AuditLogger::getWritten).register(registry);
+        FunctionCounter.builder("audit.events.written.sync", auditLogger, AuditLogger::getWrittenSynchronously)
+                .description("Eventi scritti nel thread chiamante per buffer pieno o writer fermo")
+                .register(registry);
+        FunctionCounter.builder("audit.events.dropped", auditLogger, AuditLogger::getDropped).register(registry);
+        FunctionCounter.builder("audit.events.failed", auditLogger, AuditLogger::getFailed).register(registry);
+        Gauge.builder("audit.events.pending", auditLogger, AuditLogger::getPending).register(registry);
+    }
+}
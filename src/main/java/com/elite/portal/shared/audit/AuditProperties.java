@@ -0,0 +1,88 @@
+package com.elite.portal.shared.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elite.portal.audit")
+public class AuditProperties {
+
+    /**
+     * Eventi in attesa di scrittura nel ring buffer (arrotondato alla potenza di 2 successiva).
+     */
+    private int bufferCapacity = 8192;
+
+    /**
+     * Eventi massimi scritti con un singolo batch JDBC.
+     */
+    private int batchSize = 256;
+
+    /**
+     * Attesa massima del writer prima di scrivere un batch incompleto: limita gli eventi persi
+     * in caso di arresto anomalo del processo.
+     */
+    private long flushIntervalMillis = 200L;
+
+    /**
+     * Comportamento con buffer pieno.
+     */
+    private AuditBackpressurePolicy backpressure = AuditBackpressurePolicy.BLOCK;
+
+    /**
+     * Attesa massima del chiamante con la policy BLOCK prima della scrittura sincrona.
+     */
+    private long offerTimeoutMillis = 50L;
+
+    /**
+     * Attesa massima allo shutdown per scrivere gli eventi ancora in memoria.
+     */
+    private long shutdownTimeoutMillis = 10000L;
+
+    public int getBufferCapacity() {
+        return bufferCapacity;
+    }
+
+    public void setBufferCapacity(int bufferCapacity) {
+        this.bufferCapacity = bufferCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public AuditBackpressurePolicy getBackpressure() {
+        return backpressure;
+    }
+
+    public void setBackpressure(AuditBackpressurePolicy backpressure) {
+        this.backpressure = backpressure;
+    }
+
+    public long getOfferTimeoutMillis() {
+        return offerTimeoutMillis;
+    }
+
+    public void setOfferTimeoutMillis(long offerTimeoutMillis) {
+        this.offerTimeoutMillis = offerTimeoutMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+}
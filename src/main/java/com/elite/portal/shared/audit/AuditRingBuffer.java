@@ -0,0 +1,75 @@
+package com.elite.portal.shared.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer lock-free a piu' produttori e un solo consumatore.
+ * <p>
+ * I produttori riservano una posizione con un CAS sulla coda e pubblicano l'evento nello slot;
+ * il consumatore legge gli slot pubblicati in ordine, li svuota e solo dopo avanza la testa, quindi
+ * un produttore non sovrascrive mai uno slot non ancora letto. Uno slot {@code null} in testa
+ * significa "riservato ma non ancora pubblicato": il consumatore si ferma e riprova al giro dopo.
+ */
+final class AuditRingBuffer {
+
+    private final AtomicReferenceArray<AuditEvent> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false se il buffer e' pieno
+     */
+    boolean offer(AuditEvent event) {
+        long position;
+        do {
+            position = tail.get();
+            if (position - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(position, position + 1));
+        slots.lazySet((int) position & mask, event);
+        return true;
+    }
+
+    /**
+     * Sposta in {@code target} al massimo {@code maxEvents} eventi; solo il thread consumatore puo' chiamarlo.
+     *
+     * @return numero di eventi letti
+     */
+    int drainTo(List<AuditEvent> target, int maxEvents) {
+        long position = head.get();
+        int drained = 0;
+        while (drained < maxEvents) {
+            int index = (int) position & mask;
+            AuditEvent event = slots.get(index);
+            if (event == null) {
+                break;
+            }
+            slots.lazySet(index, null);
+            target.add(event);
+            position++;
+            drained++;
+        }
+        if (drained > 0) {
+            head.set(position);
+        }
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0L, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
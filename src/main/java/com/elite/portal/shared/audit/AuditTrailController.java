@@ -0,0 +1,52 @@
+package com.elite.portal.shared.audit;
+
+import com.elite.portal.shared.auth.RoleConstant;
+import com.elite.portal.shared.dto.ResponseEnvelope;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Consultazione del registro di audit, dal piu' recente. Per la pagina successiva passare
+ * {@code beforeId} uguale all'id dell'ultima riga ricevuta.
+ */
+@RestController
+@RequestMapping("/api/audit-trail")
+public class AuditTrailController {
+
+    private final AuditLogger auditLogger;
+
+    public AuditTrailController(AuditLogger auditLogger) {
+        this.auditLogger = auditLogger;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('" + RoleConstant.SYS_ADMIN + "')")
+    public ResponseEntity<ResponseEnvelope<List<AuditEntry>>> find(
+            @RequestParam(name = "action", required = false) String action,
+            @RequestParam(name = "actorUserId", required = false) Long actorUserId,
+            @RequestParam(name = "subjectType", required = false) String subjectType,
+            @RequestParam(name = "subjectId", required = false) Long subjectId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(name = "beforeId", required = false) Long beforeId,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        AuditTrailQuery query = new AuditTrailQuery();
+        query.setAction(action);
+        query.setActorUserId(actorUserId);
+        query.setSubjectType(subjectType);
+        query.setSubjectId(subjectId);
+        query.setFrom(from);
+        query.setTo(to);
+        query.setBeforeId(beforeId);
+        query.setLimit(limit);
+        return ResponseEntity.ok(ResponseEnvelope.ok(auditLogger.query(query)));
+    }
+}
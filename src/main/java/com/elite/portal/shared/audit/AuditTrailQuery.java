@@ -0,0 +1,83 @@
+package com.elite.portal.shared.audit;
+
+import java.time.Instant;
+
+/**
+ * Filtri per la lettura del registro di audit; i campi null non filtrano. I risultati sono
+ * ordinati per id decrescente e {@code beforeId} consente di chiedere la pagina successiva.
+ */
+public class AuditTrailQuery {
+
+    private String action;
+    private Long actorUserId;
+    private String subjectType;
+    private Long subjectId;
+    private Instant from;
+    private Instant to;
+    private Long beforeId;
+    private int limit = 50;
+
+    public String getAction() {
+        return action;
+    }
+
+    public void setAction(String action) {
+        this.action = action;
+    }
+
+    public Long getActorUserId() {
+        return actorUserId;
+    }
+
+    public void setActorUserId(Long actorUserId) {
+        this.actorUserId = actorUserId;
+    }
+
+    public String getSubjectType() {
+        return subjectType;
+    }
+
+    public void setSubjectType(String subjectType) {
+        this.subjectType = subjectType;
+    }
+
+    public Long getSubjectId() {
+        return subjectId;
+    }
+
+    public void setSubjectId(Long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public Instant getFrom() {
+        return from;
+    }
+
+    public void setFrom(Instant from) {
+        this.from = from;
+    }
+
+    public Instant getTo() {
+        return to;
+    }
+
+    public void setTo(Instant to) {
+        this.to = to;
+    }
+
+    public Long getBeforeId() {
+        return beforeId;
+    }
+
+    public void setBeforeId(Long beforeId) {
+        this.beforeId = beforeId;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
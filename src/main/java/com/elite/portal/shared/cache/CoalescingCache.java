@@ -0,0 +1,126 @@
+package com.elite.portal.shared.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * Cache in memoria a TTL breve per risultati asincroni, con coalescing delle richieste:
+ * chiamate concorrenti sulla stessa chiave condividono la stessa future e quindi un solo
+ * caricamento. Gli errori non vengono mai messi in cache.
+ *
+ * <p>L'invalidazione rimuove subito la voce, anche se il caricamento e' ancora in corso:
+ * le chiamate successive ripartono dal backend invece di ricevere un risultato ormai vecchio.</p>
+ */
+public final class CoalescingCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoTime;
+
+    public CoalescingCache(long ttlMillis, int maxEntries) {
+        this(ttlMillis, maxEntries, System::nanoTime);
+    }
+
+    CoalescingCache(long ttlMillis, int maxEntries, LongSupplier nanoTime) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxEntries = maxEntries;
+        this.nanoTime = nanoTime;
+    }
+
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+        if (ttlNanos <= 0) {
+            return loader.apply(key);
+        }
+        long now = nanoTime.getAsLong();
+        Entry<V> current = entries.get(key);
+        if (current != null && current.isUsable(now, ttlNanos)) {
+            return current.future;
+        }
+        if (entries.size() >= maxEntries) {
+            evictExpired(now);
+        }
+        Entry<V> created = entries.compute(key, (k, existing) ->
+            existing != null && existing.isUsable(now, ttlNanos) ? existing : new Entry<>(now));
+        if (created.claimLoad()) {
+            CompletableFuture<V> loaded;
+            try {
+                loaded = loader.apply(key);
+            } catch (RuntimeException e) {
+                loaded = CompletableFuture.failedFuture(e);
+            }
+            loaded.whenComplete((value, error) -> {
+                if (error != null) {
+                    entries.remove(key, created);
+                    created.future.completeExceptionally(error);
+                } else {
+                    created.future.complete(value);
+                }
+            });
+        }
+        return created.future;
+    }
+
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public void invalidateIf(Predicate<K> predicate) {
+        entries.keySet().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (!iterator.next().getValue().isUsable(now, ttlNanos)) {
+                iterator.remove();
+            }
+        }
+        if (entries.size() >= maxEntries) {
+            // nessuna voce scaduta da liberare: meglio ripartire vuoti che crescere senza limite
+            entries.clear();
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private final long createdAt;
+        private boolean loading;
+
+        private Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        private synchronized boolean claimLoad() {
+            if (loading) {
+                return false;
+            }
+            loading = true;
+            return true;
+        }
+
+        /**
+         * In corso oppure completata con successo entro il TTL.
+         */
+        private boolean isUsable(long now, long ttlNanos) {
+            if (!future.isDone()) {
+                return true;
+            }
+            return !future.isCompletedExceptionally() && now - createdAt < ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.elite.portal.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elite.portal.backend-api")
+public class BackendApiProperties {
+
+    /**
+     * URL base delle API backend chiamate dalla UI (senza slash finale).
+     */
+    private String baseUrl = "http://localhost:8080/api";
+
+    /**
+     * Timeout di apertura connessione in millisecondi.
+     */
+    private long connectTimeoutMillis = 2000L;
+
+    /**
+     * Timeout complessivo di attesa della risposta in millisecondi.
+     */
+    private long readTimeoutMillis = 5000L;
+
+    /**
+     * Richieste contemporanee massime verso il backend; oltre il limite la chiamata fallisce subito
+     * invece di accodare thread.
+     */
+    private int maxConcurrentRequests = 200;
+
+    /**
+     * Thread del client asincrono usati per I/O e completamento delle future.
+     */
+    private int executorThreads = 8;
+
+    /**
+     * Negozia HTTP/2 (multiplexing di piu' richieste sulla stessa connessione); con false usa HTTP/1.1 keep-alive.
+     */
+    private boolean http2Enabled = true;
+
+    /**
+     * Dopo questo ritardo senza risposta una GET idempotente viene duplicata e vince la prima
+     * risposta; 0 disabilita l'hedging.
+     */
+    private long hedgeDelayMillis = 0L;
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public long getConnectTimeoutMillis() {
+        return connectTimeoutMillis;
+    }
+
+    public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+        this.connectTimeoutMillis = connectTimeoutMillis;
+    }
+
+    public long getReadTimeoutMillis() {
+        return readTimeoutMillis;
+    }
+
+    public void setReadTimeoutMillis(long readTimeoutMillis) {
+        this.readTimeoutMillis = readTimeoutMillis;
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getExecutorThreads() {
+        return executorThreads;
+    }
+
+    public void setExecutorThreads(int executorThreads) {
+        this.executorThreads = executorThreads;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public long getHedgeDelayMillis() {
+        return hedgeDelayMillis;
+    }
+
+    public void setHedgeDelayMillis(long hedgeDelayMillis) {
+        this.hedgeDelayMillis = hedgeDelayMillis;
+    }
+}
@@ -12,6 +12,18 @@ public class SecurityPasswordPolicyProperties {
     private boolean requireLowercase = true;
     private boolean requireDigit = true;
     private boolean requireSpecial = true;
+    private int maxLength = 128;
+
+    /**
+     * Rifiuta le password presenti nel Bloom filter delle password violate.
+     */
+    private boolean breachedCheck = true;
+
+    /**
+     * Percorso su file system del filtro (vedi {@code BreachedPasswordFilter}), fuori dal jar: viene mappato
+     * in memoria, non caricato nello heap. Se vuoto o se il file non esiste il controllo e' disattivato.
+     */
+    private String breachedFilterPath = "";
 
     public int getMinLength() {
         return minLength;
@@ -52,4 +64,28 @@ public class SecurityPasswordPolicyProperties {
     public void setRequireSpecial(boolean requireSpecial) {
         this.requireSpecial = requireSpecial;
     }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public void setMaxLength(int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    public boolean isBreachedCheck() {
+        return breachedCheck;
+    }
+
+    public void setBreachedCheck(boolean breachedCheck) {
+        this.breachedCheck = breachedCheck;
+    }
+
+    public String getBreachedFilterPath() {
+        return breachedFilterPath;
+    }
+
+    public void setBreachedFilterPath(String breachedFilterPath) {
+        this.breachedFilterPath = breachedFilterPath;
+    }
 }
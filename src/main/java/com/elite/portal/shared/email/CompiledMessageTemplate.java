@@ -0,0 +1,88 @@
+package com.elite.portal.shared.email;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testo con placeholder posizionali {@code {0}}, {@code {1}}, ... analizzato una sola volta e renderizzato
+ * in un'unica passata. A differenza di {@link java.text.MessageFormat} gli apostrofi sono testo letterale
+ * e gli argomenti non vengono formattati secondo il locale. Le graffe che non racchiudono solo cifre
+ * (es. {@code {nome}} o {@code {}}) restano testo letterale. Immutabile e thread-safe.
+ */
+public final class CompiledMessageTemplate {
+
+    // Oltre nove cifre l'indice non sta in un int: la sequenza resta testo invece di far fallire la compilazione
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int literalLength;
+
+    private CompiledMessageTemplate(String[] literals, int[] argumentIndexes) {
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledMessageTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? pattern.indexOf('}', i + 1) : -1;
+            if (close > i + 1 && isDigits(pattern, i + 1, close)) {
+                literals.add(literal.toString());
+                literal.setLength(0);
+                indexes.add(Integer.parseInt(pattern.substring(i + 1, close)));
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString());
+        int[] indexArray = new int[indexes.size()];
+        for (int j = 0; j < indexArray.length; j++) {
+            indexArray[j] = indexes.get(j);
+        }
+        return new CompiledMessageTemplate(literals.toArray(new String[0]), indexArray);
+    }
+
+    public String render(String... arguments) {
+        int capacity = literalLength;
+        for (int index : argumentIndexes) {
+            if (index < arguments.length && arguments[index] != null) {
+                capacity += arguments[index].length();
+            }
+        }
+        StringBuilder out = new StringBuilder(capacity);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            out.append(literals[i]);
+            int index = argumentIndexes[i];
+            if (index < arguments.length && arguments[index] != null) {
+                out.append(arguments[index]);
+            }
+        }
+        out.append(literals[literals.length - 1]);
+        return out.toString();
+    }
+
+    private static boolean isDigits(String value, int from, int to) {
+        if (to - from > MAX_INDEX_DIGITS) {
+            return false;
+        }
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package com.elite.portal.shared.email;
+
+import com.elite.portal.shared.email.outbox.EmailOutboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementazione di {@link EmailService} che accoda le email nell'outbox invece di inviarle
+ * sul thread della richiesta.
+ */
+@Service
+public class OutboxEmailService implements EmailService {
+
+    private static final String PASSWORD_RESET_SUBJECT = "Reimpostazione password Elite Portal";
+
+    private final EmailOutboxService emailOutboxService;
+    private final String fromAddress;
+
+    public OutboxEmailService(EmailOutboxService emailOutboxService,
+                              @Value("${elite.portal.mail.from:}") String fromAddress) {
+        this.emailOutboxService = emailOutboxService;
+        this.fromAddress = fromAddress;
+    }
+
+    @Override
+    public void sendPasswordResetEmail(String toEmail, String fullName, String resetLink) {
+        String body = "Gentile " + (fullName != null ? fullName : "utente") + ",\n\n"
+                + "abbiamo ricevuto una richiesta di reimpostazione della password. "
+                + "Per scegliere una nuova password clicca sul seguente link:\n"
+                + resetLink + "\n\n"
+                + "Se non hai effettuato tu la richiesta puoi ignorare questa email.";
+        emailOutboxService.enqueue(toEmail, fromAddress, PASSWORD_RESET_SUBJECT, body, false);
+    }
+}
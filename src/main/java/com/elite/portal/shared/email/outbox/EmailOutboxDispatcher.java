@@ -0,0 +1,265 @@
+package com.elite.portal.shared.email.outbox;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consegna in background le email dell'outbox.
+ * <p>
+ * Un thread di polling reclama batch di messaggi scaduti ({@code SELECT ... FOR UPDATE SKIP LOCKED}, con un
+ * lease che li nasconde agli altri nodi) e li passa al pool di consegna; ogni batch viene inviato con una sola
+ * connessione SMTP. I messaggi falliti vengono ripianificati con backoff esponenziale e, superato
+ * {@code maxAttempts}, passano in dead-letter.
+ * <p>
+ * Il corpo contiene spesso link con token monouso (verifica email, reset password): quando il messaggio
+ * raggiunge uno stato finale (SENT o DEAD) viene sostituito da {@link #REDACTED_BODY}, cosi' la tabella
+ * non conserva link validi oltre la consegna.
+ */
+@Component
+public class EmailOutboxDispatcher implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    static final String REDACTED_BODY = "[contenuto rimosso dopo la consegna]";
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final EmailOutboxProperties properties;
+    private final EmailOutboxMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+
+    private volatile boolean running;
+    private ScheduledExecutorService poller;
+    private ThreadPoolExecutor deliveryPool;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 EmailOutboxProperties properties,
+                                 EmailOutboxMetrics metrics,
+                                 PlatformTransactionManager transactionManager,
+                                 Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !properties.isDispatcherEnabled()) {
+            return;
+        }
+        int threads = Math.max(1, properties.getDispatcherThreads());
+        AtomicInteger threadCounter = new AtomicInteger();
+        // Coda corta e CallerRunsPolicy: se SMTP rallenta e' il poller stesso a consegnare, smettendo di reclamare.
+        deliveryPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox-delivery-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "email-outbox-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, properties.getPollIntervalMillis(),
+                properties.getPollIntervalMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        poller.shutdown();
+        deliveryPool.shutdown();
+        try {
+            if (!deliveryPool.awaitTermination(30, TimeUnit.SECONDS)) {
+                deliveryPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            deliveryPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void poll() {
+        try {
+            for (int i = 0; i < properties.getDispatcherThreads() && running; i++) {
+                List<EmailOutboxMessage> batch = claimBatch();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                deliveryPool.execute(() -> deliver(batch));
+            }
+        } catch (RuntimeException ex) {
+            // Un errore non deve fermare lo scheduling delle esecuzioni successive
+            LOGGER.error("Errore durante il polling dell'outbox email", ex);
+        }
+    }
+
+    /**
+     * Reclama e consegna in modo sincrono un batch di messaggi scaduti; restituisce il numero di messaggi trattati.
+     */
+    public int dispatchDueBatch() {
+        List<EmailOutboxMessage> batch = claimBatch();
+        if (!batch.isEmpty()) {
+            deliver(batch);
+        }
+        return batch.size();
+    }
+
+    List<EmailOutboxMessage> claimBatch() {
+        List<EmailOutboxMessage> claimed = transactionTemplate.execute(status -> {
+            Instant now = clock.instant();
+            List<EmailOutboxMessage> due = emailOutboxRepository.findDueForUpdate(
+                    EmailOutboxStatus.PENDING, now, PageRequest.of(0, properties.getBatchSize()));
+            Instant leaseUntil = now.plusMillis(properties.getClaimLeaseMillis());
+            for (EmailOutboxMessage message : due) {
+                message.setAttempts(message.getAttempts() + 1);
+                message.setNextAttemptAt(leaseUntil);
+            }
+            return due;
+        });
+        return claimed != null ? claimed : Collections.emptyList();
+    }
+
+    void deliver(List<EmailOutboxMessage> batch) {
+        long startedAt = System.nanoTime();
+        Map<Object, Long> idsByMimeMessage = new IdentityHashMap<>();
+        List<MimeMessagePreparator> preparators = new ArrayList<>(batch.size());
+        for (EmailOutboxMessage message : batch) {
+            preparators.add(mimeMessage -> {
+                idsByMimeMessage.put(mimeMessage, message.getId());
+                MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, false, StandardCharsets.UTF_8.name());
+                if (message.getSender() != null) {
+                    helper.setFrom(message.getSender());
+                }
+                helper.setTo(message.getRecipient());
+                helper.setSubject(message.getSubject());
+                helper.setText(message.getBody(), message.isHtml());
+            });
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        try {
+            mailSender.send(preparators.toArray(new MimeMessagePreparator[0]));
+        } catch (MailSendException ex) {
+            if (ex.getFailedMessages().isEmpty()) {
+                failAll(batch, ex, failures);
+            }
+            for (Map.Entry<Object, Exception> failed : ex.getFailedMessages().entrySet()) {
+                Long id = idsByMimeMessage.get(failed.getKey());
+                if (id != null) {
+                    failures.put(id, describe(failed.getValue()));
+                }
+            }
+        } catch (MailException | RuntimeException ex) {
+            failAll(batch, ex, failures);
+        }
+
+        recordOutcome(batch, failures, System.nanoTime() - startedAt);
+    }
+
+    private void recordOutcome(List<EmailOutboxMessage> batch, Map<Long, String> failures, long elapsedNanos) {
+        int[] outcome = transactionTemplate.execute(status -> {
+            Instant now = clock.instant();
+            int sentCount = 0;
+            int retriedCount = 0;
+            int deadCount = 0;
+            List<Long> ids = new ArrayList<>(batch.size());
+            for (EmailOutboxMessage message : batch) {
+                ids.add(message.getId());
+            }
+            for (EmailOutboxMessage message : emailOutboxRepository.findAllById(ids)) {
+                String error = failures.get(message.getId());
+                if (error == null) {
+                    message.setStatus(EmailOutboxStatus.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    message.setBody(REDACTED_BODY);
+                    sentCount++;
+                } else if (message.getAttempts() >= properties.getMaxAttempts()) {
+                    message.setStatus(EmailOutboxStatus.DEAD);
+                    message.setLastError(error);
+                    message.setBody(REDACTED_BODY);
+                    deadCount++;
+                    LOGGER.error("Email outbox id={} in dead-letter dopo {} tentativi: {}",
+                            message.getId(), message.getAttempts(), error);
+                } else {
+                    message.setNextAttemptAt(now.plusMillis(backoffMillis(message.getAttempts())));
+                    message.setLastError(error);
+                    retriedCount++;
+                }
+            }
+            return new int[] {sentCount, retriedCount, deadCount};
+        });
+        if (outcome != null) {
+            metrics.recordBatch(outcome[0], outcome[1], outcome[2], TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        long base = Math.min(properties.getInitialBackoffMillis() << exponent, properties.getMaxBackoffMillis());
+        if (base <= 0) {
+            base = properties.getMaxBackoffMillis();
+        }
+        // Jitter fino al 20% per non far ripartire insieme tutti i retry dopo un disservizio SMTP
+        return base + ThreadLocalRandom.current().nextLong(base / 5 + 1);
+    }
+
+    private static void failAll(List<EmailOutboxMessage> batch, Exception ex, Map<Long, String> failures) {
+        String error = describe(ex);
+        for (EmailOutboxMessage message : batch) {
+            failures.put(message.getId(), error);
+        }
+    }
+
+    private static String describe(Exception ex) {
+        String description = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        return description.length() > MAX_ERROR_LENGTH ? description.substring(0, MAX_ERROR_LENGTH) : description;
+    }
+}
@@ -0,0 +1,65 @@
+package com.elite.portal.shared.email.outbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contatori del dispatcher dell'outbox, esposti come metriche {@code email.outbox.*}.
+ */
+@Component
+public class EmailOutboxMetrics implements MeterBinder {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong lastBatchDurationMillis = new AtomicLong();
+
+    public EmailOutboxMetrics(EmailOutboxRepository emailOutboxRepository) {
+        this.emailOutboxRepository = emailOutboxRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("email.outbox.sent", sent, AtomicLong::get).register(registry);
+        FunctionCounter.builder("email.outbox.retried", retried, AtomicLong::get).register(registry);
+        FunctionCounter.builder("email.outbox.dead", deadLettered, AtomicLong::get).register(registry);
+        FunctionCounter.builder("email.outbox.batches", batches, AtomicLong::get).register(registry);
+        Gauge.builder("email.outbox.last.batch.duration", lastBatchDurationMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("email.outbox.pending", emailOutboxRepository,
+                        repository -> repository.countByStatus(EmailOutboxStatus.PENDING))
+                .register(registry);
+    }
+
+    void recordBatch(int sentCount, int retriedCount, int deadCount, long durationMillis) {
+        sent.addAndGet(sentCount);
+        retried.addAndGet(retriedCount);
+        deadLettered.addAndGet(deadCount);
+        batches.incrementAndGet();
+        lastBatchDurationMillis.set(durationMillis);
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    public long getDeadLettered() {
+        return deadLettered.get();
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+}
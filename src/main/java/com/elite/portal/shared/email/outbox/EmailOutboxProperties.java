@@ -0,0 +1,113 @@
+package com.elite.portal.shared.email.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "elite.portal.mail.outbox")
+public class EmailOutboxProperties {
+
+    /**
+     * Abilita il dispatcher in background su questo nodo.
+     */
+    private boolean dispatcherEnabled = true;
+
+    /**
+     * Numero massimo di email reclamate e consegnate in un singolo batch SMTP.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Intervallo di polling dell'outbox in millisecondi.
+     */
+    private long pollIntervalMillis = 2000L;
+
+    /**
+     * Thread dedicati alla consegna dei batch.
+     */
+    private int dispatcherThreads = 2;
+
+    /**
+     * Tentativi dopo i quali il messaggio passa in dead-letter (stato DEAD).
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Attesa prima del primo retry; raddoppia ad ogni tentativo fallito.
+     */
+    private long initialBackoffMillis = 30_000L;
+
+    /**
+     * Limite superiore dell'attesa tra due retry.
+     */
+    private long maxBackoffMillis = 3_600_000L;
+
+    /**
+     * Durata del lease su un batch reclamato: se il nodo cade, i messaggi tornano disponibili dopo questo tempo.
+     */
+    private long claimLeaseMillis = 300_000L;
+
+    public boolean isDispatcherEnabled() {
+        return dispatcherEnabled;
+    }
+
+    public void setDispatcherEnabled(boolean dispatcherEnabled) {
+        this.dispatcherEnabled = dispatcherEnabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getPollIntervalMillis() {
+        return pollIntervalMillis;
+    }
+
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public int getDispatcherThreads() {
+        return dispatcherThreads;
+    }
+
+    public void setDispatcherThreads(int dispatcherThreads) {
+        this.dispatcherThreads = dispatcherThreads;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    public long getClaimLeaseMillis() {
+        return claimLeaseMillis;
+    }
+
+    public void setClaimLeaseMillis(long claimLeaseMillis) {
+        this.claimLeaseMillis = claimLeaseMillis;
+    }
+}
@@ -0,0 +1,30 @@
+package com.elite.portal.shared.email.outbox;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // SKIP LOCKED (-2): piu' nodi possono reclamare batch diversi senza attendersi a vicenda.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("select m from EmailOutboxMessage m "
+            + "where m.status = :status and m.nextAttemptAt <= :now "
+            + "order by m.nextAttemptAt asc")
+    List<EmailOutboxMessage> findDueForUpdate(@Param("status") EmailOutboxStatus status,
+                                              @Param("now") Instant now,
+                                              Pageable pageable);
+
+    long countByStatus(EmailOutboxStatus status);
+}
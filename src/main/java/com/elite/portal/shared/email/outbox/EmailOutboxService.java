@@ -0,0 +1,45 @@
+package com.elite.portal.shared.email.outbox;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Punto di ingresso per l'invio di email: il messaggio viene solo scritto nell'outbox, nella transazione
+ * del chiamante, e consegnato in background da {@link EmailOutboxDispatcher}. Se la transazione di business
+ * va in rollback l'email non parte; la latenza della richiesta non dipende piu' dal relay SMTP.
+ */
+@Service
+public class EmailOutboxService {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final Clock clock;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, Clock clock) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.clock = clock;
+    }
+
+    @Transactional
+    public EmailOutboxMessage enqueue(String recipient, String sender, String subject, String body, boolean html) {
+        Assert.hasText(recipient, "recipient must not be empty");
+        Assert.hasText(subject, "subject must not be empty");
+        Assert.notNull(body, "body must not be null");
+
+        Instant now = clock.instant();
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSender(sender != null && !sender.isEmpty() ? sender : null);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setHtml(html);
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setAttempts(0);
+        message.setNextAttemptAt(now);
+        message.setCreatedAt(now);
+        return emailOutboxRepository.save(message);
+    }
+}
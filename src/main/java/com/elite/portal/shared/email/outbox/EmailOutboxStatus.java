@@ -0,0 +1,8 @@
+package com.elite.portal.shared.email.outbox;
+
+public enum EmailOutboxStatus {
+
+    PENDING,
+    SENT,
+    DEAD
+}
@@ -0,0 +1,308 @@
+package com.elite.portal.shared.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.UnknownHttpStatusCodeException;
+
+import com.elite.portal.shared.config.BackendApiProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Client HTTP non bloccante verso le API backend, basato su {@link HttpClient} del JDK:
+ * connessioni riusate (HTTP/2 multiplexato o HTTP/1.1 keep-alive), timeout di connessione
+ * e di risposta, limite alle richieste contemporanee e hedging opzionale delle GET.
+ *
+ * <p>Gli errori vengono tradotti nelle stesse eccezioni di {@code RestTemplate}
+ * ({@link HttpClientErrorException}, {@link HttpServerErrorException},
+ * {@link ResourceAccessException}), cosi' i chiamanti mantengono la gestione esistente.</p>
+ *
+ * <p>Cancellare la future restituita annulla lo scambio HTTP sottostante e restituisce subito
+ * il permesso di concorrenza.</p>
+ */
+@Component
+public class BackendHttpClient {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final Duration readTimeout;
+    private final long hedgeDelayMillis;
+
+    public BackendHttpClient(BackendApiProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getExecutorThreads()), threadFactory());
+        this.httpClient = HttpClient.newBuilder()
+            .version(properties.isHttp2Enabled() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofMillis(properties.getConnectTimeoutMillis()))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .executor(executor)
+            .build();
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrentRequests()));
+        this.readTimeout = Duration.ofMillis(properties.getReadTimeoutMillis());
+        this.hedgeDelayMillis = properties.getHedgeDelayMillis();
+    }
+
+    public <T> CompletableFuture<T> get(URI uri, Class<T> type) {
+        return get(uri, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    public <T> CompletableFuture<T> get(URI uri, TypeReference<T> type) {
+        return get(uri, objectMapper.getTypeFactory().constructType(type));
+    }
+
+    /**
+     * POST con corpo JSON opzionale; non viene mai duplicata.
+     */
+    public CompletableFuture<Void> post(URI uri, Object body) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(new RestClientException("Impossibile serializzare il corpo della richiesta", e));
+        }
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .header(HttpHeaders.CONTENT_TYPE, "application/json")
+            .header(HttpHeaders.ACCEPT, "application/json")
+            .POST(publisher)
+            .build();
+        CompletableFuture<HttpResponse<byte[]>> exchange = send(request);
+        return cancelling(exchange.thenApply(response -> null), exchange);
+    }
+
+    private <T> CompletableFuture<T> get(URI uri, JavaType type) {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .timeout(readTimeout)
+            .header(HttpHeaders.ACCEPT, "application/json")
+            .GET()
+            .build();
+        CompletableFuture<HttpResponse<byte[]>> response = hedged(() -> send(request));
+        return cancelling(response.thenApply(body -> decode(body, type)), response);
+    }
+
+    /**
+     * Invia la richiesta rispettando il limite di concorrenza; le risposte non 2xx diventano eccezioni.
+     * Se la future restituita viene cancellata, lo scambio del JDK viene annullato e il permesso
+     * rilasciato senza attendere la risposta.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(
+                new ResourceAccessException("Troppe richieste contemporanee verso il backend: " + request.uri()));
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        CompletableFuture<HttpResponse<byte[]>> exchange;
+        try {
+            exchange = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            release.run();
+            return CompletableFuture.failedFuture(new ResourceAccessException(e.getMessage()));
+        }
+        CompletableFuture<HttpResponse<byte[]>> result = exchange.handle((response, error) -> {
+            release.run();
+            if (error != null) {
+                throw translate(request, unwrap(error));
+            }
+            if (response.statusCode() >= 300) {
+                throw statusException(response);
+            }
+            return response;
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+                release.run();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Le fasi dipendenti di una {@link CompletableFuture} non propagano la cancellazione a monte:
+     * la riportiamo noi sulla future da cui {@code dependent} deriva.
+     */
+    private static <T> CompletableFuture<T> cancelling(CompletableFuture<T> dependent, Future<?> source) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                source.cancel(true);
+            }
+        });
+        return dependent;
+    }
+
+    /**
+     * Se la richiesta non risponde entro {@code hedgeDelayMillis} ne parte una seconda identica:
+     * vince la prima risposta positiva, la perdente viene cancellata (scambio annullato e permesso
+     * rilasciato) e lo stesso vale per entrambe se il chiamante cancella il risultato. Gli errori 4xx sono
+     * deterministici e chiudono subito la chiamata.
+     */
+    private <T> CompletableFuture<T> hedged(Supplier<CompletableFuture<T>> attempt) {
+        CompletableFuture<T> primary = attempt.get();
+        if (hedgeDelayMillis <= 0) {
+            return primary;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger running = new AtomicInteger(1);
+        subscribe(primary, result, running);
+        CompletableFuture.runAsync(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            running.incrementAndGet();
+            CompletableFuture<T> hedge = attempt.get();
+            subscribe(hedge, result, running);
+            result.whenComplete((value, error) -> hedge.cancel(true));
+        }, CompletableFuture.delayedExecutor(hedgeDelayMillis, TimeUnit.MILLISECONDS, executor));
+        result.whenComplete((value, error) -> primary.cancel(true));
+        return result;
+    }
+
+    private static <T> void subscribe(CompletableFuture<T> attempt, CompletableFuture<T> result, AtomicInteger running) {
+        attempt.whenComplete((value, error) -> {
+            if (error == null) {
+                result.complete(value);
+                return;
+            }
+            Throwable cause = unwrap(error);
+            if (cause instanceof CancellationException) {
+                return;
+            }
+            if (cause instanceof HttpClientErrorException || running.decrementAndGet() == 0) {
+                result.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private <T> T decode(HttpResponse<byte[]> response, JavaType type) {
+        byte[] body = response.body();
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new RestClientException("Risposta backend non valida da " + response.uri(), e);
+        }
+    }
+
+    private static RestClientException statusException(HttpResponse<byte[]> response) {
+        HttpHeaders headers = new HttpHeaders();
+        for (Map.Entry<String, List<String>> header : response.headers().map().entrySet()) {
+            headers.put(header.getKey(), header.getValue());
+        }
+        int code = response.statusCode();
+        HttpStatus status = HttpStatus.resolve(code);
+        byte[] body = response.body();
+        if (status == null) {
+            return new UnknownHttpStatusCodeException(code, "", headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is4xxClientError()) {
+            return HttpClientErrorException.create(status, status.getReasonPhrase(), headers, body, StandardCharsets.UTF_8);
+        }
+        if (status.is5xxServerError()) {
+            return HttpServerErrorException.create(status, status.getReasonPhrase(), headers, body, StandardCharsets.UTF_8);
+        }
+        return new RestClientException("Risposta inattesa dal backend: " + code);
+    }
+
+    private static RuntimeException translate(HttpRequest request, Throwable error) {
+        if (error instanceof RestClientException || error instanceof CancellationException) {
+            return (RuntimeException) error;
+        }
+        if (error instanceof HttpTimeoutException) {
+            return new ResourceAccessException("Timeout chiamando " + request.uri(), (HttpTimeoutException) error);
+        }
+        if (error instanceof IOException) {
+            return new ResourceAccessException("Errore di I/O chiamando " + request.uri(), (IOException) error);
+        }
+        return new RestClientException("Errore chiamando " + request.uri(), error);
+    }
+
+    /**
+     * Toglie gli involucri {@link CompletionException} aggiunti dalla composizione delle future.
+     */
+    public static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Attende la future e rilancia l'eccezione originale, per i chiamanti sincroni.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw new UncheckedIOException((IOException) cause);
+            }
+            throw e;
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "backend-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.elite.portal.shared.http;
+
+import java.time.Duration;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+import com.elite.portal.shared.config.BackendApiProperties;
+
+/**
+ * {@link RestTemplate} condiviso per le chiamate sincrone rimaste verso il backend, con gli stessi
+ * timeout del client asincrono: una risposta lenta non trattiene piu' indefinitamente il thread.
+ */
+@Configuration
+public class BackendRestTemplateConfig {
+
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder, BackendApiProperties properties) {
+        return builder
+            .setConnectTimeout(Duration.ofMillis(properties.getConnectTimeoutMillis()))
+            .setReadTimeout(Duration.ofMillis(properties.getReadTimeoutMillis()))
+            .build();
+    }
+}
@@ -1,5 +1,12 @@
 package com.elite.portal.shared.logging;
 
+/**
+ * Logger applicativo. Il contesto e' una sequenza chiave/valore ({@code "email", valore, ...});
+ * gli eventuali segnaposto {@code {}} nel messaggio consumano i primi argomenti.
+ *
+ * <p>Le varianti con numero fisso di argomenti evitano l'array dei varargs: le implementazioni
+ * le sovrascrivono per non allocare nulla quando il livello e' disabilitato.</p>
+ */
 public interface AppLogger {
 
     void info(String message, Object... context);
@@ -10,4 +17,60 @@ public interface AppLogger {
 
     void debug(String message, Object... context);
 
+    default void info(String message) {
+        info(message, new Object[0]);
+    }
+
+    default void info(String message, Object arg) {
+        info(message, new Object[] {arg});
+    }
+
+    default void info(String message, Object arg1, Object arg2) {
+        info(message, new Object[] {arg1, arg2});
+    }
+
+    default void info(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        info(message, new Object[] {arg1, arg2, arg3, arg4});
+    }
+
+    default void warn(String message) {
+        warn(message, new Object[0]);
+    }
+
+    default void warn(String message, Object arg) {
+        warn(message, new Object[] {arg});
+    }
+
+    default void warn(String message, Object arg1, Object arg2) {
+        warn(message, new Object[] {arg1, arg2});
+    }
+
+    default void warn(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        warn(message, new Object[] {arg1, arg2, arg3, arg4});
+    }
+
+    default void error(String message, Throwable throwable) {
+        error(message, throwable, new Object[0]);
+    }
+
+    default void error(String message, Throwable throwable, Object arg1, Object arg2) {
+        error(message, throwable, new Object[] {arg1, arg2});
+    }
+
+    default void debug(String message) {
+        debug(message, new Object[0]);
+    }
+
+    default void debug(String message, Object arg) {
+        debug(message, new Object[] {arg});
+    }
+
+    default void debug(String message, Object arg1, Object arg2) {
+        debug(message, new Object[] {arg1, arg2});
+    }
+
+    default void debug(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        debug(message, new Object[] {arg1, arg2, arg3, arg4});
+    }
+
 }
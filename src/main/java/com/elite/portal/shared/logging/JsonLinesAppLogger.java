@@ -0,0 +1,389 @@
+package com.elite.portal.shared.logging;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link AppLogger} che scrive una riga JSON per evento sul logger SLF4J {@code elite.portal.logging.logger-name}
+ * (da configurare con pattern {@code %msg%n}):
+ * <pre>{"ts":1709287200000,"level":"WARN","thread":"http-nio-1","msg":"...","email":"m***@acme.it"}</pre>
+ *
+ * <p>Il livello viene controllato prima di qualsiasi lavoro, quindi con il livello disabilitato le varianti
+ * a numero fisso di argomenti non allocano nulla. Con il livello abilitato la riga viene composta in un
+ * buffer per thread riusato; l'unica allocazione e' la stringa finale passata a SLF4J. Argomenti primitivi
+ * vengono comunque convertiti in oggetti dal chiamante.</p>
+ *
+ * <p>I valori delle chiavi sensibili ({@code elite.portal.logging.pii-keys}) vengono mascherati, sia nel
+ * contesto sia nei segnaposto preceduti da {@code chiave=}: le email conservano iniziale e dominio, gli
+ * altri valori diventano {@code ***}.</p>
+ */
+@Component
+public class JsonLinesAppLogger implements AppLogger {
+
+    private static final int MAX_FIXED_ARGS = 4;
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+    private static final String MASK = "***";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final Logger delegate;
+    private final Clock clock;
+    private final String[] piiKeys;
+
+    @Autowired
+    public JsonLinesAppLogger(Clock clock,
+                              @Value("${elite.portal.logging.logger-name:app}") String loggerName,
+                              @Value("${elite.portal.logging.pii-keys:email,password,token,telefono,codiceFiscale}") String[] piiKeys) {
+        this(LoggerFactory.getLogger(loggerName), clock, Arrays.asList(piiKeys));
+    }
+
+    JsonLinesAppLogger(Logger delegate, Clock clock, Collection<String> piiKeys) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.piiKeys = piiKeys.stream()
+            .map(String::trim)
+            .filter(key -> !key.isEmpty())
+            .toArray(String[]::new);
+    }
+
+    @Override
+    public void info(String message, Object... context) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(format(Level.INFO, message, null, context, context.length));
+        }
+    }
+
+    @Override
+    public void info(String message) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(format(Level.INFO, message, null, 0, null, null, null, null));
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(format(Level.INFO, message, null, 1, arg, null, null, null));
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(format(Level.INFO, message, null, 2, arg1, arg2, null, null));
+        }
+    }
+
+    @Override
+    public void info(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (delegate.isInfoEnabled()) {
+            delegate.info(format(Level.INFO, message, null, 4, arg1, arg2, arg3, arg4));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object... context) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(format(Level.WARN, message, null, context, context.length));
+        }
+    }
+
+    @Override
+    public void warn(String message) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(format(Level.WARN, message, null, 0, null, null, null, null));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(format(Level.WARN, message, null, 1, arg, null, null, null));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(format(Level.WARN, message, null, 2, arg1, arg2, null, null));
+        }
+    }
+
+    @Override
+    public void warn(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (delegate.isWarnEnabled()) {
+            delegate.warn(format(Level.WARN, message, null, 4, arg1, arg2, arg3, arg4));
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable throwable, Object... context) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error(format(Level.ERROR, message, throwable, context, context.length));
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable throwable) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error(format(Level.ERROR, message, throwable, 0, null, null, null, null));
+        }
+    }
+
+    @Override
+    public void error(String message, Throwable throwable, Object arg1, Object arg2) {
+        if (delegate.isErrorEnabled()) {
+            delegate.error(format(Level.ERROR, message, throwable, 2, arg1, arg2, null, null));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object... context) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(format(Level.DEBUG, message, null, context, context.length));
+        }
+    }
+
+    @Override
+    public void debug(String message) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(format(Level.DEBUG, message, null, 0, null, null, null, null));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(format(Level.DEBUG, message, null, 1, arg, null, null, null));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(format(Level.DEBUG, message, null, 2, arg1, arg2, null, null));
+        }
+    }
+
+    @Override
+    public void debug(String message, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (delegate.isDebugEnabled()) {
+            delegate.debug(format(Level.DEBUG, message, null, 4, arg1, arg2, arg3, arg4));
+        }
+    }
+
+    private String format(Level level, String message, Throwable throwable, int count,
+                         Object arg1, Object arg2, Object arg3, Object arg4) {
+        Object[] args = SCRATCH.get().args;
+        args[0] = arg1;
+        args[1] = arg2;
+        args[2] = arg3;
+        args[3] = arg4;
+        try {
+            return format(level, message, throwable, args, count);
+        } finally {
+            // non trattenere riferimenti agli argomenti dopo la chiamata
+            Arrays.fill(args, null);
+        }
+    }
+
+    String format(Level level, String message, Throwable throwable, Object[] args, int count) {
+        Scratch scratch = SCRATCH.get();
+        StringBuilder line = scratch.line;
+        line.setLength(0);
+
+        line.append("{\"ts\":").append(clock.millis())
+            .append(",\"level\":\"").append(level.name())
+            .append("\",\"thread\":\"");
+        appendEscaped(line, Thread.currentThread().getName());
+        line.append("\",\"msg\":\"");
+
+        String text = message != null ? message : "";
+        int used = 0;
+        int from = 0;
+        int placeholder;
+        while (used < count && (placeholder = text.indexOf("{}", from)) >= 0) {
+            appendEscaped(line, text, from, placeholder);
+            appendText(line, args[used++], isPiiPlaceholder(text, placeholder));
+            from = placeholder + 2;
+        }
+        appendEscaped(line, text, from, text.length());
+        line.append('"');
+
+        for (int i = used; i < count; i += 2) {
+            if (i + 1 == count) {
+                // argomento spaiato: non si perde, ma non ha una chiave
+                line.append(",\"arg\":");
+                appendValue(line, args[i], false);
+                break;
+            }
+            Object key = args[i];
+            line.append(",\"");
+            appendEscaped(line, key instanceof String ? (String) key : String.valueOf(key));
+            line.append("\":");
+            appendValue(line, args[i + 1], key instanceof String && isPii((String) key));
+        }
+
+        if (throwable != null) {
+            line.append(",\"error\":\"");
+            appendEscaped(line, throwable.getClass().getName());
+            if (throwable.getMessage() != null) {
+                line.append(": ");
+                appendEscaped(line, throwable.getMessage());
+            }
+            line.append("\",\"stack\":\"");
+            appendStackTrace(line, throwable);
+            line.append('"');
+        }
+        line.append('}');
+
+        String result = line.toString();
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            // una riga eccezionale (stack trace lungo) non deve restare in memoria per thread
+            scratch.line = new StringBuilder(Scratch.INITIAL_CAPACITY);
+        }
+        return result;
+    }
+
+    private void appendValue(StringBuilder line, Object value, boolean pii) {
+        if (value == null) {
+            line.append("null");
+        } else if (pii) {
+            line.append('"');
+            appendMasked(line, value);
+            line.append('"');
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            line.append(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            line.append(((Boolean) value).booleanValue());
+        } else {
+            line.append('"');
+            appendEscaped(line, value.toString());
+            line.append('"');
+        }
+    }
+
+    private void appendText(StringBuilder line, Object value, boolean pii) {
+        if (value == null) {
+            line.append("null");
+        } else if (pii) {
+            appendMasked(line, value);
+        } else if (value instanceof Long || value instanceof Integer) {
+            line.append(((Number) value).longValue());
+        } else {
+            appendEscaped(line, value.toString());
+        }
+    }
+
+    private static void appendMasked(StringBuilder line, Object value) {
+        String text = value.toString();
+        int at = text.indexOf('@');
+        if (at > 0) {
+            appendEscaped(line, text, 0, 1);
+            line.append(MASK);
+            appendEscaped(line, text, at, text.length());
+        } else {
+            line.append(MASK);
+        }
+    }
+
+    private boolean isPii(String key) {
+        for (String piiKey : piiKeys) {
+            if (piiKey.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vero se il segnaposto e' preceduto da {@code chiave=} con una chiave sensibile, es. {@code email={}}.
+     */
+    private boolean isPiiPlaceholder(String text, int placeholder) {
+        int end = placeholder - 1;
+        if (end < 1 || text.charAt(end) != '=') {
+            return false;
+        }
+        int start = end;
+        while (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            start--;
+        }
+        int length = end - start;
+        for (String piiKey : piiKeys) {
+            if (piiKey.length() == length && text.regionMatches(true, start, piiKey, 0, length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void appendStackTrace(StringBuilder line, Throwable throwable) {
+        Throwable current = throwable;
+        int depth = 0;
+        while (current != null && depth++ < 5) {
+            if (current != throwable) {
+                line.append("\\nCaused by: ");
+                appendEscaped(line, current.getClass().getName());
+                if (current.getMessage() != null) {
+                    line.append(": ");
+                    appendEscaped(line, current.getMessage());
+                }
+            }
+            for (StackTraceElement element : current.getStackTrace()) {
+                line.append("\\n\\tat ");
+                appendEscaped(line, element.toString());
+            }
+            current = current.getCause() == current ? null : current.getCause();
+        }
+    }
+
+    private static void appendEscaped(StringBuilder line, String text) {
+        appendEscaped(line, text, 0, text.length());
+    }
+
+    private static void appendEscaped(StringBuilder line, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    line.append("\\\"");
+                    break;
+                case '\\':
+                    line.append("\\\\");
+                    break;
+                case '\n':
+                    line.append("\\n");
+                    break;
+                case '\r':
+                    line.append("\\r");
+                    break;
+                case '\t':
+                    line.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        line.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+    }
+
+    private static final class Scratch {
+
+        private static final int INITIAL_CAPACITY = 512;
+
+        private StringBuilder line = new StringBuilder(INITIAL_CAPACITY);
+        private final Object[] args = new Object[MAX_FIXED_ARGS];
+    }
+}
@@ -0,0 +1,84 @@
+package com.elite.portal.shared.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Store in memoria limitato a {@code maxEntries} bucket, adatto a un singolo nodo.
+ * <p>
+ * Raggiunto il limite vengono rimossi prima i bucket gia' ricaricati (equivalenti a un bucket nuovo), poi
+ * quelli con piu' gettoni residui: un flood di chiavi casuali non esaurisce l'heap e non azzera per primi
+ * i bucket svuotati dagli abusi in corso.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final Map<String, Entry> buckets = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final AtomicBoolean evictionInProgress = new AtomicBoolean();
+
+    public InMemoryRateLimitStore(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries deve essere positivo");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public boolean tryConsume(String key, RateLimitPolicy policy, long nowMillis) {
+        Entry entry = buckets.get(key);
+        if (entry == null) {
+            if (buckets.size() >= maxEntries) {
+                evict(nowMillis);
+            }
+            entry = buckets.computeIfAbsent(key, k -> new Entry(policy, new TokenBucket(policy.getCapacity(), nowMillis)));
+        }
+        return entry.bucket.tryConsume(policy, nowMillis);
+    }
+
+    @Override
+    public void reset(String key) {
+        buckets.remove(key);
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private void evict(long nowMillis) {
+        // Un solo thread alla volta scansiona la mappa; gli altri inseriscono comunque (limite "soft").
+        if (!evictionInProgress.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(entry -> entry.bucket.isFull(entry.policy, nowMillis));
+            int target = maxEntries - Math.max(1, maxEntries / 10);
+            Iterator<Entry> iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.bucket.available(entry.policy, nowMillis) >= entry.policy.getCapacity() / 2.0d) {
+                    iterator.remove();
+                }
+            }
+            iterator = buckets.values().iterator();
+            while (buckets.size() > target && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            evictionInProgress.set(false);
+        }
+    }
+
+    private static final class Entry {
+
+        private final RateLimitPolicy policy;
+        private final TokenBucket bucket;
+
+        private Entry(RateLimitPolicy policy, TokenBucket bucket) {
+            this.policy = policy;
+            this.bucket = bucket;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.elite.portal.shared.ratelimit;
+
+/**
+ * Limite token-bucket: fino a {@code capacity} richieste a raffica, ricaricate in modo continuo al ritmo di
+ * {@code capacity} ogni {@code refillPeriodMillis}. Il nome fa da namespace delle chiavi nello store.
+ */
+public final class RateLimitPolicy {
+
+    private final String name;
+    private final int capacity;
+    private final long refillPeriodMillis;
+
+    public RateLimitPolicy(String name, int capacity, long refillPeriodMillis) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("name obbligatorio");
+        }
+        if (capacity <= 0 || refillPeriodMillis <= 0) {
+            throw new IllegalArgumentException("capacity e refillPeriodMillis devono essere positivi");
+        }
+        this.name = name;
+        this.capacity = capacity;
+        this.refillPeriodMillis = refillPeriodMillis;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getRefillPeriodMillis() {
+        return refillPeriodMillis;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + capacity + "/" + refillPeriodMillis + "ms)";
+    }
+}
@@ -0,0 +1,17 @@
+package com.elite.portal.shared.ratelimit;
+
+/**
+ * SPI dei bucket usati da {@link RateLimiter}. Le implementazioni devono essere thread-safe e occupare
+ * memoria costante per chiave; quelle condivise (Redis) rendono il limite valido sull'intero cluster.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Consuma un gettone dal bucket della chiave, se disponibile.
+     *
+     * @return {@code true} se la richiesta rientra nel limite
+     */
+    boolean tryConsume(String key, RateLimitPolicy policy, long nowMillis);
+
+    void reset(String key);
+}
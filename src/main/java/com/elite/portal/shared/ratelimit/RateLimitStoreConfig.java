@@ -0,0 +1,34 @@
+package com.elite.portal.shared.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Selezione del backend dei bucket tramite {@code elite.portal.rate-limit.store}:
+ * {@code memory} (default, singolo nodo) o {@code redis} (condiviso tra i nodi).
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "elite.portal.rate-limit.store", havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(
+            @Value("${elite.portal.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        return new InMemoryRateLimitStore(maxTrackedKeys);
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.data.redis.core.StringRedisTemplate")
+    @ConditionalOnProperty(name = "elite.portal.rate-limit.store", havingValue = "redis")
+    static class RedisRateLimitStoreConfig {
+
+        @Bean
+        public RateLimitStore redisRateLimitStore(StringRedisTemplate redisTemplate) {
+            return new RedisRateLimitStore(redisTemplate);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.elite.portal.shared.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+
+/**
+ * Rate limiter token-bucket riutilizzabile dagli endpoint pubblici: ogni chiamante definisce le proprie
+ * {@link RateLimitPolicy} e la chiave (email, IP, ...). Dove vivono i bucket dipende dal
+ * {@link RateLimitStore} configurato ({@code elite.portal.rate-limit.store}).
+ */
+@Component
+public class RateLimiter {
+
+    private final RateLimitStore rateLimitStore;
+    private final Clock clock;
+
+    public RateLimiter(RateLimitStore rateLimitStore, Clock clock) {
+        this.rateLimitStore = rateLimitStore;
+        this.clock = clock;
+    }
+
+    /**
+     * Consuma un gettone per la chiave; una chiave nulla o vuota non viene limitata.
+     */
+    public boolean tryAcquire(RateLimitPolicy policy, String key) {
+        if (key == null || key.isEmpty()) {
+            return true;
+        }
+        return rateLimitStore.tryConsume(storeKey(policy, key), policy, clock.millis());
+    }
+
+    public void reset(RateLimitPolicy policy, String key) {
+        if (key != null && !key.isEmpty()) {
+            rateLimitStore.reset(storeKey(policy, key));
+        }
+    }
+
+    private static String storeKey(RateLimitPolicy policy, String key) {
+        return policy.getName() + ':' + key;
+    }
+}
@@ -0,0 +1,59 @@
+package com.elite.portal.shared.ratelimit;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Collections;
+
+/**
+ * Store condiviso su Redis: ogni chiave e' un hash {@code t/ts} (gettoni residui, ultimo refill) aggiornato
+ * da uno script Lua, quindi ricarica e consumo sono atomici su tutti i nodi. Una chiave scade da sola dopo
+ * un periodo di inattivita', quando il bucket sarebbe comunque pieno.
+ */
+public class RedisRateLimitStore implements RateLimitStore {
+
+    static final String KEY_PREFIX = "rate-limit:";
+
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local period = tonumber(ARGV[2]) "
+                    + "local now = tonumber(ARGV[3]) "
+                    + "local state = redis.call('HMGET', KEYS[1], 't', 'ts') "
+                    + "local tokens = tonumber(state[1]) or capacity "
+                    + "local ts = tonumber(state[2]) or now "
+                    + "if now > ts then "
+                    + "  tokens = math.min(capacity, tokens + (now - ts) * capacity / period) "
+                    + "  ts = now "
+                    + "end "
+                    + "local allowed = 0 "
+                    + "if tokens >= 1 then "
+                    + "  tokens = tokens - 1 "
+                    + "  allowed = 1 "
+                    + "end "
+                    + "redis.call('HSET', KEYS[1], 't', tostring(tokens), 'ts', ts) "
+                    + "redis.call('PEXPIRE', KEYS[1], period) "
+                    + "return allowed",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public RedisRateLimitStore(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public boolean tryConsume(String key, RateLimitPolicy policy, long nowMillis) {
+        Long allowed = redisTemplate.execute(CONSUME_SCRIPT,
+                Collections.singletonList(KEY_PREFIX + key),
+                String.valueOf(policy.getCapacity()),
+                String.valueOf(policy.getRefillPeriodMillis()),
+                String.valueOf(nowMillis));
+        return allowed != null && allowed == 1L;
+    }
+
+    @Override
+    public void reset(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+}
@@ -0,0 +1,47 @@
+package com.elite.portal.shared.ratelimit;
+
+/**
+ * Bucket in memoria: due campi per chiave, ricarica calcolata pigramente al momento del consumo.
+ */
+final class TokenBucket {
+
+    private double tokens;
+    private long lastRefillMillis;
+
+    TokenBucket(int capacity, long nowMillis) {
+        this.tokens = capacity;
+        this.lastRefillMillis = nowMillis;
+    }
+
+    synchronized boolean tryConsume(RateLimitPolicy policy, long nowMillis) {
+        refill(policy, nowMillis);
+        if (tokens < 1.0d) {
+            return false;
+        }
+        tokens -= 1.0d;
+        return true;
+    }
+
+    /**
+     * Vero quando il bucket si e' ricaricato del tutto: rimuoverlo equivale a lasciarlo.
+     */
+    synchronized boolean isFull(RateLimitPolicy policy, long nowMillis) {
+        refill(policy, nowMillis);
+        return tokens >= policy.getCapacity();
+    }
+
+    synchronized double available(RateLimitPolicy policy, long nowMillis) {
+        refill(policy, nowMillis);
+        return tokens;
+    }
+
+    private void refill(RateLimitPolicy policy, long nowMillis) {
+        long elapsed = nowMillis - lastRefillMillis;
+        if (elapsed <= 0) {
+            return;
+        }
+        tokens = Math.min(policy.getCapacity(),
+                tokens + (double) elapsed * policy.getCapacity() / policy.getRefillPeriodMillis());
+        lastRefillMillis = nowMillis;
+    }
+}
@@ -0,0 +1,363 @@
+package com.elite.portal.shared.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Indice invertito in memoria con aggiornamento incrementale.
+ *
+ * <p>Ogni documento riceve un ordinale interno; le posting list sono array di int ordinati
+ * in cui ciascun elemento codifica {@code ordinale << 2 | campo}, quindi circa 4 byte per
+ * coppia termine/documento. Il dizionario e' ordinato per consentire la ricerca per prefisso
+ * e il fuzzy (distanza di Levenshtein 1, 2 per termini lunghi) sui termini con la stessa
+ * iniziale. Tutti i termini della query devono trovare corrispondenza; il punteggio somma
+ * peso del campo, tipo di corrispondenza e IDF del termine.</p>
+ *
+ * <p>Letture concorrenti, scritture serializzate da un {@link ReadWriteLock}.</p>
+ */
+public final class InvertedIndex {
+
+    private static final double EXACT_MATCH = 1.0d;
+    private static final double PREFIX_MATCH = 0.6d;
+    private static final double FUZZY_MATCH = 0.4d;
+    private static final int MAX_EXPANSIONS = 64;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int FUZZY_TWO_EDITS_LENGTH = 8;
+    private static final Postings[] NO_POSTINGS = new Postings[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> dictionary = new TreeMap<>();
+    private final Map<Long, Integer> ordinalsByKey = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private long[] keys = new long[1024];
+    private Postings[][] termsByOrdinal = new Postings[1024][];
+    private int nextOrdinal;
+
+    /**
+     * Inserisce o sostituisce il documento con la stessa chiave.
+     */
+    public void index(SearchDocument document) {
+        Map<String, Integer> fieldByTerm = new HashMap<>();
+        for (Map.Entry<SearchField, StringBuilder> entry : document.getFields().entrySet()) {
+            int field = entry.getKey().ordinal();
+            for (String term : SearchTextNormalizer.tokenize(entry.getValue().toString())) {
+                fieldByTerm.merge(term, field, Math::max);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinalsByKey.get(document.getKey());
+            int ordinal = existing != null ? existing : allocateOrdinal(document.getKey());
+            if (existing != null) {
+                unlink(ordinal);
+            }
+            Postings[] terms = new Postings[fieldByTerm.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : fieldByTerm.entrySet()) {
+                Postings postings = dictionary.computeIfAbsent(entry.getKey(), Postings::new);
+                postings.add(ordinal, entry.getValue());
+                terms[i++] = postings;
+            }
+            termsByOrdinal[ordinal] = terms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalsByKey.remove(key);
+            if (ordinal != null) {
+                unlink(ordinal);
+                termsByOrdinal[ordinal] = null;
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            dictionary.clear();
+            ordinalsByKey.clear();
+            freeOrdinals.clear();
+            keys = new long[1024];
+            termsByOrdinal = new Postings[1024][];
+            nextOrdinal = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Restituisce al massimo {@code limit} documenti ordinati per punteggio decrescente,
+     * a parita' di punteggio i piu' recenti (ordinale maggiore) prima.
+     *
+     * @param filter filtro opzionale sulle chiavi, valutato prima del ranking
+     */
+    public List<SearchHit> search(String query, int limit, LongPredicate filter) {
+        Set<String> tokens = SearchTextNormalizer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documents = ordinalsByKey.size();
+            Map<Integer, double[]> scores = null;
+            for (String token : tokens) {
+                Map<Integer, double[]> tokenScores = scoreToken(token, documents, scores);
+                if (tokenScores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+                scores = tokenScores;
+            }
+
+            PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1);
+            for (Map.Entry<Integer, double[]> entry : scores.entrySet()) {
+                int ordinal = entry.getKey();
+                if (filter != null && !filter.test(keys[ordinal])) {
+                    continue;
+                }
+                heap.add(new Candidate(ordinal, entry.getValue()[0]));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+            List<SearchHit> hits = new ArrayList<>(heap.size());
+            while (!heap.isEmpty()) {
+                Candidate candidate = heap.poll();
+                hits.add(new SearchHit(keys[candidate.ordinal], candidate.score));
+            }
+            Collections.reverse(hits);
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Punteggi dei documenti che contengono il token (esatto, per prefisso o fuzzy); se
+     * {@code previous} non e' null vengono considerati solo i documenti gia' trovati dai token
+     * precedenti, sommando i punteggi.
+     */
+    private Map<Integer, double[]> scoreToken(String token, int documents, Map<Integer, double[]> previous) {
+        Map<Integer, double[]> result = new HashMap<>();
+        int expansions = 0;
+
+        NavigableMap<String, Postings> prefixed = dictionary.subMap(token, true, token + Character.MAX_VALUE, false);
+        for (Postings postings : prefixed.values()) {
+            double matchWeight = postings.term.length() == token.length() ? EXACT_MATCH : PREFIX_MATCH;
+            accumulate(postings, matchWeight, documents, previous, result);
+            if (++expansions >= MAX_EXPANSIONS) {
+                break;
+            }
+        }
+
+        if (token.length() >= FUZZY_MIN_LENGTH) {
+            int maxEdits = token.length() >= FUZZY_TWO_EDITS_LENGTH ? 2 : 1;
+            String first = token.substring(0, 1);
+            NavigableMap<String, Postings> sameInitial = dictionary.subMap(first, true, first + Character.MAX_VALUE, false);
+            for (Postings postings : sameInitial.values()) {
+                if (expansions >= MAX_EXPANSIONS) {
+                    break;
+                }
+                String term = postings.term;
+                if (Math.abs(term.length() - token.length()) > maxEdits || term.startsWith(token)) {
+                    continue;
+                }
+                if (withinDistance(token, term, maxEdits)) {
+                    accumulate(postings, FUZZY_MATCH, documents, previous, result);
+                    expansions++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void accumulate(Postings postings, double matchWeight, int documents,
+                            Map<Integer, double[]> previous, Map<Integer, double[]> result) {
+        double idf = Math.log(1.0d + (double) documents / postings.size);
+        SearchField[] fields = SearchField.values();
+        for (int i = 0; i < postings.size; i++) {
+            int entry = postings.entries[i];
+            int ordinal = entry >>> 2;
+            double[] base = null;
+            if (previous != null) {
+                base = previous.get(ordinal);
+                if (base == null) {
+                    continue;
+                }
+            }
+            double score = matchWeight * fields[entry & 3].getWeight() * idf;
+            double[] current = result.get(ordinal);
+            if (current == null) {
+                result.put(ordinal, new double[] {(base != null ? base[0] : 0.0d) + score, score});
+            } else if (score > current[1]) {
+                // per ogni token conta solo la corrispondenza migliore
+                current[0] += score - current[1];
+                current[1] = score;
+            }
+        }
+    }
+
+    private int allocateOrdinal(long key) {
+        int ordinal;
+        if (!freeOrdinals.isEmpty()) {
+            ordinal = freeOrdinals.pop();
+        } else {
+            ordinal = nextOrdinal++;
+            if (ordinal >= keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                termsByOrdinal = Arrays.copyOf(termsByOrdinal, capacity);
+            }
+        }
+        keys[ordinal] = key;
+        ordinalsByKey.put(key, ordinal);
+        return ordinal;
+    }
+
+    private void unlink(int ordinal) {
+        Postings[] terms = termsByOrdinal[ordinal];
+        if (terms == null) {
+            return;
+        }
+        for (Postings postings : terms) {
+            postings.remove(ordinal);
+            if (postings.size == 0) {
+                dictionary.remove(postings.term);
+            }
+        }
+        termsByOrdinal[ordinal] = NO_POSTINGS;
+    }
+
+    /**
+     * Levenshtein con uscita anticipata appena la riga supera {@code maxEdits}.
+     */
+    static boolean withinDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final int ordinal;
+        private final double score;
+
+        private Candidate(int ordinal, double score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(ordinal, other.ordinal);
+        }
+    }
+
+    /**
+     * Posting list ordinata per ordinale; gli inserimenti in coda sono il caso comune perche'
+     * gli ordinali nuovi sono crescenti.
+     */
+    private static final class Postings {
+
+        private final String term;
+        private int[] entries = new int[2];
+        private int size;
+
+        private Postings(String term) {
+            this.term = term;
+        }
+
+        private void add(int ordinal, int field) {
+            int entry = ordinal << 2 | field;
+            int position = find(ordinal);
+            if (position >= 0) {
+                entries[position] = entry;
+                return;
+            }
+            int insertAt = -position - 1;
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size + (size >> 1) + 1);
+            }
+            System.arraycopy(entries, insertAt, entries, insertAt + 1, size - insertAt);
+            entries[insertAt] = entry;
+            size++;
+        }
+
+        private void remove(int ordinal) {
+            int position = find(ordinal);
+            if (position >= 0) {
+                System.arraycopy(entries, position + 1, entries, position, size - position - 1);
+                size--;
+                if (size < entries.length / 4) {
+                    entries = Arrays.copyOf(entries, Math.max(2, size * 2));
+                }
+            }
+        }
+
+        private int find(int ordinal) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midOrdinal = entries[mid] >>> 2;
+                if (midOrdinal < ordinal) {
+                    low = mid + 1;
+                } else if (midOrdinal > ordinal) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.elite.portal.shared.search;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Documento da indicizzare: chiave numerica scelta dal chiamante e testo per campo.
+ */
+public final class SearchDocument {
+
+    private final long key;
+    private final Map<SearchField, StringBuilder> fields = new EnumMap<>(SearchField.class);
+
+    public SearchDocument(long key) {
+        this.key = key;
+    }
+
+    public SearchDocument add(SearchField field, String text) {
+        if (text != null && !text.isEmpty()) {
+            fields.computeIfAbsent(field, f -> new StringBuilder()).append(' ').append(text);
+        }
+        return this;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    Map<SearchField, StringBuilder> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,23 @@
+package com.elite.portal.shared.search;
+
+/**
+ * Campi indicizzabili con il relativo peso nel ranking. L'ordinale viene codificato in 2 bit
+ * nelle posting list, quindi i valori non possono superare quattro.
+ */
+public enum SearchField {
+
+    NOTES(1.0d),
+    COMPANY(2.0d),
+    EMAIL(2.5d),
+    NAME(3.0d);
+
+    private final double weight;
+
+    SearchField(double weight) {
+        this.weight = weight;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,23 @@
+package com.elite.portal.shared.search;
+
+/**
+ * Risultato di una ricerca: chiave del documento e punteggio (piu' alto e' meglio).
+ */
+public final class SearchHit {
+
+    private final long key;
+    private final double score;
+
+    public SearchHit(long key, double score) {
+        this.key = key;
+        this.score = score;
+    }
+
+    public long getKey() {
+        return key;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,71 @@
+package com.elite.portal.shared.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Tokenizzatore per nomi, email e note in italiano: rimuove accenti e maiuscole
+ * ("Niccolò" e "NICCOLO" producono lo stesso token), spezza su punteggiatura ed email
+ * e per le elisioni indicizza sia le parti sia la forma unita ("D'Angelo" produce
+ * "d", scartato perche' troppo corto, "angelo" e "dangelo").
+ */
+public final class SearchTextNormalizer {
+
+    static final int MIN_TOKEN_LENGTH = 2;
+
+    private SearchTextNormalizer() {
+    }
+
+    public static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        StringBuilder token = new StringBuilder();
+        StringBuilder joined = new StringBuilder();
+        boolean elided = false;
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+                joined.append(c);
+                continue;
+            }
+            emit(tokens, token);
+            token.setLength(0);
+            boolean apostrophe = (c == '\'' || c == '’') && joined.length() > 0
+                && i + 1 < folded.length() && Character.isLetter(folded.charAt(i + 1));
+            if (apostrophe) {
+                elided = true;
+                continue;
+            }
+            if (elided) {
+                emit(tokens, joined);
+                elided = false;
+            }
+            joined.setLength(0);
+        }
+        return tokens;
+    }
+
+    static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                out.append(c);
+            }
+        }
+        return out.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void emit(Set<String> tokens, StringBuilder token) {
+        if (token.length() >= MIN_TOKEN_LENGTH) {
+            tokens.add(token.toString());
+        }
+    }
+}
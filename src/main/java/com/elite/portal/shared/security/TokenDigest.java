@@ -0,0 +1,34 @@
+package com.elite.portal.shared.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Impronta SHA-256 dei token monouso (reset password, verifica email): nel database si salva solo il
+ * digest a 32 byte, con indice univoco, e le ricerche calcolano il digest del token ricevuto prima della
+ * query. I token sono casuali ad alta entropia, quindi non servono sale ne' iterazioni; chi legge la
+ * tabella non ottiene token utilizzabili.
+ */
+public final class TokenDigest {
+
+    public static final int LENGTH = 32;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 non disponibile", e);
+        }
+    });
+
+    private TokenDigest() {
+    }
+
+    public static byte[] sha256(String token) {
+        if (token == null) {
+            throw new IllegalArgumentException("token must not be null");
+        }
+        return SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,5 @@
+-- Colonna di versione per il lock ottimistico (@Version) sulle richieste di accreditamento.
+-- Le righe esistenti partono da 0; una decisione concorrente sulla stessa riga fallisce con 409.
+ALTER TABLE REQUEST_ACCR ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+ALTER TABLE accreditation_request ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
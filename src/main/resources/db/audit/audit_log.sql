@@ -0,0 +1,15 @@
+-- Registro di audit append-only scritto a batch da AuditLogger; l'applicazione non aggiorna ne' cancella righe.
+CREATE TABLE IF NOT EXISTS audit_log (
+    id            BIGSERIAL     NOT NULL PRIMARY KEY,
+    occurred_at   TIMESTAMP     NOT NULL,
+    action        VARCHAR(100)  NOT NULL,
+    actor_user_id BIGINT,
+    subject_type  VARCHAR(64),
+    subject_id    BIGINT,
+    detail        VARCHAR(4000)
+);
+
+CREATE INDEX IF NOT EXISTS idx_audit_log_subject ON audit_log (subject_type, subject_id, id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_actor ON audit_log (actor_user_id, id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_action ON audit_log (action, id);
+CREATE INDEX IF NOT EXISTS idx_audit_log_occurred_at ON audit_log (occurred_at);
@@ -0,0 +1,13 @@
+-- Famiglie di refresh token: una riga per sessione, con il digest SHA-256 del solo token corrente.
+-- La riga viene aggiornata a ogni rotazione ed eliminata su riuso, logout globale o scadenza.
+CREATE TABLE IF NOT EXISTS refresh_token_family (
+    family_id  UUID      NOT NULL PRIMARY KEY,
+    user_id    BIGINT    NOT NULL,
+    token_hash BYTEA     NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    rotated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_user_id ON refresh_token_family (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_token_family_expires_at ON refresh_token_family (expires_at);
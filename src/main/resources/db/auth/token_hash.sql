@@ -0,0 +1,33 @@
+-- Token monouso (reset password, verifica email) salvati come digest SHA-256 a 32 byte invece che in chiaro.
+-- I token gia' emessi restano validi: il digest viene calcolato dalla colonna esistente, poi eliminata.
+-- Indice univoco su bytea a lunghezza fissa: piu' compatto del varchar e senza collation nel confronto.
+ALTER TABLE password_reset_token ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+UPDATE password_reset_token SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL;
+ALTER TABLE password_reset_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE password_reset_token ADD CONSTRAINT ck_password_reset_token_token_hash CHECK (octet_length(token_hash) = 32);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_password_reset_token_token_hash ON password_reset_token (token_hash);
+ALTER TABLE password_reset_token DROP COLUMN IF EXISTS token;
+
+ALTER TABLE password_reset_tokens ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+UPDATE password_reset_tokens SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL;
+ALTER TABLE password_reset_tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE password_reset_tokens ADD CONSTRAINT ck_password_reset_tokens_token_hash CHECK (octet_length(token_hash) = 32);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_password_reset_tokens_token_hash ON password_reset_tokens (token_hash);
+DROP INDEX IF EXISTS idx_password_reset_token_token;
+ALTER TABLE password_reset_tokens DROP COLUMN IF EXISTS token;
+
+ALTER TABLE email_verification_token ADD COLUMN IF NOT EXISTS token_hash BYTEA;
+UPDATE email_verification_token SET token_hash = sha256(convert_to(token, 'UTF8')) WHERE token_hash IS NULL;
+ALTER TABLE email_verification_token ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE email_verification_token ADD CONSTRAINT ck_email_verification_token_token_hash CHECK (octet_length(token_hash) = 32);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_email_verification_token_token_hash ON email_verification_token (token_hash);
+ALTER TABLE email_verification_token DROP COLUMN IF EXISTS token;
+
+-- Il token di verifica dell'utente esterno e' facoltativo (azzerato dopo la verifica): l'indice univoco ammette i NULL.
+ALTER TABLE external_user ADD COLUMN IF NOT EXISTS email_verification_token_hash BYTEA;
+UPDATE external_user SET email_verification_token_hash = sha256(convert_to(email_verification_token, 'UTF8'))
+    WHERE email_verification_token IS NOT NULL AND email_verification_token_hash IS NULL;
+ALTER TABLE external_user ADD CONSTRAINT ck_external_user_email_verification_token_hash
+    CHECK (email_verification_token_hash IS NULL OR octet_length(email_verification_token_hash) = 32);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_external_user_email_verification_token_hash ON external_user (email_verification_token_hash);
+ALTER TABLE external_user DROP COLUMN IF EXISTS email_verification_token;
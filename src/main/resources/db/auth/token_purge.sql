@@ -0,0 +1,18 @@
+-- Lease dei job in background che devono girare su un solo nodo (es. auth-token-purge).
+-- Un nodo esegue il job solo se il lease e' scaduto o e' gia' suo; lo rinnova durante l'esecuzione.
+CREATE TABLE IF NOT EXISTS job_lease (
+    job_name    VARCHAR(100) NOT NULL PRIMARY KEY,
+    owner       VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMP    NOT NULL
+);
+
+-- Indici di supporto alle condizioni di pulizia, per non scandire le tabelle intere ad ogni chunk.
+CREATE INDEX IF NOT EXISTS idx_password_reset_token_expires_at ON password_reset_token (expires_at);
+CREATE INDEX IF NOT EXISTS idx_password_reset_tokens_expires_at ON password_reset_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_email_verification_token_expires_at ON email_verification_token (expires_at);
+CREATE INDEX IF NOT EXISTS idx_external_user_unverified_expiry ON external_user (email_verification_token_expiry)
+    WHERE is_email_verified = false;
+CREATE INDEX IF NOT EXISTS idx_external_user_account_confirmation_created_at
+    ON external_user_account (email_confirmation_token_created_at)
+    WHERE email_confirmation_token IS NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_password_reset_token_external_user_id ON password_reset_token (external_user_id);
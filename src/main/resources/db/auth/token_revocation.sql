@@ -0,0 +1,11 @@
+-- Watermark di revoca degli access token: per ogni utente sono revocati i token emessi prima di not_before.
+-- Una riga serve solo per la durata di un access token dopo not_before, poi viene eliminata dal janitor
+-- (TokenPurgeType.TOKEN_REVOCATION, un solo nodo alla volta tramite job_lease).
+CREATE TABLE IF NOT EXISTS token_revocation (
+    user_id    BIGINT    NOT NULL PRIMARY KEY,
+    not_before TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_token_revocation_updated_at ON token_revocation (updated_at);
+CREATE INDEX IF NOT EXISTS idx_token_revocation_not_before ON token_revocation (not_before);
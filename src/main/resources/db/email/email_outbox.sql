@@ -0,0 +1,18 @@
+-- Email in uscita scritte nella transazione di business e consegnate da EmailOutboxDispatcher.
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGSERIAL     NOT NULL PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    sender          VARCHAR(255),
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    html            BOOLEAN       NOT NULL,
+    status          VARCHAR(16)   NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP     NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP     NOT NULL,
+    sent_at         TIMESTAMP
+);
+
+-- Polling del dispatcher: status = 'PENDING' AND next_attempt_at <= ? ORDER BY next_attempt_at
+CREATE INDEX IF NOT EXISTS idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
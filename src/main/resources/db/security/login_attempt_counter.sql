@@ -0,0 +1,10 @@
+-- Contatori condivisi dei tentativi di login falliti (security.login.store=jdbc).
+-- Una riga per chiave ("id:<sha-256 esadecimale dell'identificativo>" o "ip:<address>"), finestra scorrevole su due bucket.
+CREATE TABLE IF NOT EXISTS login_attempt_counter (
+    counter_key    VARCHAR(320) NOT NULL PRIMARY KEY,
+    window_index   BIGINT       NOT NULL,
+    previous_count INTEGER      NOT NULL,
+    current_count  INTEGER      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_login_attempt_counter_window ON login_attempt_counter (window_index);
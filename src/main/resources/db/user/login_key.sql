@@ -0,0 +1,20 @@
+-- Chiavi di login normalizzate (trim + minuscolo) per username ed email.
+-- Il login cerca per uguaglianza esatta su una sola delle due colonne, senza OR ne' lower() a runtime.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username_key VARCHAR(255);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_key VARCHAR(255);
+
+UPDATE users SET username_key = lower(trim(username)) WHERE username_key IS NULL;
+UPDATE users SET email_key = lower(trim(email)) WHERE email_key IS NULL;
+
+-- Prima di creare gli indici univoci verificare che non esistano duplicati che differiscono solo per maiuscole:
+--   SELECT lower(trim(username)), count(*) FROM users GROUP BY 1 HAVING count(*) > 1;
+--   SELECT lower(trim(email)), count(*) FROM users GROUP BY 1 HAVING count(*) > 1;
+ALTER TABLE users ALTER COLUMN username_key SET NOT NULL;
+ALTER TABLE users ALTER COLUMN email_key SET NOT NULL;
+
+-- Indici coprenti: includono tutte le colonne della proiezione di login, quindi la query e' un solo
+-- index-only scan (nessun accesso alla tabella finche' la visibility map e' aggiornata dal vacuum).
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_key ON users (username_key)
+    INCLUDE (id, username, password_hash, first_name, last_name, role, enabled, banned);
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_key ON users (email_key)
+    INCLUDE (id, username, password_hash, first_name, last_name, role, enabled, banned);
@@ -4,6 +4,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -72,6 +73,36 @@ public class AccreditationControllerIT {
             .andExpect(jsonPath("$[0].status", is("PENDING")));
     }
 
+    @Test
+    @WithMockUser(username = "admin", roles = {"SYS_ADMIN"})
+    public void listRequests_shouldFollowKeysetCursorAcrossPages() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            RequestAccr request = new RequestAccr();
+            request.setExternalEmail("page" + i + "@example.com");
+            request.setStatus(AccreditationStatus.REJECTED);
+            request.setCreationDate(now().plusMinutes(i));
+            requestAccrRepository.save(request);
+        }
+
+        String cursor = mockMvc.perform(get("/api/accreditamento/requests")
+                .param("status", "REJECTED")
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].externalEmail", is("page2@example.com")))
+            .andExpect(header().exists(AccreditationController.NEXT_CURSOR_HEADER))
+            .andReturn().getResponse().getHeader(AccreditationController.NEXT_CURSOR_HEADER);
+
+        mockMvc.perform(get("/api/accreditamento/requests")
+                .param("status", "REJECTED")
+                .param("limit", "2")
+                .param("cursor", cursor))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].externalEmail", is("page0@example.com")))
+            .andExpect(header().doesNotExist(AccreditationController.NEXT_CURSOR_HEADER));
+    }
+
     @Test
     @WithMockUser(username = "operator", roles = {"IT_OPERATOR"})
     public void getDetail_shouldReturn404WhenNotFound() throws Exception {
@@ -0,0 +1,101 @@
+package com.elite.portal.modules.accreditamento.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaDettaglioDto;
+import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaFilterDto;
+import com.elite.portal.modules.accreditamento.dto.AccreditamentoRichiestaListItemDto;
+import com.elite.portal.shared.config.BackendApiProperties;
+import com.elite.portal.shared.http.BackendHttpClient;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class AccreditamentoRichiesteClientTest {
+
+    private HttpServer server;
+    private BackendHttpClient httpClient;
+    private AccreditamentoRichiesteClient client;
+    private final List<String> calls = new CopyOnWriteArrayList<>();
+    private final List<String> bodies = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/accreditation-requests", this::handle);
+        server.start();
+
+        BackendApiProperties properties = new BackendApiProperties();
+        properties.setBaseUrl("http://127.0.0.1:" + server.getAddress().getPort() + "/api");
+        properties.setHttp2Enabled(false);
+        httpClient = new BackendHttpClient(properties, new ObjectMapper().findAndRegisterModules());
+        client = new AccreditamentoRichiesteClient(httpClient, properties, 0L, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void searchHitIsOpenedAndDecidedOnTheSameResource() throws Exception {
+        AccreditamentoRichiestaFilterDto filter = new AccreditamentoRichiestaFilterDto();
+        filter.setStato("PENDING");
+        filter.setQuery("rossi");
+
+        List<AccreditamentoRichiestaListItemDto> hits = client.search(filter).get(5, TimeUnit.SECONDS);
+        assertThat(hits).hasSize(1);
+        Long id = hits.get(0).getId();
+
+        AccreditamentoRichiestaDettaglioDto dettaglio = client.getDettaglio(id).get(5, TimeUnit.SECONDS);
+        client.approva(id);
+        client.rifiuta(id, "Dati incompleti");
+
+        assertThat(dettaglio.getId()).isEqualTo(id);
+        assertThat(dettaglio.getEmailRichiedente()).isEqualTo("mario.rossi@example.com");
+        assertThat(dettaglio.getStato()).isEqualTo("PENDING");
+        assertThat(calls).containsExactly(
+            "GET /api/accreditation-requests",
+            "GET /api/accreditation-requests/42",
+            "POST /api/accreditation-requests/42/approve",
+            "POST /api/accreditation-requests/42/reject");
+        assertThat(bodies.get(bodies.size() - 1)).isEqualTo("{\"noteRifiuto\":\"Dati incompleti\"}");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        calls.add(exchange.getRequestMethod() + " " + path);
+        bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (path.endsWith("/accreditation-requests")) {
+            respond(exchange, "{\"data\":{\"content\":[{\"id\":42,\"requesterEmail\":\"mario.rossi@example.com\","
+                + "\"requesterFullName\":\"Mario Rossi\",\"status\":\"PENDING\",\"requestedRoleCode\":\"EXTERNAL\"}]}}");
+        } else if (path.endsWith("/42")) {
+            respond(exchange, "{\"data\":{\"id\":42,\"requesterEmail\":\"mario.rossi@example.com\","
+                + "\"requesterFullName\":\"Mario Rossi\",\"status\":\"PENDING\",\"requestedRoleCode\":\"EXTERNAL\"}}");
+        } else {
+            respond(exchange, "{\"data\":{\"id\":42}}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
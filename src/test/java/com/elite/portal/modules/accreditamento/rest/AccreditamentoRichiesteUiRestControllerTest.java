@@ -7,21 +7,28 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
@@ -59,10 +66,14 @@ public class AccreditamentoRichiesteUiRestControllerTest {
         item.setStato("PENDING");
 
         when(richiesteClient.search(any(AccreditamentoRichiestaFilterDto.class)))
-            .thenReturn(Collections.singletonList(item));
+            .thenReturn(CompletableFuture.completedFuture(Collections.singletonList(item)));
 
-        mockMvc.perform(get("/ui/api/accreditamento/richieste")
+        MvcResult started = mockMvc.perform(get("/ui/api/accreditamento/richieste")
                 .param("stato", "PENDING"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$", hasSize(1)))
             .andExpect(jsonPath("$[0].id", is(1)))
@@ -76,14 +87,34 @@ public class AccreditamentoRichiesteUiRestControllerTest {
         dettaglio.setId(5L);
         dettaglio.setRichiedente("Anna Bianchi");
 
-        when(richiesteClient.getDettaglio(5L)).thenReturn(dettaglio);
+        when(richiesteClient.getDettaglio(5L)).thenReturn(CompletableFuture.completedFuture(dettaglio));
+
+        MvcResult started = mockMvc.perform(get("/ui/api/accreditamento/richieste/5"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
 
-        mockMvc.perform(get("/ui/api/accreditamento/richieste/5"))
+        mockMvc.perform(asyncDispatch(started))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id", is(5)))
             .andExpect(jsonPath("$.richiedente", is("Anna Bianchi")));
     }
 
+    @Test
+    public void testDettaglioBackendNotFoundMapsTo404() throws Exception {
+        CompletableFuture<AccreditamentoRichiestaDettaglioDto> failed = new CompletableFuture<>();
+        failed.completeExceptionally(HttpClientErrorException.create(HttpStatus.NOT_FOUND, "Not Found", new HttpHeaders(), new byte[0], StandardCharsets.UTF_8));
+        when(richiesteClient.getDettaglio(6L)).thenReturn(failed);
+
+        MvcResult started = mockMvc.perform(get("/ui/api/accreditamento/richieste/6"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.success", is(false)))
+            .andExpect(jsonPath("$.message", is("Richiesta non trovata.")));
+    }
+
     @Test
     public void testApprovaOk() throws Exception {
         doNothing().when(richiesteClient).approva(10L);
@@ -1,18 +1,21 @@
 package com.elite.portal.modules.accreditamento.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -21,9 +24,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import com.elite.portal.modules.accreditamento.model.AccreditationStatus;
 import com.elite.portal.modules.accreditamento.model.RequestAccr;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueQuery;
+import com.elite.portal.modules.accreditamento.repository.RequestAccrQueueSort;
 import com.elite.portal.modules.accreditamento.repository.RequestAccrRepository;
 import com.elite.portal.modules.security.model.RoleType;
 import com.elite.portal.modules.security.model.UserAccount;
@@ -100,7 +106,7 @@ public class AccreditationServiceTest {
         saved.setApproverId(approverId);
         saved.setExternalUserId(10L);
 
-        given(requestAccrRepository.save(any(RequestAccr.class))).willReturn(saved);
+        given(requestAccrRepository.saveAndFlush(any(RequestAccr.class))).willReturn(saved);
 
         RequestAccr result = accreditationService.approveRequest(requestId, approverId);
 
@@ -111,7 +117,7 @@ public class AccreditationServiceTest {
         assertEquals(10L, result.getExternalUserId());
 
         verify(userAccountRepository).save(any(UserAccount.class));
-        verify(requestAccrRepository).save(any(RequestAccr.class));
+        verify(requestAccrRepository).saveAndFlush(any(RequestAccr.class));
     }
 
     @Test
@@ -149,7 +155,7 @@ public class AccreditationServiceTest {
         saved.setApproverId(approverId);
         saved.setRejectNote(note);
 
-        given(requestAccrRepository.save(any(RequestAccr.class))).willReturn(saved);
+        given(requestAccrRepository.saveAndFlush(any(RequestAccr.class))).willReturn(saved);
 
         RequestAccr result = accreditationService.rejectRequest(requestId, approverId, note);
 
@@ -159,6 +165,21 @@ public class AccreditationServiceTest {
         assertEquals(note, result.getRejectNote());
     }
 
+    @Test
+    public void rejectRequest_shouldFailWithConflictWhenDecidedConcurrently() {
+        Long requestId = 6L;
+        RequestAccr existing = new RequestAccr();
+        existing.setId(requestId);
+        existing.setStatus(AccreditationStatus.PENDING);
+        existing.setVersion(0L);
+
+        given(requestAccrRepository.findById(requestId)).willReturn(Optional.of(existing));
+        given(requestAccrRepository.saveAndFlush(any(RequestAccr.class)))
+            .willThrow(new ObjectOptimisticLockingFailureException(RequestAccr.class, requestId));
+
+        assertThrows(IllegalStateException.class, () -> accreditationService.rejectRequest(requestId, 1L, "nota"));
+    }
+
     @Test
     public void rejectRequest_shouldFailWhenNoteMissing() {
         Long requestId = 4L;
@@ -176,4 +197,60 @@ public class AccreditationServiceTest {
 
         assertThrows(IllegalStateException.class, () -> accreditationService.rejectRequest(requestId, 1L, "nota"));
     }
+
+    @Test
+    public void findQueuePage_shouldReadOneExtraRowAndEmitCursorForNextPage() {
+        LocalDateTime created = LocalDateTime.ofInstant(fixedClock.instant(), fixedClock.getZone());
+        RequestAccr first = request(30L, created);
+        RequestAccr second = request(20L, created);
+        RequestAccr extra = request(10L, created.minusDays(1));
+
+        given(requestAccrRepository.findQueueSlice(any(RequestAccrQueueQuery.class)))
+            .willReturn(Arrays.asList(first, second, extra));
+
+        RequestAccrQueueQuery query = new RequestAccrQueueQuery();
+        query.setLimit(2);
+        AccreditationQueuePage page = accreditationService.findQueuePage(query, null);
+
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(3, query.getLimit());
+        verify(requestAccrRepository, never()).findAll();
+
+        RequestAccrQueueQuery next = new RequestAccrQueueQuery();
+        next.setLimit(2);
+        given(requestAccrRepository.findQueueSlice(any(RequestAccrQueueQuery.class)))
+            .willReturn(Arrays.asList(extra));
+
+        AccreditationQueuePage lastPage = accreditationService.findQueuePage(next, page.getNextCursor());
+
+        assertEquals(20L, next.getAfterId());
+        assertEquals(created, next.getAfterCreationDate());
+        assertEquals(1, lastPage.getItems().size());
+        assertFalse(lastPage.hasNext());
+    }
+
+    @Test
+    public void findQueuePage_shouldRejectCursorIssuedForDifferentSort() {
+        given(requestAccrRepository.findQueueSlice(any(RequestAccrQueueQuery.class)))
+            .willReturn(Arrays.asList(request(2L, null), request(1L, null)));
+
+        RequestAccrQueueQuery byId = new RequestAccrQueueQuery();
+        byId.setSort(RequestAccrQueueSort.ID);
+        byId.setLimit(1);
+        String cursor = accreditationService.findQueuePage(byId, null).getNextCursor();
+
+        RequestAccrQueueQuery byDate = new RequestAccrQueueQuery();
+        assertThrows(IllegalArgumentException.class, () -> accreditationService.findQueuePage(byDate, cursor));
+        assertThrows(IllegalArgumentException.class, () -> accreditationService.findQueuePage(byDate, "not-a-cursor"));
+    }
+
+    private RequestAccr request(Long id, LocalDateTime creationDate) {
+        RequestAccr requestAccr = new RequestAccr();
+        requestAccr.setId(id);
+        requestAccr.setExternalEmail("queue" + id + "@example.com");
+        requestAccr.setStatus(AccreditationStatus.PENDING);
+        requestAccr.setCreationDate(creationDate);
+        return requestAccr;
+    }
 }
@@ -0,0 +1,53 @@
+package com.elite.portal.modules.accreditation.controller;
+
+import com.elite.portal.modules.accreditation.config.AccreditationExceptionHandler;
+import com.elite.portal.modules.accreditation.exception.AccreditationRequestConflictException;
+import com.elite.portal.modules.accreditation.service.AccreditationRequestService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AccreditationRequestConflictStatusTest {
+
+    private AccreditationRequestService accreditationRequestService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        accreditationRequestService = Mockito.mock(AccreditationRequestService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new AccreditationRequestController(accreditationRequestService))
+                .setControllerAdvice(new AccreditationExceptionHandler())
+                .build();
+    }
+
+    @Test
+    public void testConcurrentRejectReturnsConflict() throws Exception {
+        Mockito.when(accreditationRequestService.reject(eq(7L), any(), any()))
+                .thenThrow(new AccreditationRequestConflictException("Request has already been processed"));
+
+        mockMvc.perform(post("/api/accreditation-requests/7/reject")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"noteRifiuto\":\"Dati incompleti\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("CONCURRENT_DECISION"));
+    }
+
+    @Test
+    public void testConcurrentApproveReturnsConflict() throws Exception {
+        Mockito.when(accreditationRequestService.approve(eq(7L), any(), any()))
+                .thenThrow(new AccreditationRequestConflictException("Request has already been processed"));
+
+        mockMvc.perform(post("/api/accreditation-requests/7/approve"))
+                .andExpect(status().isConflict());
+    }
+}
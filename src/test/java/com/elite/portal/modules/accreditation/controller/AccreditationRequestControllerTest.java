@@ -39,7 +39,7 @@ public class AccreditationRequestControllerTest {
 
         Mockito.when(accreditationRequestService.findByStatus(eq("PENDING"), any(), eq(10L))).thenReturn(page);
 
-        ResponseEntity<ResponseEnvelope<PageResponseDto<AccreditationRequestListItemDto>>> response = controller.list("PENDING", PageRequest.of(0, 20), 10L);
+        ResponseEntity<ResponseEnvelope<PageResponseDto<AccreditationRequestListItemDto>>> response = controller.list("PENDING", null, PageRequest.of(0, 20), 10L);
 
         assertEquals(200, response.getStatusCodeValue());
         assertNotNull(response.getBody());
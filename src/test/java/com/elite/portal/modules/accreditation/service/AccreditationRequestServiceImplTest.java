@@ -1,8 +1,15 @@
 package com.elite.portal.modules.accreditation.service.impl;
 
+import com.elite.portal.modules.accreditamento.repository.AccreditamentoRichiestaRepository;
+import com.elite.portal.modules.accreditamento.repository.AccreditamentoUtenteEsternoRepository;
+import com.elite.portal.modules.accreditamento.search.AccreditationSearchService;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestApproveRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionRequestDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestBulkDecisionResultDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestDetailDto;
+import com.elite.portal.modules.accreditation.dto.AccreditationRequestListItemDto;
 import com.elite.portal.modules.accreditation.dto.AccreditationRequestRejectRequestDto;
+import com.elite.portal.modules.accreditation.exception.AccreditationRequestConflictException;
 import com.elite.portal.modules.accreditation.model.AccreditationRequest;
 import com.elite.portal.modules.accreditation.model.AccreditationRequestStatus;
 import com.elite.portal.modules.accreditation.repository.AccreditationRequestRepository;
@@ -11,12 +18,19 @@ import com.elite.portal.modules.user.service.UserService;
 import com.elite.portal.shared.audit.AuditLogger;
 import com.elite.portal.shared.error.BusinessException;
 import com.elite.portal.shared.error.ErrorCode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import javax.persistence.EntityManager;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -29,6 +43,8 @@ public class AccreditationRequestServiceImplTest {
     private AccreditationRequestRepository repository;
     private UserService userService;
     private AuditLogger auditLogger;
+    private AccreditationSearchService searchService;
+    private EntityManager entityManager;
     private AccreditationRequestServiceImpl service;
 
     @BeforeEach
@@ -36,7 +52,13 @@ public class AccreditationRequestServiceImplTest {
         repository = Mockito.mock(AccreditationRequestRepository.class);
         userService = Mockito.mock(UserService.class);
         auditLogger = Mockito.mock(AuditLogger.class);
-        service = new AccreditationRequestServiceImpl(repository, userService, auditLogger);
+        searchService = new AccreditationSearchService(
+                Mockito.mock(AccreditamentoUtenteEsternoRepository.class),
+                Mockito.mock(AccreditamentoRichiestaRepository.class),
+                repository, false, 1000);
+        entityManager = Mockito.mock(EntityManager.class);
+        Mockito.when(entityManager.unwrap(Session.class)).thenReturn(Mockito.mock(Session.class));
+        service = new AccreditationRequestServiceImpl(repository, userService, auditLogger, searchService, entityManager);
     }
 
     @Test
@@ -54,12 +76,13 @@ public class AccreditationRequestServiceImplTest {
         AccreditationRequestDetailDto result = service.approve(1L, approveDto, 10L);
 
         ArgumentCaptor<AccreditationRequest> captor = ArgumentCaptor.forClass(AccreditationRequest.class);
-        Mockito.verify(repository).save(captor.capture());
+        Mockito.verify(repository).saveAndFlush(captor.capture());
         AccreditationRequest saved = captor.getValue();
 
         assertEquals(AccreditationRequestStatus.APPROVED, saved.getStatus());
         assertEquals(10L, saved.getApproverId());
         assertEquals("APPROVED", result.getStatus());
+        Mockito.verify(auditLogger).log("ACCREDITATION_REQUEST_APPROVED", 10L, "ACCREDITATION_REQUEST", 1L, "EXTERNAL_USER");
     }
 
     @Test
@@ -73,7 +96,7 @@ public class AccreditationRequestServiceImplTest {
         AccreditationRequestDetailDto result = service.reject(1L, rejectDto, 11L);
 
         ArgumentCaptor<AccreditationRequest> captor = ArgumentCaptor.forClass(AccreditationRequest.class);
-        Mockito.verify(repository).save(captor.capture());
+        Mockito.verify(repository).saveAndFlush(captor.capture());
         AccreditationRequest saved = captor.getValue();
 
         assertEquals(AccreditationRequestStatus.REJECTED, saved.getStatus());
@@ -92,6 +115,135 @@ public class AccreditationRequestServiceImplTest {
         assertEquals(ErrorCode.INVALID_STATE, ex.getErrorCode());
     }
 
+    @Test
+    public void testRejectDecidedConcurrentlyThrowsConflict() {
+        AccreditationRequest request = buildPendingRequest();
+        Mockito.when(repository.findById(1L)).thenReturn(Optional.of(request));
+        Mockito.when(repository.saveAndFlush(any(AccreditationRequest.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(AccreditationRequest.class, 1L));
+
+        AccreditationRequestRejectRequestDto rejectDto = new AccreditationRequestRejectRequestDto();
+        rejectDto.setNoteRifiuto("Dati incompleti");
+
+        assertThrows(AccreditationRequestConflictException.class, () -> service.reject(1L, rejectDto, 11L));
+        Mockito.verifyNoInteractions(auditLogger);
+    }
+
+    @Test
+    public void testSearchRanksIndexedRequestsAndFiltersByStatus() {
+        AccreditationRequest nicolo = buildPendingRequest();
+        nicolo.setRequesterFullName("Niccolò D'Angelo");
+        nicolo.setRequesterEmail("n.dangelo@acme.it");
+        AccreditationRequest other = buildPendingRequest();
+        other.setId(2L);
+        other.setRequesterFullName("Giulia Bianchi");
+        other.setRequesterEmail("giulia@example.com");
+        other.setRejectionNotes("Manca la visura di Acme");
+        other.setStatus(AccreditationRequestStatus.REJECTED);
+        searchService.index(nicolo);
+        searchService.index(other);
+        Mockito.when(repository.findAllById(List.of(1L, 2L))).thenReturn(List.of(other, nicolo));
+        Mockito.when(repository.findAllById(List.of(1L))).thenReturn(List.of(nicolo));
+
+        Page<AccreditationRequestListItemDto> acme = service.search("acme", null, PageRequest.of(0, 10), 10L);
+        assertEquals(List.of(1L, 2L), acme.map(AccreditationRequestListItemDto::getId).getContent());
+
+        Page<AccreditationRequestListItemDto> pending = service.search("acme", "PENDING", PageRequest.of(0, 10), 10L);
+        assertEquals(1, pending.getTotalElements());
+
+        Page<AccreditationRequestListItemDto> fuzzy = service.search("dangelo nicolo", null, PageRequest.of(0, 10), 10L);
+        assertEquals(1L, fuzzy.getContent().get(0).getId());
+    }
+
+    @Test
+    public void testSearchFiltersByStatusBeforeTheResultCap() {
+        for (long id = 100; id < 100 + AccreditationSearchService.MAX_RESULTS; id++) {
+            AccreditationRequest rejected = buildPendingRequest();
+            rejected.setId(id);
+            rejected.setRequesterFullName("Acme Rossi");
+            rejected.setStatus(AccreditationRequestStatus.REJECTED);
+            searchService.index(rejected);
+        }
+        AccreditationRequest pendingRequest = buildPendingRequest();
+        pendingRequest.setRejectionNotes("referente Acme");
+        searchService.index(pendingRequest);
+        Mockito.when(repository.findAllById(List.of(1L))).thenReturn(List.of(pendingRequest));
+
+        Page<AccreditationRequestListItemDto> pending = service.search("acme", "PENDING", PageRequest.of(0, 10), 10L);
+
+        assertEquals(List.of(1L), pending.map(AccreditationRequestListItemDto::getId).getContent());
+    }
+
+    @Test
+    public void testBulkApproveLoadsOnceAndReportsPerItemOutcome() {
+        AccreditationRequest pending = buildPendingRequest();
+        AccreditationRequest processed = buildPendingRequest();
+        processed.setId(2L);
+        processed.setStatus(AccreditationRequestStatus.REJECTED);
+        Mockito.when(repository.findAllById(Mockito.<Iterable<Long>>any())).thenReturn(List.of(pending, processed));
+        User user = new User();
+        user.setId(99L);
+        Mockito.when(userService.enableOrCreateExternalUser(any(), any(), any(), any())).thenReturn(user);
+
+        AccreditationRequestBulkDecisionRequestDto bulk = new AccreditationRequestBulkDecisionRequestDto();
+        bulk.setIds(List.of(1L, 2L, 3L, 1L));
+        bulk.setDecision("approve");
+
+        AccreditationRequestBulkDecisionResultDto result = service.decideBulk(bulk, 10L);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(AccreditationRequestBulkDecisionResultDto.Outcome.APPROVED,
+                        AccreditationRequestBulkDecisionResultDto.Outcome.INVALID_STATE,
+                        AccreditationRequestBulkDecisionResultDto.Outcome.NOT_FOUND),
+                result.getResults().stream().map(AccreditationRequestBulkDecisionResultDto.Item::getOutcome).toList());
+        assertEquals(AccreditationRequestStatus.APPROVED, pending.getStatus());
+        assertEquals(10L, pending.getApproverId());
+        Mockito.verify(repository, Mockito.times(1)).findAllById(any());
+        Mockito.verify(repository, Mockito.never()).findById(any());
+        Mockito.verify(repository).saveAll(List.of(pending));
+        Mockito.verify(entityManager).flush();
+        Mockito.verify(auditLogger).log(eq("ACCREDITATION_REQUEST_BULK_APPROVED"), eq(10L), eq("ACCREDITATION_REQUEST"), eq(1L), eq("EXTERNAL_USER"));
+    }
+
+    @Test
+    public void testBulkRejectWritesOneAuditEventPerRequestAcrossChunks() {
+        List<AccreditationRequest> requests = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= AccreditationRequestServiceImpl.BULK_CHUNK_SIZE + 10; id++) {
+            AccreditationRequest request = buildPendingRequest();
+            request.setId(id);
+            requests.add(request);
+            ids.add(id);
+        }
+        Mockito.when(repository.findAllById(Mockito.<Iterable<Long>>any())).thenReturn(requests);
+
+        AccreditationRequestBulkDecisionRequestDto bulk = new AccreditationRequestBulkDecisionRequestDto();
+        bulk.setIds(ids);
+        bulk.setDecision("REJECT");
+        bulk.setNoteRifiuto("Documentazione incompleta");
+
+        service.decideBulk(bulk, 10L);
+
+        Mockito.verify(repository, Mockito.times(2)).saveAll(any());
+        for (Long id : ids) {
+            Mockito.verify(auditLogger).log("ACCREDITATION_REQUEST_BULK_REJECTED", 10L, "ACCREDITATION_REQUEST", id,
+                    "Documentazione incompleta");
+        }
+        Mockito.verify(auditLogger, Mockito.times(ids.size()))
+                .log(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void testBulkRejectRequiresNotes() {
+        AccreditationRequestBulkDecisionRequestDto bulk = new AccreditationRequestBulkDecisionRequestDto();
+        bulk.setIds(List.of(1L));
+        bulk.setDecision("REJECT");
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.decideBulk(bulk, 10L));
+        assertEquals(ErrorCode.VALIDATION_ERROR, ex.getErrorCode());
+    }
+
     private AccreditationRequest buildPendingRequest() {
         AccreditationRequest request = new AccreditationRequest();
         request.setId(1L);
@@ -8,12 +8,14 @@ import com.elite.portal.modules.auth.domain.ExternalUserType;
 import com.elite.portal.modules.auth.domain.UserAccountStatus;
 import com.elite.portal.modules.auth.domain.exception.EmailAlreadyInUseException;
 import com.elite.portal.modules.auth.domain.mapper.ExternalUserAccountMapper;
-import com.elite.portal.modules.auth.domain.policy.PasswordPolicyValidator;
+import com.elite.portal.modules.auth.domain.policy.BreachedPasswordFilter;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
+import com.elite.portal.modules.auth.service.PasswordHashingService;
+import com.elite.portal.shared.config.SecurityPasswordPolicyProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Locale;
 import java.util.Optional;
@@ -29,8 +31,8 @@ import static org.mockito.Mockito.when;
 public class ExternalRegistrationServiceTest {
 
     private ExternalUserAccountRepository repository;
-    private PasswordEncoder passwordEncoder;
-    private PasswordPolicyValidator passwordPolicyValidator;
+    private PasswordHashingService passwordHashingService;
+    private PasswordPolicy passwordPolicy;
     private ExternalUserAccountMapper mapper;
     private ApplicationEventPublisher eventPublisher;
 
@@ -39,11 +41,11 @@ public class ExternalRegistrationServiceTest {
     @BeforeEach
     void setUp() {
         repository = mock(ExternalUserAccountRepository.class);
-        passwordEncoder = mock(PasswordEncoder.class);
-        passwordPolicyValidator = mock(PasswordPolicyValidator.class);
+        passwordHashingService = mock(PasswordHashingService.class);
+        passwordPolicy = new PasswordPolicy(new SecurityPasswordPolicyProperties(), BreachedPasswordFilter.empty());
         mapper = new ExternalUserAccountMapper();
         eventPublisher = mock(ApplicationEventPublisher.class);
-        service = new ExternalRegistrationService(repository, passwordEncoder, passwordPolicyValidator, mapper, eventPublisher);
+        service = new ExternalRegistrationService(repository, passwordHashingService, passwordPolicy, mapper, eventPublisher);
     }
 
     @Test
@@ -58,8 +60,7 @@ public class ExternalRegistrationServiceTest {
         request.setLastName("Rossi");
 
         when(repository.findByEmailIgnoreCase("user@example.com")).thenReturn(Optional.empty());
-        when(passwordPolicyValidator.isValid("Abcd1234!")).thenReturn(true);
-        when(passwordEncoder.encode("Abcd1234!")).thenReturn("encodedPassword");
+        when(passwordHashingService.encode("Abcd1234!")).thenReturn("encodedPassword");
         when(repository.save(any(ExternalUserAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         ExternalRegistrationResponseDto response = service.registerExternalUser(request, Locale.ITALY);
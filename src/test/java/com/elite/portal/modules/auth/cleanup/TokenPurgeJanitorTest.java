@@ -0,0 +1,146 @@
+package com.elite.portal.modules.auth.cleanup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+public class TokenPurgeJanitorTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+    private final TokenPurgeStore store = mock(TokenPurgeStore.class);
+    private final TokenPurgeMetrics metrics = new TokenPurgeMetrics();
+    private TokenPurgeProperties properties;
+    private TokenPurgeJanitor janitor;
+
+    @BeforeEach
+    void setUp() {
+        properties = new TokenPurgeProperties();
+        properties.setChunkSize(100);
+        properties.setPauseMillis(0L);
+        janitor = new TokenPurgeJanitor(store, properties, metrics, clock);
+        when(store.tryAcquireLease(eq(TokenPurgeJanitor.JOB_NAME), anyString(), any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void deletesInChunksUntilAPartialChunkAndReportsPerType() {
+        when(store.deleteChunk(eq(TokenPurgeType.PASSWORD_RESET_TOKEN), any(), eq(100)))
+            .thenReturn(100, 100, 37);
+
+        TokenPurgeReport report = janitor.runOnce();
+
+        assertThat(report.isLeaseAcquired()).isTrue();
+        assertThat(report.getDeleted(TokenPurgeType.PASSWORD_RESET_TOKEN)).isEqualTo(237L);
+        assertThat(report.getTotalDeleted()).isEqualTo(237L);
+        verify(store, times(3)).deleteChunk(eq(TokenPurgeType.PASSWORD_RESET_TOKEN),
+            eq(clock.instant().minus(Duration.ofDays(1))), eq(100));
+        verify(store).releaseLease(eq(TokenPurgeJanitor.JOB_NAME), anyString(), any());
+        assertThat(metrics.getDeleted(TokenPurgeType.PASSWORD_RESET_TOKEN)).isEqualTo(237L);
+    }
+
+    @Test
+    void skipsRunWhenLeaseIsHeldByAnotherNode() {
+        when(store.tryAcquireLease(eq(TokenPurgeJanitor.JOB_NAME), anyString(), any(), any())).thenReturn(false);
+
+        TokenPurgeReport report = janitor.runOnce();
+
+        assertThat(report.isLeaseAcquired()).isFalse();
+        verify(store, never()).deleteChunk(any(), any(), anyInt());
+        verify(store, never()).releaseLease(anyString(), anyString(), any());
+        assertThat(metrics.getSkippedRuns()).isEqualTo(1L);
+    }
+
+    @Test
+    void revocationWatermarksArePurgedUnderTheJanitorLease() {
+        janitor.runOnce();
+
+        verify(store).deleteChunk(TokenPurgeType.TOKEN_REVOCATION, clock.instant().minus(Duration.ofDays(1)), 100);
+    }
+
+    @Test
+    void partialOverrideKeepsTheTypeDefaultRetention() {
+        TokenPurgeProperties.Type chunkOnly = new TokenPurgeProperties.Type();
+        chunkOnly.setChunkSize(5);
+        properties.getTypes().put(TokenPurgeType.UNVERIFIED_EXTERNAL_USER, chunkOnly);
+
+        janitor.runOnce();
+
+        verify(store).deleteChunk(TokenPurgeType.UNVERIFIED_EXTERNAL_USER, clock.instant().minus(Duration.ofDays(30)), 5);
+    }
+
+    @Test
+    void disabledTypeIsSkippedAndPerTypeChunkSizeIsUsed() {
+        TokenPurgeProperties.Type disabled = new TokenPurgeProperties.Type(Duration.ofDays(1));
+        disabled.setEnabled(false);
+        TokenPurgeProperties.Type small = new TokenPurgeProperties.Type(Duration.ofDays(30));
+        small.setChunkSize(10);
+        properties.getTypes().put(TokenPurgeType.PASSWORD_RESET_TOKEN, disabled);
+        properties.getTypes().put(TokenPurgeType.UNVERIFIED_EXTERNAL_USER, small);
+
+        janitor.runOnce();
+
+        verify(store, never()).deleteChunk(eq(TokenPurgeType.PASSWORD_RESET_TOKEN), any(), anyInt());
+        verify(store).deleteChunk(TokenPurgeType.UNVERIFIED_EXTERNAL_USER, clock.instant().minus(Duration.ofDays(30)), 10);
+    }
+
+    @Test
+    void failureOnOneTypeDoesNotStopTheOthers() {
+        when(store.deleteChunk(eq(TokenPurgeType.EMAIL_VERIFICATION_TOKEN), any(), anyInt()))
+            .thenThrow(new DataIntegrityViolationException("fk"));
+        when(store.deleteChunk(eq(TokenPurgeType.UNCONFIRMED_EXTERNAL_ACCOUNT), any(), anyInt())).thenReturn(5);
+
+        TokenPurgeReport report = janitor.runOnce();
+
+        assertThat(report.getDeleted(TokenPurgeType.EMAIL_VERIFICATION_TOKEN)).isZero();
+        assertThat(report.getDeleted(TokenPurgeType.UNCONFIRMED_EXTERNAL_ACCOUNT)).isEqualTo(5L);
+    }
+
+    @Test
+    void failingChunkFallsBackToSingleRowsAndSkipsOnlyTheBlockedOnes() {
+        Instant cutoff = clock.instant().minus(Duration.ofDays(30));
+        when(store.deleteChunk(eq(TokenPurgeType.PENDING_ACTIVATION_USER), any(), anyInt()))
+            .thenThrow(new DataIntegrityViolationException("fk"));
+        when(store.findCandidates(TokenPurgeType.PENDING_ACTIVATION_USER, cutoff, null, 100))
+            .thenReturn(List.of("(0,1)", "(0,2)", "(0,3)"));
+        when(store.deleteRow(TokenPurgeType.PENDING_ACTIVATION_USER, cutoff, "(0,1)")).thenReturn(1);
+        when(store.deleteRow(TokenPurgeType.PENDING_ACTIVATION_USER, cutoff, "(0,2)"))
+            .thenThrow(new DataIntegrityViolationException("fk"));
+        when(store.deleteRow(TokenPurgeType.PENDING_ACTIVATION_USER, cutoff, "(0,3)")).thenReturn(1);
+
+        TokenPurgeReport report = janitor.runOnce();
+
+        assertThat(report.getDeleted(TokenPurgeType.PENDING_ACTIVATION_USER)).isEqualTo(2L);
+        verify(store, times(1)).findCandidates(eq(TokenPurgeType.PENDING_ACTIVATION_USER), any(), isNull(), anyInt());
+        verify(store).deleteChunk(eq(TokenPurgeType.DISABLED_UNACTIVATED_USER), any(), anyInt());
+    }
+
+    @Test
+    void activationTokenUsersOfCoreAndBackendArePurgedRolesFirst() {
+        janitor.runOnce();
+
+        Instant cutoff = clock.instant().minus(Duration.ofDays(30));
+        InOrder order = inOrder(store);
+        order.verify(store).deleteChunk(TokenPurgeType.PENDING_ACTIVATION_USER_ROLE, cutoff, 100);
+        order.verify(store).deleteChunk(TokenPurgeType.PENDING_ACTIVATION_USER, cutoff, 100);
+        order.verify(store).deleteChunk(TokenPurgeType.DISABLED_UNACTIVATED_USER, cutoff, 100);
+    }
+}
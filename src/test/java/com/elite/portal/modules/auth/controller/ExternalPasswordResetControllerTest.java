@@ -3,10 +3,15 @@ package com.elite.portal.modules.auth.controller;
 import com.elite.portal.modules.auth.dto.ForgotPasswordRequestDto;
 import com.elite.portal.modules.auth.service.ExternalPasswordResetService;
 import com.elite.portal.shared.logging.AppLogger;
+import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.filter.ForwardedHeaderFilter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.times;
@@ -22,9 +27,30 @@ public class ExternalPasswordResetControllerTest {
 
         ForgotPasswordRequestDto dto = new ForgotPasswordRequestDto("user@example.com");
 
-        ResponseEntity<Void> response = controller.forgotPassword(dto);
+        HttpServletRequest httpRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(httpRequest.getRemoteAddr()).thenReturn("10.0.0.1");
+
+        ResponseEntity<Void> response = controller.forgotPassword(dto, httpRequest);
 
         assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
-        verify(service, times(1)).handleForgotPassword("user@example.com");
+        verify(service, times(1)).handleForgotPassword("user@example.com", "10.0.0.1");
+    }
+
+    @Test
+    public void testForgotPassword_UsesForwardedClientAddressBehindProxy() throws Exception {
+        ExternalPasswordResetService service = Mockito.mock(ExternalPasswordResetService.class);
+        ExternalPasswordResetController controller =
+                new ExternalPasswordResetController(service, Mockito.mock(AppLogger.class));
+
+        MockHttpServletRequest proxied = new MockHttpServletRequest("POST", "/api/auth/password/forgot");
+        proxied.setRemoteAddr("10.0.0.254");
+        proxied.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.254");
+        MockFilterChain chain = new MockFilterChain();
+        new ForwardedHeaderFilter().doFilter(proxied, new MockHttpServletResponse(), chain);
+
+        controller.forgotPassword(new ForgotPasswordRequestDto("user@example.com"),
+                (HttpServletRequest) chain.getRequest());
+
+        verify(service, times(1)).handleForgotPassword("user@example.com", "203.0.113.7");
     }
 }
@@ -0,0 +1,59 @@
+package com.elite.portal.modules.auth.domain.policy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BreachedPasswordFilterTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsDigestsOfNonAsciiPasswordsEncodedLikeStringGetBytes() throws Exception {
+        String[] passwords = {"pässwörd", "пароль123", "密码密码", "emoji😀", "lone\uD800surrogate"};
+        BreachedPasswordFilter filter = BreachedPasswordFilter.create(100, 0.001, BreachedPasswordFilter.MAX_BYTES);
+        for (String password : passwords) {
+            filter.putSha1(sha1(password));
+        }
+
+        for (String password : passwords) {
+            assertTrue(filter.mightContain(password), password);
+        }
+    }
+
+    @Test
+    void refusesFiltersAboveTheSizeCap() {
+        assertThrows(IllegalArgumentException.class, () -> BreachedPasswordFilter.create(1_000_000, 0.001, 1024));
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        BreachedPasswordFilter built = BreachedPasswordFilter.create(1_000, 0.001, BreachedPasswordFilter.MAX_BYTES);
+        Path file = directory.resolve("breached-passwords.bloom");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            built.writeTo(out);
+        }
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 8));
+
+        IOException error = assertThrows(IOException.class, () -> BreachedPasswordFilter.map(file));
+        assertEquals("Dimensione del filtro password violate non valida: " + file, error.getMessage());
+    }
+
+    private static byte[] sha1(String password) throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+    }
+}
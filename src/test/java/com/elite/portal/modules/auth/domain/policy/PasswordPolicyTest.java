@@ -0,0 +1,77 @@
+package com.elite.portal.modules.auth.domain.policy;
+
+import com.elite.portal.shared.config.SecurityPasswordPolicyProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordPolicyTest {
+
+    private final SecurityPasswordPolicyProperties properties = new SecurityPasswordPolicyProperties();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void acceptsPasswordWithAllRequiredClasses() {
+        PasswordPolicy policy = new PasswordPolicy(properties, BreachedPasswordFilter.empty());
+
+        assertTrue(policy.evaluate("Abcdef1!").isEmpty());
+        assertTrue(policy.isValid("Àbcdéf1 "));
+    }
+
+    @Test
+    void reportsEveryViolationAtOnce() {
+        PasswordPolicy policy = new PasswordPolicy(properties, BreachedPasswordFilter.empty());
+
+        assertEquals(EnumSet.of(PasswordPolicyViolation.TOO_SHORT, PasswordPolicyViolation.MISSING_UPPERCASE,
+                        PasswordPolicyViolation.MISSING_DIGIT, PasswordPolicyViolation.MISSING_SPECIAL),
+                policy.evaluate("abc"));
+        assertEquals(EnumSet.of(PasswordPolicyViolation.MISSING_LOWERCASE), policy.evaluate("ABCDEF1!"));
+        assertEquals(EnumSet.of(PasswordPolicyViolation.TOO_SHORT), policy.evaluate(null));
+    }
+
+    @Test
+    void rejectsOversizedInputWithoutFurtherChecks() {
+        PasswordPolicy policy = new PasswordPolicy(properties, BreachedPasswordFilter.empty());
+
+        assertEquals(EnumSet.of(PasswordPolicyViolation.TOO_LONG), policy.evaluate("a".repeat(10_000)));
+    }
+
+    @Test
+    void honoursDisabledRequirements() {
+        properties.setRequireSpecial(false);
+        properties.setRequireUppercase(false);
+        properties.setMinLength(4);
+        PasswordPolicy policy = new PasswordPolicy(properties, BreachedPasswordFilter.empty());
+
+        assertTrue(policy.isValid("abc1"));
+    }
+
+    @Test
+    void rejectsBreachedPasswordFromFilterReadBackFromDisk() throws Exception {
+        BreachedPasswordFilter built = BreachedPasswordFilter.create(1_000, 0.001, BreachedPasswordFilter.MAX_BYTES);
+        built.put("Password1!");
+        Path file = directory.resolve("breached-passwords.bloom");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            built.writeTo(out);
+        }
+        BreachedPasswordFilter filter = BreachedPasswordFilter.map(file);
+
+        PasswordPolicy policy = new PasswordPolicy(properties, filter);
+
+        assertEquals(EnumSet.of(PasswordPolicyViolation.BREACHED), policy.evaluate("Password1!"));
+        assertTrue(policy.isValid("Tr0ub4dor&3x"));
+
+        properties.setBreachedCheck(false);
+        assertFalse(new PasswordPolicy(properties, filter).evaluate("Password1!").contains(PasswordPolicyViolation.BREACHED));
+    }
+}
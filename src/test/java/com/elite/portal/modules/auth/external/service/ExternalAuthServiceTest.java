@@ -2,13 +2,16 @@ package com.elite.portal.modules.auth.external.service;
 
 import com.elite.portal.modules.auth.external.dto.ExternalLoginRequestDto;
 import com.elite.portal.modules.auth.external.dto.ExternalLoginResponseDto;
+import com.elite.portal.modules.auth.external.dto.ExternalRefreshRequestDto;
 import com.elite.portal.modules.auth.security.JwtTokenProvider;
 import com.elite.portal.modules.auth.security.LoginAttemptService;
+import com.elite.portal.modules.auth.security.RefreshTokenService;
 import com.elite.portal.modules.auth.service.PasswordHashingService;
 import com.elite.portal.modules.common.exception.BusinessException;
 import com.elite.portal.modules.common.exception.ErrorCode;
 import com.elite.portal.modules.user.domain.User;
 import com.elite.portal.modules.user.enums.UserRole;
+import com.elite.portal.modules.user.repository.UserLoginView;
 import com.elite.portal.modules.user.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,8 +22,10 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 public class ExternalAuthServiceTest {
@@ -29,6 +34,7 @@ public class ExternalAuthServiceTest {
     private PasswordHashingService passwordHashingService;
     private JwtTokenProvider jwtTokenProvider;
     private LoginAttemptService loginAttemptService;
+    private RefreshTokenService refreshTokenService;
     private ExternalAuthService externalAuthService;
 
     @BeforeEach
@@ -37,7 +43,9 @@ public class ExternalAuthServiceTest {
         passwordHashingService = Mockito.mock(PasswordHashingService.class);
         jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
         loginAttemptService = Mockito.mock(LoginAttemptService.class);
-        externalAuthService = new ExternalAuthService(userRepository, passwordHashingService, jwtTokenProvider, loginAttemptService);
+        refreshTokenService = Mockito.mock(RefreshTokenService.class);
+        externalAuthService = new ExternalAuthService(userRepository, passwordHashingService, jwtTokenProvider,
+                loginAttemptService, refreshTokenService);
     }
 
     @Test
@@ -54,11 +62,12 @@ public class ExternalAuthServiceTest {
         user.setPasswordHash("encoded");
 
         when(loginAttemptService.isBlocked(anyString(), anyString())).thenReturn(false);
-        when(userRepository.findByUsernameOrEmail("external.user", "external.user"))
-                .thenReturn(Optional.of(user));
+        UserLoginView view = loginView(user);
+        when(userRepository.findLoginView("external.user")).thenReturn(Optional.of(view));
         when(passwordHashingService.matches("Password1!", "encoded")).thenReturn(true);
         when(jwtTokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("jwt-token");
         when(jwtTokenProvider.getAccessTokenValiditySeconds()).thenReturn(3600L);
+        when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
 
         ExternalLoginRequestDto requestDto = new ExternalLoginRequestDto("external.user", "Password1!");
 
@@ -68,6 +77,8 @@ public class ExternalAuthServiceTest {
         assertEquals(1L, responseDto.getUserId());
         assertEquals("jwt-token", responseDto.getAccessToken());
         assertEquals("EXTERNAL", responseDto.getRuolo());
+        assertEquals("refresh-token", responseDto.getRefreshToken());
+        Mockito.verify(passwordHashingService).upgradeInBackground(eq("Password1!"), eq("encoded"), any());
     }
 
     @Test
@@ -84,8 +95,9 @@ public class ExternalAuthServiceTest {
         user.setPasswordHash("encoded");
 
         when(loginAttemptService.isBlocked(anyString(), anyString())).thenReturn(false);
-        when(userRepository.findByUsernameOrEmail("internal.user", "internal.user"))
-                .thenReturn(Optional.of(user));
+        UserLoginView view = loginView(user);
+        when(userRepository.findLoginView("internal.user")).thenReturn(Optional.of(view));
+        when(passwordHashingService.matches("Password1!", "encoded")).thenReturn(true);
 
         ExternalLoginRequestDto requestDto = new ExternalLoginRequestDto("internal.user", "Password1!");
 
@@ -98,8 +110,7 @@ public class ExternalAuthServiceTest {
     @Test
     void login_shouldThrowWhenCredentialsInvalid() {
         when(loginAttemptService.isBlocked(anyString(), anyString())).thenReturn(false);
-        when(userRepository.findByUsernameOrEmail("unknown", "unknown"))
-                .thenReturn(Optional.empty());
+        when(userRepository.findLoginView("unknown")).thenReturn(Optional.empty());
 
         ExternalLoginRequestDto requestDto = new ExternalLoginRequestDto("unknown", "Password1!");
 
@@ -107,5 +118,102 @@ public class ExternalAuthServiceTest {
                 () -> externalAuthService.login(requestDto, "127.0.0.1"));
 
         assertEquals(ErrorCode.INVALID_CREDENTIALS, ex.getErrorCode());
+        Mockito.verify(passwordHashingService).verifyAgainstDummyHash("Password1!");
+        Mockito.verify(loginAttemptService).onLoginFailure("unknown", "127.0.0.1");
+    }
+
+    @Test
+    void login_shouldNotRevealAccountStatusWithoutValidPassword() {
+        User user = externalUser();
+        user.setEnabled(false);
+        UserLoginView view = loginView(user);
+        when(userRepository.findLoginView("external.user")).thenReturn(Optional.of(view));
+        when(passwordHashingService.matches("wrong", "encoded")).thenReturn(false);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> externalAuthService.login(new ExternalLoginRequestDto("external.user", "wrong"), "127.0.0.1"));
+
+        assertEquals(ErrorCode.INVALID_CREDENTIALS, ex.getErrorCode());
+    }
+
+    @Test
+    void login_shouldRejectBlockedCallerBeforeAnyLookupOrHashing() {
+        when(loginAttemptService.isBlocked("external.user", "127.0.0.1")).thenReturn(true);
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> externalAuthService.login(new ExternalLoginRequestDto("external.user", "Password1!"), "127.0.0.1"));
+
+        assertEquals(ErrorCode.LOGIN_ATTEMPTS_EXCEEDED, ex.getErrorCode());
+        Mockito.verifyNoInteractions(passwordHashingService, userRepository);
+    }
+
+    @Test
+    void refresh_shouldRotateTokenWithoutCheckingPassword() {
+        User user = externalUser();
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation(1L, "new-refresh")));
+        UserLoginView view = loginView(user);
+        when(userRepository.findLoginViewById(1L)).thenReturn(Optional.of(view));
+        when(jwtTokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("jwt-token");
+
+        ExternalLoginResponseDto responseDto =
+                externalAuthService.refresh(new ExternalRefreshRequestDto("old-refresh"), "127.0.0.1");
+
+        assertEquals("jwt-token", responseDto.getAccessToken());
+        assertEquals("new-refresh", responseDto.getRefreshToken());
+        Mockito.verifyNoInteractions(passwordHashingService);
+    }
+
+    @Test
+    void refresh_shouldRejectInvalidOrReusedToken() {
+        when(refreshTokenService.rotate("reused")).thenReturn(Optional.empty());
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> externalAuthService.refresh(new ExternalRefreshRequestDto("reused"), "127.0.0.1"));
+
+        assertEquals(ErrorCode.INVALID_REFRESH_TOKEN, ex.getErrorCode());
+    }
+
+    @Test
+    void refresh_shouldRevokeSessionsOfBannedUser() {
+        User user = externalUser();
+        user.setBanned(true);
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(Optional.of(new RefreshTokenService.Rotation(1L, "new-refresh")));
+        UserLoginView view = loginView(user);
+        when(userRepository.findLoginViewById(1L)).thenReturn(Optional.of(view));
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> externalAuthService.refresh(new ExternalRefreshRequestDto("old-refresh"), "127.0.0.1"));
+
+        assertEquals(ErrorCode.USER_DISABLED, ex.getErrorCode());
+        Mockito.verify(refreshTokenService).revokeAll(1L);
+    }
+
+    private static User externalUser() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("external.user");
+        user.setEmail("external@elite.com");
+        user.setFirstName("Mario");
+        user.setLastName("Rossi");
+        user.setRole(UserRole.EXTERNAL);
+        user.setEnabled(true);
+        user.setBanned(false);
+        user.setPasswordHash("encoded");
+        return user;
+    }
+
+    private static UserLoginView loginView(User user) {
+        UserLoginView view = Mockito.mock(UserLoginView.class);
+        when(view.getId()).thenReturn(user.getId());
+        when(view.getUsername()).thenReturn(user.getUsername());
+        when(view.getPasswordHash()).thenReturn(user.getPasswordHash());
+        when(view.getFirstName()).thenReturn(user.getFirstName());
+        when(view.getLastName()).thenReturn(user.getLastName());
+        when(view.getRole()).thenReturn(user.getRole());
+        when(view.isEnabled()).thenReturn(user.isEnabled());
+        when(view.isBanned()).thenReturn(user.isBanned());
+        return view;
     }
 }
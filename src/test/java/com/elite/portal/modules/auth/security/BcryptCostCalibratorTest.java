@@ -0,0 +1,25 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BcryptCostCalibratorTest {
+
+    // ogni punto di costo raddoppia il tempo: costo 10 = 64 ms
+    private static long simulated(int cost) {
+        return 64L << (cost - 10);
+    }
+
+    @Test
+    void picksHighestCostWithinTarget() {
+        assertEquals(11, new BcryptCostCalibrator(10, 14, 150L, BcryptCostCalibratorTest::simulated).calibrate());
+        assertEquals(12, new BcryptCostCalibrator(10, 14, 300L, BcryptCostCalibratorTest::simulated).calibrate());
+    }
+
+    @Test
+    void neverGoesBelowMinimumOrAboveMaximum() {
+        assertEquals(10, new BcryptCostCalibrator(10, 14, 20L, BcryptCostCalibratorTest::simulated).calibrate());
+        assertEquals(12, new BcryptCostCalibrator(10, 12, 10_000L, BcryptCostCalibratorTest::simulated).calibrate());
+    }
+}
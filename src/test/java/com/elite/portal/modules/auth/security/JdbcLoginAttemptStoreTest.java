@@ -0,0 +1,78 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Store JDBC contro un Postgres reale (lo script usa {@code ON CONFLICT ... RETURNING}): i fallimenti
+ * devono restare registrati anche se la transazione del login e' di sola lettura e va in rollback.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class JdbcLoginAttemptStoreTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+    private static final long NOW = 1_704_103_200_000L;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyLoginTransaction;
+    private JdbcLoginAttemptStore store;
+
+    @BeforeAll
+    static void createSchema() {
+        dataSource = new DriverManagerDataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/security/login_attempt_counter.sql")).execute(dataSource);
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("DELETE FROM login_attempt_counter");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyLoginTransaction = new TransactionTemplate(transactionManager);
+        readOnlyLoginTransaction.setReadOnly(true);
+        store = new JdbcLoginAttemptStore(jdbcTemplate, transactionManager);
+    }
+
+    @Test
+    void failuresAreKeptWhenTheReadOnlyLoginTransactionRollsBack() {
+        for (int i = 0; i < 3; i++) {
+            assertThrows(IllegalStateException.class, () -> readOnlyLoginTransaction.executeWithoutResult(status -> {
+                store.recordFailure("id:mario", NOW, WINDOW_MILLIS);
+                throw new IllegalStateException("credenziali non valide");
+            }));
+        }
+
+        assertEquals(3.0d, store.estimate("id:mario", NOW + 1_000, WINDOW_MILLIS), 0.0001d);
+    }
+
+    @Test
+    void upsertRotatesWindowAndResetDeletesCounter() {
+        for (int i = 0; i < 4; i++) {
+            store.recordFailure("ip:10.0.0.1", NOW, WINDOW_MILLIS);
+        }
+        double estimate = store.recordFailure("ip:10.0.0.1", NOW + WINDOW_MILLIS + WINDOW_MILLIS / 2, WINDOW_MILLIS);
+
+        assertEquals(3.0d, estimate, 0.0001d);
+
+        store.reset("ip:10.0.0.1");
+        assertEquals(0.0d, store.estimate("ip:10.0.0.1", NOW + WINDOW_MILLIS, WINDOW_MILLIS), 0.0001d);
+    }
+}
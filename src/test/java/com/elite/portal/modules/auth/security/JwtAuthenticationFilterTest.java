@@ -0,0 +1,109 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class JwtAuthenticationFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final TokenRevocationRegistry revocations = new TokenRevocationRegistry();
+    private final JwtTokenProvider provider = new JwtTokenProvider("current-secret-current-secret-0123456789",
+            900L, "k1", "", 100, revocations, Clock.fixed(NOW, ZoneOffset.UTC));
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesRequestWithValidBearerToken() throws Exception {
+        MockHttpServletRequest request = bearer(provider.generateToken(42L, "mario", "EXTERNAL"));
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+        assertNotNull(seen.get());
+        assertEquals(42L, seen.get().getPrincipal());
+        assertEquals("ROLE_EXTERNAL", seen.get().getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void rejectsTokenIssuedBeforeTheRevocationWatermark() throws Exception {
+        MockHttpServletRequest request = bearer(provider.generateToken(42L, "mario", "EXTERNAL"));
+        revocations.revokeIssuedUpTo(42L, NOW.plusMillis(1));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void refreshIsReachableWithAnExpiredBearerToken() throws Exception {
+        MockHttpServletRequest request = bearer(expiredToken());
+        request.setMethod("POST");
+        request.setRequestURI("/api/auth/external/refresh");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void rejectsExpiredBearerTokenOnOtherApis() throws Exception {
+        MockHttpServletRequest request = bearer(expiredToken());
+        request.setRequestURI("/api/accreditation-requests");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(401, response.getStatus());
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    void letsRequestsWithoutTokenThroughUnauthenticated() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private String expiredToken() {
+        JwtTokenProvider earlier = new JwtTokenProvider("current-secret-current-secret-0123456789",
+                900L, "k1", "", 100, revocations, Clock.fixed(NOW.minusSeconds(3600), ZoneOffset.UTC));
+        return earlier.generateToken(42L, "mario", "EXTERNAL");
+    }
+
+    private static MockHttpServletRequest bearer(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+}
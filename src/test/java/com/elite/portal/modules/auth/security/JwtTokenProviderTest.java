@@ -0,0 +1,151 @@
+package com.elite.portal.modules.auth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "current-secret-current-secret-0123456789";
+    private static final String OLD_SECRET = "previous-secret-previous-secret-01234567";
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2024-03-01T10:00:00Z"));
+    private final TokenRevocationRegistry revocations = new TokenRevocationRegistry();
+
+    private JwtTokenProvider provider(String keyId, String secret, String previousKeys) {
+        return new JwtTokenProvider(secret, 3600L, keyId, previousKeys, 100, revocations, clock);
+    }
+
+    @Test
+    void verifiesGeneratedTokenAndServesRepeatedVerificationsFromCache() {
+        JwtTokenProvider provider = provider("k2", SECRET, "");
+        String token = provider.generateToken(42L, "mario", "EXTERNAL");
+
+        Optional<VerifiedToken> first = provider.verify(token);
+        Optional<VerifiedToken> second = provider.verify(token);
+
+        assertTrue(first.isPresent());
+        assertEquals(42L, first.get().getUserId());
+        assertEquals("mario", first.get().getUsername());
+        assertEquals("EXTERNAL", first.get().getRole());
+        assertEquals("k2", first.get().getKeyId());
+        assertSame(first.get(), second.get());
+        assertEquals(1, provider.cachedTokenCount());
+    }
+
+    @Test
+    void acceptsTokensSignedWithPreviousKeyAfterRotation() {
+        String oldToken = provider("k1", OLD_SECRET, "").generateToken(7L, "anna", "EXTERNAL");
+
+        JwtTokenProvider rotated = provider("k2", SECRET, "k1:" + OLD_SECRET);
+
+        assertTrue(rotated.verify(oldToken).isPresent());
+        assertFalse(provider("k2", SECRET, "").verify(oldToken).isPresent());
+    }
+
+    @Test
+    void rejectsTamperedExpiredAndForeignAlgorithmTokens() {
+        JwtTokenProvider provider = provider("k2", SECRET, "");
+        String token = provider.generateToken(42L, "mario", "EXTERNAL");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + parts[1] + "x." + parts[2];
+        String hs512 = Jwts.builder()
+                .setHeaderParam("kid", "k2")
+                .setSubject("42")
+                .setExpiration(Date.from(clock.instant().plusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor((SECRET + SECRET).getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertFalse(provider.verify(tampered).isPresent());
+        assertFalse(provider.verify(hs512).isPresent());
+        assertFalse(provider.verify(null).isPresent());
+
+        assertTrue(provider.verify(token).isPresent());
+        clock.advance(Duration.ofHours(2));
+        assertFalse(provider.verify(token).isPresent());
+        assertEquals(0, provider.cachedTokenCount());
+    }
+
+    @Test
+    void rejectsCachedTokensIssuedBeforeTheRevocationWatermark() {
+        JwtTokenProvider provider = provider("k2", SECRET, "");
+        String revoked = provider.generateToken(42L, "mario", "EXTERNAL");
+        String otherUser = provider.generateToken(43L, "anna", "EXTERNAL");
+        assertTrue(provider.verify(revoked).isPresent());
+
+        clock.advance(Duration.ofSeconds(5));
+        revocations.revokeIssuedUpTo(42L, clock.instant());
+        clock.advance(Duration.ofSeconds(1));
+        String reissued = provider.generateToken(42L, "mario", "EXTERNAL");
+
+        assertFalse(provider.verify(revoked).isPresent());
+        assertTrue(provider.verify(otherUser).isPresent());
+        assertTrue(provider.verify(reissued).isPresent());
+    }
+
+    @Test
+    void tokenIssuedLaterInTheSameSecondAsTheRevocationStaysValid() {
+        JwtTokenProvider provider = provider("k2", SECRET, "");
+        String revoked = provider.generateToken(42L, "mario", "EXTERNAL");
+
+        clock.advance(Duration.ofMillis(200));
+        revocations.revokeIssuedUpTo(42L, clock.instant());
+        clock.advance(Duration.ofMillis(300));
+        String reissued = provider.generateToken(42L, "mario", "EXTERNAL");
+
+        assertFalse(provider.verify(revoked).isPresent());
+        assertTrue(provider.verify(reissued).isPresent());
+    }
+
+    @Test
+    void cacheStaysBounded() {
+        JwtTokenProvider provider = provider("k2", SECRET, "");
+        for (long i = 0; i < 500; i++) {
+            assertTrue(provider.verify(provider.generateToken(i, "u" + i, "EXTERNAL")).isPresent());
+        }
+        assertTrue(provider.cachedTokenCount() <= 101);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoginAttemptServiceTest {
+
+    private MutableClock clock;
+    private LoginAttemptService loginAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T10:00:00Z"));
+        loginAttemptService = new LoginAttemptService(3, 10, 60, new InMemoryLoginAttemptStore(1000, 3), clock);
+    }
+
+    @Test
+    void blocksIdentifierAfterMaxAttemptsFromAnyIp() {
+        loginAttemptService.onLoginFailure("mario", "10.0.0.1");
+        loginAttemptService.onLoginFailure("MARIO", "10.0.0.2");
+        assertFalse(loginAttemptService.isBlocked("mario", "10.0.0.3"));
+
+        loginAttemptService.onLoginFailure("mario", "10.0.0.3");
+
+        assertTrue(loginAttemptService.isBlocked("mario", "10.0.0.4"));
+        assertFalse(loginAttemptService.isBlocked("luigi", "10.0.0.4"));
+    }
+
+    @Test
+    void blocksIpAfterMaxAttemptsAcrossIdentifiers() {
+        for (int i = 0; i < 10; i++) {
+            loginAttemptService.onLoginFailure("user" + i, "10.0.0.1");
+        }
+
+        assertTrue(loginAttemptService.isBlocked("someone-else", "10.0.0.1"));
+        assertFalse(loginAttemptService.isBlocked("someone-else", "10.0.0.2"));
+    }
+
+    @Test
+    void slidingWindowReleasesBlockGradually() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.onLoginFailure("mario", "10.0.0.1");
+        }
+        assertTrue(loginAttemptService.isBlocked("mario", "10.0.0.1"));
+
+        clock.advanceSeconds(70);
+        assertFalse(loginAttemptService.isBlocked("mario", "10.0.0.1"));
+
+        clock.advanceSeconds(120);
+        loginAttemptService.onLoginFailure("mario", "10.0.0.1");
+        assertFalse(loginAttemptService.isBlocked("mario", "10.0.0.1"));
+    }
+
+    @Test
+    void successResetsIdentifierButNotIp() {
+        for (int i = 0; i < 3; i++) {
+            loginAttemptService.onLoginFailure("mario", "10.0.0.1");
+        }
+
+        loginAttemptService.onLoginSuccess("mario", "10.0.0.1");
+
+        assertFalse(loginAttemptService.isBlocked("mario", "10.0.0.9"));
+    }
+
+    @Test
+    void identifierKeyHasFixedLengthWhateverTheInput() {
+        List<String> keys = new ArrayList<>();
+        InMemoryLoginAttemptStore delegate = new InMemoryLoginAttemptStore(1000, 3);
+        LoginAttemptStore recordingStore = new LoginAttemptStore() {
+            @Override
+            public double recordFailure(String key, long nowMillis, long windowMillis) {
+                keys.add(key);
+                return delegate.recordFailure(key, nowMillis, windowMillis);
+            }
+
+            @Override
+            public double estimate(String key, long nowMillis, long windowMillis) {
+                return delegate.estimate(key, nowMillis, windowMillis);
+            }
+
+            @Override
+            public void reset(String key) {
+                delegate.reset(key);
+            }
+        };
+        LoginAttemptService service = new LoginAttemptService(3, 10, 60, recordingStore, clock);
+
+        service.onLoginFailure("x".repeat(10_000), "10.0.0.1");
+        service.onLoginFailure(" Mario ", "10.0.0.1");
+        service.onLoginFailure("mario", "10.0.0.1");
+
+        assertEquals(67, keys.get(0).length());
+        assertTrue(keys.get(0).startsWith("id:"));
+        assertEquals(keys.get(2), keys.get(4));
+        assertEquals("ip:10.0.0.1", keys.get(1));
+    }
+
+    @Test
+    void storeStaysBoundedUnderRandomIdentifiers() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(100, 3);
+        long now = clock.millis();
+        for (int i = 0; i < 3; i++) {
+            store.recordFailure("blocked", now, 60_000);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            store.recordFailure("random-" + i, now, 60_000);
+        }
+
+        assertTrue(store.size() <= 100);
+        assertTrue(store.estimate("blocked", now, 60_000) >= 3);
+    }
+
+    @Test
+    void evictionNeverRemovesKeysThatAreStillBlocked() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(10, 3);
+        long now = clock.millis();
+        for (int k = 0; k < 10; k++) {
+            for (int i = 0; i < 3; i++) {
+                store.recordFailure("blocked-" + k, now, 60_000);
+            }
+        }
+
+        store.recordFailure("newcomer", now, 60_000);
+
+        for (int k = 0; k < 10; k++) {
+            assertTrue(store.estimate("blocked-" + k, now, 60_000) >= 3);
+        }
+        assertEquals(11, store.size());
+    }
+
+    @Test
+    void idleEntriesExpire() {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(100, 3);
+        long now = clock.millis();
+        store.recordFailure("old", now, 60_000);
+
+        store.recordFailure("new", now + 180_000, 60_000);
+
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void concurrentFailuresAreNotLost() throws InterruptedException {
+        InMemoryLoginAttemptStore store = new InMemoryLoginAttemptStore(100, 3);
+        long now = clock.millis() - clock.millis() % 3_600_000;
+        int threads = 8;
+        int perThread = 500;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    store.recordFailure("mario", now, 3_600_000);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(threads * perThread, store.estimate("mario", now, 3_600_000), 0.0001d);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Esegue lo script Lua di incremento su un Redis reale: rotazione della finestra, scadenza della chiave
+ * e reset sono quelli del server, non una riproduzione in Java.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisLoginAttemptStoreTest {
+
+    private static final long WINDOW_MILLIS = 60_000;
+    private static final long NOW = 1_704_103_200_000L;
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private RedisLoginAttemptStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        store = new RedisLoginAttemptStore(redisTemplate);
+    }
+
+    @Test
+    void recordFailureIncrementsSharedCounter() {
+        store.recordFailure("id:mario", NOW, WINDOW_MILLIS);
+        double estimate = new RedisLoginAttemptStore(redisTemplate).recordFailure("id:mario", NOW + 1_000, WINDOW_MILLIS);
+
+        assertEquals(2.0d, estimate, 0.0001d);
+        assertEquals(2.0d, store.estimate("id:mario", NOW + 2_000, WINDOW_MILLIS), 0.0001d);
+        assertEquals("2", redisTemplate.opsForHash().get(RedisLoginAttemptStore.KEY_PREFIX + "id:mario", "c"));
+    }
+
+    @Test
+    void scriptRotatesWindowAndSetsExpiry() {
+        for (int i = 0; i < 4; i++) {
+            store.recordFailure("ip:10.0.0.1", NOW, WINDOW_MILLIS);
+        }
+        double estimate = store.recordFailure("ip:10.0.0.1", NOW + WINDOW_MILLIS + WINDOW_MILLIS / 2, WINDOW_MILLIS);
+
+        assertEquals(3.0d, estimate, 0.0001d);
+        assertEquals(0.0d, store.estimate("ip:10.0.0.1", NOW + 3 * WINDOW_MILLIS, WINDOW_MILLIS), 0.0001d);
+        Long ttl = redisTemplate.getExpire(RedisLoginAttemptStore.KEY_PREFIX + "ip:10.0.0.1");
+        assertTrue(ttl != null && ttl > 0 && ttl <= 2 * WINDOW_MILLIS / 1000);
+    }
+
+    @Test
+    void resetDeletesKey() {
+        store.recordFailure("id:mario", NOW, WINDOW_MILLIS);
+
+        store.reset("id:mario");
+
+        assertEquals(0.0d, store.estimate("id:mario", NOW, WINDOW_MILLIS), 0.0001d);
+        assertEquals(Boolean.FALSE, redisTemplate.hasKey(RedisLoginAttemptStore.KEY_PREFIX + "id:mario"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.elite.portal.modules.auth.security;
+
+import com.elite.portal.shared.security.TokenDigest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RefreshTokenServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final RefreshTokenStore store = mock(RefreshTokenStore.class);
+    private final RefreshTokenService service =
+            new RefreshTokenService(store, Clock.fixed(NOW, ZoneOffset.UTC), 1209600L);
+
+    @Test
+    void rotatesCurrentTokenAndIssuesSuccessorInSameFamily() {
+        String token = service.issue(42L);
+        UUID familyId = UUID.fromString(token.substring(0, token.indexOf('.')));
+        verify(store).create(eq(familyId), eq(42L), any(), eq(NOW.plusSeconds(1209600L)), eq(NOW));
+
+        byte[] hash = TokenDigest.sha256(token);
+        when(store.find(familyId))
+                .thenReturn(Optional.of(new RefreshTokenStore.Family(42L, hash, NOW.plusSeconds(60))));
+        when(store.rotate(eq(familyId), eq(hash), any(), any(), eq(NOW))).thenReturn(true);
+
+        Optional<RefreshTokenService.Rotation> rotation = service.rotate(token);
+
+        assertTrue(rotation.isPresent());
+        assertEquals(42L, rotation.get().getUserId());
+        assertNotEquals(token, rotation.get().getRefreshToken());
+        assertTrue(rotation.get().getRefreshToken().startsWith(familyId + "."));
+    }
+
+    @Test
+    void revokesFamilyWhenRotatedTokenIsPresentedAgain() {
+        UUID familyId = UUID.randomUUID();
+        String stale = familyId + ".stale";
+        when(store.find(familyId)).thenReturn(Optional.of(
+                new RefreshTokenStore.Family(42L, TokenDigest.sha256(familyId + ".current"), NOW.plusSeconds(60))));
+
+        assertFalse(service.rotate(stale).isPresent());
+
+        verify(store).delete(familyId);
+        verify(store, never()).rotate(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void revokesFamilyWhenConcurrentRotationWins() {
+        UUID familyId = UUID.randomUUID();
+        String token = familyId + ".secret";
+        when(store.find(familyId)).thenReturn(Optional.of(
+                new RefreshTokenStore.Family(42L, TokenDigest.sha256(token), NOW.plusSeconds(60))));
+        when(store.rotate(any(), any(), any(), any(), any())).thenReturn(false);
+
+        assertFalse(service.rotate(token).isPresent());
+
+        verify(store).delete(familyId);
+    }
+
+    @Test
+    void rejectsExpiredAndMalformedTokens() {
+        UUID familyId = UUID.randomUUID();
+        String token = familyId + ".secret";
+        when(store.find(familyId)).thenReturn(Optional.of(
+                new RefreshTokenStore.Family(42L, TokenDigest.sha256(token), NOW)));
+
+        assertFalse(service.rotate(token).isPresent());
+        assertFalse(service.rotate("not-a-token").isPresent());
+        assertFalse(service.rotate(null).isPresent());
+        verify(store).delete(familyId);
+    }
+}
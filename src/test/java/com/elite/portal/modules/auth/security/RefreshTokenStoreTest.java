@@ -0,0 +1,97 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Revoca dei refresh token su un DataSource reale: la revoca deve restare committata anche quando la
+ * transazione del chiamante va in rollback.
+ */
+class RefreshTokenStoreTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate callerTransaction;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE refresh_token_family ("
+                + "family_id UUID NOT NULL PRIMARY KEY, user_id BIGINT NOT NULL, token_hash VARBINARY(32) NOT NULL, "
+                + "expires_at TIMESTAMP NOT NULL, created_at TIMESTAMP NOT NULL, rotated_at TIMESTAMP NOT NULL)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(database);
+        callerTransaction = new TransactionTemplate(transactionManager);
+        service = new RefreshTokenService(new RefreshTokenStore(jdbcTemplate, transactionManager),
+                Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC), 1209600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void reuseRevocationSurvivesRollbackOfCallerTransaction() {
+        String first = service.issue(42L);
+        String second = service.rotate(first).orElseThrow().getRefreshToken();
+
+        assertThrows(IllegalStateException.class, () -> callerTransaction.executeWithoutResult(status -> {
+            assertFalse(service.rotate(first).isPresent());
+            throw new IllegalStateException("errore del chiamante dopo il riuso");
+        }));
+
+        assertEquals(0, familyCount());
+        assertFalse(service.rotate(second).isPresent());
+    }
+
+    @Test
+    void revokeAllSurvivesRollbackOfCallerTransaction() {
+        String token = service.issue(42L);
+        service.issue(43L);
+
+        assertThrows(IllegalStateException.class, () -> callerTransaction.executeWithoutResult(status -> {
+            service.revokeAll(42L);
+            throw new IllegalStateException("utente disabilitato");
+        }));
+
+        assertEquals(1, familyCount());
+        Optional<RefreshTokenService.Rotation> rotation = service.rotate(token);
+        assertFalse(rotation.isPresent());
+    }
+
+    @Test
+    void rotationOutsideTransactionIsCommitted() {
+        String token = service.issue(42L);
+
+        assertTrue(service.rotate(token).isPresent());
+        assertFalse(service.rotate(token).isPresent());
+        assertEquals(0, familyCount());
+    }
+
+    private int familyCount() {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM refresh_token_family", Integer.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.elite.portal.modules.auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationReplicatorTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final TokenRevocationRegistry registry = new TokenRevocationRegistry();
+    private final TokenRevocationStore store = mock(TokenRevocationStore.class);
+    private final TokenRevocationReplicator replicator =
+            new TokenRevocationReplicator(registry, store, Clock.fixed(NOW, ZoneOffset.UTC), 5000L, 3600L);
+
+    @Test
+    void revokeAppliesLocallyAndPersists() {
+        replicator.revoke(42L, NOW);
+
+        assertTrue(registry.isRevoked(42L, NOW.minusSeconds(10)));
+        assertFalse(registry.isRevoked(42L, NOW.plusSeconds(1)));
+        verify(store).save(42L, NOW, NOW);
+    }
+
+    @Test
+    void refreshAppliesWatermarksWrittenByOtherNodesAndAdvancesTheCursor() {
+        Instant updatedAt = NOW.minusSeconds(2);
+        when(store.findUpdatedSince(any(), any()))
+                .thenReturn(List.of(new TokenRevocationStore.Revocation(7L, NOW.minusSeconds(3), updatedAt)))
+                .thenReturn(Collections.emptyList());
+
+        replicator.refresh();
+        replicator.refresh();
+
+        assertTrue(registry.isRevoked(7L, NOW.minusSeconds(60)));
+        verify(store).findUpdatedSince(eq(updatedAt.minusMillis(30_000L)), eq(NOW.minusSeconds(3600L)));
+        verify(store, times(2)).findUpdatedSince(any(), any());
+    }
+
+    @Test
+    void watermarkIsComparedStrictlyAtMillisecondPrecision() {
+        registry.revokeIssuedUpTo(1L, NOW.plusMillis(400));
+
+        assertTrue(registry.isRevoked(1L, NOW.plusMillis(399)));
+        assertFalse(registry.isRevoked(1L, NOW.plusMillis(400)));
+        assertFalse(registry.isRevoked(1L, NOW.plusMillis(900)));
+    }
+
+    @Test
+    void registryKeepsTheHighestWatermarkAndPrunesExpiredOnes() {
+        registry.revokeIssuedUpTo(1L, NOW);
+        registry.revokeIssuedUpTo(1L, NOW.minusSeconds(100));
+        registry.revokeIssuedUpTo(2L, NOW.minusSeconds(7200));
+
+        registry.prune(NOW, 3600L);
+
+        assertTrue(registry.isRevoked(1L, NOW.minusSeconds(50)));
+        assertFalse(registry.isRevoked(2L, NOW.minusSeconds(8000)));
+        assertEquals(1, registry.size());
+    }
+}
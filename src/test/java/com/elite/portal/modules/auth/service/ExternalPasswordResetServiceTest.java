@@ -6,14 +6,16 @@ import com.elite.portal.modules.user.model.ExternalUser;
 import com.elite.portal.modules.user.repository.ExternalUserRepository;
 import com.elite.portal.shared.email.EmailService;
 import com.elite.portal.shared.logging.AppLogger;
+import com.elite.portal.shared.ratelimit.InMemoryRateLimitStore;
+import com.elite.portal.shared.ratelimit.RateLimiter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
-import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -32,6 +34,7 @@ public class ExternalPasswordResetServiceTest {
     private PasswordResetTokenRepository passwordResetTokenRepository;
     private EmailService emailService;
     private AppLogger logger;
+    private RateLimiter rateLimiter;
 
     private ExternalPasswordResetService service;
 
@@ -42,11 +45,16 @@ public class ExternalPasswordResetServiceTest {
         emailService = Mockito.mock(EmailService.class);
         logger = Mockito.mock(AppLogger.class);
 
-        service = new ExternalPasswordResetService(externalUserRepository, passwordResetTokenRepository, emailService, logger);
+        rateLimiter = new RateLimiter(new InMemoryRateLimitStore(1000),
+                Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC));
+
+        service = new ExternalPasswordResetService(externalUserRepository, passwordResetTokenRepository, emailService,
+                logger, rateLimiter);
 
         // Impostazione tramite reflection dei parametri di configurazione
         setField(service, "tokenExpirationMinutes", 60);
         setField(service, "maxRequestsPerWindow", 5);
+        setField(service, "maxRequestsPerIp", 20);
         setField(service, "rateLimitWindowMinutes", 60);
         setField(service, "resetPasswordBaseUrl", "https://portal/reset-password");
     }
@@ -61,8 +69,6 @@ public class ExternalPasswordResetServiceTest {
 
         when(externalUserRepository.findByEmailAndActiveTrueAndTypeStandardExternal(email))
                 .thenReturn(Optional.of(user));
-        when(passwordResetTokenRepository.findByEmailAndCreatedAtAfter(anyString(), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
 
         service.handleForgotPassword(email);
 
@@ -86,8 +92,6 @@ public class ExternalPasswordResetServiceTest {
 
         when(externalUserRepository.findByEmailAndActiveTrueAndTypeStandardExternal(email))
                 .thenReturn(Optional.empty());
-        when(passwordResetTokenRepository.findByEmailAndCreatedAtAfter(anyString(), any(LocalDateTime.class)))
-                .thenReturn(new ArrayList<>());
 
         service.handleForgotPassword(email);
 
@@ -106,13 +110,10 @@ public class ExternalPasswordResetServiceTest {
         when(externalUserRepository.findByEmailAndActiveTrueAndTypeStandardExternal(email))
                 .thenReturn(Optional.of(user));
 
-        List<PasswordResetToken> existingTokens = new ArrayList<>();
         for (int i = 0; i < 5; i++) {
-            PasswordResetToken t = new PasswordResetToken();
-            existingTokens.add(t);
+            service.handleForgotPassword(email);
         }
-        when(passwordResetTokenRepository.findByEmailAndCreatedAtAfter(anyString(), any(LocalDateTime.class)))
-                .thenReturn(existingTokens);
+        Mockito.clearInvocations(passwordResetTokenRepository, emailService);
 
         service.handleForgotPassword(email);
 
@@ -120,6 +121,20 @@ public class ExternalPasswordResetServiceTest {
         verify(emailService, never()).sendPasswordResetEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    public void testHandleForgotPassword_RateLimitedByIp_AcrossDifferentEmails() {
+        setField(service, "maxRequestsPerIp", 3);
+        when(externalUserRepository.findByEmailAndActiveTrueAndTypeStandardExternal(anyString()))
+                .thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            service.handleForgotPassword("user" + i + "@example.com", "10.0.0.1");
+        }
+        service.handleForgotPassword("other@example.com", "10.0.0.1");
+
+        verify(externalUserRepository, times(3)).findByEmailAndActiveTrueAndTypeStandardExternal(anyString());
+    }
+
     private void setField(Object target, String fieldName, Object value) {
         try {
             java.lang.reflect.Field field = target.getClass().getDeclaredField(fieldName);
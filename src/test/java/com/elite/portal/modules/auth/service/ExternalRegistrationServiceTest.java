@@ -1,5 +1,7 @@
 package com.elite.portal.modules.auth.service;
 
+import com.elite.portal.modules.auth.domain.policy.BreachedPasswordFilter;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
 import com.elite.portal.modules.auth.dto.ExternalCompanyPayload;
 import com.elite.portal.modules.auth.dto.ExternalUserRegistrationRequest;
 import com.elite.portal.modules.auth.dto.ExternalUserRegistrationResponse;
@@ -17,7 +19,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
 
@@ -32,8 +33,8 @@ public class ExternalRegistrationServiceTest {
     private UserRepository userRepository;
     private CompanyRepository companyRepository;
     private EmailVerificationTokenRepository emailVerificationTokenRepository;
-    private PasswordEncoder passwordEncoder;
-    private SecurityPasswordPolicyProperties passwordPolicyProperties;
+    private PasswordHashingService passwordHashingService;
+    private PasswordPolicy passwordPolicy;
     private AppLogger logger;
 
     private ExternalRegistrationService service;
@@ -43,11 +44,11 @@ public class ExternalRegistrationServiceTest {
         userRepository = Mockito.mock(UserRepository.class);
         companyRepository = Mockito.mock(CompanyRepository.class);
         emailVerificationTokenRepository = Mockito.mock(EmailVerificationTokenRepository.class);
-        passwordEncoder = Mockito.mock(PasswordEncoder.class);
-        passwordPolicyProperties = new SecurityPasswordPolicyProperties();
+        passwordHashingService = Mockito.mock(PasswordHashingService.class);
+        passwordPolicy = new PasswordPolicy(new SecurityPasswordPolicyProperties(), BreachedPasswordFilter.empty());
         logger = Mockito.mock(AppLogger.class);
 
-        when(passwordEncoder.encode(any())).thenReturn("encoded");
+        when(passwordHashingService.encode(any())).thenReturn("encoded");
         when(userRepository.save(any())).thenAnswer(inv -> {
             User u = inv.getArgument(0);
             u.setId(1L);
@@ -59,8 +60,8 @@ public class ExternalRegistrationServiceTest {
                 userRepository,
                 companyRepository,
                 emailVerificationTokenRepository,
-                passwordEncoder,
-                passwordPolicyProperties,
+                passwordHashingService,
+                passwordPolicy,
                 logger,
                 24L
         );
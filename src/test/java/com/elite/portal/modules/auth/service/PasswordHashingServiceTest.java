@@ -0,0 +1,131 @@
+package com.elite.portal.modules.auth.service;
+
+import com.elite.portal.modules.common.exception.BusinessException;
+import com.elite.portal.modules.common.exception.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class PasswordHashingServiceTest {
+
+    private final PasswordEncoder passwordEncoder = Mockito.mock(PasswordEncoder.class);
+    private final PasswordHashingMetrics metrics = new PasswordHashingMetrics();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private PasswordHashingService service;
+
+    @AfterEach
+    public void tearDown() {
+        callers.shutdownNow();
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    public void testEncodeAndMatches_RunOnDedicatedPool() {
+        service = new PasswordHashingService(passwordEncoder, metrics, 2, 4, 1000L);
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+
+        String encodedBy = service.encode("secret");
+
+        assertTrue(encodedBy.startsWith("password-hashing-"));
+        assertNotEquals(Thread.currentThread().getName(), encodedBy);
+        assertTrue(service.matches("secret", "hash"));
+    }
+
+    @Test
+    public void testDummyVerification_ReusesOneHashComputedAtStartup() {
+        when(passwordEncoder.encode(anyString())).thenReturn("dummy-hash");
+        service = new PasswordHashingService(passwordEncoder, metrics, 2, 4, 1000L);
+        Mockito.verify(passwordEncoder, Mockito.times(1)).encode(anyString());
+
+        service.verifyAgainstDummyHash("guess-1");
+        service.verifyAgainstDummyHash("guess-2");
+
+        Mockito.verify(passwordEncoder, Mockito.times(1)).encode(anyString());
+        Mockito.verify(passwordEncoder).matches("guess-1", "dummy-hash");
+        Mockito.verify(passwordEncoder).matches("guess-2", "dummy-hash");
+    }
+
+    @Test
+    public void testRejectsWithServiceBusyWhenPoolAndQueueAreFull() throws Exception {
+        service = new PasswordHashingService(passwordEncoder, metrics, 1, 1, 5000L);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "encoded";
+        });
+
+        callers.submit(() -> service.encode("running"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        callers.submit(() -> service.encode("queued"));
+        waitForQueuedTask();
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.encode("rejected"));
+        release.countDown();
+
+        assertEquals(ErrorCode.SERVICE_BUSY, ex.getErrorCode());
+        assertEquals(1L, metrics.getRejected());
+    }
+
+    @Test
+    public void testRejectsWithServiceBusyWhenWaitExceedsLimit() {
+        service = new PasswordHashingService(passwordEncoder, metrics, 1, 4, 50L);
+        when(passwordEncoder.matches(anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(1000L);
+            return true;
+        });
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> service.matches("secret", "hash"));
+
+        assertEquals(ErrorCode.SERVICE_BUSY, ex.getErrorCode());
+    }
+
+    @Test
+    public void testUpgradeInBackground_RehashesOutdatedHashOnlyOnce() throws Exception {
+        service = new PasswordHashingService(passwordEncoder, metrics, 1, 4, 1000L);
+        when(passwordEncoder.upgradeEncoding("$2a$08$old")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("{bcrypt}$2a$12$new")).thenReturn(false);
+        when(passwordEncoder.encode("secret")).thenReturn("{bcrypt}$2a$12$new");
+        CountDownLatch replaced = new CountDownLatch(1);
+        String[] stored = new String[2];
+
+        service.upgradeInBackground("secret", "{bcrypt}$2a$12$new", (current, updated) -> {
+            throw new AssertionError("hash aggiornato non deve essere ricalcolato");
+        });
+        service.upgradeInBackground("secret", "$2a$08$old", (current, updated) -> {
+            stored[0] = current;
+            stored[1] = updated;
+            replaced.countDown();
+            return true;
+        });
+
+        assertTrue(replaced.await(5, TimeUnit.SECONDS));
+        assertEquals("$2a$08$old", stored[0]);
+        assertEquals("{bcrypt}$2a$12$new", stored[1]);
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000L;
+        while (metrics.queueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        assertEquals(1.0d, metrics.queueDepth());
+    }
+}
@@ -1,6 +1,8 @@
 package com.elite.portal.modules.auth.service;
 
 import com.elite.portal.modules.auth.domain.PasswordResetToken;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicy;
+import com.elite.portal.modules.auth.domain.policy.PasswordPolicyViolation;
 import com.elite.portal.modules.auth.dto.PasswordResetConfirmRequestDto;
 import com.elite.portal.modules.auth.dto.PasswordResetConfirmResponseDto;
 import com.elite.portal.modules.auth.repository.PasswordResetTokenRepository;
@@ -12,9 +14,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -33,10 +36,10 @@ public class PasswordResetConfirmServiceTest {
     private ExternalUserRepository externalUserRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
-    private PasswordPolicyService passwordPolicyService;
+    private PasswordPolicy passwordPolicy;
 
     @Mock
     private SessionInvalidationService sessionInvalidationService;
@@ -66,8 +69,8 @@ public class PasswordResetConfirmServiceTest {
         token.setCreatedAt(LocalDateTime.now().minusMinutes(5));
 
         when(passwordResetTokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(token));
-        when(passwordPolicyService.isValid(newPassword)).thenReturn(true);
-        when(passwordEncoder.encode(newPassword)).thenReturn("encoded-password");
+        when(passwordPolicy.evaluate(newPassword)).thenReturn(Collections.emptySet());
+        when(passwordHashingService.encode(newPassword)).thenReturn("encoded-password");
 
         PasswordResetConfirmRequestDto requestDto = new PasswordResetConfirmRequestDto(tokenValue, newPassword);
 
@@ -168,13 +171,12 @@ public class PasswordResetConfirmServiceTest {
         token.setCreatedAt(LocalDateTime.now().minusMinutes(5));
 
         when(passwordResetTokenRepository.findByToken(tokenValue)).thenReturn(Optional.of(token));
-        when(passwordPolicyService.isValid(newPassword)).thenReturn(false);
-        when(passwordPolicyService.getValidationMessage()).thenReturn("Password non valida");
+        when(passwordPolicy.evaluate(newPassword)).thenReturn(EnumSet.of(PasswordPolicyViolation.MISSING_DIGIT));
 
         PasswordResetConfirmRequestDto requestDto = new PasswordResetConfirmRequestDto(tokenValue, newPassword);
         PasswordResetConfirmResponseDto responseDto = passwordResetConfirmService.resetPassword(requestDto);
 
         assertFalse(responseDto.isSuccess());
-        assertEquals("Password non valida", responseDto.getMessage());
+        assertEquals(PasswordPolicyViolation.MISSING_DIGIT.getMessage(), responseDto.getMessage());
     }
 }
@@ -0,0 +1,58 @@
+package com.elite.portal.modules.auth.service;
+
+import com.elite.portal.modules.auth.security.RefreshTokenService;
+import com.elite.portal.modules.auth.security.TokenRevocationReplicator;
+import com.elite.portal.modules.user.domain.ExternalUser;
+import com.elite.portal.modules.user.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionInvalidationServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-01T10:00:00Z");
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TokenRevocationReplicator tokenRevocationReplicator = mock(TokenRevocationReplicator.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private final SessionInvalidationService service = new SessionInvalidationService(
+            userRepository, tokenRevocationReplicator, refreshTokenService, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void revokesSessionsOfTheUsersRowMatchingTheExternalUserEmail() {
+        ExternalUser externalUser = new ExternalUser();
+        externalUser.setId(5L);
+        externalUser.setEmail(" Mario.Rossi@Example.com ");
+        when(userRepository.findIdByEmailKey("mario.rossi@example.com")).thenReturn(Optional.of(42L));
+
+        service.invalidateSessionsForUser(externalUser);
+
+        verify(refreshTokenService).revokeAll(42L);
+        verify(refreshTokenService, never()).revokeAll(5L);
+        verify(tokenRevocationReplicator).revoke(42L, NOW);
+        verify(tokenRevocationReplicator, never()).revoke(5L, NOW);
+    }
+
+    @Test
+    void doesNothingWhenTheExternalUserHasNoLoginAccount() {
+        ExternalUser externalUser = new ExternalUser();
+        externalUser.setId(5L);
+        externalUser.setEmail("nessuno@example.com");
+        when(userRepository.findIdByEmailKey("nessuno@example.com")).thenReturn(Optional.empty());
+
+        service.invalidateSessionsForUser(externalUser);
+
+        verify(refreshTokenService, never()).revokeAll(anyLong());
+        verify(tokenRevocationReplicator, never()).revoke(any(), any());
+    }
+}
@@ -1,30 +1,30 @@
 package com.elite.portal.modules.notification.service;
 
 import com.elite.portal.modules.notification.config.EmailVerificationProperties;
+import com.elite.portal.shared.email.outbox.EmailOutboxService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.context.support.StaticMessageSource;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.util.Locale;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 public class EmailVerificationServiceTest {
 
-    private JavaMailSender mailSender;
+    private EmailOutboxService emailOutboxService;
     private EmailVerificationProperties properties;
     private StaticMessageSource messageSource;
     private EmailVerificationService service;
 
     @BeforeEach
     void setUp() {
-        mailSender = mock(JavaMailSender.class);
+        emailOutboxService = mock(EmailOutboxService.class);
         properties = new EmailVerificationProperties();
         properties.setFromAddress("no-reply@elite-portal.test");
         properties.setFrontendBaseUrl("http://localhost:3000");
@@ -37,7 +37,7 @@ public class EmailVerificationServiceTest {
         messageSource.addMessage("email.verification.body", Locale.ITALIAN,
                 "Ciao {0},\n\nper completare la registrazione clicca sul seguente link:\n{1}\n\nIl link sara' valido per {2} minuti.");
 
-        service = new EmailVerificationService(mailSender, properties, messageSource);
+        service = new EmailVerificationService(emailOutboxService, properties, messageSource);
     }
 
     @Test
@@ -64,14 +64,11 @@ public class EmailVerificationServiceTest {
 
         service.sendVerificationEmail(email, displayName, token, Locale.ITALIAN);
 
-        ArgumentCaptor<SimpleMailMessage> captor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(captor.capture());
+        ArgumentCaptor<String> bodyCaptor = ArgumentCaptor.forClass(String.class);
+        verify(emailOutboxService).enqueue(eq(email), eq("no-reply@elite-portal.test"),
+                eq("Verifica il tuo indirizzo email"), bodyCaptor.capture(), eq(false));
 
-        SimpleMailMessage sent = captor.getValue();
-        assertThat(sent.getTo()).containsExactly(email);
-        assertThat(sent.getFrom()).isEqualTo("no-reply@elite-portal.test");
-        assertThat(sent.getSubject()).isEqualTo("Verifica il tuo indirizzo email");
-        assertThat(sent.getText()).contains("Mario Rossi");
-        assertThat(sent.getText()).contains("abc-123");
+        assertThat(bodyCaptor.getValue()).contains("Mario Rossi");
+        assertThat(bodyCaptor.getValue()).contains("abc-123");
     }
 }
@@ -17,6 +17,9 @@ import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class RbacServiceTest {
@@ -29,7 +32,7 @@ public class RbacServiceTest {
     void setUp() {
         roleRepository = Mockito.mock(RoleRepository.class);
         permissionRepository = Mockito.mock(PermissionRepository.class);
-        rbacService = new RbacService(roleRepository, permissionRepository);
+        rbacService = new RbacService(roleRepository, permissionRepository, 60);
     }
 
     @Test
@@ -44,7 +47,7 @@ public class RbacServiceTest {
         sysAdmin.setName("System Administrator");
         sysAdmin.setPermissions(Set.of(viewQueue));
 
-        when(roleRepository.findByCode(RoleCode.SYS_ADMIN.getCode())).thenReturn(Optional.of(sysAdmin));
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(sysAdmin));
 
         boolean result = rbacService.hasPermission(Set.of(RoleCode.SYS_ADMIN.getCode()), PermissionKey.VIEW_ACCREDITATION_QUEUE);
 
@@ -63,13 +66,59 @@ public class RbacServiceTest {
         itOperator.setName("IT Operator");
         itOperator.setPermissions(Set.of(manageUsers));
 
-        when(roleRepository.findByCode(RoleCode.IT_OPERATOR.getCode())).thenReturn(Optional.of(itOperator));
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(itOperator));
 
         boolean result = rbacService.hasPermission(Set.of(RoleCode.IT_OPERATOR.getCode()), PermissionKey.VIEW_ACCREDITATION_QUEUE);
 
         assertFalse(result);
     }
 
+    @Test
+    void hasPermissionUsesCachedMatrixWithoutRepeatedQueries() {
+        Permission approve = new Permission();
+        approve.setId(3L);
+        approve.setKey(PermissionKey.APPROVE_ACCREDITATION_REQUEST.getKey());
+
+        Role itOperator = new Role();
+        itOperator.setId(2L);
+        itOperator.setCode(RoleCode.IT_OPERATOR.getCode());
+        itOperator.setPermissions(Set.of(approve));
+
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(itOperator));
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rbacService.hasPermission(Set.of("UNKNOWN", RoleCode.IT_OPERATOR.getCode()),
+                    PermissionKey.APPROVE_ACCREDITATION_REQUEST));
+            assertFalse(rbacService.hasPermission(Set.of(RoleCode.IT_OPERATOR.getCode()),
+                    PermissionKey.MANAGE_USERS_BASE));
+        }
+
+        verify(roleRepository, times(1)).findAllWithPermissions();
+        verify(roleRepository, never()).findByCode(anyString());
+    }
+
+    @Test
+    void roleChangeRebuildsMatrix() {
+        Permission viewQueue = new Permission();
+        viewQueue.setId(1L);
+        viewQueue.setKey(PermissionKey.VIEW_ACCREDITATION_QUEUE.getKey());
+
+        Role itOperator = new Role();
+        itOperator.setId(2L);
+        itOperator.setCode(RoleCode.IT_OPERATOR.getCode());
+
+        when(roleRepository.findAllWithPermissions()).thenReturn(List.of(itOperator));
+        assertFalse(rbacService.hasPermission(Set.of(RoleCode.IT_OPERATOR.getCode()),
+                PermissionKey.VIEW_ACCREDITATION_QUEUE));
+
+        when(roleRepository.findByCode(RoleCode.IT_OPERATOR.getCode())).thenReturn(Optional.of(itOperator));
+        when(roleRepository.save(Mockito.any(Role.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        rbacService.ensureItOperatorRole(Set.of(viewQueue));
+
+        assertTrue(rbacService.hasPermission(Set.of(RoleCode.IT_OPERATOR.getCode()),
+                PermissionKey.VIEW_ACCREDITATION_QUEUE));
+    }
+
     @Test
     void ensureBasePermissionsCreatesAllPermissions() {
         when(permissionRepository.findByKey(anyString())).thenReturn(Optional.empty());
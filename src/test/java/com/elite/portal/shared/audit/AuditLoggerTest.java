@@ -0,0 +1,178 @@
+package com.elite.portal.shared.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class AuditLoggerTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:00:00Z"), ZoneOffset.UTC);
+    private final List<AuditEvent> stored = Collections.synchronizedList(new ArrayList<>());
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final AuditLogStore store = Mockito.mock(AuditLogStore.class);
+    private AuditLogger auditLogger;
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        if (auditLogger != null) {
+            auditLogger.stop();
+        }
+    }
+
+    @Test
+    void eventsFromManyThreadsAreWrittenInBatches() throws Exception {
+        recordAppends();
+        auditLogger = new AuditLogger(store, properties(1024, 64, AuditBackpressurePolicy.BLOCK), clock);
+        auditLogger.start();
+
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int p = 0; p < 4; p++) {
+            long actor = p;
+            producers.execute(() -> {
+                for (long i = 0; i < 500; i++) {
+                    auditLogger.log("ACTION", actor, "SUBJECT", i, null);
+                }
+            });
+        }
+        producers.shutdown();
+        assertThat(producers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(auditLogger.flush(5000L)).isTrue();
+
+        assertThat(stored).hasSize(2000);
+        assertThat(batchSizes).allMatch(size -> size <= 64);
+        assertThat(batchSizes.size()).isLessThan(2000);
+        assertThat(auditLogger.getDropped()).isZero();
+        assertThat(stored.get(0).getOccurredAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    void dropPolicyDiscardsWhenBufferIsFull() throws Exception {
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            writerBusy.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            stored.addAll(invocation.getArgument(0));
+            return null;
+        }).when(store).append(Mockito.anyList());
+        auditLogger = new AuditLogger(store, properties(2, 1, AuditBackpressurePolicy.DROP), clock);
+        auditLogger.start();
+
+        auditLogger.log("A", 1L, "first");
+        assertThat(writerBusy.await(5, TimeUnit.SECONDS)).isTrue();
+        auditLogger.log("A", 1L, "second");
+        auditLogger.log("A", 1L, "third");
+        auditLogger.log("A", 1L, "dropped");
+        release.countDown();
+        assertThat(auditLogger.flush(5000L)).isTrue();
+
+        assertThat(auditLogger.getDropped()).isEqualTo(1L);
+        assertThat(stored).extracting(AuditEvent::getDetail).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void eventsAreWrittenSynchronouslyWhenWriterIsNotRunning() {
+        recordAppends();
+        auditLogger = new AuditLogger(store, properties(16, 8, AuditBackpressurePolicy.BLOCK), clock);
+
+        auditLogger.log("A", 1L, "ACCREDITATION_REQUEST", 5L, "SYS_ADMIN");
+
+        assertThat(stored).hasSize(1);
+        assertThat(auditLogger.getWrittenSynchronously()).isEqualTo(1L);
+    }
+
+    @Test
+    void eventsOfATransactionAreWrittenInOneBatchBeforeCommit() {
+        recordAppends();
+        auditLogger = new AuditLogger(store, properties(16, 8, AuditBackpressurePolicy.DROP), clock);
+        auditLogger.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditLogger.log("ACCREDITATION_REQUEST_BULK_APPROVED", 10L, "ACCREDITATION_REQUEST", 1L, null);
+        auditLogger.log("ACCREDITATION_REQUEST_BULK_APPROVED", 10L, "ACCREDITATION_REQUEST", 2L, null);
+        assertThat(stored).isEmpty();
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        assertThat(stored).extracting(AuditEvent::getSubjectId).containsExactly(1L, 2L);
+        assertThat(batchSizes).containsExactly(2);
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThat(auditLogger.getPending()).isZero();
+        assertThat(TransactionSynchronizationManager.getResource(auditLogger)).isNull();
+    }
+
+    @Test
+    void failedAuditWriteFailsTheCommitAndRollbackWritesNothing() {
+        Mockito.doThrow(new IllegalStateException("db down")).when(store).append(Mockito.anyList());
+        auditLogger = new AuditLogger(store, properties(16, 8, AuditBackpressurePolicy.BLOCK), clock);
+        TransactionSynchronizationManager.initSynchronization();
+
+        auditLogger.log("A", 1L, "detail");
+        TransactionSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().get(0);
+
+        assertThatThrownBy(() -> synchronization.beforeCommit(false)).isInstanceOf(IllegalStateException.class);
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(auditLogger.getWritten()).isZero();
+        assertThat(TransactionSynchronizationManager.getResource(auditLogger)).isNull();
+    }
+
+    @Test
+    void ringBufferRejectsOffersWhenFullAndWrapsAround() {
+        AuditRingBuffer buffer = new AuditRingBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(event(i))).isTrue();
+        }
+        assertThat(buffer.offer(event(4))).isFalse();
+
+        List<AuditEvent> drained = new ArrayList<>();
+        assertThat(buffer.drainTo(drained, 3)).isEqualTo(3);
+        assertThat(buffer.offer(event(5))).isTrue();
+        assertThat(buffer.drainTo(drained, 10)).isEqualTo(2);
+        assertThat(drained).extracting(AuditEvent::getSubjectId).containsExactly(0L, 1L, 2L, 3L, 5L);
+        assertThat(buffer.size()).isZero();
+    }
+
+    private void recordAppends() {
+        Mockito.doAnswer(invocation -> {
+            List<AuditEvent> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            stored.addAll(batch);
+            return null;
+        }).when(store).append(Mockito.anyList());
+    }
+
+    private AuditEvent event(long subjectId) {
+        return new AuditEvent(clock.instant(), "A", 1L, "S", subjectId, null);
+    }
+
+    private static AuditProperties properties(int capacity, int batchSize, AuditBackpressurePolicy policy) {
+        AuditProperties properties = new AuditProperties();
+        properties.setBufferCapacity(capacity);
+        properties.setBatchSize(batchSize);
+        properties.setFlushIntervalMillis(10L);
+        properties.setBackpressure(policy);
+        return properties;
+    }
+}
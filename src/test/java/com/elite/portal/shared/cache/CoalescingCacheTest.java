@@ -0,0 +1,58 @@
+package com.elite.portal.shared.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+public class CoalescingCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CoalescingCache<String, String> cache = new CoalescingCache<>(3000L, 10, nanos::get);
+
+    @Test
+    void concurrentCallersShareOneInFlightLoad() {
+        CompletableFuture<String> backend = new CompletableFuture<>();
+
+        CompletableFuture<String> first = cache.get("PENDING", key -> load(backend));
+        CompletableFuture<String> second = cache.get("PENDING", key -> load(backend));
+        backend.complete("queue");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(first.join()).isEqualTo("queue");
+        assertThat(second.join()).isEqualTo("queue");
+    }
+
+    @Test
+    void entryExpiresAfterTtl() {
+        cache.get("k", key -> load(CompletableFuture.completedFuture("v1")));
+        nanos.addAndGet(2_000_000_000L);
+        cache.get("k", key -> load(CompletableFuture.completedFuture("v2")));
+        assertThat(loads.get()).isEqualTo(1);
+
+        nanos.addAndGet(1_500_000_000L);
+        assertThat(cache.get("k", key -> load(CompletableFuture.completedFuture("v3"))).join()).isEqualTo("v3");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void failuresAreNotCachedAndInvalidationForcesReload() {
+        CompletableFuture<String> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("backend down"));
+        assertThat(cache.get("k", key -> load(failed))).isCompletedExceptionally();
+
+        assertThat(cache.get("k", key -> load(CompletableFuture.completedFuture("ok"))).join()).isEqualTo("ok");
+        cache.invalidate("k");
+        assertThat(cache.get("k", key -> load(CompletableFuture.completedFuture("fresh"))).join()).isEqualTo("fresh");
+        assertThat(loads.get()).isEqualTo(3);
+    }
+
+    private CompletableFuture<String> load(CompletableFuture<String> result) {
+        loads.incrementAndGet();
+        return result;
+    }
+}
@@ -0,0 +1,59 @@
+package com.elite.portal.shared.email;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class CompiledMessageTemplateTest {
+
+    @Test
+    void substitutesPositionalPlaceholdersInAnyOrderAndRepeated() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("{1} ha invitato {0}; conferma entro {1}.");
+
+        assertThat(template.render("Mario", "Giulia")).isEqualTo("Giulia ha invitato Mario; conferma entro Giulia.");
+    }
+
+    @Test
+    void placeholdersAtTheEdgesAndAdjacent() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("{0}{1}-{0}");
+
+        assertThat(template.render("a", "b")).isEqualTo("ab-a");
+    }
+
+    @Test
+    void missingOrNullArgumentsRenderAsEmpty() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("Link: {0} (scade in {1} ore)");
+
+        assertThat(template.render("https://portal/verify?t=abc")).isEqualTo("Link: https://portal/verify?t=abc (scade in  ore)");
+        assertThat(template.render(null, "24")).isEqualTo("Link:  (scade in 24 ore)");
+        assertThat(template.render()).isEqualTo("Link:  (scade in  ore)");
+    }
+
+    @Test
+    void apostrophesAreLiteralUnlikeMessageFormat() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("L'account di {0} e' attivo: l'email '{0}' e' verificata");
+
+        assertThat(template.render("mario@example.com"))
+            .isEqualTo("L'account di mario@example.com e' attivo: l'email 'mario@example.com' e' verificata");
+    }
+
+    @Test
+    void bracesThatAreNotPlaceholdersStayLiteral() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("{nome} {} { 0} {0a} {-1} {12345678901} {0} {");
+
+        assertThat(template.render("x")).isEqualTo("{nome} {} { 0} {0a} {-1} {12345678901} x {");
+    }
+
+    @Test
+    void argumentsAreNotReinterpretedAsPlaceholders() {
+        CompiledMessageTemplate template = CompiledMessageTemplate.compile("{0} / {1}");
+
+        assertThat(template.render("{1}", "$0\\")).isEqualTo("{1} / $0\\");
+    }
+
+    @Test
+    void patternWithoutPlaceholdersIsReturnedAsIs() {
+        assertThat(CompiledMessageTemplate.compile("Nessun segnaposto").render("ignorato")).isEqualTo("Nessun segnaposto");
+        assertThat(CompiledMessageTemplate.compile("").render()).isEmpty();
+    }
+}
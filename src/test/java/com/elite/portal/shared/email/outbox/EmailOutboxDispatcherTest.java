@@ -0,0 +1,123 @@
+package com.elite.portal.shared.email.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class EmailOutboxDispatcherTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+    private EmailOutboxRepository emailOutboxRepository;
+    private JavaMailSender mailSender;
+    private EmailOutboxProperties properties;
+    private EmailOutboxMetrics metrics;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository = Mockito.mock(EmailOutboxRepository.class);
+        mailSender = Mockito.mock(JavaMailSender.class);
+        properties = new EmailOutboxProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMillis(1_000L);
+        properties.setMaxBackoffMillis(60_000L);
+        metrics = new EmailOutboxMetrics(emailOutboxRepository);
+        dispatcher = new EmailOutboxDispatcher(emailOutboxRepository, mailSender, properties, metrics,
+                Mockito.mock(PlatformTransactionManager.class), Clock.fixed(NOW, ZoneId.of("UTC")));
+    }
+
+    @Test
+    void dispatchDueBatch_sendsWholeBatchInOneCallAndMarksSent() {
+        EmailOutboxMessage first = pending(1L, 0);
+        EmailOutboxMessage second = pending(2L, 0);
+        List<EmailOutboxMessage> batch = List.of(first, second);
+        when(emailOutboxRepository.findDueForUpdate(eq(EmailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(batch);
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(batch);
+
+        int dispatched = dispatcher.dispatchDueBatch();
+
+        assertThat(dispatched).isEqualTo(2);
+        verify(mailSender).send(any(MimeMessagePreparator[].class));
+        assertThat(first.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(EmailOutboxStatus.SENT);
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getSentAt()).isEqualTo(NOW);
+        assertThat(first.getBody()).isEqualTo(EmailOutboxDispatcher.REDACTED_BODY);
+        assertThat(second.getBody()).isEqualTo(EmailOutboxDispatcher.REDACTED_BODY);
+        assertThat(metrics.getSent()).isEqualTo(2);
+    }
+
+    @Test
+    void dispatchDueBatch_schedulesRetryWithBackoffOnFailure() {
+        EmailOutboxMessage message = pending(1L, 1);
+        when(emailOutboxRepository.findDueForUpdate(eq(EmailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(message));
+        doThrow(new MailSendException("smtp down")).when(mailSender).send(any(MimeMessagePreparator[].class));
+
+        dispatcher.dispatchDueBatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(message.getAttempts()).isEqualTo(2);
+        assertThat(message.getNextAttemptAt()).isBetween(NOW.plusMillis(2_000L), NOW.plusMillis(2_400L));
+        assertThat(message.getLastError()).contains("smtp down");
+        assertThat(message.getBody()).isNotEqualTo(EmailOutboxDispatcher.REDACTED_BODY);
+        assertThat(metrics.getRetried()).isEqualTo(1);
+    }
+
+    @Test
+    void dispatchDueBatch_deadLettersAfterMaxAttempts() {
+        EmailOutboxMessage message = pending(1L, 2);
+        when(emailOutboxRepository.findDueForUpdate(eq(EmailOutboxStatus.PENDING), eq(NOW), any(Pageable.class)))
+                .thenReturn(List.of(message));
+        when(emailOutboxRepository.findAllById(anyList())).thenReturn(List.of(message));
+        doThrow(new MailSendException("mailbox unavailable")).when(mailSender).send(any(MimeMessagePreparator[].class));
+
+        dispatcher.dispatchDueBatch();
+
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxStatus.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(3);
+        assertThat(message.getBody()).isEqualTo(EmailOutboxDispatcher.REDACTED_BODY);
+        assertThat(metrics.getDeadLettered()).isEqualTo(1);
+    }
+
+    @Test
+    void backoffGrowsExponentiallyUpToMax() {
+        assertThat(dispatcher.backoffMillis(1)).isBetween(1_000L, 1_200L);
+        assertThat(dispatcher.backoffMillis(4)).isBetween(8_000L, 9_600L);
+        assertThat(dispatcher.backoffMillis(20)).isBetween(60_000L, 72_000L);
+    }
+
+    private static EmailOutboxMessage pending(Long id, int attempts) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setId(id);
+        message.setRecipient("user" + id + "@example.com");
+        message.setSubject("Oggetto");
+        message.setBody("Corpo");
+        message.setStatus(EmailOutboxStatus.PENDING);
+        message.setAttempts(attempts);
+        message.setNextAttemptAt(NOW);
+        message.setCreatedAt(NOW);
+        return message;
+    }
+}
@@ -0,0 +1,157 @@
+package com.elite.portal.shared.http;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.elite.portal.shared.config.BackendApiProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+public class BackendHttpClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger slowCalls = new AtomicInteger();
+    private final CountDownLatch hangReceived = new CountDownLatch(1);
+    private BackendHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+        server.createContext("/slow-first", exchange -> {
+            if (slowCalls.incrementAndGet() == 1) {
+                sleep(1500);
+            }
+            respond(exchange, 200, "{\"value\":\"ok\"}");
+        });
+        server.createContext("/missing", exchange -> respond(exchange, 404, ""));
+        server.createContext("/ok", exchange -> respond(exchange, 200, "{\"value\":\"ok\"}"));
+        server.createContext("/hang", exchange -> {
+            hangReceived.countDown();
+            sleep(1500);
+            respond(exchange, 200, "{}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void hedgedGetReturnsFirstResponseWhenPrimaryIsSlow() throws Exception {
+        client = newClient(50L, 5000L);
+
+        long start = System.nanoTime();
+        Map<?, ?> body = client.get(uri("/slow-first"), Map.class).get(5, TimeUnit.SECONDS);
+
+        assertThat(body).containsEntry("value", "ok");
+        assertThat(slowCalls.get()).isEqualTo(2);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1500L);
+    }
+
+    @Test
+    void losingHedgedAttemptReleasesItsPermit() throws Exception {
+        client = newClient(50L, 5000L, 2);
+
+        client.get(uri("/slow-first"), Map.class).get(5, TimeUnit.SECONDS);
+
+        // il primario e' ancora fermo lato server per 1500 ms: il permesso deve tornare prima
+        awaitPermits(2, 500L);
+    }
+
+    @Test
+    void cancellingTheCallerFutureAbortsTheExchange() throws Exception {
+        client = newClient(0L, 5000L, 1);
+
+        CompletableFuture<Map> pending = client.get(uri("/hang"), Map.class);
+        assertThat(hangReceived.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(client.availablePermits()).isZero();
+
+        pending.cancel(true);
+
+        assertThat(client.availablePermits()).isEqualTo(1);
+        Map<?, ?> body = client.get(uri("/ok"), Map.class).get(5, TimeUnit.SECONDS);
+        assertThat(body).containsEntry("value", "ok");
+    }
+
+    @Test
+    void clientErrorsAreMappedToRestTemplateExceptions() {
+        client = newClient(0L, 5000L);
+
+        assertThatThrownBy(() -> BackendHttpClient.await(client.get(uri("/missing"), Map.class)))
+            .isInstanceOf(HttpClientErrorException.NotFound.class);
+    }
+
+    @Test
+    void readTimeoutFailsWithResourceAccessException() {
+        client = newClient(0L, 200L);
+
+        assertThatThrownBy(() -> BackendHttpClient.await(client.get(uri("/hang"), Map.class)))
+            .isInstanceOf(ResourceAccessException.class);
+    }
+
+    private BackendHttpClient newClient(long hedgeDelayMillis, long readTimeoutMillis) {
+        return newClient(hedgeDelayMillis, readTimeoutMillis, new BackendApiProperties().getMaxConcurrentRequests());
+    }
+
+    private BackendHttpClient newClient(long hedgeDelayMillis, long readTimeoutMillis, int maxConcurrentRequests) {
+        BackendApiProperties properties = new BackendApiProperties();
+        properties.setMaxConcurrentRequests(maxConcurrentRequests);
+        properties.setHttp2Enabled(false);
+        properties.setHedgeDelayMillis(hedgeDelayMillis);
+        properties.setReadTimeoutMillis(readTimeoutMillis);
+        return new BackendHttpClient(properties, new ObjectMapper());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private void awaitPermits(int expected, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (client.availablePermits() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(client.availablePermits()).isEqualTo(expected);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
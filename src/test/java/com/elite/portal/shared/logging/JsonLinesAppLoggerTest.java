@@ -0,0 +1,82 @@
+package com.elite.portal.shared.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+public class JsonLinesAppLoggerTest {
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(1_709_287_200_000L), ZoneOffset.UTC);
+    private Logger delegate;
+    private JsonLinesAppLogger appLogger;
+
+    @BeforeEach
+    void setUp() {
+        delegate = Mockito.mock(Logger.class);
+        appLogger = new JsonLinesAppLogger(delegate, clock, List.of("email", "token"));
+    }
+
+    @Test
+    void writesKeyValueContextAsJsonAndMasksEmail() {
+        Mockito.when(delegate.isWarnEnabled()).thenReturn(true);
+
+        appLogger.warn("Rate limit \"reset\"", "email", "mario.rossi@acme.it");
+
+        assertThat(captureWarn()).isEqualTo("{\"ts\":1709287200000,\"level\":\"WARN\",\"thread\":\""
+            + Thread.currentThread().getName()
+            + "\",\"msg\":\"Rate limit \\\"reset\\\"\",\"email\":\"m***@acme.it\"}");
+    }
+
+    @Test
+    void placeholdersConsumeLeadingArgumentsAndAreMaskedByKey() {
+        Mockito.when(delegate.isInfoEnabled()).thenReturn(true);
+
+        appLogger.info("Registrazione completata, userId={}, email={}", 42L, "a.b@acme.it");
+
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(delegate).info(line.capture());
+        assertThat(line.getValue()).contains("\"msg\":\"Registrazione completata, userId=42, email=a***@acme.it\"");
+    }
+
+    @Test
+    void errorIncludesExceptionAndMasksTokenWithoutBreakingTheLine() {
+        Mockito.when(delegate.isErrorEnabled()).thenReturn(true);
+
+        appLogger.error("Invio fallito", new IllegalStateException("smtp\ndown"), "token", "abc123", "attempt", 3);
+
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(delegate).error(line.capture());
+        assertThat(line.getValue())
+            .doesNotContain("\n")
+            .contains("\"token\":\"***\"")
+            .contains("\"attempt\":3")
+            .contains("\"error\":\"java.lang.IllegalStateException: smtp\\ndown\"");
+    }
+
+    @Test
+    void disabledLevelDoesNotFormat() {
+        Mockito.when(delegate.isDebugEnabled()).thenReturn(false);
+        Object value = Mockito.mock(Object.class);
+
+        appLogger.debug("Utente non trovato", "email", value);
+
+        Mockito.verify(delegate).isDebugEnabled();
+        Mockito.verifyNoMoreInteractions(delegate);
+        Mockito.verifyNoInteractions(value);
+    }
+
+    private String captureWarn() {
+        ArgumentCaptor<String> line = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(delegate).warn(line.capture());
+        return line.getValue();
+    }
+}
@@ -0,0 +1,39 @@
+package com.elite.portal.shared.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class InMemoryRateLimitStoreTest {
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", 3, 60_000L);
+
+    @Test
+    void allowsBurstUpToCapacityThenRefillsOverTime() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("k", policy, 0L)).isTrue();
+        }
+        assertThat(store.tryConsume("k", policy, 0L)).isFalse();
+        // un gettone ogni 20 secondi
+        assertThat(store.tryConsume("k", policy, 19_999L)).isFalse();
+        assertThat(store.tryConsume("k", policy, 20_000L)).isTrue();
+        assertThat(store.tryConsume("other", policy, 20_000L)).isTrue();
+    }
+
+    @Test
+    void sizeStaysBoundedAndDrainedBucketsSurviveEviction() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(100);
+        for (int i = 0; i < 3; i++) {
+            store.tryConsume("abuser", policy, 0L);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            store.tryConsume("random-" + i, policy, 1L);
+        }
+
+        assertThat(store.size()).isLessThanOrEqualTo(101);
+        assertThat(store.tryConsume("abuser", policy, 1L)).isFalse();
+    }
+}
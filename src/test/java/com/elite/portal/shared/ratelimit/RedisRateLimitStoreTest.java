@@ -0,0 +1,114 @@
+package com.elite.portal.shared.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Esegue il bucket Lua su un Redis reale: stessa semantica dello store in memoria e consumo
+ * atomico sotto concorrenza.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisRateLimitStoreTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final RateLimitPolicy policy = new RateLimitPolicy("test", 3, 60_000L);
+    private RedisRateLimitStore store;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        store = new RedisRateLimitStore(redisTemplate);
+    }
+
+    @Test
+    void allowsBurstUpToCapacityThenRefillsOverTime() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("k", policy, 0L)).isTrue();
+        }
+        assertThat(store.tryConsume("k", policy, 0L)).isFalse();
+        // un gettone ogni 20 secondi, anche con i gettoni frazionari salvati come stringa
+        assertThat(store.tryConsume("k", policy, 19_999L)).isFalse();
+        assertThat(store.tryConsume("k", policy, 20_000L)).isTrue();
+        assertThat(store.tryConsume("other", policy, 20_000L)).isTrue();
+    }
+
+    @Test
+    void keyExpiresAfterOneRefillPeriodAndResetRestoresCapacity() {
+        store.tryConsume("k", policy, 0L);
+
+        Long ttlMillis = redisTemplate.getExpire(RedisRateLimitStore.KEY_PREFIX + "k", TimeUnit.MILLISECONDS);
+        assertThat(ttlMillis).isBetween(1L, 60_000L);
+
+        store.tryConsume("k", policy, 0L);
+        store.tryConsume("k", policy, 0L);
+        store.reset("k");
+        assertThat(redisTemplate.hasKey(RedisRateLimitStore.KEY_PREFIX + "k")).isFalse();
+        assertThat(store.tryConsume("k", policy, 0L)).isTrue();
+    }
+
+    @Test
+    void concurrentConsumersNeverExceedCapacity() throws Exception {
+        RateLimitPolicy burst = new RateLimitPolicy("burst", 50, 60_000L);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Integer>> workers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                workers.add(() -> {
+                    int allowed = 0;
+                    for (int i = 0; i < 20; i++) {
+                        if (store.tryConsume("shared", burst, 0L)) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                });
+            }
+            int total = 0;
+            for (Future<Integer> result : pool.invokeAll(workers)) {
+                total += result.get();
+            }
+            assertThat(total).isEqualTo(50);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
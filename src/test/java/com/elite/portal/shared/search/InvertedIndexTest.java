@@ -0,0 +1,58 @@
+package com.elite.portal.shared.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class InvertedIndexTest {
+
+    @Test
+    public void tokenizeFoldsAccentsCaseAndElisions() {
+        Set<String> tokens = SearchTextNormalizer.tokenize("Niccolò D'Àngelo <N.DAngelo@Acme.it>");
+
+        assertTrue(tokens.containsAll(List.of("niccolo", "angelo", "dangelo", "acme", "it")));
+        assertFalse(tokens.contains("d"));
+    }
+
+    @Test
+    public void searchMatchesPrefixAndTyposAndRanksNameAboveNotes() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(new SearchDocument(1L).add(SearchField.NAME, "Lucia Ferrari").add(SearchField.EMAIL, "lucia@studio.it"));
+        index.index(new SearchDocument(2L).add(SearchField.NAME, "Marco Neri").add(SearchField.NOTES, "referente Lucia Ferrari"));
+        index.index(new SearchDocument(3L).add(SearchField.NAME, "Paolo Esposito"));
+
+        assertEquals(List.of(1L, 2L), keys(index.search("ferrari", 10, null)));
+        assertEquals(List.of(1L, 2L), keys(index.search("luc ferr", 10, null)));
+        assertEquals(List.of(3L), keys(index.search("esposto", 10, null)));
+        assertEquals(List.of(2L), keys(index.search("ferrari", 10, key -> key == 2L)));
+        assertTrue(index.search("ferrari bianchi", 10, null).isEmpty());
+    }
+
+    @Test
+    public void reindexReplacesTermsAndRemoveFreesDocument() {
+        InvertedIndex index = new InvertedIndex();
+        index.index(new SearchDocument(7L).add(SearchField.COMPANY, "Alfa Srl"));
+        index.index(new SearchDocument(7L).add(SearchField.COMPANY, "Beta Spa"));
+
+        assertTrue(index.search("alfa", 10, null).isEmpty());
+        assertEquals(List.of(7L), keys(index.search("beta", 10, null)));
+        assertEquals(1, index.size());
+
+        index.remove(7L);
+        index.index(new SearchDocument(8L).add(SearchField.COMPANY, "Gamma"));
+
+        assertTrue(index.search("beta", 10, null).isEmpty());
+        assertEquals(List.of(8L), keys(index.search("gamma", 10, null)));
+        assertEquals(1, index.size());
+    }
+
+    private static List<Long> keys(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::getKey).collect(Collectors.toList());
+    }
+}
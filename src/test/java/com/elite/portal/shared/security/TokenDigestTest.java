@@ -0,0 +1,34 @@
+package com.elite.portal.shared.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.HexFormat;
+
+import org.junit.jupiter.api.Test;
+
+import com.elite.portal.modules.auth.model.PasswordResetToken;
+
+public class TokenDigestTest {
+
+    @Test
+    void digestIsStableSha256() {
+        assertThat(HexFormat.of().formatHex(TokenDigest.sha256("abc")))
+            .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(TokenDigest.sha256("abc")).hasSize(TokenDigest.LENGTH);
+    }
+
+    @Test
+    void nullTokenIsRejected() {
+        assertThatThrownBy(() -> TokenDigest.sha256(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void entityStoresDigestOfPlainToken() {
+        PasswordResetToken token = new PasswordResetToken();
+        token.setToken("reset-token");
+
+        assertThat(token.getTokenHash()).isEqualTo(TokenDigest.sha256("reset-token"));
+        assertThat(token.getToken()).isEqualTo("reset-token");
+    }
+}
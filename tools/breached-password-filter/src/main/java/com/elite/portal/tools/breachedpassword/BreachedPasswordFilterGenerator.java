@@ -0,0 +1,173 @@
+package com.elite.portal.tools.breachedpassword;
+
+import com.elite.portal.modules.auth.domain.policy.BreachedPasswordFilter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HexFormat;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Strumento offline (non incluso nell'applicazione) che costruisce il file letto da
+ * {@code BreachedPasswordFilterConfig} a partire da un elenco di digest SHA-1 esadecimali, una riga per
+ * password: il formato "Pwned Passwords" ({@code HASH:conteggio}) e' accettato cosi' com'e', anche
+ * compresso con gzip. Le righe vuote o che non iniziano con 40 cifre esadecimali vengono ignorate.
+ * <p>
+ * L'elenco completo (circa 850 milioni di digest) al tasso predefinito 0,001 richiederebbe circa 1,5 GB:
+ * il generatore rifiuta i filtri oltre {@code --max-bytes} (predefinito 256 MiB). Va quindi usato un
+ * sottoinsieme delle password piu' diffuse:
+ * <ul>
+ *     <li>{@code --min-count=N} tiene solo i digest visti almeno N volte (il conteggio dopo i due punti);</li>
+ *     <li>{@code --top=N} tiene solo le prime N righe valide, per elenchi gia' ordinati per diffusione.</li>
+ * </ul>
+ * Come riferimento, 100 milioni di digest a 0,001 occupano circa 180 MB; in alternativa si puo' alzare il
+ * tasso con {@code --fpp}.
+ * <p>
+ * Uso:
+ * <pre>
+ * java -cp portal.jar:breached-password-filter.jar \
+ *     com.elite.portal.tools.breachedpassword.BreachedPasswordFilterGenerator \
+ *     pwned-passwords-sha1.txt /var/lib/elite-portal/breached-passwords.bloom --min-count=20
+ * </pre>
+ * Il file generato va copiato sui nodi fuori dal jar e indicato in
+ * {@code security.password-policy.breached-filter-path}; senza di esso il controllo resta disattivato e
+ * all'avvio viene registrato un warning.
+ */
+public final class BreachedPasswordFilterGenerator {
+
+    static final double DEFAULT_FALSE_POSITIVE_RATE = 0.001d;
+    static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static final int SHA1_HEX_LENGTH = 40;
+
+    private BreachedPasswordFilterGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            usage();
+        }
+        double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        long minCount = 0L;
+        long top = Long.MAX_VALUE;
+        long maxBytes = DEFAULT_MAX_BYTES;
+        for (int i = 2; i < args.length; i++) {
+            String option = args[i];
+            int separator = option.indexOf('=');
+            String value = separator < 0 ? "" : option.substring(separator + 1);
+            switch (separator < 0 ? option : option.substring(0, separator)) {
+                case "--fpp":
+                    falsePositiveRate = Double.parseDouble(value);
+                    break;
+                case "--min-count":
+                    minCount = Long.parseLong(value);
+                    break;
+                case "--top":
+                    top = Long.parseLong(value);
+                    break;
+                case "--max-bytes":
+                    maxBytes = Long.parseLong(value);
+                    break;
+                default:
+                    usage();
+            }
+        }
+        Path output = Paths.get(args[1]);
+        long inserted = generate(Paths.get(args[0]), output, falsePositiveRate, minCount, top, maxBytes);
+        System.out.printf("%d digest scritti in %s (%d byte)%n", inserted, output, Files.size(output));
+    }
+
+    private static void usage() {
+        System.err.println("Uso: BreachedPasswordFilterGenerator <elenco-sha1> <file-filtro> "
+                + "[--fpp=0.001] [--min-count=N] [--top=N] [--max-bytes=" + DEFAULT_MAX_BYTES + "]");
+        System.exit(2);
+    }
+
+    /**
+     * Due passate sull'elenco: la prima conta i digest selezionati per dimensionare il filtro (e fallisce
+     * subito se supera {@code maxBytes}), la seconda li inserisce.
+     *
+     * @return numero di digest inseriti
+     */
+    public static long generate(Path input, Path output, double falsePositiveRate,
+                                long minCount, long top, long maxBytes) throws IOException {
+        long expected = 0;
+        try (BufferedReader reader = open(input)) {
+            String line;
+            while (expected < top && (line = reader.readLine()) != null) {
+                if (isSelected(line, minCount)) {
+                    expected++;
+                }
+            }
+        }
+
+        BreachedPasswordFilter filter = BreachedPasswordFilter.create(expected, falsePositiveRate, maxBytes);
+        HexFormat hex = HexFormat.of();
+        long inserted = 0;
+        try (BufferedReader reader = open(input)) {
+            String line;
+            while (inserted < expected && (line = reader.readLine()) != null) {
+                if (isSelected(line, minCount)) {
+                    filter.putSha1(hex.parseHex(line, 0, SHA1_HEX_LENGTH));
+                    inserted++;
+                }
+            }
+        }
+
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+            filter.writeTo(out);
+        }
+        return inserted;
+    }
+
+    private static BufferedReader open(Path input) throws IOException {
+        InputStream in = Files.newInputStream(input);
+        if (input.getFileName().toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+    }
+
+    private static boolean isSelected(String raw, long minCount) {
+        String line = raw.stripTrailing();
+        if (!isDigest(line)) {
+            return false;
+        }
+        if (minCount <= 0) {
+            return true;
+        }
+        if (line.length() <= SHA1_HEX_LENGTH + 1) {
+            return false;
+        }
+        try {
+            return Long.parseLong(line, SHA1_HEX_LENGTH + 1, line.length(), 10) >= minCount;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean isDigest(String line) {
+        if (line.length() < SHA1_HEX_LENGTH
+                || (line.length() > SHA1_HEX_LENGTH && line.charAt(SHA1_HEX_LENGTH) != ':')) {
+            return false;
+        }
+        for (int i = 0; i < SHA1_HEX_LENGTH; i++) {
+            if (Character.digit(line.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,87 @@
+package com.elite.portal.tools.breachedpassword;
+
+import com.elite.portal.modules.auth.domain.policy.BreachedPasswordFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BreachedPasswordFilterGeneratorTest {
+
+    private static final long NO_LIMIT = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void buildsMappableFilterFromPwnedPasswordsList() throws Exception {
+        Path list = directory.resolve("pwned.txt");
+        Files.write(list, List.of(
+                sha1Hex("password") + ":9545824\r",
+                sha1Hex("Qwerty123!").toLowerCase(),
+                "",
+                "not-a-digest"), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("security/breached-passwords.bloom");
+
+        long inserted = BreachedPasswordFilterGenerator.generate(list, output, 0.001d, 0L, NO_LIMIT,
+                BreachedPasswordFilterGenerator.DEFAULT_MAX_BYTES);
+
+        assertEquals(2, inserted);
+        BreachedPasswordFilter filter = BreachedPasswordFilter.map(output);
+        assertTrue(filter.mightContain("password"));
+        assertTrue(filter.mightContain("Qwerty123!"));
+        assertFalse(filter.mightContain("Tr0mbone-Cavallo-Graffetta"));
+    }
+
+    @Test
+    void keepsOnlyTheMostCommonPasswords() throws Exception {
+        Path list = directory.resolve("pwned.txt");
+        Files.write(list, List.of(
+                sha1Hex("password") + ":9545824",
+                sha1Hex("Raro-Ma-Violato-1") + ":3",
+                sha1Hex("123456") + ":37359195"), StandardCharsets.US_ASCII);
+        Path output = directory.resolve("breached-passwords.bloom");
+
+        long inserted = BreachedPasswordFilterGenerator.generate(list, output, 0.001d, 100L, NO_LIMIT,
+                BreachedPasswordFilterGenerator.DEFAULT_MAX_BYTES);
+
+        assertEquals(2, inserted);
+        BreachedPasswordFilter filter = BreachedPasswordFilter.map(output);
+        assertTrue(filter.mightContain("password"));
+        assertTrue(filter.mightContain("123456"));
+        assertFalse(filter.mightContain("Raro-Ma-Violato-1"));
+    }
+
+    @Test
+    void refusesFilterLargerThanTheCap() throws Exception {
+        Path list = directory.resolve("pwned.txt");
+        List<String> digests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            digests.add(sha1Hex("password" + i));
+        }
+        Files.write(list, digests, StandardCharsets.US_ASCII);
+        Path output = directory.resolve("breached-passwords.bloom");
+
+        // 100 digest a 0,001 richiedono circa 180 byte
+        assertThrows(IllegalArgumentException.class,
+                () -> BreachedPasswordFilterGenerator.generate(list, output, 0.001d, 0L, NO_LIMIT, 64L));
+        assertFalse(Files.exists(output));
+    }
+
+    private static String sha1Hex(String password) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(password.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().withUpperCase().formatHex(digest);
+    }
+}